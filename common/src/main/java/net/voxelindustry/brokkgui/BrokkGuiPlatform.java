@@ -1,15 +1,20 @@
 package net.voxelindustry.brokkgui;
 
+import net.voxelindustry.brokkgui.animation.FrameClock;
 import net.voxelindustry.brokkgui.animation.ITickSender;
+import net.voxelindustry.brokkgui.animation.TickScheduler;
 import net.voxelindustry.brokkgui.internal.IGuiHelper;
 import net.voxelindustry.brokkgui.internal.IKeyboardUtil;
 import net.voxelindustry.brokkgui.internal.IMouseUtil;
+import net.voxelindustry.brokkgui.internal.MeasureCacheGuiHelper;
 import net.voxelindustry.brokkgui.internal.profiler.IProfiler;
 import net.voxelindustry.brokkgui.internal.IResourceHandler;
 import net.voxelindustry.brokkgui.internal.profiler.ProfilerNoop;
+import net.voxelindustry.brokkgui.sprite.TextureAtlas;
 import net.voxelindustry.brokkgui.style.adapter.StyleEngine;
 
 import java.util.Random;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 /**
@@ -31,6 +36,8 @@ public class BrokkGuiPlatform
     private IMouseUtil       mouseUtil;
     private IResourceHandler resourceHandler;
     private ITickSender      tickSender;
+    private FrameClock       frameClock;
+    private TextureAtlas     textureAtlas;
     private IProfiler        profiler;
 
     private Logger logger;
@@ -47,6 +54,8 @@ public class BrokkGuiPlatform
 
         this.random = new Random();
         this.profiler = new ProfilerNoop();
+        this.frameClock = new FrameClock();
+        this.tickSender = new TickScheduler(() -> this.frameClock.getFrameMillis());
     }
 
     public IProfiler getProfiler()
@@ -114,11 +123,33 @@ public class BrokkGuiPlatform
         return this.guiHelper;
     }
 
+    /**
+     * Set the helper of the platform as is, text measures are not cached.
+     *
+     * @see #setGuiHelper(IGuiHelper, Supplier)
+     */
     public void setGuiHelper(final IGuiHelper guiHelper)
     {
         this.guiHelper = guiHelper;
     }
 
+    /**
+     * Set the helper of the platform, wrapped in a {@link MeasureCacheGuiHelper} caching its text measures unless it
+     * already is one. The platform helper is then given by {@link MeasureCacheGuiHelper#getDelegate()}.
+     *
+     * @param guiHelper         the helper of the platform
+     * @param fontStateSupplier supply an object equal to the previous one as long as the font and its scale are
+     *                          unchanged, the measure caches are emptied otherwise
+     */
+    public void setGuiHelper(final IGuiHelper guiHelper, final Supplier<?> fontStateSupplier)
+    {
+        if (guiHelper == null || guiHelper instanceof MeasureCacheGuiHelper)
+            this.guiHelper = guiHelper;
+        else
+            this.guiHelper = new MeasureCacheGuiHelper(guiHelper, MeasureCacheGuiHelper.DEFAULT_CAPACITY,
+                    fontStateSupplier);
+    }
+
     public boolean isRenderDebugEnabled()
     {
         return enableRenderDebug;
@@ -129,6 +160,10 @@ public class BrokkGuiPlatform
         this.enableRenderDebug = enableRenderDebug;
     }
 
+    /**
+     * @return the sender ticking the animations, a {@link TickScheduler} ticked by the screens unless the platform
+     * gives its own
+     */
     public ITickSender getTickSender()
     {
         return tickSender;
@@ -139,6 +174,35 @@ public class BrokkGuiPlatform
         this.tickSender = sender;
     }
 
+    /**
+     * @return the clock sampled by the screens at the start of each frame, read by the animations, sprites and tasks
+     */
+    public FrameClock getFrameClock()
+    {
+        return frameClock;
+    }
+
+    /**
+     * Replace the frame clock, to be done before any screen is opened as times of different clocks are not comparable.
+     */
+    public void setFrameClock(FrameClock frameClock)
+    {
+        this.frameClock = frameClock;
+    }
+
+    /**
+     * @return the atlas the sprites and image borders are remapped to, null if the platform does not use one
+     */
+    public TextureAtlas getTextureAtlas()
+    {
+        return textureAtlas;
+    }
+
+    public void setTextureAtlas(TextureAtlas textureAtlas)
+    {
+        this.textureAtlas = textureAtlas;
+    }
+
     public Random getRandom()
     {
         return this.random;
@@ -2,6 +2,7 @@ package net.voxelindustry.brokkgui.animation;
 
 import fr.ourten.teabeans.value.BaseProperty;
 import net.voxelindustry.brokkgui.BrokkGuiPlatform;
+import net.voxelindustry.brokkgui.component.GuiNode;
 import net.voxelindustry.brokkgui.event.AnimationFinishEvent;
 import net.voxelindustry.hermod.EventDispatcher;
 import net.voxelindustry.hermod.EventHandler;
@@ -15,13 +16,25 @@ public abstract class Animation implements ITicking, IEventEmitter
     private long startTime;
     private long elapsedTime;
 
-    private int                   maxCycles;
-    private boolean               reverse;
+    private int     maxCycles;
+    private boolean reverse;
+
+    /**
+     * Progress values are kept in fields and only pushed to their properties once one was asked for.
+     * Animations nobody observes then tick without any listener dispatch.
+     */
+    private int   currentCycle;
+    private float progress;
+    private float totalProgress;
+
     private BaseProperty<Integer> currentCycleProperty;
+    private BaseProperty<Float>   progressProperty;
+    private BaseProperty<Float>   totalProgressProperty;
 
     private BaseProperty<AnimationStatus> statusProperty;
-    private BaseProperty<Float>           progressProperty;
-    private BaseProperty<Float>           totalProgressProperty;
+
+    private boolean  parked;
+    private Runnable wakeCallback;
 
     private Animation                          parent;
     private EventDispatcher                    eventDispatcher;
@@ -33,40 +46,115 @@ public abstract class Animation implements ITicking, IEventEmitter
         this.maxCycles = 1;
 
         this.statusProperty = new BaseProperty<>(AnimationStatus.NOT_STARTED, "statusProperty");
-        this.currentCycleProperty = new BaseProperty<>(0, "currentCycleProperty");
-        this.progressProperty = new BaseProperty<>(0f, "progressProperty");
-        this.totalProgressProperty = new BaseProperty<>(0f, "totalProgressProperty");
     }
 
     public void tick(long currentMillis)
     {
+        GuiNode target = this.getSuspensionTarget();
+        if (target != null && !target.isRenderedRecently())
+        {
+            this.park(target);
+            return;
+        }
+
         this.elapsedTime = currentMillis - this.startTime;
 
         if (elapsedTime >= duration)
         {
-            this.startTime = currentMillis;
-            this.elapsedTime = 0;
+            // Several cycles may have passed while the animation was parked
+            long cycles = duration > 0 ? elapsedTime / duration : 1;
+            this.elapsedTime = duration > 0 ? elapsedTime % duration : 0;
+            this.startTime = currentMillis - this.elapsedTime;
 
-            this.getCurrentCycleProperty().setValue(this.getCurrentCycle() + 1);
-            if (this.getCurrentCycle() == this.maxCycles)
+            int cycle = (int) Math.min(this.getCurrentCycle() + cycles, Integer.MAX_VALUE);
+            if (this.maxCycles > 0 && cycle >= this.maxCycles)
             {
+                this.setProgress(reverse && (maxCycles - 1) % 2 != 0 ? 0 : 1, 1);
+                this.setCurrentCycle(this.maxCycles);
                 this.complete();
                 return;
             }
+            this.setCurrentCycle(cycle);
         }
 
         float currentProgress = reverse && getCurrentCycle() % 2 != 0 ? 1 - ((float) elapsedTime / duration) :
                 ((float) elapsedTime / duration);
-        this.getProgressProperty().setValue(currentProgress);
-        this.getTotalProgressProperty().setValue((float) (this.getCurrentCycle() / this.getMaxCycles()) + (currentProgress / getMaxCycles()));
+        this.setProgress(currentProgress, ((float) this.getCurrentCycle() + currentProgress) / getMaxCycles());
     }
 
     public void setCurrentProgress(float progress)
     {
-        getCurrentCycleProperty().setValue((int) Math.floor(progress));
+        this.setCurrentCycle((int) Math.floor(progress));
+        this.setProgress(progress - getCurrentCycle(), progress / getMaxCycles());
+    }
 
-        getProgressProperty().setValue(progress - getCurrentCycle());
-        getTotalProgressProperty().setValue(progress / getMaxCycles());
+    private void setCurrentCycle(int currentCycle)
+    {
+        this.currentCycle = currentCycle;
+        if (this.currentCycleProperty != null)
+            this.currentCycleProperty.setValue(currentCycle);
+    }
+
+    private void setProgress(float progress, float totalProgress)
+    {
+        this.progress = progress;
+        this.totalProgress = totalProgress;
+
+        if (this.progressProperty != null)
+            this.progressProperty.setValue(progress);
+        if (this.totalProgressProperty != null)
+            this.totalProgressProperty.setValue(totalProgress);
+
+        this.onProgress(progress);
+    }
+
+    /**
+     * Called on each change of the progress of the current cycle, before the properties listeners.
+     *
+     * @param progress the new progress, between 0 and 1
+     */
+    protected void onProgress(float progress)
+    {
+
+    }
+
+    /**
+     * @return the node displaying this animation, or null if it has none. While the node is not rendered the animation
+     * is removed from its tick sender, it is added back on the next render of the node and catches up on the elapsed
+     * time.
+     */
+    protected GuiNode getSuspensionTarget()
+    {
+        return null;
+    }
+
+    private void park(GuiNode target)
+    {
+        BrokkGuiPlatform.getInstance().getTickSender().removeTicking(this);
+
+        if (this.parked)
+            return;
+        this.parked = true;
+
+        if (this.wakeCallback == null)
+            this.wakeCallback = this::wake;
+        target.runOnNextRender(this.wakeCallback);
+    }
+
+    private void wake()
+    {
+        this.parked = false;
+
+        if (this.isRunning())
+            BrokkGuiPlatform.getInstance().getTickSender().addTicking(this);
+    }
+
+    /**
+     * @return true while this animation waits for its node to be rendered again
+     */
+    public boolean isParked()
+    {
+        return this.parked;
     }
 
     public void start()
@@ -88,8 +176,8 @@ public abstract class Animation implements ITicking, IEventEmitter
             BrokkGuiPlatform.getInstance().getTickSender().addTicking(this);
 
         this.getStatusProperty().setValue(AnimationStatus.RUNNING);
-        this.getCurrentCycleProperty().setValue(0);
-        this.startTime = System.currentTimeMillis();
+        this.setCurrentCycle(0);
+        this.startTime = BrokkGuiPlatform.getInstance().getFrameClock().getFrameMillis();
         this.elapsedTime = 0;
     }
 
@@ -105,7 +193,7 @@ public abstract class Animation implements ITicking, IEventEmitter
             return;
 
         BrokkGuiPlatform.getInstance().getTickSender().addTicking(this);
-        this.startTime = System.currentTimeMillis() - this.elapsedTime;
+        this.startTime = BrokkGuiPlatform.getInstance().getFrameClock().getFrameMillis() - this.elapsedTime;
         this.getStatusProperty().setValue(AnimationStatus.RUNNING);
     }
 
@@ -127,16 +215,22 @@ public abstract class Animation implements ITicking, IEventEmitter
 
     public BaseProperty<Integer> getCurrentCycleProperty()
     {
+        if (this.currentCycleProperty == null)
+            this.currentCycleProperty = new BaseProperty<>(this.currentCycle, "currentCycleProperty");
         return currentCycleProperty;
     }
 
     public BaseProperty<Float> getProgressProperty()
     {
+        if (this.progressProperty == null)
+            this.progressProperty = new BaseProperty<>(this.progress, "progressProperty");
         return progressProperty;
     }
 
     public BaseProperty<Float> getTotalProgressProperty()
     {
+        if (this.totalProgressProperty == null)
+            this.totalProgressProperty = new BaseProperty<>(this.totalProgress, "totalProgressProperty");
         return totalProgressProperty;
     }
 
@@ -145,7 +239,7 @@ public abstract class Animation implements ITicking, IEventEmitter
      */
     public float getProgress()
     {
-        return this.getProgressProperty().getValue();
+        return this.progress;
     }
 
     /**
@@ -153,7 +247,7 @@ public abstract class Animation implements ITicking, IEventEmitter
      */
     public float getTotalProgress()
     {
-        return this.getTotalProgressProperty().getValue();
+        return this.totalProgress;
     }
 
     public AnimationStatus getStatus()
@@ -198,7 +292,7 @@ public abstract class Animation implements ITicking, IEventEmitter
 
     public int getCurrentCycle()
     {
-        return this.getCurrentCycleProperty().getValue();
+        return this.currentCycle;
     }
 
     public boolean isReverse()
@@ -0,0 +1,363 @@
+package net.voxelindustry.brokkgui.animation;
+
+import net.voxelindustry.brokkgui.BrokkGuiPlatform;
+import net.voxelindustry.brokkgui.component.GuiNode;
+
+import java.util.Arrays;
+
+/**
+ * Animates many nodes at once without creating a {@link net.voxelindustry.brokkgui.animation.transition.Transition}
+ * for each of them.
+ * <p>
+ * Each entry animates a single {@link Channel} of a node from a value to another. Entries are stored in primitive
+ * arrays, advanced in a single loop on each tick and written directly to the nodes. Entries of disposed nodes are
+ * dropped on the next tick, no handler is registered on the nodes. Interpolators are replaced by a lookup table
+ * unless disabled, the built-in ones by their {@link Interpolators#lookup(Interpolator) shared table} and the others
+ * by a table kept by this batch.
+ * <p>
+ * The batch registers itself to its tick sender while it has entries. Not thread-safe, meant to be used from the
+ * render thread.
+ */
+public class BulkTransition implements ITicking
+{
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    public enum Channel
+    {
+        TRANSLATE_X,
+        TRANSLATE_Y,
+        OPACITY,
+        SCALE;
+
+        private static final Channel[] VALUES = values();
+    }
+
+    private final ITickSender tickSender;
+
+    private GuiNode[]  nodes;
+    private byte[]     channels;
+    private float[]    from;
+    private float[]    to;
+    private long[]     startTimes;
+    private long[]     delays;
+    private long[]     durations;
+    private byte[]     interpolatorIndices;
+    private Runnable[] onFinish;
+    private int        size;
+
+    /**
+     * Distinct interpolators used by the entries, referenced by index, with the interpolator each was built from and
+     * the count of entries using it. Slots used by no entry are freed and reused.
+     */
+    private Interpolator[] interpolators;
+    private Interpolator[] interpolatorSources;
+    private boolean[]      interpolatorTabled;
+    private int[]          interpolatorUses;
+    private int            interpolatorCount;
+    private boolean        useLookupTables;
+
+    private boolean  registered;
+    private long     frameMillis;
+    private Runnable advance;
+
+    public BulkTransition(ITickSender tickSender, int initialCapacity)
+    {
+        this.tickSender = tickSender;
+
+        int capacity = Math.max(1, initialCapacity);
+        this.nodes = new GuiNode[capacity];
+        this.channels = new byte[capacity];
+        this.from = new float[capacity];
+        this.to = new float[capacity];
+        this.startTimes = new long[capacity];
+        this.delays = new long[capacity];
+        this.durations = new long[capacity];
+        this.interpolatorIndices = new byte[capacity];
+        this.onFinish = new Runnable[capacity];
+
+        this.interpolators = new Interpolator[4];
+        this.interpolatorSources = new Interpolator[4];
+        this.interpolatorTabled = new boolean[4];
+        this.interpolatorUses = new int[4];
+        this.useLookupTables = true;
+        this.advance = this::advance;
+    }
+
+    public BulkTransition(int initialCapacity)
+    {
+        this(BrokkGuiPlatform.getInstance().getTickSender(), initialCapacity);
+    }
+
+    public BulkTransition()
+    {
+        this(64);
+    }
+
+    /**
+     * Animate a channel of a node, starting on the next tick.
+     *
+     * @param node         the node to animate
+     * @param channel      the value of the node to animate
+     * @param from         the value at the start of the animation
+     * @param to           the value at the end of the animation
+     * @param duration     the duration of the animation in milliseconds
+     * @param delay        the time in milliseconds to wait before starting, the node keeps its value meanwhile
+     * @param interpolator applied to the progress of the animation
+     * @param onFinish     called once the node reached the end value, can be null
+     */
+    public void add(GuiNode node, Channel channel, float from, float to, long duration, long delay,
+                    Interpolator interpolator, Runnable onFinish)
+    {
+        if (this.size == this.nodes.length)
+            this.grow();
+
+        int index = this.size++;
+        this.nodes[index] = node;
+        this.channels[index] = (byte) channel.ordinal();
+        this.from[index] = from;
+        this.to[index] = to;
+        this.startTimes[index] = NOT_STARTED;
+        this.delays[index] = delay;
+        this.durations[index] = duration;
+        this.interpolatorIndices[index] = this.getInterpolatorIndex(interpolator);
+        this.onFinish[index] = onFinish;
+
+        if (!this.registered)
+        {
+            this.tickSender.addTicking(this);
+            this.registered = true;
+        }
+    }
+
+    public void add(GuiNode node, Channel channel, float from, float to, long duration, Interpolator interpolator)
+    {
+        this.add(node, channel, from, to, duration, 0, interpolator, null);
+    }
+
+    /**
+     * Animate the translation of a node on both axis.
+     *
+     * @param onFinish called once both axis reached their end value, can be null
+     */
+    public void translate(GuiNode node, float fromX, float fromY, float toX, float toY, long duration, long delay,
+                          Interpolator interpolator, Runnable onFinish)
+    {
+        this.add(node, Channel.TRANSLATE_X, fromX, toX, duration, delay, interpolator, null);
+        this.add(node, Channel.TRANSLATE_Y, fromY, toY, duration, delay, interpolator, onFinish);
+    }
+
+    /**
+     * Stop all the animations of a node, leaving it at its current values. The finish callbacks are not called.
+     */
+    public void cancel(GuiNode node)
+    {
+        for (int index = this.size - 1; index >= 0; index--)
+        {
+            if (this.nodes[index] == node)
+                this.removeAt(index);
+        }
+    }
+
+    /**
+     * Stop all the animations, leaving the nodes at their current values. The finish callbacks are not called.
+     */
+    public void clear()
+    {
+        Arrays.fill(this.nodes, 0, this.size, null);
+        Arrays.fill(this.onFinish, 0, this.size, null);
+        this.size = 0;
+
+        Arrays.fill(this.interpolators, 0, this.interpolatorCount, null);
+        Arrays.fill(this.interpolatorSources, 0, this.interpolatorCount, null);
+        Arrays.fill(this.interpolatorUses, 0, this.interpolatorCount, 0);
+        this.interpolatorCount = 0;
+    }
+
+    /**
+     * @return the count of animated channels
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    public boolean isUseLookupTables()
+    {
+        return this.useLookupTables;
+    }
+
+    /**
+     * @param useLookupTables false to use the given interpolators as is for the entries added afterward
+     */
+    public void setUseLookupTables(boolean useLookupTables)
+    {
+        this.useLookupTables = useLookupTables;
+    }
+
+    @Override
+    public void tick(long currentMillis)
+    {
+        this.frameMillis = currentMillis;
+
+        // Listeners of the written values are notified once for the whole batch
+        GuiNode.batchUpdate(this.advance);
+
+        if (this.size == 0 && this.registered)
+        {
+            this.tickSender.removeTicking(this);
+            this.registered = false;
+        }
+    }
+
+    private void advance()
+    {
+        int index = 0;
+        while (index < this.size)
+        {
+            GuiNode node = this.nodes[index];
+            if (node.isDisposed())
+            {
+                this.removeAt(index);
+                continue;
+            }
+
+            if (this.startTimes[index] == NOT_STARTED)
+                this.startTimes[index] = this.frameMillis + this.delays[index];
+
+            long elapsed = this.frameMillis - this.startTimes[index];
+            if (elapsed < 0)
+            {
+                index++;
+                continue;
+            }
+
+            long duration = this.durations[index];
+            float progress = duration <= 0 || elapsed >= duration ? 1 : (float) elapsed / duration;
+            float interpolated = this.interpolators[this.interpolatorIndices[index]].apply(progress);
+            write(node, Channel.VALUES[this.channels[index]],
+                    this.from[index] + (this.to[index] - this.from[index]) * interpolated);
+
+            if (progress < 1)
+            {
+                index++;
+                continue;
+            }
+
+            // The last entry is moved to this index and advanced next
+            Runnable finished = this.onFinish[index];
+            this.removeAt(index);
+            if (finished != null)
+                finished.run();
+        }
+    }
+
+    private static void write(GuiNode node, Channel channel, float value)
+    {
+        switch (channel)
+        {
+            case TRANSLATE_X:
+                node.setxTranslate(value);
+                break;
+            case TRANSLATE_Y:
+                node.setyTranslate(value);
+                break;
+            case OPACITY:
+                node.setOpacity(value);
+                break;
+            case SCALE:
+                node.setScale(value);
+                break;
+        }
+    }
+
+    private void removeAt(int index)
+    {
+        this.releaseInterpolator(this.interpolatorIndices[index]);
+
+        int last = --this.size;
+        if (index != last)
+        {
+            this.nodes[index] = this.nodes[last];
+            this.channels[index] = this.channels[last];
+            this.from[index] = this.from[last];
+            this.to[index] = this.to[last];
+            this.startTimes[index] = this.startTimes[last];
+            this.delays[index] = this.delays[last];
+            this.durations[index] = this.durations[last];
+            this.interpolatorIndices[index] = this.interpolatorIndices[last];
+            this.onFinish[index] = this.onFinish[last];
+        }
+        this.nodes[last] = null;
+        this.onFinish[last] = null;
+    }
+
+    private byte getInterpolatorIndex(Interpolator source)
+    {
+        int free = -1;
+        for (int index = 0; index < this.interpolatorCount; index++)
+        {
+            if (this.interpolatorUses[index] == 0)
+            {
+                if (free == -1)
+                    free = index;
+                continue;
+            }
+
+            // The same source may have been added with and without tables
+            if (this.interpolatorSources[index] == source && this.interpolatorTabled[index] == this.useLookupTables)
+            {
+                this.interpolatorUses[index]++;
+                return (byte) index;
+            }
+        }
+
+        if (free == -1)
+        {
+            if (this.interpolatorCount == Byte.MAX_VALUE)
+                throw new IllegalStateException("Cannot use more than " + Byte.MAX_VALUE + " interpolators at once in a batch");
+            if (this.interpolatorCount == this.interpolators.length)
+            {
+                this.interpolators = Arrays.copyOf(this.interpolators, this.interpolatorCount * 2);
+                this.interpolatorSources = Arrays.copyOf(this.interpolatorSources, this.interpolatorCount * 2);
+                this.interpolatorTabled = Arrays.copyOf(this.interpolatorTabled, this.interpolatorCount * 2);
+                this.interpolatorUses = Arrays.copyOf(this.interpolatorUses, this.interpolatorCount * 2);
+            }
+            free = this.interpolatorCount++;
+        }
+
+        Interpolator interpolator = source;
+        if (this.useLookupTables)
+            interpolator = Interpolators.needsOwnLookup(source) ? new LookupInterpolator(source) : Interpolators.lookup(source);
+
+        this.interpolators[free] = interpolator;
+        this.interpolatorSources[free] = source;
+        this.interpolatorTabled[free] = this.useLookupTables;
+        this.interpolatorUses[free] = 1;
+        return (byte) free;
+    }
+
+    private void releaseInterpolator(int index)
+    {
+        if (--this.interpolatorUses[index] > 0)
+            return;
+
+        // Drop the references so the interpolator and its lookup table can be collected
+        this.interpolators[index] = null;
+        this.interpolatorSources[index] = null;
+    }
+
+    private void grow()
+    {
+        int capacity = this.nodes.length * 2;
+
+        this.nodes = Arrays.copyOf(this.nodes, capacity);
+        this.channels = Arrays.copyOf(this.channels, capacity);
+        this.from = Arrays.copyOf(this.from, capacity);
+        this.to = Arrays.copyOf(this.to, capacity);
+        this.startTimes = Arrays.copyOf(this.startTimes, capacity);
+        this.delays = Arrays.copyOf(this.delays, capacity);
+        this.durations = Arrays.copyOf(this.durations, capacity);
+        this.interpolatorIndices = Arrays.copyOf(this.interpolatorIndices, capacity);
+        this.onFinish = Arrays.copyOf(this.onFinish, capacity);
+    }
+}
@@ -0,0 +1,128 @@
+package net.voxelindustry.brokkgui.animation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Clock sampled once at the start of each frame, giving the same time to everything reading it during that frame.
+ * <p>
+ * The time source is read in nanoseconds by {@link #nextFrame()}, which also opens the frame. While a frame is open the
+ * time does not move. Outside of a frame, for example when a screen opens or a task is scheduled from an input
+ * handler, each read samples the source again so nothing starts from the time of an old frame.
+ * <p>
+ * Times in milliseconds are offset to match {@link System#currentTimeMillis()} at the creation of the clock. A custom
+ * source can be given for deterministic tests and benchmarks.
+ */
+public class FrameClock
+{
+    private final LongSupplier nanoSource;
+    private final long         originNanos;
+    private final long         originMillis;
+
+    private long    frameNanos;
+    private long    lastFrameNanos;
+    private long    deltaNanos;
+    private long    frameIndex;
+    private boolean inFrame;
+
+    /**
+     * @param nanoSource   the time source in nanoseconds
+     * @param originMillis the time in milliseconds to report at the current time of the source
+     */
+    public FrameClock(LongSupplier nanoSource, long originMillis)
+    {
+        this.nanoSource = nanoSource;
+        this.originNanos = nanoSource.getAsLong();
+        this.originMillis = originMillis;
+    }
+
+    public FrameClock()
+    {
+        this(System::nanoTime, System.currentTimeMillis());
+    }
+
+    /**
+     * Sample the time source for a new frame and open it.
+     */
+    public void nextFrame()
+    {
+        long nanos = Math.max(this.frameNanos, this.nanoSource.getAsLong() - this.originNanos);
+
+        this.deltaNanos = this.frameIndex == 0 ? 0 : Math.max(0, nanos - this.lastFrameNanos);
+        this.frameNanos = nanos;
+        this.lastFrameNanos = nanos;
+        this.frameIndex++;
+        this.inFrame = true;
+    }
+
+    /**
+     * Open the current frame again without sampling the time source, for renders following the one that started the
+     * frame.
+     */
+    public void enterFrame()
+    {
+        this.inFrame = true;
+    }
+
+    /**
+     * Close the current frame, the following reads sample the time source until the next frame.
+     */
+    public void exitFrame()
+    {
+        this.inFrame = false;
+    }
+
+    public boolean isInFrame()
+    {
+        return this.inFrame;
+    }
+
+    private void refreshOutsideFrame()
+    {
+        if (!this.inFrame)
+            this.frameNanos = Math.max(this.frameNanos, this.nanoSource.getAsLong() - this.originNanos);
+    }
+
+    /**
+     * @return the time of the current frame in milliseconds, or the current time when read outside of a frame
+     */
+    public long getFrameMillis()
+    {
+        this.refreshOutsideFrame();
+        return this.originMillis + TimeUnit.NANOSECONDS.toMillis(this.frameNanos);
+    }
+
+    /**
+     * @return the time of the current frame in nanoseconds since the creation of this clock, or the current time when
+     * read outside of a frame
+     */
+    public long getFrameNanos()
+    {
+        this.refreshOutsideFrame();
+        return this.frameNanos;
+    }
+
+    /**
+     * @return the time elapsed between the previous frame and the current one in nanoseconds, 0 on the first frame
+     */
+    public long getDeltaNanos()
+    {
+        return this.deltaNanos;
+    }
+
+    /**
+     * @return the time elapsed between the previous frame and the current one in seconds, 0 on the first frame
+     */
+    public float getDeltaSeconds()
+    {
+        return this.deltaNanos / 1_000_000_000F;
+    }
+
+    /**
+     * @return the count of frames started, 0 before the first frame
+     */
+    public long getFrameIndex()
+    {
+        return this.frameIndex;
+    }
+}
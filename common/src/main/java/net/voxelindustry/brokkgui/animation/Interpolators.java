@@ -1,7 +1,15 @@
 package net.voxelindustry.brokkgui.animation;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 public class Interpolators
 {
+    /**
+     * Tables of the built-in interpolators, filled once when the class is loaded and only read afterward
+     */
+    private static final Map<Interpolator, Interpolator> LOOKUPS;
+
     public static final Interpolator DISCRETE = delta -> delta == 1f ? 1 : 0;
 
     public static final Interpolator LINEAR = delta -> delta;
@@ -45,6 +53,37 @@ public class Interpolators
     public static final Interpolator CIRC_IN   = delta -> (float) -(Math.sqrt(1 - delta * delta) - 1);
     public static final Interpolator CIRC_OUT  = delta -> (float) (Math.sqrt(1 - (delta - 1) * (delta - 1)));
 
+    static
+    {
+        LOOKUPS = new IdentityHashMap<>();
+        for (Interpolator interpolator : new Interpolator[]{QUAD_BOTH, CUBIC_BOTH, QUARTIC_BOTH, QUINTIC_BOTH,
+                QUAD_IN, CUBIC_IN, QUARTIC_IN, QUINTIC_IN, QUAD_OUT, CUBIC_OUT, QUARTIC_OUT, QUINTIC_OUT,
+                SINE_BOTH, SINE_IN, SINE_OUT, EXP_BOTH, EXP_IN, EXP_OUT, CIRC_BOTH, CIRC_IN, CIRC_OUT})
+            LOOKUPS.put(interpolator, new LookupInterpolator(interpolator));
+    }
+
+    /**
+     * Get the shared {@link LookupInterpolator} of one of the interpolators of this class, with the default resolution.
+     * Other interpolators are returned as is, tables of user interpolators are kept by their users so they are not
+     * held forever.
+     *
+     * @param interpolator the interpolator to sample
+     * @return an interpolator reading its values from a table, or the given one if it has no shared table
+     */
+    public static Interpolator lookup(Interpolator interpolator)
+    {
+        return LOOKUPS.getOrDefault(interpolator, interpolator);
+    }
+
+    /**
+     * @return true if the interpolator is worth replacing by a table of its own, false if it already is a table, has a
+     * shared one or is cheaper than reading a table
+     */
+    static boolean needsOwnLookup(Interpolator interpolator)
+    {
+        return interpolator != DISCRETE && interpolator != LINEAR && !(interpolator instanceof LookupInterpolator) &&
+                !LOOKUPS.containsKey(interpolator);
+    }
 
     public static float powIn(float value, int power)
     {
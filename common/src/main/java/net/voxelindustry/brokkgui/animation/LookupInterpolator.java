@@ -0,0 +1,68 @@
+package net.voxelindustry.brokkgui.animation;
+
+/**
+ * Interpolator reading the values of another one from a table sampled once at creation, blending linearly between two
+ * samples.
+ * <p>
+ * The precision depends on the resolution and on the curvature of the sampled interpolator, functions with an infinite
+ * slope like {@link Interpolators#CIRC_IN} lose more precision near that point. Step functions like
+ * {@link Interpolators#DISCRETE} should not be sampled.
+ */
+public class LookupInterpolator implements Interpolator
+{
+    public static final int DEFAULT_RESOLUTION = 512;
+
+    private final Interpolator source;
+    private final float[]      samples;
+    private final int          resolution;
+
+    /**
+     * @param source     the interpolator to sample
+     * @param resolution the count of intervals of the table, sampled from 0 to 1 included
+     */
+    public LookupInterpolator(Interpolator source, int resolution)
+    {
+        if (resolution < 1)
+            throw new IllegalArgumentException("Cannot create a lookup table with a resolution of " + resolution);
+
+        this.source = source;
+        this.resolution = resolution;
+        this.samples = new float[resolution + 1];
+
+        for (int index = 0; index <= resolution; index++)
+            this.samples[index] = source.apply((float) index / resolution);
+    }
+
+    public LookupInterpolator(Interpolator source)
+    {
+        this(source, DEFAULT_RESOLUTION);
+    }
+
+    @Override
+    public float apply(float delta)
+    {
+        if (delta <= 0)
+            return this.samples[0];
+        if (delta >= 1)
+            return this.samples[this.resolution];
+
+        float position = delta * this.resolution;
+        int index = (int) position;
+        if (index >= this.resolution)
+            return this.samples[this.resolution];
+
+        float low = this.samples[index];
+
+        return low + (this.samples[index + 1] - low) * (position - index);
+    }
+
+    public Interpolator getSource()
+    {
+        return this.source;
+    }
+
+    public int getResolution()
+    {
+        return this.resolution;
+    }
+}
@@ -0,0 +1,152 @@
+package net.voxelindustry.brokkgui.animation;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Default {@link ITickSender}, ticking all its registered {@link ITicking} from {@link #tick()} once per frame.
+ * <p>
+ * Tickings are held in an array, adding and removing one is done in constant time. Tickings added during a tick are
+ * first ticked on the next frame, tickings removed during a tick are not ticked anymore from this frame.
+ * The clock is read once per frame and the same time is given to every ticking.
+ * Not thread-safe, meant to be used from the render thread.
+ */
+public class TickScheduler implements ITickSender
+{
+    private final LongSupplier clock;
+
+    private ITicking[] tickings;
+    private int        size;
+
+    /**
+     * Position of each registered ticking in the array
+     */
+    private final Map<ITicking, Integer> slots;
+
+    private boolean ticking;
+    private int     removedDuringTick;
+
+    public TickScheduler(LongSupplier clock)
+    {
+        this.clock = clock;
+
+        this.tickings = new ITicking[16];
+        this.slots = new IdentityHashMap<>();
+    }
+
+    public TickScheduler()
+    {
+        this(System::currentTimeMillis);
+    }
+
+    @Override
+    public void addTicking(ITicking toTick)
+    {
+        if (this.slots.containsKey(toTick))
+            return;
+
+        if (this.size == this.tickings.length)
+            this.tickings = Arrays.copyOf(this.tickings, this.size * 2);
+
+        this.slots.put(toTick, this.size);
+        this.tickings[this.size++] = toTick;
+    }
+
+    @Override
+    public void removeTicking(ITicking toTick)
+    {
+        Integer slot = this.slots.remove(toTick);
+        if (slot == null)
+            return;
+
+        // The array is iterated, the slot is emptied and compacted at the end of the tick
+        if (this.ticking)
+        {
+            this.tickings[slot] = null;
+            this.removedDuringTick++;
+            return;
+        }
+
+        int last = this.size - 1;
+        if (slot != last)
+        {
+            this.tickings[slot] = this.tickings[last];
+            this.slots.put(this.tickings[slot], slot);
+        }
+        this.tickings[last] = null;
+        this.size--;
+    }
+
+    /**
+     * Tick all the registered tickings with the current time of the clock.
+     */
+    public void tick()
+    {
+        this.tick(this.clock.getAsLong());
+    }
+
+    /**
+     * Tick all the registered tickings with the given time.
+     *
+     * @param currentMillis the time of the frame in milliseconds
+     */
+    public void tick(long currentMillis)
+    {
+        if (this.ticking)
+            return;
+
+        this.ticking = true;
+        try
+        {
+            int count = this.size;
+            for (int index = 0; index < count; index++)
+            {
+                ITicking toTick = this.tickings[index];
+                if (toTick != null)
+                    toTick.tick(currentMillis);
+            }
+        } finally
+        {
+            this.ticking = false;
+            if (this.removedDuringTick != 0)
+                this.compact();
+        }
+    }
+
+    private void compact()
+    {
+        int kept = 0;
+        for (int index = 0; index < this.size; index++)
+        {
+            ITicking toTick = this.tickings[index];
+            if (toTick == null)
+                continue;
+
+            if (kept != index)
+            {
+                this.tickings[kept] = toTick;
+                this.slots.put(toTick, kept);
+            }
+            kept++;
+        }
+        Arrays.fill(this.tickings, kept, this.size, null);
+
+        this.size = kept;
+        this.removedDuringTick = 0;
+    }
+
+    public boolean isTicking(ITicking toTick)
+    {
+        return this.slots.containsKey(toTick);
+    }
+
+    /**
+     * @return the count of registered tickings
+     */
+    public int getTickingCount()
+    {
+        return this.size - this.removedDuringTick;
+    }
+}
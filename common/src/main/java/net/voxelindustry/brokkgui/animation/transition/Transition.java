@@ -19,12 +19,16 @@ public abstract class Transition extends Animation
 
         this.interpolator = Interpolators.QUAD_BOTH;
 
-        this.getProgressProperty().addListener(obs -> apply(interpolator.apply(getProgress())));
-
         this.node = node;
         this.node.getEventDispatcher().addHandler(DisposeEvent.TYPE, event -> this.complete());
     }
 
+    @Override
+    protected void onProgress(float progress)
+    {
+        this.apply(this.interpolator.apply(progress));
+    }
+
     protected abstract void apply(float interpolated);
 
     public Interpolator getInterpolator()
@@ -37,6 +41,12 @@ public abstract class Transition extends Animation
         this.interpolator = interpolator;
     }
 
+    @Override
+    protected GuiNode getSuspensionTarget()
+    {
+        return this.getNode();
+    }
+
     public GuiNode getNode()
     {
         if (node == null && getParent() instanceof Transition)
@@ -1,9 +1,12 @@
 package net.voxelindustry.brokkgui.border;
 
+import net.voxelindustry.brokkgui.BrokkGuiPlatform;
 import net.voxelindustry.brokkgui.data.RectBox;
 import net.voxelindustry.brokkgui.data.RectSide;
 import net.voxelindustry.brokkgui.internal.IGuiRenderer;
+import net.voxelindustry.brokkgui.sprite.AtlasRegion;
 import net.voxelindustry.brokkgui.sprite.Texture;
+import net.voxelindustry.brokkgui.sprite.TextureAtlas;
 import net.voxelindustry.brokkgui.shape.GuiShape;
 
 public class ImageBorderDrawer
@@ -30,13 +33,19 @@ public class ImageBorderDrawer
 
         boolean doFill = shape.getStyle().getStyleValue("border-image-fill", Boolean.class, false);
 
-        renderer.getHelper().bindTexture(texture);
+        // The slices are given in the whole image, they are moved to its region when it is packed in the atlas
+        TextureAtlas atlas = BrokkGuiPlatform.getInstance().getTextureAtlas();
+        AtlasRegion region = atlas == null ? null : atlas.getRegion(texture.getResource());
+        if (region != null)
+            renderer.getHelper().bindTexture(new Texture(atlas.getPageResource(region.getPage())));
+        else
+            renderer.getHelper().bindTexture(texture);
 
         // Walls
 
         if (borderTop > 0)
         {
-            renderer.getHelper().drawTexturedRect(renderer,
+            drawSlice(renderer, region,
                     leftPos, topPos - borderTop,
                     sliceBox.getLeft(), 0,
                     1 - sliceBox.getRight(), sliceBox.getTop(),
@@ -45,7 +54,7 @@ public class ImageBorderDrawer
 
         if (borderBottom > 0)
         {
-            renderer.getHelper().drawTexturedRect(renderer,
+            drawSlice(renderer, region,
                     leftPos, bottomPos - (widthBox.getBottom() - 1) * borderBottom,
                     sliceBox.getLeft(), 1 - sliceBox.getBottom(),
                     1 - sliceBox.getRight(), 1,
@@ -54,7 +63,7 @@ public class ImageBorderDrawer
 
         if (borderLeft > 0)
         {
-            renderer.getHelper().drawTexturedRect(renderer,
+            drawSlice(renderer, region,
                     leftPos - borderLeft, topPos,
                     0, sliceBox.getTop(),
                     sliceBox.getLeft(), 1 - sliceBox.getBottom(),
@@ -63,7 +72,7 @@ public class ImageBorderDrawer
 
         if (borderRight > 0)
         {
-            renderer.getHelper().drawTexturedRect(renderer,
+            drawSlice(renderer, region,
                     rightPos - (widthBox.getRight() - 1) * borderRight, topPos,
                     1 - sliceBox.getRight(), sliceBox.getTop(),
                     1, 1 - sliceBox.getBottom(),
@@ -74,7 +83,7 @@ public class ImageBorderDrawer
 
         if (borderTop > 0 && borderLeft > 0)
         {
-            renderer.getHelper().drawTexturedRect(renderer,
+            drawSlice(renderer, region,
                     leftPos - borderLeft, topPos - borderTop,
                     0, 0,
                     sliceBox.getLeft(), sliceBox.getTop(),
@@ -84,7 +93,7 @@ public class ImageBorderDrawer
 
         if (borderTop > 0 && borderRight > 0)
         {
-            renderer.getHelper().drawTexturedRect(renderer,
+            drawSlice(renderer, region,
                     rightPos, topPos - borderTop,
                     1 - sliceBox.getRight(), 0,
                     1, sliceBox.getTop(),
@@ -94,7 +103,7 @@ public class ImageBorderDrawer
 
         if (borderBottom > 0 && borderRight > 0)
         {
-            renderer.getHelper().drawTexturedRect(renderer,
+            drawSlice(renderer, region,
                     rightPos, bottomPos,
                     1 - sliceBox.getRight(), 1 - sliceBox.getBottom(),
                     1, 1,
@@ -104,7 +113,7 @@ public class ImageBorderDrawer
 
         if (borderBottom > 0 && borderLeft > 0)
         {
-            renderer.getHelper().drawTexturedRect(renderer,
+            drawSlice(renderer, region,
                     leftPos - borderLeft, bottomPos,
                     0, 1 - sliceBox.getBottom(),
                     sliceBox.getLeft(), 1,
@@ -114,7 +123,7 @@ public class ImageBorderDrawer
 
         if (doFill)
         {
-            renderer.getHelper().drawTexturedRect(renderer,
+            drawSlice(renderer, region,
                     leftPos + widthBox.getLeft() * borderLeft, topPos + widthBox.getTop() * borderTop,
                     sliceBox.getLeft(), sliceBox.getTop(), 1 - sliceBox.getRight(), 1 - sliceBox.getBottom(),
                     width - widthBox.getLeft() * borderLeft - widthBox.getRight() * borderRight,
@@ -122,4 +131,14 @@ public class ImageBorderDrawer
                     shape.getzLevel());
         }
     }
+
+    private static void drawSlice(IGuiRenderer renderer, AtlasRegion region, float xStart, float yStart,
+                                  float uMin, float vMin, float uMax, float vMax, float width, float height, float zLevel)
+    {
+        if (region != null)
+            renderer.getHelper().drawTexturedRect(renderer, xStart, yStart,
+                    region.getU(uMin), region.getV(vMin), region.getU(uMax), region.getV(vMax), width, height, zLevel);
+        else
+            renderer.getHelper().drawTexturedRect(renderer, xStart, yStart, uMin, vMin, uMax, vMax, width, height, zLevel);
+    }
 }
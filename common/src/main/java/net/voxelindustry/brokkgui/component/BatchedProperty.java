@@ -0,0 +1,60 @@
+package net.voxelindustry.brokkgui.component;
+
+import fr.ourten.teabeans.value.BaseProperty;
+
+/**
+ * Property whose writes are held while an {@link UpdateBatch} is open.
+ * <p>
+ * The pending value is returned by {@link #getValue()} so bindings recomputed while the batch is flushed read the
+ * final values of every property written in the batch, and a property written several times notifies only once.
+ * Notifications are not merged across properties, a binding depending on several of them is invalidated by each.
+ */
+final class BatchedProperty<T> extends BaseProperty<T>
+{
+    private T       pendingValue;
+    private boolean pending;
+
+    BatchedProperty(T value, String name)
+    {
+        super(value, name);
+    }
+
+    @Override
+    public T getValue()
+    {
+        if (this.pending)
+            return this.pendingValue;
+        return super.getValue();
+    }
+
+    @Override
+    public void setValue(T value)
+    {
+        if (!UpdateBatch.isOpen() || this.isBound())
+        {
+            super.setValue(value);
+            return;
+        }
+
+        if (!this.pending)
+        {
+            this.pending = true;
+            UpdateBatch.defer(this);
+        }
+        this.pendingValue = value;
+    }
+
+    void flush()
+    {
+        if (!this.pending)
+            return;
+
+        T value = this.pendingValue;
+        this.pending = false;
+        this.pendingValue = null;
+
+        // A binding may have been set during the batch, it takes precedence over the pending write
+        if (!this.isBound())
+            super.setValue(value);
+    }
+}
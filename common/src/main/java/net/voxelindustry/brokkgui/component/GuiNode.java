@@ -30,7 +30,9 @@ import net.voxelindustry.hermod.EventDispatcher;
 import net.voxelindustry.hermod.EventHandler;
 import net.voxelindustry.hermod.IEventEmitter;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.function.Supplier;
 
 public abstract class GuiNode implements IEventEmitter, ICascadeStyleable
@@ -62,21 +64,30 @@ public abstract class GuiNode implements IEventEmitter, ICascadeStyleable
 
     private IGuiSubWindow window;
 
+    private boolean layoutDirty;
+    private boolean disposed;
+
+    /**
+     * Index of the last frame this node was rendered in, and callbacks waiting for its next render
+     */
+    private long           lastRenderFrame;
+    private List<Runnable> renderWaiters;
+
     public GuiNode(String type)
     {
         this.type = type;
 
-        this.xPosProperty = new BaseProperty<>(0f, "xPosProperty");
-        this.yPosProperty = new BaseProperty<>(0f, "yPosProperty");
+        this.xPosProperty = new BatchedProperty<>(0f, "xPosProperty");
+        this.yPosProperty = new BatchedProperty<>(0f, "yPosProperty");
 
-        this.xTranslateProperty = new BaseProperty<>(0f, "xTranslateProperty");
-        this.yTranslateProperty = new BaseProperty<>(0f, "yTranslateProperty");
+        this.xTranslateProperty = new BatchedProperty<>(0f, "xTranslateProperty");
+        this.yTranslateProperty = new BatchedProperty<>(0f, "yTranslateProperty");
 
-        this.widthProperty = new BaseProperty<>(0f, "widthProperty");
-        this.heightProperty = new BaseProperty<>(0f, "heightProperty");
+        this.widthProperty = new BatchedProperty<>(0f, "widthProperty");
+        this.heightProperty = new BatchedProperty<>(0f, "heightProperty");
 
-        this.widthRatioProperty = new BaseProperty<>(-1f, "widthRatioProperty");
-        this.heightRatioProperty = new BaseProperty<>(-1f, "heightRatioProperty");
+        this.widthRatioProperty = new BatchedProperty<>(-1f, "widthRatioProperty");
+        this.heightRatioProperty = new BatchedProperty<>(-1f, "heightRatioProperty");
 
         this.zLevelProperty = new BaseProperty<>(0f, "zLevelProperty");
 
@@ -149,6 +160,14 @@ public abstract class GuiNode implements IEventEmitter, ICascadeStyleable
         });
 
         this.getStyle().registerProperty("opacity", 1D, Double.class);
+
+        this.layoutDirty = true;
+        this.getxPosProperty().addListener(obs -> this.requestLayout());
+        this.getyPosProperty().addListener(obs -> this.requestLayout());
+        this.getxTranslateProperty().addListener(obs -> this.requestLayout());
+        this.getyTranslateProperty().addListener(obs -> this.requestLayout());
+        this.getWidthProperty().addListener(obs -> this.requestLayout());
+        this.getHeightProperty().addListener(obs -> this.requestLayout());
     }
 
     /**
@@ -158,17 +177,59 @@ public abstract class GuiNode implements IEventEmitter, ICascadeStyleable
      */
     public void dispose()
     {
+        this.disposed = true;
         this.getEventDispatcher().dispatchEvent(DisposeEvent.TYPE, new DisposeEvent(this));
 
         if (this.getScissorBox() != null)
             this.getScissorBox().dispose();
     }
 
+    /**
+     * @return true once {@link #dispose()} was called, for holders of many nodes to drop them without a handler each
+     */
+    public boolean isDisposed()
+    {
+        return this.disposed;
+    }
+
+    /**
+     * @return true if this node was rendered during the current or the previous frame. False when it or one of its
+     * ancestors is hidden or culled, or when it is out of the tree. Always true before the first frame.
+     */
+    public boolean isRenderedRecently()
+    {
+        long frameIndex = BrokkGuiPlatform.getInstance().getFrameClock().getFrameIndex();
+        return frameIndex == 0 || this.lastRenderFrame >= frameIndex - 1;
+    }
+
+    /**
+     * Run a callback the next time this node is rendered, to resume work parked while the node was not displayed.
+     *
+     * @param callback the callback to run once
+     */
+    public void runOnNextRender(Runnable callback)
+    {
+        if (this.renderWaiters == null)
+            this.renderWaiters = new ArrayList<>(1);
+        this.renderWaiters.add(callback);
+    }
+
     public final void renderNode(IGuiRenderer renderer, RenderPass pass, int mouseX, int mouseY)
     {
         if (!this.isVisible())
             return;
 
+        this.lastRenderFrame = BrokkGuiPlatform.getInstance().getFrameClock().getFrameIndex();
+        if (this.renderWaiters != null)
+        {
+            List<Runnable> waiters = this.renderWaiters;
+            this.renderWaiters = null;
+            waiters.forEach(Runnable::run);
+        }
+
+        // No-op when the layout is clean, only nodes rendered outside of a tree will do work here
+        this.layoutNode();
+
         BrokkGuiPlatform.getInstance().getProfiler().preElementRender(this);
 
         boolean createdMatrix = false;
@@ -224,6 +285,98 @@ public abstract class GuiNode implements IEventEmitter, ICascadeStyleable
 
     protected abstract void renderContent(IGuiRenderer renderer, RenderPass pass, int mouseX, int mouseY);
 
+    /**
+     * Run the given updates in a batch scope. Position, translation, size and size ratio changes made inside the
+     * scope are held until the outermost scope closes, each changed property then notifies its listeners once with its
+     * final value.
+     * <p>
+     * Reading those properties inside the scope returns the pending values. A binding depending on several changed
+     * properties is still invalidated once per property, but every recompute reads the final values.
+     *
+     * @param updates the updates to apply
+     */
+    public static void batchUpdate(Runnable updates)
+    {
+        UpdateBatch.run(updates);
+    }
+
+    ////////////
+    // LAYOUT //
+    ////////////
+
+    /**
+     * Mark this node as needing a new layout pass.
+     * <p>
+     * The request is propagated to the fathers until an already dirty one is reached, the actual measure and arrange
+     * work is deferred to the next call of {@link #layoutNode()} on the root, made once before rendering.
+     */
+    public void requestLayout()
+    {
+        if (this.layoutDirty)
+            return;
+        this.layoutDirty = true;
+
+        if (this.getFather() != null)
+            this.getFather().requestLayout();
+    }
+
+    public boolean isLayoutDirty()
+    {
+        return this.layoutDirty;
+    }
+
+    /**
+     * Run the layout pass of this node and its dirty descendants if needed.
+     * <p>
+     * Sizes are first measured from the leaves to this node, positions are then arranged from this node to the
+     * leaves.
+     */
+    public final void layoutNode()
+    {
+        if (!this.layoutDirty)
+            return;
+
+        this.measureNode();
+        this.arrangeNode();
+    }
+
+    /**
+     * Internal method for the layouting system, measure the dirty descendants then this node.
+     */
+    public void measureNode()
+    {
+        this.measure();
+    }
+
+    /**
+     * Internal method for the layouting system, arrange this node then its dirty descendants.
+     */
+    public void arrangeNode()
+    {
+        this.arrange();
+        this.layoutDirty = false;
+
+        if (this.eventDispatcher != null)
+            this.eventDispatcher.dispatchEvent(LayoutEvent.LAYOUT, new LayoutEvent.Layout(this));
+    }
+
+    /**
+     * Compute the size of this node from its content. Called after the children of this node have been measured.
+     */
+    protected void measure()
+    {
+
+    }
+
+    /**
+     * Position the content of this node from its current size and position. Called before the children of this
+     * node are arranged.
+     */
+    protected void arrange()
+    {
+
+    }
+
     public void handleHover(int mouseX, int mouseY, boolean hovered)
     {
         if (this.isVisible())
@@ -476,8 +629,11 @@ public abstract class GuiNode implements IEventEmitter, ICascadeStyleable
      */
     public void setTranslate(float xTranslate, float yTranslate)
     {
-        this.setxTranslate(xTranslate);
-        this.setyTranslate(yTranslate);
+        GuiNode.batchUpdate(() ->
+        {
+            this.setxTranslate(xTranslate);
+            this.setyTranslate(yTranslate);
+        });
     }
 
     public float getWidth()
@@ -552,8 +708,11 @@ public abstract class GuiNode implements IEventEmitter, ICascadeStyleable
      */
     public void setSize(float width, float height)
     {
-        this.setWidth(width);
-        this.setHeight(height);
+        GuiNode.batchUpdate(() ->
+        {
+            this.setWidth(width);
+            this.setHeight(height);
+        });
     }
 
     public float getWidthRatio()
@@ -604,8 +763,11 @@ public abstract class GuiNode implements IEventEmitter, ICascadeStyleable
      */
     public void setSizeRatio(float widthRatio, float heightRatio)
     {
-        this.setWidthRatio(widthRatio);
-        this.setHeightRatio(heightRatio);
+        GuiNode.batchUpdate(() ->
+        {
+            this.setWidthRatio(widthRatio);
+            this.setHeightRatio(heightRatio);
+        });
     }
 
     public Rotation getRotation()
@@ -0,0 +1,63 @@
+package net.voxelindustry.brokkgui.component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scope deferring the writes made to batched node properties until the outermost scope closes.
+ * <p>
+ * Like the rest of the nodes, it must only be used from the gui thread.
+ *
+ * @see GuiNode#batchUpdate(Runnable)
+ */
+final class UpdateBatch
+{
+    private static final List<BatchedProperty<?>> deferred = new ArrayList<>();
+
+    private static int     depth;
+    private static boolean flushing;
+
+    private UpdateBatch()
+    {
+
+    }
+
+    static boolean isOpen()
+    {
+        return depth > 0;
+    }
+
+    static void run(Runnable updates)
+    {
+        depth++;
+        try
+        {
+            updates.run();
+        } finally
+        {
+            depth--;
+            if (depth == 0 && !flushing)
+                flush();
+        }
+    }
+
+    static void defer(BatchedProperty<?> property)
+    {
+        deferred.add(property);
+    }
+
+    private static void flush()
+    {
+        flushing = true;
+        try
+        {
+            // Listeners notified here can open new batches, their properties are appended and flushed by this loop
+            for (int i = 0; i < deferred.size(); i++)
+                deferred.get(i).flush();
+        } finally
+        {
+            deferred.clear();
+            flushing = false;
+        }
+    }
+}
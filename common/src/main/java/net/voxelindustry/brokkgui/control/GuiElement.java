@@ -35,6 +35,18 @@ public abstract class GuiElement extends GuiFather implements IGuiSkinnable
         super.renderContent(renderer, pass, mouseX, mouseY);
     }
 
+    @Override
+    protected void measure()
+    {
+        this.getSkin().measure();
+    }
+
+    @Override
+    protected void arrange()
+    {
+        this.getSkin().arrange();
+    }
+
     protected abstract GuiSkinBase<?> makeDefaultSkin();
 
     @Override
@@ -4,12 +4,14 @@ import fr.ourten.teabeans.listener.ListValueChangeListener;
 import fr.ourten.teabeans.value.BaseListProperty;
 import fr.ourten.teabeans.value.BaseProperty;
 import net.voxelindustry.brokkgui.component.GuiNode;
+import net.voxelindustry.brokkgui.data.Rotation;
 import net.voxelindustry.brokkgui.gui.IGuiSubWindow;
 import net.voxelindustry.brokkgui.internal.IGuiRenderer;
 import net.voxelindustry.brokkgui.paint.RenderPass;
 import net.voxelindustry.brokkgui.policy.GuiOverflowPolicy;
 import net.voxelindustry.brokkgui.shape.GuiShape;
 import net.voxelindustry.brokkgui.shape.Rectangle;
+import net.voxelindustry.brokkgui.shape.ScissorBox;
 import net.voxelindustry.brokkgui.style.ICascadeStyleable;
 import net.voxelindustry.brokkgui.style.IStyleParent;
 import net.voxelindustry.brokkgui.style.IStyleable;
@@ -62,6 +64,7 @@ public class GuiFather extends GuiShape implements IStyleParent
                 this.removeStyleChild(oldValue);
                 oldValue.setFather(null);
             }
+            this.requestLayout();
         });
 
         this.styleChilds = new ArrayList<>();
@@ -177,11 +180,70 @@ public class GuiFather extends GuiShape implements IStyleParent
         return this.getGuiOverflowProperty().getValue();
     }
 
+    @Override
+    public void measureNode()
+    {
+        for (int i = 0; i < this.getChildrensProperty().size(); i++)
+        {
+            GuiNode child = this.getChildrensProperty().get(i);
+            if (child.isLayoutDirty())
+                child.measureNode();
+        }
+        super.measureNode();
+    }
+
+    @Override
+    public void arrangeNode()
+    {
+        super.arrangeNode();
+
+        boolean dirtyChild = false;
+        for (int i = 0; i < this.getChildrensProperty().size(); i++)
+        {
+            GuiNode child = this.getChildrensProperty().get(i);
+            if (child.isLayoutDirty())
+                child.arrangeNode();
+            dirtyChild |= child.isLayoutDirty();
+        }
+
+        // A child was invalidated by one of its siblings after being arranged, keep it for the next pass
+        if (dirtyChild)
+            this.requestLayout();
+    }
+
     @Override
     public void renderContent(IGuiRenderer renderer, RenderPass pass, int mouseX, int mouseY)
     {
         super.renderContent(renderer, pass, mouseX, mouseY);
-        this.getChildrens().forEach(child -> child.renderNode(renderer, pass, mouseX, mouseY));
+
+        ScissorBox scissorBox = this.getScissorBox();
+        for (GuiNode child : this.getChildrens())
+        {
+            if (scissorBox != null && isCulled(scissorBox, child, pass))
+                continue;
+            child.renderNode(renderer, pass, mouseX, mouseY);
+        }
+    }
+
+    /**
+     * A node is culled when it lies entirely outside the box, and so do its descendants unless it trims them to its
+     * own bounds. Rotated and scaled nodes may still draw inside the box and are never culled.
+     */
+    private static boolean isCulled(ScissorBox scissorBox, GuiNode node, RenderPass pass)
+    {
+        if (node.getRotation() != Rotation.NONE || node.getScaleProperty().isPresent() || !scissorBox.culls(node, pass))
+            return false;
+        if (!(node instanceof GuiFather))
+            return true;
+        if (node.getScissorBox() != null && node.getScissorBox().clipsNode(node, pass))
+            return true;
+
+        for (GuiNode child : ((GuiFather) node).getChildrens())
+        {
+            if (child.isVisible() && !isCulled(scissorBox, child, pass))
+                return false;
+        }
+        return true;
     }
 
     @Override
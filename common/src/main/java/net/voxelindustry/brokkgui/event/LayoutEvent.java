@@ -10,6 +10,7 @@ public class LayoutEvent extends HermodEvent
     public static final EventType<LayoutEvent> ANY    = new EventType<>("LAYOUT_EVENT");
     public static final EventType<Add>         ADD    = new EventType<>(ANY, "LAYOUT_ADD_EVENT");
     public static final EventType<Remove>      REMOVE = new EventType<>(ANY, "LAYOUT_REMOVE_EVENT");
+    public static final EventType<Layout>      LAYOUT = new EventType<>(ANY, "LAYOUT_LAYOUT_EVENT");
 
     public LayoutEvent(GuiNode source)
     {
@@ -49,4 +50,18 @@ public class LayoutEvent extends HermodEvent
             return new Remove((GuiNode) source);
         }
     }
-}
+
+    public static class Layout extends LayoutEvent
+    {
+        public Layout(GuiNode source)
+        {
+            super(source);
+        }
+
+        @Override
+        public Layout copy(IEventEmitter source)
+        {
+            return new Layout((GuiNode) source);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package net.voxelindustry.brokkgui.internal;
+
+/**
+ * Points of a unit circle or arc, centered on 0 with a radius of 1, going clockwise on screen.
+ * <p>
+ * Geometries are shared through {@link TessellationCache} and moved to their final place by a translate and scale
+ * while their vertices are added to the renderer. The caller begins and ends the drawing, with the mode given in the
+ * documentation of each method.
+ */
+public class ArcGeometry
+{
+    private final float[] points;
+    private final int     pointCount;
+
+    /**
+     * @param startAngle the angle of the first point in radians, 0 pointing right and PI / 2 pointing down
+     * @param endAngle   the angle of the last point in radians
+     * @param segments   the number of segments between the first and last point
+     */
+    public ArcGeometry(double startAngle, double endAngle, int segments)
+    {
+        this.pointCount = segments + 1;
+        this.points = new float[this.pointCount * 2];
+
+        for (int index = 0; index < this.pointCount; index++)
+        {
+            double angle = startAngle + (endAngle - startAngle) * index / segments;
+            this.points[index * 2] = (float) Math.cos(angle);
+            this.points[index * 2 + 1] = (float) Math.sin(angle);
+        }
+
+        // Close full circles exactly, so the last segment does not leave a gap
+        if (Math.abs(endAngle - startAngle - Math.PI * 2) < 1e-9)
+        {
+            this.points[segments * 2] = this.points[0];
+            this.points[segments * 2 + 1] = this.points[1];
+        }
+    }
+
+    public int getPointCount()
+    {
+        return pointCount;
+    }
+
+    public float getX(int index)
+    {
+        return points[index * 2];
+    }
+
+    public float getY(int index)
+    {
+        return points[index * 2 + 1];
+    }
+
+    /**
+     * Add the center then every point, to be drawn as a {@link EGuiRenderMode#TRIANGLE_FAN}.
+     */
+    public void addFanVertices(IGuiRenderer renderer, float centerX, float centerY, float radius, float zLevel)
+    {
+        renderer.addVertex(centerX, centerY, zLevel);
+        for (int index = 0; index < this.pointCount; index++)
+            renderer.addVertex(centerX + this.points[index * 2] * radius, centerY + this.points[index * 2 + 1] * radius, zLevel);
+    }
+
+    /**
+     * Add the center then every point, with UVs mapping the texture on the square enclosing the full circle, to be
+     * drawn as a {@link EGuiRenderMode#TRIANGLE_FAN}.
+     */
+    public void addFanVerticesWithUV(IGuiRenderer renderer, float centerX, float centerY, float radius, float zLevel,
+                                     float uMin, float vMin, float uMax, float vMax)
+    {
+        float uCenter = (uMin + uMax) / 2;
+        float vCenter = (vMin + vMax) / 2;
+        float uRadius = (uMax - uMin) / 2;
+        float vRadius = (vMax - vMin) / 2;
+
+        renderer.addVertexWithUV(centerX, centerY, zLevel, uCenter, vCenter);
+        for (int index = 0; index < this.pointCount; index++)
+        {
+            float x = this.points[index * 2];
+            float y = this.points[index * 2 + 1];
+            renderer.addVertexWithUV(centerX + x * radius, centerY + y * radius, zLevel,
+                    uCenter + x * uRadius, vCenter + y * vRadius);
+        }
+    }
+
+    /**
+     * Add an outer then inner vertex for every point, to be drawn as a {@link EGuiRenderMode#TRIANGLE_STRIP}.
+     */
+    public void addRingVertices(IGuiRenderer renderer, float centerX, float centerY, float innerRadius, float outerRadius,
+                                float zLevel)
+    {
+        for (int index = 0; index < this.pointCount; index++)
+        {
+            float x = this.points[index * 2];
+            float y = this.points[index * 2 + 1];
+            renderer.addVertex(centerX + x * outerRadius, centerY + y * outerRadius, zLevel);
+            renderer.addVertex(centerX + x * innerRadius, centerY + y * innerRadius, zLevel);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import net.voxelindustry.brokkgui.data.RectCorner;
 import net.voxelindustry.brokkgui.data.Vector2i;
 import net.voxelindustry.brokkgui.paint.Color;
 import net.voxelindustry.brokkgui.sprite.SpriteRotation;
+import net.voxelindustry.brokkgui.sprite.SpriteTileGeometry;
 import net.voxelindustry.brokkgui.sprite.Texture;
 
 /**
@@ -49,6 +50,52 @@ public interface IGuiHelper
     void drawTexturedRect(IGuiRenderer renderer, float xStart, float yStart, float uMin, float vMin, float width,
                           float height, float zLevel);
 
+    /**
+     * Draw the whole bound texture repeated over a rectangle. Platforms binding textures with a repeat wrap mode should
+     * draw it as a single quad, this default draws each repetition on its own.
+     *
+     * @param uMax the number of times the texture is repeated horizontally
+     * @param vMax the number of times the texture is repeated vertically
+     */
+    default void drawTexturedRectWrapped(IGuiRenderer renderer, float xStart, float yStart, float uMax, float vMax,
+                                         float width, float height, float zLevel)
+    {
+        float tileWidth = width / uMax;
+        float tileHeight = height / vMax;
+
+        for (int xIndex = 0; xIndex < uMax; xIndex++)
+        {
+            float uEnd = Math.min(1, uMax - xIndex);
+            for (int yIndex = 0; yIndex < vMax; yIndex++)
+            {
+                float vEnd = Math.min(1, vMax - yIndex);
+                drawTexturedRect(renderer, xStart + xIndex * tileWidth, yStart + yIndex * tileHeight,
+                        0, 0, uEnd, vEnd, uEnd * tileWidth, vEnd * tileHeight, zLevel);
+            }
+        }
+    }
+
+    /**
+     * Draw quads of the bound texture, each described by 8 floats: x, y, width, height, uMin, vMin, uMax, vMax.
+     * Platforms should emit them in a single vertex block, this default draws each quad on its own.
+     *
+     * @param quads     the quads, positioned relative to xStart and yStart
+     * @param rotations the rotation of each quad, can be null
+     * @param quadCount the number of quads to read from the array
+     */
+    default void drawTexturedQuads(IGuiRenderer renderer, float xStart, float yStart, float zLevel, float[] quads,
+                                   SpriteRotation[] rotations, int quadCount)
+    {
+        for (int index = 0; index < quadCount; index++)
+        {
+            int offset = index * SpriteTileGeometry.QUAD_SIZE;
+            drawTexturedRect(renderer, xStart + quads[offset], yStart + quads[offset + 1],
+                    quads[offset + 4], quads[offset + 5], quads[offset + 6], quads[offset + 7],
+                    quads[offset + 2], quads[offset + 3], zLevel,
+                    rotations == null ? SpriteRotation.NONE : rotations[index]);
+        }
+    }
+
     void drawColoredEmptyRect(IGuiRenderer renderer, float startX, float startY, float width, float height,
                               float zLevel, Color c, float thin);
 
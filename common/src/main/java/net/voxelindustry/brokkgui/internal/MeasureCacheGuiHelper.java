@@ -0,0 +1,342 @@
+package net.voxelindustry.brokkgui.internal;
+
+import net.voxelindustry.brokkgui.data.RectCorner;
+import net.voxelindustry.brokkgui.data.Vector2i;
+import net.voxelindustry.brokkgui.paint.Color;
+import net.voxelindustry.brokkgui.sprite.SpriteRotation;
+import net.voxelindustry.brokkgui.sprite.Texture;
+import net.voxelindustry.brokkgui.util.LRUCache;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Decorator of a platform {@link IGuiHelper} keeping the width and height of the last measured strings in bounded
+ * LRU caches.
+ * <p>
+ * The caches are emptied when the font state given by the platform changes, or when {@link #invalidate()} is
+ * called.
+ */
+public class MeasureCacheGuiHelper implements IGuiHelper
+{
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final IGuiHelper delegate;
+    private final Supplier<?> fontStateSupplier;
+
+    private final LRUCache<String, Float>      widthCache;
+    private final LRUCache<String, Float>      multiLineWidthCache;
+    private final LRUCache<SpacedText, Float>  multiLineHeightCache;
+
+    private Object fontState;
+
+    /**
+     * @param delegate          the platform helper doing the actual measures and drawing
+     * @param capacity          the maximum amount of strings kept by each cache
+     * @param fontStateSupplier supply an object equal to the previous one as long as the font is unchanged, can be
+     *                          null if the platform font never changes
+     */
+    public MeasureCacheGuiHelper(IGuiHelper delegate, int capacity, Supplier<?> fontStateSupplier)
+    {
+        this.delegate = delegate;
+        this.fontStateSupplier = fontStateSupplier;
+
+        this.widthCache = new LRUCache<>(capacity);
+        this.multiLineWidthCache = new LRUCache<>(capacity);
+        this.multiLineHeightCache = new LRUCache<>(capacity);
+
+        if (fontStateSupplier != null)
+            this.fontState = fontStateSupplier.get();
+    }
+
+    public MeasureCacheGuiHelper(IGuiHelper delegate)
+    {
+        this(delegate, DEFAULT_CAPACITY, null);
+    }
+
+    public IGuiHelper getDelegate()
+    {
+        return this.delegate;
+    }
+
+    /**
+     * Empty all caches. To be called by platforms when the font is reloaded without a change of font state.
+     */
+    public void invalidate()
+    {
+        this.widthCache.clear();
+        this.multiLineWidthCache.clear();
+        this.multiLineHeightCache.clear();
+    }
+
+    public long getHitCount()
+    {
+        return this.widthCache.getHitCount() + this.multiLineWidthCache.getHitCount()
+                + this.multiLineHeightCache.getHitCount();
+    }
+
+    public long getMissCount()
+    {
+        return this.widthCache.getMissCount() + this.multiLineWidthCache.getMissCount()
+                + this.multiLineHeightCache.getMissCount();
+    }
+
+    public void resetCounters()
+    {
+        this.widthCache.resetCounters();
+        this.multiLineWidthCache.resetCounters();
+        this.multiLineHeightCache.resetCounters();
+    }
+
+    private void checkFontState()
+    {
+        if (this.fontStateSupplier == null)
+            return;
+
+        Object currentState = this.fontStateSupplier.get();
+        if (!Objects.equals(this.fontState, currentState))
+        {
+            this.fontState = currentState;
+            this.invalidate();
+        }
+    }
+
+    /////////////
+    // MEASURE //
+    /////////////
+
+    @Override
+    public float getStringWidth(String str)
+    {
+        if (str == null || str.isEmpty())
+            return this.delegate.getStringWidth(str);
+
+        this.checkFontState();
+        return this.widthCache.get(str, this.delegate::getStringWidth);
+    }
+
+    @Override
+    public float getStringWidthMultiLine(String str)
+    {
+        if (str == null || str.isEmpty())
+            return this.delegate.getStringWidthMultiLine(str);
+
+        this.checkFontState();
+        return this.multiLineWidthCache.get(str, this.delegate::getStringWidthMultiLine);
+    }
+
+    @Override
+    public float getStringHeightMultiLine(String str, float lineSpacing)
+    {
+        if (str == null || str.isEmpty())
+            return this.delegate.getStringHeightMultiLine(str, lineSpacing);
+
+        this.checkFontState();
+        return this.multiLineHeightCache.get(new SpacedText(str, lineSpacing),
+                key -> this.delegate.getStringHeightMultiLine(key.text, key.lineSpacing));
+    }
+
+    @Override
+    public float getStringHeight()
+    {
+        return this.delegate.getStringHeight();
+    }
+
+    @Override
+    public float getDefaultLineSpacing()
+    {
+        return this.delegate.getDefaultLineSpacing();
+    }
+
+    @Override
+    public String trimStringToPixelWidth(String str, int pixelWidth)
+    {
+        return this.delegate.trimStringToPixelWidth(str, pixelWidth);
+    }
+
+    //////////////
+    // DELEGATE //
+    //////////////
+
+    @Override
+    public void bindTexture(Texture texture)
+    {
+        this.delegate.bindTexture(texture);
+    }
+
+    @Override
+    public void beginScissor()
+    {
+        this.delegate.beginScissor();
+    }
+
+    @Override
+    public void endScissor()
+    {
+        this.delegate.endScissor();
+    }
+
+    @Override
+    public void scissorBox(float f, float g, float h, float i)
+    {
+        this.delegate.scissorBox(f, g, h, i);
+    }
+
+    @Override
+    public void drawString(String string, float x, float y, float zLevel, Color textColor, Color shadowColor)
+    {
+        this.delegate.drawString(string, x, y, zLevel, textColor, shadowColor);
+    }
+
+    @Override
+    public void drawString(String string, float x, float y, float zLevel, Color textColor)
+    {
+        this.delegate.drawString(string, x, y, zLevel, textColor);
+    }
+
+    @Override
+    public void drawStringMultiline(String string, float x, float y, float zLevel, Color textColor, Color shadowColor,
+                                    float lineSpacing)
+    {
+        this.delegate.drawStringMultiline(string, x, y, zLevel, textColor, shadowColor, lineSpacing);
+    }
+
+    @Override
+    public void drawTexturedRect(IGuiRenderer renderer, float xStart, float yStart, float uMin, float vMin, float uMax,
+                                 float vMax, float width, float height, float zLevel, SpriteRotation rotation)
+    {
+        this.delegate.drawTexturedRect(renderer, xStart, yStart, uMin, vMin, uMax, vMax, width, height, zLevel,
+                rotation);
+    }
+
+    @Override
+    public void drawTexturedRect(IGuiRenderer renderer, float xStart, float yStart, float uMin, float vMin, float uMax,
+                                 float vMax, float width, float height, float zLevel)
+    {
+        this.delegate.drawTexturedRect(renderer, xStart, yStart, uMin, vMin, uMax, vMax, width, height, zLevel);
+    }
+
+    @Override
+    public void drawTexturedRect(IGuiRenderer renderer, float xStart, float yStart, float uMin, float vMin, float width,
+                                 float height, float zLevel)
+    {
+        this.delegate.drawTexturedRect(renderer, xStart, yStart, uMin, vMin, width, height, zLevel);
+    }
+
+    @Override
+    public void drawTexturedRectWrapped(IGuiRenderer renderer, float xStart, float yStart, float uMax, float vMax,
+                                        float width, float height, float zLevel)
+    {
+        this.delegate.drawTexturedRectWrapped(renderer, xStart, yStart, uMax, vMax, width, height, zLevel);
+    }
+
+    @Override
+    public void drawTexturedQuads(IGuiRenderer renderer, float xStart, float yStart, float zLevel, float[] quads,
+                                  SpriteRotation[] rotations, int quadCount)
+    {
+        this.delegate.drawTexturedQuads(renderer, xStart, yStart, zLevel, quads, rotations, quadCount);
+    }
+
+    @Override
+    public void drawColoredEmptyRect(IGuiRenderer renderer, float startX, float startY, float width, float height,
+                                     float zLevel, Color c, float thin)
+    {
+        this.delegate.drawColoredEmptyRect(renderer, startX, startY, width, height, zLevel, c, thin);
+    }
+
+    @Override
+    public void drawColoredRect(IGuiRenderer renderer, float startX, float startY, float width, float height,
+                                float zLevel, Color color)
+    {
+        this.delegate.drawColoredRect(renderer, startX, startY, width, height, zLevel, color);
+    }
+
+    @Override
+    public void drawTexturedCircle(IGuiRenderer renderer, float xStart, float yStart, float uMin, float vMin,
+                                   float uMax, float vMax, float radius, float zLevel)
+    {
+        this.delegate.drawTexturedCircle(renderer, xStart, yStart, uMin, vMin, uMax, vMax, radius, zLevel);
+    }
+
+    @Override
+    public void drawTexturedCircle(IGuiRenderer renderer, float xStart, float yStart, float uMin, float vMin,
+                                   float radius, float zLevel)
+    {
+        this.delegate.drawTexturedCircle(renderer, xStart, yStart, uMin, vMin, radius, zLevel);
+    }
+
+    @Override
+    public void drawColoredEmptyCircle(IGuiRenderer renderer, float startX, float startY, float radius, float zLevel,
+                                       Color color, float thin)
+    {
+        this.delegate.drawColoredEmptyCircle(renderer, startX, startY, radius, zLevel, color, thin);
+    }
+
+    @Override
+    public void drawColoredCircle(IGuiRenderer renderer, float startX, float startY, float radius, float zLevel,
+                                  Color c)
+    {
+        this.delegate.drawColoredCircle(renderer, startX, startY, radius, zLevel, c);
+    }
+
+    @Override
+    public void drawColoredLine(IGuiRenderer renderer, float startX, float startY, float endX, float endY,
+                                float lineWeight, float zLevel, Color c)
+    {
+        this.delegate.drawColoredLine(renderer, startX, startY, endX, endY, lineWeight, zLevel, c);
+    }
+
+    @Override
+    public void drawColoredArc(IGuiRenderer renderer, float centerX, float centerY, float radius, float zLevel,
+                               Color color, RectCorner corner)
+    {
+        this.delegate.drawColoredArc(renderer, centerX, centerY, radius, zLevel, color, corner);
+    }
+
+    @Override
+    public void translateVecToScreenSpace(Vector2i vec)
+    {
+        this.delegate.translateVecToScreenSpace(vec);
+    }
+
+    @Override
+    public void startAlphaMask(double opacity)
+    {
+        this.delegate.startAlphaMask(opacity);
+    }
+
+    @Override
+    public void closeAlphaMask()
+    {
+        this.delegate.closeAlphaMask();
+    }
+
+    private static final class SpacedText
+    {
+        private final String text;
+        private final float  lineSpacing;
+
+        private SpacedText(String text, float lineSpacing)
+        {
+            this.text = text;
+            this.lineSpacing = lineSpacing;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+            SpacedText that = (SpacedText) o;
+            return Float.compare(that.lineSpacing, lineSpacing) == 0 && text.equals(that.text);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * text.hashCode() + Float.floatToIntBits(lineSpacing);
+        }
+    }
+}
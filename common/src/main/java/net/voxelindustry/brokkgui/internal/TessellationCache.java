@@ -0,0 +1,100 @@
+package net.voxelindustry.brokkgui.internal;
+
+import net.voxelindustry.brokkgui.data.RectCorner;
+
+/**
+ * Shared unit circles and corner arcs used by the platform helpers to draw circles, arcs and rounded borders, so they
+ * are not tessellated again on each draw call.
+ * <p>
+ * The segment count is chosen from the radius on screen, keeping the distance between the curve and its segments
+ * under {@link #MAX_ERROR} pixel, up to {@link #MAX_SEGMENTS}. Counts are rounded up to a multiple of 4, so a quarter
+ * arc has the same points as the matching quarter of a circle and only a few geometries are ever created. Meant to be
+ * used from the gui thread.
+ */
+public class TessellationCache
+{
+    public static final float MAX_ERROR    = 0.25F;
+    public static final int   MIN_SEGMENTS = 8;
+    public static final int   MAX_SEGMENTS = 256;
+
+    private static final ArcGeometry[]   CIRCLES = new ArcGeometry[MAX_SEGMENTS / 4 + 1];
+    private static final ArcGeometry[][] ARCS    = new ArcGeometry[RectCorner.values().length][MAX_SEGMENTS / 4 + 1];
+
+    private TessellationCache()
+    {
+
+    }
+
+    /**
+     * @param screenRadius the radius in pixels on screen, once scaled by the gui and node transforms
+     * @return the number of segments of a full circle of this radius, a multiple of 4
+     */
+    public static int getSegmentCount(float screenRadius)
+    {
+        if (screenRadius <= MAX_ERROR)
+            return MIN_SEGMENTS;
+
+        // Each segment of angle a strays of radius * (1 - cos(a / 2)) from the curve
+        double segments = Math.ceil(Math.PI / Math.acos(1 - MAX_ERROR / screenRadius));
+        int rounded = ((int) Math.min(segments, MAX_SEGMENTS) + 3) & ~3;
+        return Math.max(MIN_SEGMENTS, Math.min(MAX_SEGMENTS, rounded));
+    }
+
+    /**
+     * @return the unit circle with the given number of segments, rounded to the segment counts of this cache
+     */
+    public static ArcGeometry getCircle(int segments)
+    {
+        int key = toKey(segments);
+        if (CIRCLES[key] == null)
+            CIRCLES[key] = new ArcGeometry(0, Math.PI * 2, key * 4);
+        return CIRCLES[key];
+    }
+
+    public static ArcGeometry getCircle(float screenRadius)
+    {
+        return getCircle(getSegmentCount(screenRadius));
+    }
+
+    /**
+     * @param segments the segment count of the full circle, the arc having a quarter of them
+     * @return the unit quarter arc bulging toward the given corner
+     */
+    public static ArcGeometry getArc(RectCorner corner, int segments)
+    {
+        int key = toKey(segments);
+        ArcGeometry[] arcs = ARCS[corner.ordinal()];
+        if (arcs[key] == null)
+        {
+            double startAngle = getStartAngle(corner);
+            arcs[key] = new ArcGeometry(startAngle, startAngle + Math.PI / 2, key);
+        }
+        return arcs[key];
+    }
+
+    public static ArcGeometry getArc(RectCorner corner, float screenRadius)
+    {
+        return getArc(corner, getSegmentCount(screenRadius));
+    }
+
+    private static int toKey(int segments)
+    {
+        return Math.max(MIN_SEGMENTS, Math.min(MAX_SEGMENTS, segments + 3)) / 4;
+    }
+
+    private static double getStartAngle(RectCorner corner)
+    {
+        switch (corner)
+        {
+            case BOTTOM_RIGHT:
+                return 0;
+            case BOTTOM_LEFT:
+                return Math.PI / 2;
+            case TOP_LEFT:
+                return Math.PI;
+            case TOP_RIGHT:
+            default:
+                return Math.PI * 3 / 2;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package net.voxelindustry.brokkgui.panel;
+
+/**
+ * How a child of a {@link GuiFlexPane} is sized along the main axis.
+ * <p>
+ * The child starts at its basis, or its preferred size when the basis is negative, then the free space of its line
+ * is shared between the children proportionally to their grow factors, or the missing space is taken from them
+ * proportionally to their shrink factors weighted by their basis. The resulting size is clamped between the min and
+ * max sizes of the child, the space a clamped child could not take or give being shared again between the others.
+ */
+public class FlexConstraint
+{
+    public static final FlexConstraint DEFAULT = new FlexConstraint(0, 1, -1);
+
+    private final float grow;
+    private final float shrink;
+    private final float basis;
+    private final float minSize;
+    private final float maxSize;
+
+    private FlexConstraint(float grow, float shrink, float basis, float minSize, float maxSize)
+    {
+        this.grow = grow;
+        this.shrink = shrink;
+        this.basis = basis;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+    }
+
+    private FlexConstraint(float grow, float shrink, float basis)
+    {
+        this(grow, shrink, basis, 0, Float.MAX_VALUE);
+    }
+
+    public static FlexConstraint of(float grow, float shrink, float basis)
+    {
+        return new FlexConstraint(grow, shrink, basis);
+    }
+
+    public static FlexConstraint of(float grow, float shrink)
+    {
+        return new FlexConstraint(grow, shrink, -1);
+    }
+
+    public static FlexConstraint grow(float grow)
+    {
+        return new FlexConstraint(grow, 1, -1);
+    }
+
+    /**
+     * @return a constraint keeping the child at its preferred size
+     */
+    public static FlexConstraint rigid()
+    {
+        return new FlexConstraint(0, 0, -1);
+    }
+
+    public float getGrow()
+    {
+        return grow;
+    }
+
+    public float getShrink()
+    {
+        return shrink;
+    }
+
+    public float getBasis()
+    {
+        return basis;
+    }
+
+    public boolean hasBasis()
+    {
+        return basis >= 0;
+    }
+
+    public float getMinSize()
+    {
+        return minSize;
+    }
+
+    public float getMaxSize()
+    {
+        return maxSize;
+    }
+
+    /**
+     * @return a copy of this constraint never sizing the child under the given size along the main axis
+     */
+    public FlexConstraint withMinSize(float minSize)
+    {
+        return new FlexConstraint(grow, shrink, basis, minSize, maxSize);
+    }
+
+    /**
+     * @return a copy of this constraint never sizing the child over the given size along the main axis
+     */
+    public FlexConstraint withMaxSize(float maxSize)
+    {
+        return new FlexConstraint(grow, shrink, basis, minSize, maxSize);
+    }
+}
@@ -0,0 +1,73 @@
+package net.voxelindustry.brokkgui.panel;
+
+/**
+ * Area of a {@link GuiGridPane} occupied by a child.
+ * <p>
+ * Filling children are resized to their area, the others keep their size and are centered in it.
+ */
+public class GridCell
+{
+    public static final GridCell ORIGIN = new GridCell(0, 0, 1, 1, false);
+
+    private final int     column;
+    private final int     row;
+    private final int     columnSpan;
+    private final int     rowSpan;
+    private final boolean fill;
+
+    private GridCell(int column, int row, int columnSpan, int rowSpan, boolean fill)
+    {
+        if (columnSpan < 1 || rowSpan < 1)
+            throw new IllegalArgumentException("Cannot create a grid cell with a span lower than 1");
+        this.column = column;
+        this.row = row;
+        this.columnSpan = columnSpan;
+        this.rowSpan = rowSpan;
+        this.fill = fill;
+    }
+
+    public static GridCell of(int column, int row)
+    {
+        return new GridCell(column, row, 1, 1, false);
+    }
+
+    public static GridCell of(int column, int row, int columnSpan, int rowSpan)
+    {
+        return new GridCell(column, row, columnSpan, rowSpan, false);
+    }
+
+    public static GridCell fill(int column, int row)
+    {
+        return new GridCell(column, row, 1, 1, true);
+    }
+
+    public static GridCell fill(int column, int row, int columnSpan, int rowSpan)
+    {
+        return new GridCell(column, row, columnSpan, rowSpan, true);
+    }
+
+    public int getColumn()
+    {
+        return column;
+    }
+
+    public int getRow()
+    {
+        return row;
+    }
+
+    public int getColumnSpan()
+    {
+        return columnSpan;
+    }
+
+    public int getRowSpan()
+    {
+        return rowSpan;
+    }
+
+    public boolean isFill()
+    {
+        return fill;
+    }
+}
@@ -0,0 +1,53 @@
+package net.voxelindustry.brokkgui.panel;
+
+/**
+ * Size of a column or a row of a {@link GuiGridPane}.
+ * <ul>
+ * <li>fixed tracks have a size in pixels</li>
+ * <li>auto tracks are as large as the largest preferred size of the children spanning only them</li>
+ * <li>fractional tracks share the space left by the other tracks proportionally to their fraction</li>
+ * </ul>
+ */
+public class GridTrack
+{
+    public enum TrackType
+    {
+        FIXED, AUTO, FRACTION
+    }
+
+    private static final GridTrack AUTO = new GridTrack(TrackType.AUTO, 0);
+
+    private final TrackType type;
+    private final float     value;
+
+    private GridTrack(TrackType type, float value)
+    {
+        this.type = type;
+        this.value = value;
+    }
+
+    public static GridTrack fixed(float size)
+    {
+        return new GridTrack(TrackType.FIXED, size);
+    }
+
+    public static GridTrack fraction(float fraction)
+    {
+        return new GridTrack(TrackType.FRACTION, fraction);
+    }
+
+    public static GridTrack auto()
+    {
+        return AUTO;
+    }
+
+    public TrackType getType()
+    {
+        return type;
+    }
+
+    public float getValue()
+    {
+        return value;
+    }
+}
@@ -1,10 +1,15 @@
 package net.voxelindustry.brokkgui.panel;
 
 import net.voxelindustry.brokkgui.component.GuiNode;
-import net.voxelindustry.brokkgui.data.RelativeBindingHelper;
+import net.voxelindustry.brokkgui.data.Position;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 public class GuiAbsolutePane extends GuiPane
 {
+    private final Map<GuiNode, Position> childPositions = new IdentityHashMap<>();
+
     @Override
     public void addChild(final GuiNode node)
     {
@@ -13,13 +18,11 @@ public class GuiAbsolutePane extends GuiPane
 
     public void addChild(final GuiNode node, final float posX, final float posY)
     {
-        this.getChildrensProperty().add(node);
-        node.setFather(this);
-
         node.getxPosProperty().unbind();
         node.getyPosProperty().unbind();
 
-        RelativeBindingHelper.bindToPos(node, this, posX, posY);
+        this.childPositions.put(node, Position.absolute(posX, posY));
+        this.getChildrensProperty().add(node);
     }
 
     public void setChildPos(final GuiNode node, final float posX, final float posY)
@@ -29,7 +32,41 @@ public class GuiAbsolutePane extends GuiPane
             node.getxPosProperty().unbind();
             node.getyPosProperty().unbind();
 
-            RelativeBindingHelper.bindToPos(node, this, posX, posY);
+            this.childPositions.put(node, Position.absolute(posX, posY));
+            this.requestLayout();
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public void removeChild(final GuiNode node)
+    {
+        super.removeChild(node);
+
+        this.childPositions.remove(node);
+    }
+
+    @Override
+    public void clearChilds()
+    {
+        super.clearChilds();
+
+        this.childPositions.clear();
+    }
+
+    @Override
+    protected void arrangeChild(final GuiNode child)
+    {
+        Position position = this.childPositions.get(child);
+
+        if (position == null)
+        {
+            super.arrangeChild(child);
+            return;
+        }
+
+        if (!child.getxPosProperty().isBound())
+            child.getxPosProperty().setValue(this.getLeftPos() + position.getX(this));
+        if (!child.getyPosProperty().isBound())
+            child.getyPosProperty().setValue(this.getTopPos() + position.getY(this));
+    }
+}
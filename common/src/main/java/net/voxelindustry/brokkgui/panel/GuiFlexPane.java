@@ -0,0 +1,312 @@
+package net.voxelindustry.brokkgui.panel;
+
+import fr.ourten.teabeans.value.BaseProperty;
+import net.voxelindustry.brokkgui.component.GuiNode;
+import net.voxelindustry.brokkgui.data.RectAxis;
+
+/**
+ * Pane laying its visible children in a row or a column, in their insertion order.
+ * <p>
+ * Each child is sized along the main axis according to its {@link FlexConstraint} and keeps its preferred size on
+ * the cross axis. When wrapping is enabled children overflowing the main size are moved to a new line.
+ */
+public class GuiFlexPane extends GuiLayoutPane<FlexConstraint>
+{
+    private final BaseProperty<RectAxis> directionProperty;
+    private final BaseProperty<Boolean>  wrapProperty;
+    private final BaseProperty<Float>    gapProperty;
+
+    // Measures cache
+    private int       count;
+    private GuiNode[] items      = new GuiNode[0];
+    private float[]   bases      = new float[0];
+    private float[]   grows      = new float[0];
+    private float[]   shrinks    = new float[0];
+    private float[]   minSizes   = new float[0];
+    private float[]   maxSizes   = new float[0];
+    private float[]   crossSizes = new float[0];
+
+    // Layout cache, relative to the pane top-left corner
+    private boolean   layoutValid;
+    private float     layoutMainSize;
+    private float[]   mainPositions  = new float[0];
+    private float[]   mainSizes      = new float[0];
+    private float[]   crossPositions = new float[0];
+    private float[]   flexTargets    = new float[0];
+    private boolean[] frozen         = new boolean[0];
+
+    public GuiFlexPane(RectAxis direction)
+    {
+        this.directionProperty = new BaseProperty<>(direction, "directionProperty");
+        this.wrapProperty = new BaseProperty<>(false, "wrapProperty");
+        this.gapProperty = new BaseProperty<>(0F, "gapProperty");
+
+        this.directionProperty.addListener(obs -> this.invalidateMeasure());
+        this.wrapProperty.addListener(obs -> this.invalidateMeasure());
+        this.gapProperty.addListener(obs -> this.invalidateMeasure());
+    }
+
+    public GuiFlexPane()
+    {
+        this(RectAxis.HORIZONTAL);
+    }
+
+    @Override
+    protected FlexConstraint getDefaultConstraint()
+    {
+        return FlexConstraint.DEFAULT;
+    }
+
+    public void addChild(GuiNode node, float grow)
+    {
+        this.addChild(node, FlexConstraint.grow(grow));
+    }
+
+    ////////////
+    // LAYOUT //
+    ////////////
+
+    @Override
+    protected void measureChildren()
+    {
+        int size = this.getChildrensProperty().size();
+        if (this.items.length < size)
+        {
+            this.items = new GuiNode[size];
+            this.bases = new float[size];
+            this.grows = new float[size];
+            this.shrinks = new float[size];
+            this.minSizes = new float[size];
+            this.maxSizes = new float[size];
+            this.crossSizes = new float[size];
+            this.mainPositions = new float[size];
+            this.mainSizes = new float[size];
+            this.crossPositions = new float[size];
+            this.flexTargets = new float[size];
+            this.frozen = new boolean[size];
+        }
+
+        boolean horizontal = this.getDirection() == RectAxis.HORIZONTAL;
+
+        this.count = 0;
+        for (int i = 0; i < size; i++)
+        {
+            GuiNode child = this.getChildrensProperty().get(i);
+            if (!child.isVisible())
+                continue;
+
+            FlexConstraint constraint = this.getConstraint(child);
+            float preferredMain = horizontal ? this.getPreferredWidth(child) : this.getPreferredHeight(child);
+
+            this.items[count] = child;
+            this.bases[count] = constraint.hasBasis() ? constraint.getBasis() : preferredMain;
+            this.grows[count] = constraint.getGrow();
+            this.shrinks[count] = constraint.getShrink();
+            this.minSizes[count] = constraint.getMinSize();
+            this.maxSizes[count] = constraint.getMaxSize();
+            this.crossSizes[count] = horizontal ? this.getPreferredHeight(child) : this.getPreferredWidth(child);
+            this.count++;
+        }
+
+        // Clear stale references to removed children
+        for (int i = count; i < this.items.length; i++)
+            this.items[i] = null;
+
+        this.layoutValid = false;
+    }
+
+    @Override
+    protected void arrangeChildren()
+    {
+        boolean horizontal = this.getDirection() == RectAxis.HORIZONTAL;
+        float mainSize = horizontal ? this.getWidth() : this.getHeight();
+
+        if (!this.layoutValid || this.layoutMainSize != mainSize)
+        {
+            this.computeLines(mainSize);
+            this.layoutMainSize = mainSize;
+            this.layoutValid = true;
+        }
+
+        float left = this.getLeftPos();
+        float top = this.getTopPos();
+        for (int i = 0; i < count; i++)
+        {
+            GuiNode child = this.items[i];
+
+            if (horizontal)
+                this.placeChild(child, left + mainPositions[i], top + crossPositions[i],
+                        mainSizes[i], crossSizes[i], true);
+            else
+                this.placeChild(child, left + crossPositions[i], top + mainPositions[i],
+                        crossSizes[i], mainSizes[i], true);
+        }
+    }
+
+    private void computeLines(float mainSize)
+    {
+        float gap = this.getGap();
+        boolean wrap = this.isWrap();
+
+        float crossOffset = 0;
+        int lineStart = 0;
+        while (lineStart < count)
+        {
+            int lineEnd = lineStart;
+            float used = 0;
+
+            while (lineEnd < count)
+            {
+                float next = used + (lineEnd > lineStart ? gap : 0) + this.clampMain(lineEnd, bases[lineEnd]);
+                if (wrap && lineEnd > lineStart && next > mainSize)
+                    break;
+                used = next;
+                lineEnd++;
+            }
+
+            crossOffset += this.computeLine(lineStart, lineEnd, mainSize, crossOffset) + gap;
+            lineStart = lineEnd;
+        }
+    }
+
+    /**
+     * @return the cross size of the line
+     */
+    private float computeLine(int start, int end, float mainSize, float crossOffset)
+    {
+        float gap = this.getGap();
+        float available = mainSize - (end - start - 1) * gap;
+
+        float hypotheticalSize = 0;
+        for (int i = start; i < end; i++)
+        {
+            mainSizes[i] = this.clampMain(i, bases[i]);
+            hypotheticalSize += mainSizes[i];
+        }
+        boolean growing = hypotheticalSize < available;
+
+        // Children that cannot flex in this direction, or already clamped towards it, keep their clamped basis
+        for (int i = start; i < end; i++)
+        {
+            if (growing)
+                frozen[i] = grows[i] == 0 || bases[i] > mainSizes[i];
+            else
+                frozen[i] = shrinks[i] == 0 || bases[i] < mainSizes[i];
+        }
+
+        // Each pass freezes at least one child clamped by its min or max size, the others share the space again
+        while (true)
+        {
+            float freeSpace = available;
+            float totalGrow = 0;
+            float totalScaledShrink = 0;
+            boolean flexible = false;
+            for (int i = start; i < end; i++)
+            {
+                if (frozen[i])
+                {
+                    freeSpace -= mainSizes[i];
+                    continue;
+                }
+                freeSpace -= bases[i];
+                totalGrow += grows[i];
+                totalScaledShrink += shrinks[i] * bases[i];
+                flexible = true;
+            }
+            if (!flexible)
+                break;
+
+            float violation = 0;
+            for (int i = start; i < end; i++)
+            {
+                if (frozen[i])
+                    continue;
+
+                float target = bases[i];
+                if (growing && totalGrow > 0)
+                    target += freeSpace * grows[i] / totalGrow;
+                else if (!growing && totalScaledShrink > 0)
+                    target += freeSpace * shrinks[i] * bases[i] / totalScaledShrink;
+
+                flexTargets[i] = target;
+                mainSizes[i] = this.clampMain(i, target);
+                violation += mainSizes[i] - target;
+            }
+            if (violation == 0)
+                break;
+
+            // Freeze the children clamped against the direction of the total violation
+            for (int i = start; i < end; i++)
+            {
+                if (!frozen[i])
+                    frozen[i] = violation > 0 ? mainSizes[i] > flexTargets[i] : mainSizes[i] < flexTargets[i];
+            }
+        }
+
+        float lineCross = 0;
+        float mainOffset = 0;
+        for (int i = start; i < end; i++)
+        {
+            mainPositions[i] = mainOffset;
+            crossPositions[i] = crossOffset;
+
+            mainOffset += mainSizes[i] + gap;
+            lineCross = Math.max(lineCross, crossSizes[i]);
+        }
+        return lineCross;
+    }
+
+    private float clampMain(int index, float size)
+    {
+        return Math.max(minSizes[index], Math.min(maxSizes[index], size));
+    }
+
+    ////////////////
+    // PROPERTIES //
+    ////////////////
+
+    public BaseProperty<RectAxis> getDirectionProperty()
+    {
+        return directionProperty;
+    }
+
+    public BaseProperty<Boolean> getWrapProperty()
+    {
+        return wrapProperty;
+    }
+
+    public BaseProperty<Float> getGapProperty()
+    {
+        return gapProperty;
+    }
+
+    public RectAxis getDirection()
+    {
+        return this.getDirectionProperty().getValue();
+    }
+
+    public void setDirection(RectAxis direction)
+    {
+        this.getDirectionProperty().setValue(direction);
+    }
+
+    public boolean isWrap()
+    {
+        return this.getWrapProperty().getValue();
+    }
+
+    public void setWrap(boolean wrap)
+    {
+        this.getWrapProperty().setValue(wrap);
+    }
+
+    public float getGap()
+    {
+        return this.getGapProperty().getValue();
+    }
+
+    public void setGap(float gap)
+    {
+        this.getGapProperty().setValue(gap);
+    }
+}
@@ -0,0 +1,247 @@
+package net.voxelindustry.brokkgui.panel;
+
+import fr.ourten.teabeans.listener.ListValueChangeListener;
+import fr.ourten.teabeans.value.BaseListProperty;
+import fr.ourten.teabeans.value.BaseProperty;
+import net.voxelindustry.brokkgui.component.GuiNode;
+
+/**
+ * Pane laying its visible children in the cells of a grid made of fixed, auto and fractional tracks.
+ * <p>
+ * Children placed outside of the declared tracks are not laid out.
+ */
+public class GuiGridPane extends GuiLayoutPane<GridCell>
+{
+    private final BaseListProperty<GridTrack> columnsProperty;
+    private final BaseListProperty<GridTrack> rowsProperty;
+    private final BaseProperty<Float>         gapProperty;
+
+    // Measures cache
+    private int        count;
+    private GuiNode[]  items = new GuiNode[0];
+    private GridCell[] cells = new GridCell[0];
+
+    private final Tracks columns = new Tracks();
+    private final Tracks rows    = new Tracks();
+
+    public GuiGridPane()
+    {
+        this.columnsProperty = new BaseListProperty<>(null, "columnsProperty");
+        this.rowsProperty = new BaseListProperty<>(null, "rowsProperty");
+        this.gapProperty = new BaseProperty<>(0F, "gapProperty");
+
+        this.columnsProperty.addListener((ListValueChangeListener<GridTrack>) (obs, oldValue, newValue) ->
+                this.invalidateMeasure());
+        this.rowsProperty.addListener((ListValueChangeListener<GridTrack>) (obs, oldValue, newValue) ->
+                this.invalidateMeasure());
+        this.gapProperty.addListener(obs -> this.invalidateMeasure());
+    }
+
+    @Override
+    protected GridCell getDefaultConstraint()
+    {
+        return GridCell.ORIGIN;
+    }
+
+    public void addChild(GuiNode node, int column, int row)
+    {
+        this.addChild(node, GridCell.of(column, row));
+    }
+
+    public void setColumns(GridTrack... columns)
+    {
+        this.getColumnsProperty().clear();
+        for (GridTrack column : columns)
+            this.getColumnsProperty().add(column);
+        this.invalidateMeasure();
+    }
+
+    public void setRows(GridTrack... rows)
+    {
+        this.getRowsProperty().clear();
+        for (GridTrack row : rows)
+            this.getRowsProperty().add(row);
+        this.invalidateMeasure();
+    }
+
+    ////////////
+    // LAYOUT //
+    ////////////
+
+    @Override
+    protected void measureChildren()
+    {
+        int size = this.getChildrensProperty().size();
+        if (this.items.length < size)
+        {
+            this.items = new GuiNode[size];
+            this.cells = new GridCell[size];
+        }
+
+        this.columns.reset(this.getColumnsProperty());
+        this.rows.reset(this.getRowsProperty());
+
+        this.count = 0;
+        for (int i = 0; i < size; i++)
+        {
+            GuiNode child = this.getChildrensProperty().get(i);
+            GridCell cell = this.getConstraint(child);
+            if (!child.isVisible() || cell.getColumn() >= columns.count || cell.getRow() >= rows.count)
+                continue;
+
+            this.items[count] = child;
+            this.cells[count] = cell;
+            this.count++;
+
+            if (cell.getColumnSpan() == 1)
+                columns.fitAuto(cell.getColumn(), this.getPreferredWidth(child));
+            if (cell.getRowSpan() == 1)
+                rows.fitAuto(cell.getRow(), this.getPreferredHeight(child));
+        }
+
+        for (int i = count; i < this.items.length; i++)
+        {
+            this.items[i] = null;
+            this.cells[i] = null;
+        }
+    }
+
+    @Override
+    protected void arrangeChildren()
+    {
+        float gap = this.getGap();
+        this.columns.resolve(this.getWidth(), gap);
+        this.rows.resolve(this.getHeight(), gap);
+
+        float left = this.getLeftPos();
+        float top = this.getTopPos();
+        for (int i = 0; i < count; i++)
+        {
+            GuiNode child = this.items[i];
+            GridCell cell = this.cells[i];
+
+            float x = columns.offsets[cell.getColumn()];
+            float y = rows.offsets[cell.getRow()];
+            float width = columns.span(cell.getColumn(), cell.getColumnSpan());
+            float height = rows.span(cell.getRow(), cell.getRowSpan());
+
+            if (cell.isFill())
+                this.placeChild(child, left + x, top + y, width, height, true);
+            else
+                this.placeChild(child,
+                        left + x + width / 2 - child.getWidth() / 2,
+                        top + y + height / 2 - child.getHeight() / 2,
+                        0, 0, false);
+        }
+    }
+
+    /**
+     * Sizes of the tracks of one axis. Base sizes only change on measure, final sizes and offsets are recomputed
+     * when the pane size changes.
+     */
+    private static final class Tracks
+    {
+        private int       count;
+        private float[]   baseSizes = new float[0];
+        private float[]   fractions = new float[0];
+        private boolean[] auto      = new boolean[0];
+        private float[]   sizes     = new float[0];
+        private float[]   offsets   = new float[0];
+
+        private boolean resolved;
+        private float   resolvedSize;
+        private float   resolvedGap;
+
+        private void reset(BaseListProperty<GridTrack> tracks)
+        {
+            this.count = tracks.size();
+            if (this.baseSizes.length < count)
+            {
+                this.baseSizes = new float[count];
+                this.fractions = new float[count];
+                this.auto = new boolean[count];
+                this.sizes = new float[count];
+                this.offsets = new float[count];
+            }
+
+            for (int i = 0; i < count; i++)
+            {
+                GridTrack track = tracks.get(i);
+
+                this.baseSizes[i] = track.getType() == GridTrack.TrackType.FIXED ? track.getValue() : 0;
+                this.fractions[i] = track.getType() == GridTrack.TrackType.FRACTION ? track.getValue() : 0;
+                this.auto[i] = track.getType() == GridTrack.TrackType.AUTO;
+            }
+            this.resolved = false;
+        }
+
+        private void fitAuto(int index, float preferredSize)
+        {
+            if (this.auto[index])
+                this.baseSizes[index] = Math.max(this.baseSizes[index], preferredSize);
+        }
+
+        private void resolve(float size, float gap)
+        {
+            if (this.resolved && this.resolvedSize == size && this.resolvedGap == gap)
+                return;
+
+            float used = Math.max(0, count - 1) * gap;
+            float totalFractions = 0;
+            for (int i = 0; i < count; i++)
+            {
+                used += baseSizes[i];
+                totalFractions += fractions[i];
+            }
+
+            float fractionUnit = totalFractions > 0 ? Math.max(0, size - used) / totalFractions : 0;
+
+            float offset = 0;
+            for (int i = 0; i < count; i++)
+            {
+                this.sizes[i] = baseSizes[i] + fractions[i] * fractionUnit;
+                this.offsets[i] = offset;
+                offset += this.sizes[i] + gap;
+            }
+
+            this.resolved = true;
+            this.resolvedSize = size;
+            this.resolvedGap = gap;
+        }
+
+        private float span(int start, int span)
+        {
+            int last = Math.min(count, start + span) - 1;
+            return this.offsets[last] + this.sizes[last] - this.offsets[start];
+        }
+    }
+
+    ////////////////
+    // PROPERTIES //
+    ////////////////
+
+    public BaseListProperty<GridTrack> getColumnsProperty()
+    {
+        return columnsProperty;
+    }
+
+    public BaseListProperty<GridTrack> getRowsProperty()
+    {
+        return rowsProperty;
+    }
+
+    public BaseProperty<Float> getGapProperty()
+    {
+        return gapProperty;
+    }
+
+    public float getGap()
+    {
+        return this.getGapProperty().getValue();
+    }
+
+    public void setGap(float gap)
+    {
+        this.getGapProperty().setValue(gap);
+    }
+}
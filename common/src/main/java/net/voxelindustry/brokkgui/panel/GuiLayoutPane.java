@@ -0,0 +1,197 @@
+package net.voxelindustry.brokkgui.panel;
+
+import fr.ourten.teabeans.listener.ListValueChangeListener;
+import fr.ourten.teabeans.listener.ValueInvalidationListener;
+import net.voxelindustry.brokkgui.component.GuiNode;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Base of the panes computing the position and size of their children from a constraint attached to each of them.
+ * <p>
+ * The preferred size of each child is the size it had when added, or any size later given to it from outside this
+ * pane. Measures are only recomputed when a preferred size, a visibility, a constraint or the children list change.
+ *
+ * @param <C> the type of constraint attached to the children
+ */
+public abstract class GuiLayoutPane<C> extends GuiPane
+{
+    private final Map<GuiNode, C>                         constraints;
+    private final Map<GuiNode, float[]>                   preferredSizes;
+    private final Map<GuiNode, ValueInvalidationListener> sizeListeners;
+    private final ValueInvalidationListener               visibleListener;
+
+    private boolean measureDirty = true;
+    private boolean arranging;
+
+    public GuiLayoutPane()
+    {
+        this.constraints = new IdentityHashMap<>();
+        this.preferredSizes = new IdentityHashMap<>();
+        this.sizeListeners = new IdentityHashMap<>();
+        this.visibleListener = obs -> this.invalidateMeasure();
+
+        this.getChildrensProperty().addListener((ListValueChangeListener<GuiNode>) (obs, oldValue, newValue) ->
+        {
+            if (oldValue != null)
+                this.untrackChild(oldValue);
+            if (newValue != null)
+                this.trackChild(newValue);
+            this.invalidateMeasure();
+        });
+    }
+
+    /**
+     * @return the constraint given to children added without one
+     */
+    protected abstract C getDefaultConstraint();
+
+    /**
+     * Compute and cache everything that only depends on the preferred sizes, visibilities and constraints of the
+     * children. Only called when one of those changed since the last layout pass.
+     */
+    protected abstract void measureChildren();
+
+    /**
+     * Position and size the children from the cached measures and the current bounds of this pane.
+     */
+    protected abstract void arrangeChildren();
+
+    @Override
+    public void addChild(final GuiNode node)
+    {
+        this.addChild(node, this.getDefaultConstraint());
+    }
+
+    public void addChild(final GuiNode node, final C constraint)
+    {
+        this.constraints.put(node, constraint);
+        this.getChildrensProperty().add(node);
+    }
+
+    public C getConstraint(final GuiNode node)
+    {
+        return this.constraints.get(node);
+    }
+
+    public void setConstraint(final GuiNode node, final C constraint)
+    {
+        if (!this.getChildrensProperty().contains(node))
+            return;
+
+        this.constraints.put(node, constraint);
+        this.invalidateMeasure();
+    }
+
+    @Override
+    public void clearChilds()
+    {
+        this.getChildrens().forEach(this::untrackChild);
+
+        super.clearChilds();
+    }
+
+    /**
+     * Mark the cached measures of this pane as outdated and request a new layout pass.
+     */
+    protected void invalidateMeasure()
+    {
+        this.measureDirty = true;
+        this.requestLayout();
+    }
+
+    protected float getPreferredWidth(final GuiNode child)
+    {
+        return this.preferredSizes.get(child)[0];
+    }
+
+    protected float getPreferredHeight(final GuiNode child)
+    {
+        return this.preferredSizes.get(child)[1];
+    }
+
+    @Override
+    protected void measure()
+    {
+        if (!this.measureDirty)
+            return;
+
+        this.measureChildren();
+        this.measureDirty = false;
+    }
+
+    @Override
+    protected final void arrange()
+    {
+        this.arranging = true;
+        try
+        {
+            this.arrangeChildren();
+        } finally
+        {
+            this.arranging = false;
+        }
+    }
+
+    /**
+     * Move and resize a child. Bound positions and sizes are left untouched.
+     *
+     * @param resize if false only the position of the child is changed
+     */
+    protected void placeChild(final GuiNode child, float x, float y, float width, float height, boolean resize)
+    {
+        if (resize)
+        {
+            if (!child.getWidthProperty().isBound() && child.getWidth() != width)
+                child.getWidthProperty().setValue(width);
+            if (!child.getHeightProperty().isBound() && child.getHeight() != height)
+                child.getHeightProperty().setValue(height);
+        }
+
+        if (!child.getxPosProperty().isBound() && child.getxPos() != x)
+            child.getxPosProperty().setValue(x);
+        if (!child.getyPosProperty().isBound() && child.getyPos() != y)
+            child.getyPosProperty().setValue(y);
+    }
+
+    private void trackChild(final GuiNode child)
+    {
+        if (this.sizeListeners.containsKey(child))
+            return;
+
+        this.constraints.putIfAbsent(child, this.getDefaultConstraint());
+        this.preferredSizes.put(child, new float[]{child.getWidth(), child.getHeight()});
+
+        ValueInvalidationListener sizeListener = obs ->
+        {
+            // Sizes given by this pane are not preferences
+            if (this.arranging)
+                return;
+
+            float[] preferredSize = this.preferredSizes.get(child);
+            preferredSize[0] = child.getWidth();
+            preferredSize[1] = child.getHeight();
+            this.invalidateMeasure();
+        };
+        this.sizeListeners.put(child, sizeListener);
+
+        child.getWidthProperty().addListener(sizeListener);
+        child.getHeightProperty().addListener(sizeListener);
+        child.getVisibleProperty().addListener(this.visibleListener);
+    }
+
+    private void untrackChild(final GuiNode child)
+    {
+        ValueInvalidationListener sizeListener = this.sizeListeners.remove(child);
+        if (sizeListener == null)
+            return;
+
+        child.getWidthProperty().removeListener(sizeListener);
+        child.getHeightProperty().removeListener(sizeListener);
+        child.getVisibleProperty().removeListener(this.visibleListener);
+
+        this.constraints.remove(child);
+        this.preferredSizes.remove(child);
+    }
+}
@@ -2,7 +2,6 @@ package net.voxelindustry.brokkgui.panel;
 
 import net.voxelindustry.brokkgui.component.GuiNode;
 import net.voxelindustry.brokkgui.control.GuiFather;
-import net.voxelindustry.brokkgui.data.RelativeBindingHelper;
 
 public class GuiPane extends GuiFather
 {
@@ -11,14 +10,6 @@ public class GuiPane extends GuiFather
         super("pane");
     }
 
-    @Override
-    public void addChild(final GuiNode node)
-    {
-        super.addChild(node);
-
-        RelativeBindingHelper.bindToCenter(node, this);
-    }
-
     @Override
     public void removeChild(final GuiNode node)
     {
@@ -39,4 +30,26 @@ public class GuiPane extends GuiFather
         });
         this.getChildrensProperty().clear();
     }
-}
\ No newline at end of file
+
+    @Override
+    protected void arrange()
+    {
+        for (int i = 0; i < this.getChildrensProperty().size(); i++)
+            this.arrangeChild(this.getChildrensProperty().get(i));
+    }
+
+    /**
+     * Position a child of this pane. Children with a bound position are left untouched.
+     * <p>
+     * Default implementation center the child in this pane.
+     *
+     * @param child
+     */
+    protected void arrangeChild(final GuiNode child)
+    {
+        if (!child.getxPosProperty().isBound())
+            child.getxPosProperty().setValue(this.getLeftPos() + this.getWidth() / 2 - child.getWidth() / 2);
+        if (!child.getyPosProperty().isBound())
+            child.getyPosProperty().setValue(this.getTopPos() + this.getHeight() / 2 - child.getHeight() / 2);
+    }
+}
@@ -1,13 +1,18 @@
 package net.voxelindustry.brokkgui.panel;
 
 import net.voxelindustry.brokkgui.component.GuiNode;
-import net.voxelindustry.brokkgui.data.RelativeBindingHelper;
+import net.voxelindustry.brokkgui.data.Position;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 /**
  * @author Ourten 9 oct. 2016
  */
 public class GuiRelativePane extends GuiPane
 {
+    private final Map<GuiNode, Position> childPositions = new IdentityHashMap<>();
+
     @Override
     public void addChild(final GuiNode node)
     {
@@ -16,10 +21,8 @@ public class GuiRelativePane extends GuiPane
 
     public void addChild(final GuiNode node, final float ratioX, final float ratioY)
     {
+        this.childPositions.put(node, Position.relative(ratioX, ratioY));
         this.getChildrensProperty().add(node);
-        node.setFather(this);
-
-        RelativeBindingHelper.bindToRelative(node, this, ratioX, ratioY);
     }
 
     public void setChildPos(final GuiNode node, final float ratioX, final float ratioY)
@@ -29,7 +32,41 @@ public class GuiRelativePane extends GuiPane
             node.getxPosProperty().unbind();
             node.getyPosProperty().unbind();
 
-            RelativeBindingHelper.bindToRelative(node, this, ratioX, ratioY);
+            this.childPositions.put(node, Position.relative(ratioX, ratioY));
+            this.requestLayout();
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public void removeChild(final GuiNode node)
+    {
+        super.removeChild(node);
+
+        this.childPositions.remove(node);
+    }
+
+    @Override
+    public void clearChilds()
+    {
+        super.clearChilds();
+
+        this.childPositions.clear();
+    }
+
+    @Override
+    protected void arrangeChild(final GuiNode child)
+    {
+        Position position = this.childPositions.get(child);
+
+        if (position == null)
+        {
+            super.arrangeChild(child);
+            return;
+        }
+
+        if (!child.getxPosProperty().isBound())
+            child.getxPosProperty().setValue(this.getLeftPos() + position.getX(this) - child.getWidth() / 2);
+        if (!child.getyPosProperty().isBound())
+            child.getyPosProperty().setValue(this.getTopPos() + position.getY(this) - child.getHeight() / 2);
+    }
+}
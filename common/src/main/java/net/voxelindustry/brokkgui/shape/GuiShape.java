@@ -13,6 +13,7 @@ import net.voxelindustry.brokkgui.sprite.SpriteAnimationInstance;
 import net.voxelindustry.brokkgui.sprite.SpriteBackgroundDrawer;
 import net.voxelindustry.brokkgui.sprite.SpriteRepeat;
 import net.voxelindustry.brokkgui.sprite.SpriteRotation;
+import net.voxelindustry.brokkgui.sprite.SpriteTileGeometry;
 import net.voxelindustry.brokkgui.sprite.Texture;
 import net.voxelindustry.brokkgui.style.HeldPropertyState;
 import net.voxelindustry.brokkgui.style.optional.BorderImageProperties;
@@ -30,6 +31,9 @@ public abstract class GuiShape extends GuiNode
     private SpriteRotation[] backgroundRotationArray;
     private SpriteRotation[] foregroundRotationArray;
 
+    private SpriteTileGeometry backgroundTileGeometry;
+    private SpriteTileGeometry foregroundTileGeometry;
+
     public GuiShape(String type, ShapeDefinition shape)
     {
         super(type);
@@ -249,6 +253,32 @@ public abstract class GuiShape extends GuiNode
         this.foregroundRotationArray = foregroundRotationArray;
     }
 
+    /**
+     * @return the last tiles computed to draw the repeated background, can be null
+     */
+    public SpriteTileGeometry getBackgroundTileGeometry()
+    {
+        return backgroundTileGeometry;
+    }
+
+    public void setBackgroundTileGeometry(SpriteTileGeometry backgroundTileGeometry)
+    {
+        this.backgroundTileGeometry = backgroundTileGeometry;
+    }
+
+    /**
+     * @return the last tiles computed to draw the repeated foreground, can be null
+     */
+    public SpriteTileGeometry getForegroundTileGeometry()
+    {
+        return foregroundTileGeometry;
+    }
+
+    public void setForegroundTileGeometry(SpriteTileGeometry foregroundTileGeometry)
+    {
+        this.foregroundTileGeometry = foregroundTileGeometry;
+    }
+
     public SpriteRotation getForegroundRotation()
     {
         return this.foregroundRotationArray == null ? SpriteRotation.NONE : this.foregroundRotationArray[0];
@@ -1,8 +1,5 @@
 package net.voxelindustry.brokkgui.shape;
 
-import fr.ourten.teabeans.binding.BaseExpression;
-import fr.ourten.teabeans.value.BaseProperty;
-import fr.ourten.teabeans.value.ObservableValue;
 import net.voxelindustry.brokkgui.component.GuiNode;
 import net.voxelindustry.brokkgui.internal.IGuiRenderer;
 import net.voxelindustry.brokkgui.paint.RenderPass;
@@ -12,8 +9,8 @@ import java.util.function.Predicate;
 
 public class ScissorBox
 {
-    private GuiNode                node;
-    private ObservableValue<Float> startX, startY, endX, endY;
+    private GuiNode               node;
+    private float                 startX, startY, endX, endY;
     private Predicate<RenderPass> renderPassPredicate;
 
     private ScissorBox()
@@ -24,14 +21,9 @@ public class ScissorBox
     public static ScissorBox fitNode(GuiNode node)
     {
         ScissorBox box = new ScissorBox();
+        // The region is read from the node when applied, no binding to keep up to date on each node change
         box.node = node;
 
-        box.startX = BaseExpression.biCombine(node.getxPosProperty(), node.getxTranslateProperty(), Float::sum);
-        box.startY = BaseExpression.biCombine(node.getyPosProperty(), node.getyTranslateProperty(), Float::sum);
-
-        box.endX = BaseExpression.biCombine(box.startX, node.getWidthProperty(), Float::sum);
-        box.endY = BaseExpression.biCombine(box.startY, node.getHeightProperty(), Float::sum);
-
         return box;
     }
 
@@ -39,24 +31,17 @@ public class ScissorBox
     {
         ScissorBox box = new ScissorBox();
 
-        box.startX = new BaseProperty<>(startX, "startXProperty");
-        box.startY = new BaseProperty<>(startY, "startYProperty");
-        box.endX = new BaseProperty<>(endX, "endXProperty");
-        box.endY = new BaseProperty<>(endY, "endYProperty");
+        box.startX = startX;
+        box.startY = startY;
+        box.endX = endX;
+        box.endY = endY;
 
         return box;
     }
 
     public void dispose()
     {
-        if (node == null)
-            return;
-
-        ((BaseExpression<Float>) this.startX).unbind(node.getxPosProperty(), node.getxTranslateProperty());
-        ((BaseExpression<Float>) this.startY).unbind(node.getyPosProperty(), node.getyTranslateProperty());
-
-        ((BaseExpression<Float>) this.endX).unbind(this.startX, node.getWidthProperty());
-        ((BaseExpression<Float>) this.endY).unbind(this.startY, node.getHeightProperty());
+        // Nothing to release, the node values are only read when the box is applied
     }
 
     public void setValidPass(RenderPass... passArray)
@@ -75,11 +60,37 @@ public class ScissorBox
             return false;
 
         renderer.getHelper().beginScissor();
-        renderer.getHelper().scissorBox(this.startX.getValue(), this.startY.getValue(), this.endX.getValue(),
-                this.endY.getValue());
+        if (this.node != null)
+            renderer.getHelper().scissorBox(this.node.getLeftPos(), this.node.getTopPos(), this.node.getRightPos(),
+                    this.node.getBottomPos());
+        else
+            renderer.getHelper().scissorBox(this.startX, this.startY, this.endX, this.endY);
         return true;
     }
 
+    /**
+     * @return true if the given node lies entirely outside of this box for the given pass, its rendering can be skipped
+     */
+    public boolean culls(GuiNode node, RenderPass pass)
+    {
+        if (!renderPassPredicate.test(pass))
+            return false;
+
+        if (this.node != null)
+            return node.getRightPos() < this.node.getLeftPos() || node.getLeftPos() > this.node.getRightPos() ||
+                    node.getBottomPos() < this.node.getTopPos() || node.getTopPos() > this.node.getBottomPos();
+        return node.getRightPos() < this.startX || node.getLeftPos() > this.endX ||
+                node.getBottomPos() < this.startY || node.getTopPos() > this.endY;
+    }
+
+    /**
+     * @return true if this box trims everything drawn by the given node to its own bounds for the given pass
+     */
+    public boolean clipsNode(GuiNode node, RenderPass pass)
+    {
+        return this.node == node && renderPassPredicate.test(pass);
+    }
+
     public void end(IGuiRenderer renderer)
     {
         renderer.getHelper().endScissor();
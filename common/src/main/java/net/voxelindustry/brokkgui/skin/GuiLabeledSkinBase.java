@@ -1,7 +1,5 @@
 package net.voxelindustry.brokkgui.skin;
 
-import fr.ourten.teabeans.binding.BaseBinding;
-import fr.ourten.teabeans.binding.BaseExpression;
 import fr.ourten.teabeans.value.BaseProperty;
 import net.voxelindustry.brokkgui.BrokkGuiPlatform;
 import net.voxelindustry.brokkgui.behavior.GuiBehaviorBase;
@@ -9,6 +7,7 @@ import net.voxelindustry.brokkgui.component.GuiNode;
 import net.voxelindustry.brokkgui.control.GuiLabeled;
 import net.voxelindustry.brokkgui.data.RectSide;
 import net.voxelindustry.brokkgui.shape.Text;
+import net.voxelindustry.brokkgui.util.GlyphAdvances;
 
 /**
  * @param <C> the labeled gui control this skin must render
@@ -22,118 +21,60 @@ public class GuiLabeledSkinBase<C extends GuiLabeled, B extends GuiBehaviorBase<
 
     private final BaseProperty<String> ellipsedTextProperty;
 
+    private GlyphAdvances textAdvances;
+
     public GuiLabeledSkinBase(final C model, final B behaviour)
     {
         super(model, behaviour);
 
         this.text = new Text(model.getText());
 
-        this.ellipsedTextProperty = new BaseProperty<>("", "ellipsedTextProperty");
-
-        // Bindings
-        this.bindEllipsed();
+        this.ellipsedTextProperty = new BaseProperty<>(model.getText(), "ellipsedTextProperty");
 
         this.text.getStyleClass().add("text");
 
         this.getModel().getIconProperty().addListener((obs, oldValue, newValue) ->
         {
-            if(oldValue != null)
+            if (oldValue != null)
                 getModel().removeChild(oldValue);
             if (newValue != null)
             {
                 getModel().getStyleClass().add("icon");
-                this.bindIcon(newValue);
+                getModel().addChild(newValue);
             }
+            getModel().requestLayout();
         });
         if (model.getIconProperty().isPresent())
-            this.bindIcon(model.getIcon());
+            this.getModel().addChild(model.getIcon());
+
+        // Layout invalidation
+        model.getTextProperty().addListener(obs -> getModel().requestLayout());
+        model.getTextAlignmentProperty().addListener(obs -> getModel().requestLayout());
+        model.getExpandToTextProperty().addListener(obs -> getModel().requestLayout());
+        model.getEllipsisProperty().addListener(obs -> getModel().requestLayout());
+        model.getTextPaddingProperty().addListener(obs -> getModel().requestLayout());
+        model.getIconSideProperty().addListener(obs -> getModel().requestLayout());
+        model.getIconPaddingProperty().addListener(obs -> getModel().requestLayout());
 
         this.text.getTextProperty().bind(this.ellipsedTextProperty);
         this.text.getzLevelProperty().bind(model.getzLevelProperty());
+        this.text.setHeight(BrokkGuiPlatform.getInstance().getGuiHelper().getStringHeight());
 
-        this.text.getxPosProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(model.getTextAlignmentProperty(),
-                        model.getxPosProperty(),
-                        model.getxTranslateProperty(),
-                        model.getWidthProperty(),
-                        model.getIconProperty(),
-                        model.getIconSideProperty(),
-                        model.getIconPaddingProperty(),
-                        model.getTextPaddingProperty(),
-                        getEllipsedTextProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                float iconWidth = 0;
-                if (model.getIconProperty().isPresent() && model.getIconSide().isHorizontal())
-                    iconWidth = model.getIcon().getWidth() + model.getIconPadding();
-
-                if (model.getTextAlignment().isLeft())
-                    return model.getxPos() + model.getxTranslate() + model.getTextPadding().getLeft()
-                            + (model.getIconSide() == RectSide.LEFT ? iconWidth : 0);
-                else if (model.getTextAlignment().isRight())
-                    return model.getxPos() + model.getxTranslate()
-                            + model.getWidth()
-                            - model.getTextPadding().getRight()
-                            - BrokkGuiPlatform.getInstance().getGuiHelper().getStringWidth(getEllipsedText())
-                            - (model.getIconSide() == RectSide.RIGHT ? iconWidth : 0);
-                else
-                    return model.getxPos() + model.getxTranslate()
-                            + model.getTextPadding().getLeft()
-                            + (model.getIconSide() == RectSide.LEFT ? iconWidth : 0)
-                            + getAvailableTextWidth() / 2
-                            - BrokkGuiPlatform.getInstance().getGuiHelper().getStringWidth(getEllipsedText()) / 2
-                            - model.getTextPadding().getRight();
-            }
-        });
-        this.text.getyPosProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(model.getTextAlignmentProperty(),
-                        model.getyPosProperty(),
-                        model.getyTranslateProperty(),
-                        model.getHeightProperty(),
-                        model.getIconProperty(),
-                        model.getIconSideProperty(),
-                        model.getIconPaddingProperty(),
-                        model.getTextPaddingProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                float iconHeight = 0;
-                if (model.getIconProperty().isPresent() && model.getIconSide().isVertical())
-                    iconHeight = model.getIcon().getHeight() + model.getIconPadding();
+        getModel().addChild(text);
+    }
 
-                if (model.getTextAlignment().isUp())
-                    return model.getyPos() + model.getyTranslate() + model.getTextPadding().getTop()
-                            + (model.getIconSide() == RectSide.UP ? iconHeight : 0);
-                else if (model.getTextAlignment().isDown())
-                    return model.getyPos() + model.getyTranslate()
-                            + model.getHeight()
-                            - model.getTextPadding().getBottom()
-                            - BrokkGuiPlatform.getInstance().getGuiHelper().getStringHeight()
-                            - (model.getIconSide() == RectSide.DOWN ? iconHeight : 0);
-                else
-                    return model.getyPos() + model.getyTranslate() + model.getHeight() / 2
-                            + (model.getIconSide() == RectSide.UP ? iconHeight :
-                            (model.getIconSide() == RectSide.DOWN ? -iconHeight : 0)) / 2
-                            - BrokkGuiPlatform.getInstance().getGuiHelper().getStringHeight() / 2
-                            + model.getTextPadding().getTop()
-                            - model.getTextPadding().getBottom();
-            }
-        });
+    @Override
+    public void arrange()
+    {
+        this.ellipsedTextProperty.setValue(this.computeEllipsedText());
 
-        this.text.getWidthProperty().bind(BaseExpression.transform(this.getEllipsedTextProperty(),
-                BrokkGuiPlatform.getInstance().getGuiHelper()::getStringWidth));
-        this.text.setHeight(BrokkGuiPlatform.getInstance().getGuiHelper().getStringHeight());
+        float textWidth = BrokkGuiPlatform.getInstance().getGuiHelper().getStringWidth(this.getEllipsedText());
+        this.text.setWidth(textWidth);
+        this.text.getxPosProperty().setValue(this.computeTextX(textWidth));
+        this.text.getyPosProperty().setValue(this.computeTextY());
 
-        getModel().addChild(text);
+        if (getModel().getIconProperty().isPresent())
+            this.arrangeIcon(getModel().getIcon());
     }
 
     /**
@@ -154,37 +95,71 @@ public class GuiLabeledSkinBase<C extends GuiLabeled, B extends GuiBehaviorBase<
         return this.ellipsedTextProperty.getValue();
     }
 
-    private void bindEllipsed()
+    private String computeEllipsedText()
     {
-        this.ellipsedTextProperty.bind(new BaseBinding<String>()
-        {
-            {
-                super.bind(getModel().getTextProperty(),
-                        getModel().getExpandToTextProperty(),
-                        getModel().getWidthProperty(),
-                        getModel().getEllipsisProperty(),
-                        getModel().getTextPaddingProperty(),
-                        getModel().getIconPaddingProperty(),
-                        getModel().getIconSideProperty(),
-                        getModel().getIconProperty());
-            }
+        if (!getModel().expandToText() && getModel().getWidth() < getExpandedWidth())
+            return this.getTextAdvances().ellipsize(getAvailableTextWidth(), getModel().getEllipsis(),
+                    BrokkGuiPlatform.getInstance().getGuiHelper());
+        return getModel().getText();
+    }
 
-            @Override
-            public String computeValue()
-            {
-                if (!getModel().expandToText() && getModel().getWidth() < getExpandedWidth())
-                {
-                    String trimmed = BrokkGuiPlatform.getInstance().getGuiHelper().trimStringToPixelWidth(
-                            getModel().getText(), (int) (getAvailableTextWidth()));
+    private float computeTextX(float textWidth)
+    {
+        C model = getModel();
+
+        float iconWidth = 0;
+        if (model.getIconProperty().isPresent() && model.getIconSide().isHorizontal())
+            iconWidth = model.getIcon().getWidth() + model.getIconPadding();
+
+        if (model.getTextAlignment().isLeft())
+            return model.getxPos() + model.getxTranslate() + model.getTextPadding().getLeft()
+                    + (model.getIconSide() == RectSide.LEFT ? iconWidth : 0);
+        else if (model.getTextAlignment().isRight())
+            return model.getxPos() + model.getxTranslate()
+                    + model.getWidth()
+                    - model.getTextPadding().getRight()
+                    - textWidth
+                    - (model.getIconSide() == RectSide.RIGHT ? iconWidth : 0);
+        else
+            return model.getxPos() + model.getxTranslate()
+                    + model.getTextPadding().getLeft()
+                    + (model.getIconSide() == RectSide.LEFT ? iconWidth : 0)
+                    + getAvailableTextWidth() / 2
+                    - textWidth / 2
+                    - model.getTextPadding().getRight();
+    }
 
-                    if (trimmed.length() < getModel().getEllipsis().length())
-                        return "";
-                    trimmed = trimmed.substring(0, trimmed.length() - getModel().getEllipsis().length());
-                    return trimmed + getModel().getEllipsis();
-                }
-                return getModel().getText();
-            }
-        });
+    private float computeTextY()
+    {
+        C model = getModel();
+
+        float iconHeight = 0;
+        if (model.getIconProperty().isPresent() && model.getIconSide().isVertical())
+            iconHeight = model.getIcon().getHeight() + model.getIconPadding();
+
+        if (model.getTextAlignment().isUp())
+            return model.getyPos() + model.getyTranslate() + model.getTextPadding().getTop()
+                    + (model.getIconSide() == RectSide.UP ? iconHeight : 0);
+        else if (model.getTextAlignment().isDown())
+            return model.getyPos() + model.getyTranslate()
+                    + model.getHeight()
+                    - model.getTextPadding().getBottom()
+                    - BrokkGuiPlatform.getInstance().getGuiHelper().getStringHeight()
+                    - (model.getIconSide() == RectSide.DOWN ? iconHeight : 0);
+        else
+            return model.getyPos() + model.getyTranslate() + model.getHeight() / 2
+                    + (model.getIconSide() == RectSide.UP ? iconHeight :
+                    (model.getIconSide() == RectSide.DOWN ? -iconHeight : 0)) / 2
+                    - BrokkGuiPlatform.getInstance().getGuiHelper().getStringHeight() / 2
+                    + model.getTextPadding().getTop()
+                    - model.getTextPadding().getBottom();
+    }
+
+    private GlyphAdvances getTextAdvances()
+    {
+        this.textAdvances = GlyphAdvances.reuseOrCompute(this.textAdvances, getModel().getText(),
+                BrokkGuiPlatform.getInstance().getGuiHelper());
+        return this.textAdvances;
     }
 
     private float getExpandedWidth()
@@ -192,15 +167,15 @@ public class GuiLabeledSkinBase<C extends GuiLabeled, B extends GuiBehaviorBase<
         if (getModel().getIconProperty().isPresent())
         {
             if (getModel().getIconSide().isHorizontal())
-                return BrokkGuiPlatform.getInstance().getGuiHelper().getStringWidth(getModel().getText())
+                return this.getTextAdvances().getWidth()
                         + getModel().getTextPadding().getLeft() + getModel().getTextPadding().getRight()
                         + getModel().getIcon().getWidth() + getModel().getIconPadding();
             else
-                return Math.max(BrokkGuiPlatform.getInstance().getGuiHelper().getStringWidth(getModel().getText()),
+                return Math.max(this.getTextAdvances().getWidth(),
                         getModel().getIcon().getWidth())
                         + getModel().getTextPadding().getLeft() + getModel().getTextPadding().getRight();
         }
-        return BrokkGuiPlatform.getInstance().getGuiHelper().getStringWidth(getModel().getText())
+        return this.getTextAdvances().getWidth()
                 + getModel().getTextPadding().getLeft() + getModel().getTextPadding().getRight();
     }
 
@@ -216,64 +191,32 @@ public class GuiLabeledSkinBase<C extends GuiLabeled, B extends GuiBehaviorBase<
                 - getModel().getTextPadding().getLeft() - getModel().getTextPadding().getRight();
     }
 
-    private void bindIcon(GuiNode icon)
+    private void arrangeIcon(GuiNode icon)
     {
-        this.getModel().addChild(icon);
-
-        icon.getxPosProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(getModel().getIconSideProperty(),
-                        getModel().getxPosProperty(),
-                        getModel().getxTranslateProperty(),
-                        getModel().getTextPaddingProperty(),
-                        getModel().getWidthProperty(),
-                        icon.getWidthProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                if (getModel().getIconSide() == RectSide.LEFT)
-                    return getModel().getLeftPos()
-                            + getModel().getTextPadding().getLeft();
-                if (getModel().getIconSide() == RectSide.RIGHT)
-                    return getModel().getRightPos()
-                            - getModel().getTextPadding().getRight()
-                            - icon.getWidth();
-                return getModel().getLeftPos()
-                        + getModel().getWidth() / 2 - icon.getWidth() / 2
-                        + getModel().getTextPadding().getLeft()
-                        - getModel().getTextPadding().getRight();
-            }
-        });
-
-        icon.getyPosProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(getModel().getIconSideProperty(),
-                        getModel().getyPosProperty(),
-                        getModel().getyTranslateProperty(),
-                        getModel().getTextPaddingProperty(),
-                        getModel().getHeightProperty(),
-                        icon.getHeightProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                if (getModel().getIconSide() == RectSide.UP)
-                    return getModel().getTopPos()
-                            + getModel().getTextPadding().getTop();
-                if (getModel().getIconSide() == RectSide.DOWN)
-                    return getModel().getBottomPos()
-                            - getModel().getTextPadding().getBottom()
-                            - icon.getHeight();
-                return getModel().getTopPos()
-                        + getModel().getHeight() / 2 - icon.getHeight() / 2
-                        + getModel().getTextPadding().getTop()
-                        - getModel().getTextPadding().getBottom();
-            }
-        });
+        if (getModel().getIconSide() == RectSide.LEFT)
+            icon.getxPosProperty().setValue(getModel().getLeftPos()
+                    + getModel().getTextPadding().getLeft());
+        else if (getModel().getIconSide() == RectSide.RIGHT)
+            icon.getxPosProperty().setValue(getModel().getRightPos()
+                    - getModel().getTextPadding().getRight()
+                    - icon.getWidth());
+        else
+            icon.getxPosProperty().setValue(getModel().getLeftPos()
+                    + getModel().getWidth() / 2 - icon.getWidth() / 2
+                    + getModel().getTextPadding().getLeft()
+                    - getModel().getTextPadding().getRight());
+
+        if (getModel().getIconSide() == RectSide.UP)
+            icon.getyPosProperty().setValue(getModel().getTopPos()
+                    + getModel().getTextPadding().getTop());
+        else if (getModel().getIconSide() == RectSide.DOWN)
+            icon.getyPosProperty().setValue(getModel().getBottomPos()
+                    - getModel().getTextPadding().getBottom()
+                    - icon.getHeight());
+        else
+            icon.getyPosProperty().setValue(getModel().getTopPos()
+                    + getModel().getHeight() / 2 - icon.getHeight() / 2
+                    + getModel().getTextPadding().getTop()
+                    - getModel().getTextPadding().getBottom());
     }
 }
\ No newline at end of file
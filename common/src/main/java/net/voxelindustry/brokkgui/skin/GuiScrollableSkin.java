@@ -1,6 +1,5 @@
 package net.voxelindustry.brokkgui.skin;
 
-import fr.ourten.teabeans.binding.BaseBinding;
 import net.voxelindustry.brokkgui.behavior.GuiScrollableBehavior;
 import net.voxelindustry.brokkgui.control.GuiScrollableBase;
 import net.voxelindustry.brokkgui.policy.GuiScrollbarPolicy;
@@ -19,132 +18,9 @@ public class GuiScrollableSkin<C extends GuiScrollableBase, B extends GuiScrolla
         super(model, behavior);
 
         this.gripX = new Rectangle();
-        this.gripX.getxPosProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(getModel().getxPosProperty(),
-                        getModel().getxTranslateProperty(),
-                        getModel().getScrollXProperty(),
-                        getModel().getTrueWidthProperty(),
-                        getModel().getWidthProperty(),
-                        gripX.getWidthProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                if (getModel().getWidth() >= getModel().getTrueWidth())
-                    return getModel().getLeftPos();
-                else
-                {
-                    float area = getModel().getTrueWidth() - getModel().getWidth();
-                    float ratio = getModel().getScrollX() / area;
-                    float size = getModel().getWidth() - gripX.getWidth();
-
-                    return getModel().getLeftPos() - size * ratio;
-                }
-            }
-        });
-        this.gripX.getyPosProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(getModel().getyPosProperty(),
-                        getModel().getyTranslateProperty(),
-                        getModel().getHeightProperty(),
-                        gripX.getHeightProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                return getModel().getBottomPos() - gripX.getHeight();
-            }
-        });
-        this.gripX.getHeightProperty().bind(this.getModel().getGripXHeightProperty());
-        this.gripX.getWidthProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(getModel().getWidthProperty(),
-                        getModel().getTrueWidthProperty(),
-                        getModel().getGripXWidthProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                if (getModel().getGripXWidth() != 0)
-                    return getModel().getGripXWidth();
-
-                if (getModel().getWidth() >= getModel().getTrueWidth())
-                    return getModel().getWidth();
-                return Math.min(10, getModel().getWidth() / getModel().getTrueWidth() * getModel().getWidth());
-            }
-        });
         this.gripX.getzLevelProperty().bind(getModel().getzLevelProperty());
 
         this.gripY = new Rectangle();
-        this.gripY.getxPosProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(getModel().getxPosProperty(),
-                        getModel().getxTranslateProperty(),
-                        getModel().getWidthProperty(),
-                        gripY.getWidthProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                return getModel().getRightPos() - gripY.getWidth();
-            }
-        });
-        this.gripY.getyPosProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(getModel().getyPosProperty(),
-                        getModel().getyTranslateProperty(),
-                        getModel().getScrollYProperty(),
-                        getModel().getTrueHeightProperty(),
-                        getModel().getHeightProperty(),
-                        gripY.getHeightProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                if (getModel().getHeight() >= getModel().getTrueHeight())
-                    return getModel().getyPos()
-                            + getModel().getyTranslate();
-                else
-                {
-                    float area = getModel().getTrueHeight() - getModel().getHeight();
-                    float ratio = getModel().getScrollY() / area;
-                    float size = getModel().getHeight() - gripY.getHeight();
-
-                    return getModel().getTopPos() - size * ratio;
-                }
-            }
-        });
-        this.gripY.getWidthProperty().bind(this.getModel().getGripYWidthProperty());
-        this.gripY.getHeightProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(getModel().getHeightProperty(),
-                        getModel().getTrueHeightProperty(),
-                        getModel().getGripYHeightProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                if (getModel().getGripYHeight() != 0)
-                    return getModel().getGripYHeight();
-
-                if (getModel().getHeight() >= getModel().getTrueHeight())
-                    return getModel().getHeight();
-                return Math.min(10, getModel().getHeight() / getModel().getTrueHeight() * getModel().getHeight());
-            }
-        });
         this.gripY.getzLevelProperty().bind(getModel().getzLevelProperty());
 
         this.getModel().addChild(this.gripX);
@@ -153,50 +29,88 @@ public class GuiScrollableSkin<C extends GuiScrollableBase, B extends GuiScrolla
         this.gripX.addStyleClass("grip-x");
         this.gripY.addStyleClass("grip-y");
 
-        this.gripX.getVisibleProperty().bind(new BaseBinding<Boolean>()
+        // Layout invalidation
+        getModel().getScrollXProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getScrollYProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getTrueWidthProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getTrueHeightProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getGripXWidthProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getGripXHeightProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getGripYWidthProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getGripYHeightProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getScrollXPolicyProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getScrollYPolicyProperty().addListener(obs -> getModel().requestLayout());
+    }
+
+    @Override
+    public void arrange()
+    {
+        this.arrangeGripX();
+        this.arrangeGripY();
+    }
+
+    private void arrangeGripX()
+    {
+        C model = getModel();
+
+        if (model.getGripXWidth() != 0)
+            this.gripX.setWidth(model.getGripXWidth());
+        else if (model.getWidth() >= model.getTrueWidth())
+            this.gripX.setWidth(model.getWidth());
+        else
+            this.gripX.setWidth(Math.min(10, model.getWidth() / model.getTrueWidth() * model.getWidth()));
+        this.gripX.setHeight(model.getGripXHeight());
+
+        if (model.getWidth() >= model.getTrueWidth())
+            this.gripX.getxPosProperty().setValue(model.getLeftPos());
+        else
         {
-            {
-                super.bind(getModel().getScrollXPolicyProperty(),
-                        getModel().getWidthProperty(),
-                        getModel().getTrueWidthProperty());
-            }
-
-            @Override
-            public Boolean computeValue()
-            {
-                if (getModel().getScrollXPolicy() == GuiScrollbarPolicy.ALWAYS
-                        || getModel().getScrollXPolicy() == GuiScrollbarPolicy.NEEDED)
-                {
-                    if (getModel().getWidth() >= getModel().getTrueWidth())
-                        return getModel().getScrollXPolicy() == GuiScrollbarPolicy.ALWAYS;
-                    else
-                        return true;
-                }
-                return false;
-            }
-        });
-
-        this.gripY.getVisibleProperty().bind(new BaseBinding<Boolean>()
+            float area = model.getTrueWidth() - model.getWidth();
+            float ratio = model.getScrollX() / area;
+            float size = model.getWidth() - this.gripX.getWidth();
+
+            this.gripX.getxPosProperty().setValue(model.getLeftPos() - size * ratio);
+        }
+        this.gripX.getyPosProperty().setValue(model.getBottomPos() - this.gripX.getHeight());
+
+        this.gripX.setVisible(this.isGripVisible(model.getScrollXPolicy(), model.getWidth(), model.getTrueWidth()));
+    }
+
+    private void arrangeGripY()
+    {
+        C model = getModel();
+
+        if (model.getGripYHeight() != 0)
+            this.gripY.setHeight(model.getGripYHeight());
+        else if (model.getHeight() >= model.getTrueHeight())
+            this.gripY.setHeight(model.getHeight());
+        else
+            this.gripY.setHeight(Math.min(10, model.getHeight() / model.getTrueHeight() * model.getHeight()));
+        this.gripY.setWidth(model.getGripYWidth());
+
+        this.gripY.getxPosProperty().setValue(model.getRightPos() - this.gripY.getWidth());
+        if (model.getHeight() >= model.getTrueHeight())
+            this.gripY.getyPosProperty().setValue(model.getTopPos());
+        else
+        {
+            float area = model.getTrueHeight() - model.getHeight();
+            float ratio = model.getScrollY() / area;
+            float size = model.getHeight() - this.gripY.getHeight();
+
+            this.gripY.getyPosProperty().setValue(model.getTopPos() - size * ratio);
+        }
+
+        this.gripY.setVisible(this.isGripVisible(model.getScrollYPolicy(), model.getHeight(), model.getTrueHeight()));
+    }
+
+    private boolean isGripVisible(GuiScrollbarPolicy policy, float size, float trueSize)
+    {
+        if (policy == GuiScrollbarPolicy.ALWAYS || policy == GuiScrollbarPolicy.NEEDED)
         {
-            {
-                super.bind(getModel().getScrollYPolicyProperty(),
-                        getModel().getHeightProperty(),
-                        getModel().getTrueHeightProperty());
-            }
-
-            @Override
-            public Boolean computeValue()
-            {
-                if (getModel().getScrollYPolicy() == GuiScrollbarPolicy.ALWAYS
-                        || getModel().getScrollYPolicy() == GuiScrollbarPolicy.NEEDED)
-                {
-                    if (getModel().getHeight() >= getModel().getTrueHeight())
-                        return getModel().getScrollYPolicy() == GuiScrollbarPolicy.ALWAYS;
-                    else
-                        return true;
-                }
-                return false;
-            }
-        });
+            if (size >= trueSize)
+                return policy == GuiScrollbarPolicy.ALWAYS;
+            return true;
+        }
+        return false;
     }
 }
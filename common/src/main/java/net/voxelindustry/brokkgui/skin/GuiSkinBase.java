@@ -32,6 +32,25 @@ public class GuiSkinBase<T extends GuiElement> implements IGuiSkin
     {
     }
 
+    /**
+     * Called during the layout pass of the model, after its children have been measured.
+     * Skins computing the size of their model from their content should do it here.
+     */
+    public void measure()
+    {
+
+    }
+
+    /**
+     * Called during the layout pass of the model, before its children are arranged.
+     * Skins positioning their shapes relatively to the model should do it here instead of binding to the model
+     * properties, and call {@link GuiElement#requestLayout()} when a property they depend on changes.
+     */
+    public void arrange()
+    {
+
+    }
+
     public List<GuiNode> getChildrens()
     {
         return this.childrens;
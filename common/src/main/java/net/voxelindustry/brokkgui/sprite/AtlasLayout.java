@@ -0,0 +1,190 @@
+package net.voxelindustry.brokkgui.sprite;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Position of each packed image in the pages of a {@link TextureAtlas}.
+ * <p>
+ * Images are packed on shelves, sorted from the tallest to the smallest. A layout is identified by a key computed
+ * from its sources and packing parameters, a cached layout with the same key can be reused as is.
+ */
+public class AtlasLayout
+{
+    private static final String HEADER = "brokkgui-atlas 1";
+
+    private final String                   key;
+    private final int                      pageSize;
+    private final int                      pageCount;
+    private final Map<String, AtlasRegion> regions;
+
+    public AtlasLayout(String key, int pageSize, int pageCount, Map<String, AtlasRegion> regions)
+    {
+        this.key = key;
+        this.pageSize = pageSize;
+        this.pageCount = pageCount;
+        this.regions = Collections.unmodifiableMap(regions);
+    }
+
+    /**
+     * Pack the given sources in square pages. Sources larger than a page are left out.
+     *
+     * @param sources  the images to pack
+     * @param pageSize the width and height of each page in pixels
+     * @param padding  the space in pixels kept empty on the right and bottom of each image, to avoid sampling its
+     *                 neighbours
+     * @return the packed layout
+     */
+    public static AtlasLayout pack(List<AtlasSource> sources, int pageSize, int padding)
+    {
+        List<AtlasSource> sorted = new ArrayList<>(sources);
+        sorted.sort(Comparator.comparingInt(AtlasSource::getHeight).reversed()
+                .thenComparing(Comparator.comparingInt(AtlasSource::getWidth).reversed())
+                .thenComparing(AtlasSource::getResource));
+
+        Map<String, AtlasRegion> regions = new LinkedHashMap<>();
+        int page = 0;
+        int shelfY = 0;
+        int shelfHeight = 0;
+        int cursorX = 0;
+        boolean pageUsed = false;
+
+        for (AtlasSource source : sorted)
+        {
+            int width = source.getWidth() + padding;
+            int height = source.getHeight() + padding;
+            if (source.getWidth() > pageSize || source.getHeight() > pageSize || regions.containsKey(source.getResource()))
+                continue;
+
+            // Next shelf, then next page when the shelf is full
+            if (cursorX + width > pageSize || height > shelfHeight)
+            {
+                shelfY += shelfHeight;
+                shelfHeight = height;
+                cursorX = 0;
+
+                if (shelfY + source.getHeight() > pageSize)
+                {
+                    page++;
+                    shelfY = 0;
+                }
+            }
+
+            regions.put(source.getResource(),
+                    new AtlasRegion(page, cursorX, shelfY, source.getWidth(), source.getHeight(), pageSize));
+            cursorX += width;
+            pageUsed = true;
+        }
+
+        return new AtlasLayout(computeKey(sources, pageSize, padding), pageSize, pageUsed ? page + 1 : 0, regions);
+    }
+
+    /**
+     * @return a key changing with the name, size or content of any source, or with the packing parameters
+     */
+    public static String computeKey(List<AtlasSource> sources, int pageSize, int padding)
+    {
+        List<AtlasSource> sorted = new ArrayList<>(sources);
+        sorted.sort(Comparator.comparing(AtlasSource::getResource));
+
+        Hasher hasher = Hashing.murmur3_128().newHasher().putInt(pageSize).putInt(padding);
+        for (AtlasSource source : sorted)
+        {
+            hasher.putString(source.getResource(), StandardCharsets.UTF_8)
+                    .putInt(source.getWidth())
+                    .putInt(source.getHeight())
+                    .putLong(source.getContentHash());
+        }
+        return hasher.hash().toString();
+    }
+
+    public void write(Writer writer) throws IOException
+    {
+        writer.write(HEADER + "\n");
+        writer.write(this.key + "\n");
+        writer.write(this.pageSize + "\t" + this.pageCount + "\n");
+
+        for (Map.Entry<String, AtlasRegion> entry : this.regions.entrySet())
+        {
+            AtlasRegion region = entry.getValue();
+            writer.write(entry.getKey() + "\t" + region.getPage() + "\t" + region.getX() + "\t" + region.getY() + "\t"
+                    + region.getWidth() + "\t" + region.getHeight() + "\n");
+        }
+        writer.flush();
+    }
+
+    /**
+     * @throws IOException if the content is not a layout written by {@link #write(Writer)}
+     */
+    public static AtlasLayout read(Reader reader) throws IOException
+    {
+        BufferedReader lines = new BufferedReader(reader);
+
+        if (!HEADER.equals(lines.readLine()))
+            throw new IOException("Unknown atlas layout format");
+        String key = lines.readLine();
+
+        try
+        {
+            String[] pages = lines.readLine().split("\t");
+            int pageSize = Integer.parseInt(pages[0]);
+            int pageCount = Integer.parseInt(pages[1]);
+
+            Map<String, AtlasRegion> regions = new LinkedHashMap<>();
+            String line;
+            while ((line = lines.readLine()) != null)
+            {
+                if (line.isEmpty())
+                    continue;
+
+                String[] split = line.split("\t");
+                regions.put(split[0], new AtlasRegion(Integer.parseInt(split[1]), Integer.parseInt(split[2]),
+                        Integer.parseInt(split[3]), Integer.parseInt(split[4]), Integer.parseInt(split[5]), pageSize));
+            }
+            return new AtlasLayout(key, pageSize, pageCount, regions);
+        } catch (RuntimeException e)
+        {
+            throw new IOException("Malformed atlas layout", e);
+        }
+    }
+
+    public String getKey()
+    {
+        return key;
+    }
+
+    public int getPageSize()
+    {
+        return pageSize;
+    }
+
+    public int getPageCount()
+    {
+        return pageCount;
+    }
+
+    /**
+     * @return the region of the given image, or null if it was not packed
+     */
+    public AtlasRegion getRegion(String resource)
+    {
+        return regions.get(resource);
+    }
+
+    public Map<String, AtlasRegion> getRegions()
+    {
+        return regions;
+    }
+}
@@ -0,0 +1,72 @@
+package net.voxelindustry.brokkgui.sprite;
+
+/**
+ * Area of an atlas page holding a packed image, in pixels.
+ */
+public class AtlasRegion
+{
+    private final int page;
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+    private final int pageSize;
+
+    public AtlasRegion(int page, int x, int y, int width, int height, int pageSize)
+    {
+        this.page = page;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @param u a horizontal texture coordinate in the packed image, between 0 and 1
+     * @return the matching coordinate in the atlas page
+     */
+    public float getU(float u)
+    {
+        return (this.x + u * this.width) / this.pageSize;
+    }
+
+    /**
+     * @param v a vertical texture coordinate in the packed image, between 0 and 1
+     * @return the matching coordinate in the atlas page
+     */
+    public float getV(float v)
+    {
+        return (this.y + v * this.height) / this.pageSize;
+    }
+
+    public int getPage()
+    {
+        return page;
+    }
+
+    public int getX()
+    {
+        return x;
+    }
+
+    public int getY()
+    {
+        return y;
+    }
+
+    public int getWidth()
+    {
+        return width;
+    }
+
+    public int getHeight()
+    {
+        return height;
+    }
+
+    public int getPageSize()
+    {
+        return pageSize;
+    }
+}
@@ -0,0 +1,50 @@
+package net.voxelindustry.brokkgui.sprite;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Image to pack in a {@link TextureAtlas}, described by its size and a hash of its content.
+ */
+public class AtlasSource
+{
+    private final String resource;
+    private final int    width;
+    private final int    height;
+    private final long   contentHash;
+
+    public AtlasSource(String resource, int width, int height, long contentHash)
+    {
+        this.resource = resource;
+        this.width = width;
+        this.height = height;
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * @param content the bytes of the image file, hashed to invalidate cached layouts when the image changes
+     */
+    public static AtlasSource of(String resource, int width, int height, byte[] content)
+    {
+        return new AtlasSource(resource, width, height, Hashing.murmur3_128().hashBytes(content).asLong());
+    }
+
+    public String getResource()
+    {
+        return resource;
+    }
+
+    public int getWidth()
+    {
+        return width;
+    }
+
+    public int getHeight()
+    {
+        return height;
+    }
+
+    public long getContentHash()
+    {
+        return contentHash;
+    }
+}
@@ -0,0 +1,12 @@
+package net.voxelindustry.brokkgui.sprite;
+
+import java.io.IOException;
+
+/**
+ * Reads the size and content hash of the images to pack in a {@link TextureAtlas}. Implemented by the platform.
+ */
+@FunctionalInterface
+public interface IAtlasSourceReader
+{
+    AtlasSource read(String resource) throws IOException;
+}
@@ -1,28 +1,46 @@
 package net.voxelindustry.brokkgui.sprite;
 
+import net.voxelindustry.brokkgui.util.LRUCache;
+
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 public class SpriteAnimation
 {
+    private static final int TEXTURES_CACHE_SIZE = 8;
+
     private boolean vertical;
 
     private int  frameCount;
     private long durationMillis;
 
+    /**
+     * Time in milliseconds at which each frame ends, from the start of the animation
+     */
+    private long[]             frameEndTimes;
     private Map<Integer, Long> frameTimeMillisByFrameIndex;
 
-    public SpriteAnimation(boolean vertical, int frameCount, Map<Integer, Long> frameTimeMillisByFrameIndex)
+    private LRUCache<Texture, Texture[]> texturesByOrigin;
+
+    public SpriteAnimation(boolean vertical, int frameCount, long[] frameEndTimes)
     {
         this.vertical = vertical;
         this.frameCount = frameCount;
-        this.frameTimeMillisByFrameIndex = frameTimeMillisByFrameIndex;
+        this.frameEndTimes = frameEndTimes;
+
+        this.durationMillis = frameEndTimes[frameEndTimes.length - 1];
+    }
 
-        this.durationMillis = frameTimeMillisByFrameIndex.get(frameTimeMillisByFrameIndex.size() - 1);
+    public SpriteAnimation(boolean vertical, int frameCount, Map<Integer, Long> frameTimeMillisByFrameIndex)
+    {
+        this(vertical, frameCount, toFrameEndTimes(frameTimeMillisByFrameIndex));
+        this.frameTimeMillisByFrameIndex = frameTimeMillisByFrameIndex;
     }
 
     public SpriteAnimationInstance instantiate()
     {
-        return new SpriteAnimationInstance(vertical, frameCount, frameTimeMillisByFrameIndex);
+        return new SpriteAnimationInstance(this);
     }
 
     public boolean isVertical()
@@ -40,8 +58,77 @@ public class SpriteAnimation
         return durationMillis;
     }
 
+    /**
+     * @return the time in milliseconds at which each frame ends, from the start of the animation. Must not be modified.
+     */
+    public long[] getFrameEndTimes()
+    {
+        return frameEndTimes;
+    }
+
     public Map<Integer, Long> getFrameTimeMillisByFrameIndex()
     {
+        if (frameTimeMillisByFrameIndex == null)
+        {
+            Map<Integer, Long> frameTimes = new HashMap<>();
+            for (int index = 0; index < frameEndTimes.length; index++)
+                frameTimes.put(index, frameEndTimes[index]);
+            frameTimeMillisByFrameIndex = Collections.unmodifiableMap(frameTimes);
+        }
         return frameTimeMillisByFrameIndex;
     }
+
+    /**
+     * Get the textures of each frame cut from the given origin texture.
+     * The textures are shared by all the instances of this animation using the same origin.
+     *
+     * @param origin the texture containing all the frames
+     * @return the texture of each frame. Must not be modified.
+     */
+    public Texture[] getFrameTextures(Texture origin)
+    {
+        if (texturesByOrigin == null)
+            texturesByOrigin = new LRUCache<>(TEXTURES_CACHE_SIZE);
+        return texturesByOrigin.get(origin, this::computeTextures);
+    }
+
+    private Texture[] computeTextures(Texture origin)
+    {
+        Texture[] textures = new Texture[frameCount];
+
+        for (int frame = 0; frame < frameCount; frame++)
+        {
+            if (vertical)
+            {
+                textures[frame] = new Texture(
+                        origin.getResource(),
+                        origin.getUMin(),
+                        (origin.getVMax() - origin.getVMin()) / frameCount * frame + origin.getVMin(),
+                        origin.getUMax(),
+                        (origin.getVMax() - origin.getVMin()) / frameCount * (frame + 1) + origin.getVMin(),
+                        origin.getPixelWidth(),
+                        origin.getPixelHeight());
+            }
+            else
+            {
+                textures[frame] = new Texture(
+                        origin.getResource(),
+                        (origin.getUMax() - origin.getUMin()) / frameCount * frame + origin.getUMin(),
+                        origin.getVMin(),
+                        (origin.getUMax() - origin.getUMin()) / frameCount * (frame + 1) + origin.getUMin(),
+                        origin.getVMax(),
+                        origin.getPixelWidth(),
+                        origin.getPixelHeight());
+            }
+        }
+        return textures;
+    }
+
+    private static long[] toFrameEndTimes(Map<Integer, Long> frameTimeMillisByFrameIndex)
+    {
+        long[] frameEndTimes = new long[frameTimeMillisByFrameIndex.size()];
+        for (int index = 0; index < frameEndTimes.length; index++)
+            frameEndTimes[index] = frameTimeMillisByFrameIndex.get(index);
+        return frameEndTimes;
+    }
 }
@@ -4,18 +4,37 @@ import java.util.Map;
 
 public class SpriteAnimationInstance extends SpriteAnimation
 {
-    private final Texture[] computedTextures;
-    private       long      startTimeMillis;
+    private final SpriteAnimation animation;
+
+    private Texture[] computedTextures;
+    private long      startTimeMillis;
+
+    /**
+     * Index of the last returned frame, looked at first as time mostly moves forward
+     */
+    private int lastFrameIndex;
 
     public SpriteAnimationInstance(boolean vertical, int frameCount, Map<Integer, Long> frameTimeMillisByFrameIndex)
     {
         super(vertical, frameCount, frameTimeMillisByFrameIndex);
+        this.animation = this;
         this.computedTextures = new Texture[frameCount];
     }
 
+    /**
+     * Create an instance sharing the frame times and the computed textures of the given animation.
+     */
+    SpriteAnimationInstance(SpriteAnimation animation)
+    {
+        super(animation.isVertical(), animation.getFrameCount(), animation.getFrameEndTimes());
+        this.animation = animation;
+        this.computedTextures = new Texture[animation.getFrameCount()];
+    }
+
     public void start(long currentTimeMillis)
     {
         this.startTimeMillis = currentTimeMillis;
+        this.lastFrameIndex = 0;
     }
 
     public Texture getCurrentFrame(long currentTimeMillis)
@@ -25,42 +44,41 @@ public class SpriteAnimationInstance extends SpriteAnimation
             this.startTimeMillis = currentTimeMillis - (currentTimeMillis - this.startTimeMillis) % this.getDurationMillis();
         }
 
-        int index;
-        for (index = 0; index < this.getFrameCount(); index++)
+        this.lastFrameIndex = this.getFrameIndex(currentTimeMillis - this.startTimeMillis);
+        return this.computedTextures[this.lastFrameIndex];
+    }
+
+    /**
+     * @param elapsedMillis the time since the start of the animation, at most its duration
+     * @return the index of the first frame ending at or after the given time
+     */
+    private int getFrameIndex(long elapsedMillis)
+    {
+        long[] frameEndTimes = this.getFrameEndTimes();
+
+        // Same frame as the last call or the next one
+        int hint = this.lastFrameIndex;
+        for (int index = hint; index < hint + 2 && index < frameEndTimes.length; index++)
         {
-            if (this.getFrameTimeMillisByFrameIndex().get(index) >= currentTimeMillis - this.startTimeMillis)
-                break;
+            if (frameEndTimes[index] >= elapsedMillis && (index == 0 || frameEndTimes[index - 1] < elapsedMillis))
+                return index;
         }
 
-        return this.computedTextures[index];
+        int low = 0;
+        int high = frameEndTimes.length - 1;
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            if (frameEndTimes[middle] < elapsedMillis)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
     }
 
     public void computeTextures(Texture origin)
     {
-        for (int frame = 0; frame < getFrameCount(); frame++)
-        {
-            if (this.isVertical())
-            {
-                this.computedTextures[frame] = new Texture(
-                        origin.getResource(),
-                        origin.getUMin(),
-                        (origin.getVMax() - origin.getVMin()) / getFrameCount() * frame + origin.getVMin(),
-                        origin.getUMax(),
-                        (origin.getVMax() - origin.getVMin()) / getFrameCount() * (frame + 1) + origin.getVMin(),
-                        origin.getPixelWidth(),
-                        origin.getPixelHeight());
-            }
-            else
-            {
-                this.computedTextures[frame] = new Texture(
-                        origin.getResource(),
-                        (origin.getUMax() - origin.getUMin()) / getFrameCount() * frame + origin.getUMin(),
-                        origin.getVMin(),
-                        (origin.getUMax() - origin.getUMin()) / getFrameCount() * (frame + 1) + origin.getUMin(),
-                        origin.getVMax(),
-                        origin.getPixelWidth(),
-                        origin.getPixelHeight());
-            }
-        }
+        this.computedTextures = this.animation.getFrameTextures(origin);
     }
 }
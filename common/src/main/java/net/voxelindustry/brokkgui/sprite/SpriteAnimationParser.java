@@ -13,17 +13,12 @@ import net.voxelindustry.brokkgui.BrokkGuiPlatform;
 import net.voxelindustry.brokkgui.animation.Interpolator;
 import net.voxelindustry.brokkgui.animation.Interpolators;
 import net.voxelindustry.brokkgui.data.Resource;
-import org.apache.commons.lang3.tuple.Pair;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
-import java.util.stream.IntStream;
-
-import static java.util.stream.Collectors.toMap;
 
 public class SpriteAnimationParser extends TypeAdapter<SpriteAnimation>
 {
@@ -103,7 +98,7 @@ public class SpriteAnimationParser extends TypeAdapter<SpriteAnimation>
                     String interpolatorName = in.nextString();
                     try
                     {
-                        interpolator = Interpolators.fromName(interpolatorName);
+                        interpolator = Interpolators.lookup(Interpolators.fromName(interpolatorName));
                     } catch (RuntimeException e)
                     {
                         throw new JsonParseException("Cannot parse SpriteAnimation JSON. Unknown interpolator [" + interpolatorName + "]");
@@ -140,27 +135,22 @@ public class SpriteAnimationParser extends TypeAdapter<SpriteAnimation>
         }
         in.endObject();
 
-        long finalDuration = duration;
-        int finalFrameCount = frameCount;
-        Interpolator finalInterpolator = interpolator;
-        Map<Integer, Long> framesTimeByIndex = IntStream.range(0, frameCount)
-                .boxed()
-                .collect(toMap(Function.identity(),
-                        index ->
-                        {
-                            long previousValue = (long) (finalInterpolator.apply((float) (index) / finalFrameCount) * finalDuration);
-                            long nextValue = (long) (finalInterpolator.apply((float) (index + 1) / finalFrameCount) * finalDuration);
-
-                            return parsedFrameTimes.getOrDefault(index, nextValue - previousValue);
-                        }));
+        // Cumulative end time of each frame, built in one pass
+        long[] frameEndTimes = new long[frameCount];
+        long previousValue = (long) (interpolator.apply(0) * duration);
+        long frameEndTime = 0;
+        for (int index = 0; index < frameCount; index++)
+        {
+            long nextValue = (long) (interpolator.apply((float) (index + 1) / frameCount) * duration);
 
-        Map<Integer, Long> summedFramesTimeByIndex = framesTimeByIndex.keySet().stream()
-                .map(index -> Pair.of(index, IntStream.rangeClosed(0, index).mapToLong(framesTimeByIndex::get).sum()))
-                .collect(toMap(Pair::getKey, Pair::getValue));
+            frameEndTime += parsedFrameTimes.getOrDefault(index, nextValue - previousValue);
+            frameEndTimes[index] = frameEndTime;
+            previousValue = nextValue;
+        }
 
         return new SpriteAnimation(
                 isVertical,
                 frameCount,
-                summedFramesTimeByIndex);
+                frameEndTimes);
     }
 }
@@ -0,0 +1,209 @@
+package net.voxelindustry.brokkgui.sprite;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Tiles of a repeated sprite, computed once for a given size, texture, repeat and rotations.
+ * <p>
+ * The rotations are copied, shapes changing their rotation array in place still get a new geometry.
+ * <p>
+ * A texture covering its whole image and drawn without rotation is kept as a single quad with wrapped UVs. Otherwise
+ * each tile is a quad of 8 floats: x, y, width, height, uMin, vMin, uMax, vMax, relative to the top left of the
+ * drawn area. Partial tiles are cropped, unless rotated in which case the whole tile is squeezed in.
+ */
+public class SpriteTileGeometry
+{
+    public static final int QUAD_SIZE = 8;
+
+    private final float            width;
+    private final float            height;
+    private final Texture          texture;
+    private final SpriteRepeat     repeat;
+    private final SpriteRotation[] rotations;
+
+    private final boolean          wrapped;
+    private final float            wrappedU;
+    private final float            wrappedV;
+    private final float[]          quads;
+    private final SpriteRotation[] quadRotations;
+    private final int              quadCount;
+
+    private SpriteTileGeometry(float width, float height, Texture texture, SpriteRepeat repeat, SpriteRotation[] rotations,
+                               float wrappedU, float wrappedV, float[] quads, SpriteRotation[] quadRotations, int quadCount)
+    {
+        this.width = width;
+        this.height = height;
+        this.texture = texture;
+        this.repeat = repeat;
+        this.rotations = rotations == null ? null : rotations.clone();
+
+        this.wrapped = quads == null;
+        this.wrappedU = wrappedU;
+        this.wrappedV = wrappedV;
+        this.quads = quads;
+        this.quadRotations = quadRotations;
+        this.quadCount = quadCount;
+    }
+
+    /**
+     * @param width     the width of the area to fill
+     * @param height    the height of the area to fill
+     * @param texture   the texture to repeat, its pixel size being the size of a tile
+     * @param repeat    the axis to repeat the texture on, must not be {@link SpriteRepeat#NONE}
+     * @param rotations the rotation of each tile, in the order given by {@link SpriteRepeat#getRepeatCount}, can be
+     *                  null
+     */
+    public static SpriteTileGeometry compute(float width, float height, Texture texture, SpriteRepeat repeat, SpriteRotation[] rotations)
+    {
+        if (width <= 0 || height <= 0)
+            return new SpriteTileGeometry(width, height, texture, repeat, rotations, 0, 0, new float[0], null, 0);
+
+        boolean repeatX = repeat != SpriteRepeat.REPEAT_Y;
+        boolean repeatY = repeat != SpriteRepeat.REPEAT_X;
+
+        float tileWidth = repeatX && texture.getPixelWidth() > 0 ? texture.getPixelWidth() : width;
+        float tileHeight = repeatY && texture.getPixelHeight() > 0 ? texture.getPixelHeight() : height;
+
+        if (!hasRotation(rotations) && isWholeImage(texture))
+            return new SpriteTileGeometry(width, height, texture, repeat, rotations,
+                    width / tileWidth, height / tileHeight, null, null, 1);
+
+        int countX = (int) (width / tileWidth);
+        float leftOverX = width % tileWidth;
+        int countY = (int) (height / tileHeight);
+        float leftOverY = height % tileHeight;
+
+        int maxCount = (countX + 1) * (countY + 1);
+        float[] quads = new float[maxCount * QUAD_SIZE];
+        SpriteRotation[] quadRotations = hasRotation(rotations) ? new SpriteRotation[maxCount] : null;
+
+        // Same tile order as the rotations computed by SpriteRandomRotationProperties
+        int quadCount = 0;
+        for (int xIndex = 0; xIndex < countX; xIndex++)
+        {
+            for (int yIndex = 0; yIndex < countY; yIndex++)
+                quadCount = addTile(quads, quadRotations, quadCount, texture, xIndex * tileWidth, yIndex * tileHeight,
+                        tileWidth, tileHeight, 1, 1, getRotation(rotations, yIndex * countX + xIndex));
+        }
+
+        if (leftOverX != 0)
+        {
+            for (int yIndex = 0; yIndex < countY; yIndex++)
+                quadCount = addTile(quads, quadRotations, quadCount, texture, countX * tileWidth, yIndex * tileHeight,
+                        leftOverX, tileHeight, leftOverX / tileWidth, 1, getRotation(rotations, countX * countY + yIndex));
+        }
+        if (leftOverY != 0)
+        {
+            for (int xIndex = 0; xIndex < countX; xIndex++)
+                quadCount = addTile(quads, quadRotations, quadCount, texture, xIndex * tileWidth, countY * tileHeight,
+                        tileWidth, leftOverY, 1, leftOverY / tileHeight,
+                        getRotation(rotations, countX * countY + (leftOverX != 0 ? countY : 0) + xIndex));
+        }
+        if (leftOverX != 0 && leftOverY != 0)
+            quadCount = addTile(quads, quadRotations, quadCount, texture, countX * tileWidth, countY * tileHeight,
+                    leftOverX, leftOverY, leftOverX / tileWidth, leftOverY / tileHeight,
+                    getRotation(rotations, countX * countY + countX + countY));
+
+        return new SpriteTileGeometry(width, height, texture, repeat, rotations, 0, 0, quads, quadRotations, quadCount);
+    }
+
+    private static int addTile(float[] quads, SpriteRotation[] quadRotations, int quadIndex, Texture texture,
+                               float x, float y, float width, float height, float uRatio, float vRatio, SpriteRotation rotation)
+    {
+        if (rotation != SpriteRotation.NONE)
+        {
+            uRatio = 1;
+            vRatio = 1;
+        }
+
+        int offset = quadIndex * QUAD_SIZE;
+        quads[offset] = x;
+        quads[offset + 1] = y;
+        quads[offset + 2] = width;
+        quads[offset + 3] = height;
+        quads[offset + 4] = texture.getUMin();
+        quads[offset + 5] = texture.getVMin();
+        quads[offset + 6] = texture.getUMin() + (texture.getUMax() - texture.getUMin()) * uRatio;
+        quads[offset + 7] = texture.getVMin() + (texture.getVMax() - texture.getVMin()) * vRatio;
+
+        if (quadRotations != null)
+            quadRotations[quadIndex] = rotation;
+        return quadIndex + 1;
+    }
+
+    private static SpriteRotation getRotation(SpriteRotation[] rotations, int index)
+    {
+        if (rotations == null || index >= rotations.length || rotations[index] == null)
+            return SpriteRotation.NONE;
+        return rotations[index];
+    }
+
+    private static boolean hasRotation(SpriteRotation[] rotations)
+    {
+        if (rotations == null)
+            return false;
+        for (SpriteRotation rotation : rotations)
+        {
+            if (rotation != null && rotation != SpriteRotation.NONE)
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean isWholeImage(Texture texture)
+    {
+        return texture.getUMin() == 0 && texture.getVMin() == 0 && texture.getUMax() == 1 && texture.getVMax() == 1;
+    }
+
+    public boolean matches(float width, float height, Texture texture, SpriteRepeat repeat, SpriteRotation[] rotations)
+    {
+        return this.width == width &&
+                this.height == height &&
+                this.repeat == repeat &&
+                Arrays.equals(this.rotations, rotations) &&
+                Objects.equals(this.texture, texture);
+    }
+
+    /**
+     * @return true if the whole area is a single quad with UVs going over 1, to be drawn with a repeat wrap mode
+     */
+    public boolean isWrapped()
+    {
+        return wrapped;
+    }
+
+    /**
+     * @return the number of times the texture is repeated horizontally, when wrapped
+     */
+    public float getWrappedU()
+    {
+        return wrappedU;
+    }
+
+    /**
+     * @return the number of times the texture is repeated vertically, when wrapped
+     */
+    public float getWrappedV()
+    {
+        return wrappedV;
+    }
+
+    public float[] getQuads()
+    {
+        return quads;
+    }
+
+    /**
+     * @return the rotation of each quad, or null if none of them is rotated
+     */
+    public SpriteRotation[] getQuadRotations()
+    {
+        return quadRotations;
+    }
+
+    public int getQuadCount()
+    {
+        return quadCount;
+    }
+}
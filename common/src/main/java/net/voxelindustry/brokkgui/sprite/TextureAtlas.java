@@ -0,0 +1,187 @@
+package net.voxelindustry.brokkgui.sprite;
+
+import net.voxelindustry.brokkgui.BrokkGuiPlatform;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Packs the images used by the stylesheets in a few atlas pages, so drawing them does not switch textures.
+ * <p>
+ * Images are tracked when a texture is read from a stylesheet and packed by {@link #build(Path)}. Textures are then
+ * remapped by the drawers to the page holding their image, images not packed are drawn from their own texture.
+ * The platform reads the {@link AtlasLayout} to compose and upload the pages, binding them when given a texture with
+ * the resource of a page. Not thread-safe, meant to be used from the gui thread.
+ */
+public class TextureAtlas
+{
+    private final String             pagePrefix;
+    private final int                pageSize;
+    private final int                padding;
+    private final IAtlasSourceReader sourceReader;
+
+    private final Set<String>           resources;
+    private final Map<Texture, Texture> remapped;
+
+    private AtlasLayout layout;
+    private String[]    pageResources;
+
+    /**
+     * @param pagePrefix   the resource of each page is this prefix followed by the page index
+     * @param pageSize     the width and height of each page in pixels
+     * @param padding      the space in pixels kept empty between two images
+     * @param sourceReader reads the size and content of the images to pack
+     */
+    public TextureAtlas(String pagePrefix, int pageSize, int padding, IAtlasSourceReader sourceReader)
+    {
+        this.pagePrefix = pagePrefix;
+        this.pageSize = pageSize;
+        this.padding = padding;
+        this.sourceReader = sourceReader;
+
+        this.resources = new LinkedHashSet<>();
+        this.remapped = new HashMap<>();
+        this.pageResources = new String[0];
+    }
+
+    /**
+     * Add an image to pack on the next build.
+     */
+    public void track(String resource)
+    {
+        if (resource != null && !resource.isEmpty())
+            this.resources.add(resource);
+    }
+
+    public Set<String> getTrackedResources()
+    {
+        return this.resources;
+    }
+
+    /**
+     * Pack the tracked images, reusing the layout cached in the given file if none of its sources changed.
+     *
+     * @param cacheFile the file to read and write the layout from, can be null to always pack
+     * @return the new layout
+     */
+    public AtlasLayout build(Path cacheFile)
+    {
+        List<AtlasSource> sources = new ArrayList<>(this.resources.size());
+        for (String resource : this.resources)
+        {
+            try
+            {
+                sources.add(this.sourceReader.read(resource));
+            } catch (IOException e)
+            {
+                BrokkGuiPlatform.getInstance().getLogger().warning("Cannot add texture to atlas. resource=" + resource);
+            }
+        }
+
+        String key = AtlasLayout.computeKey(sources, this.pageSize, this.padding);
+        AtlasLayout built = cacheFile != null ? readCache(cacheFile, key) : null;
+
+        if (built == null)
+        {
+            built = AtlasLayout.pack(sources, this.pageSize, this.padding);
+            if (cacheFile != null)
+                writeCache(cacheFile, built);
+        }
+
+        this.setLayout(built);
+        return built;
+    }
+
+    private static AtlasLayout readCache(Path cacheFile, String key)
+    {
+        if (!Files.exists(cacheFile))
+            return null;
+
+        try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8))
+        {
+            AtlasLayout cached = AtlasLayout.read(reader);
+            return key.equals(cached.getKey()) ? cached : null;
+        } catch (IOException e)
+        {
+            BrokkGuiPlatform.getInstance().getLogger().warning("Ignoring unreadable atlas layout cache. file=" + cacheFile);
+            return null;
+        }
+    }
+
+    private static void writeCache(Path cacheFile, AtlasLayout layout)
+    {
+        try
+        {
+            if (cacheFile.getParent() != null)
+                Files.createDirectories(cacheFile.getParent());
+            try (Writer writer = Files.newBufferedWriter(cacheFile, StandardCharsets.UTF_8))
+            {
+                layout.write(writer);
+            }
+        } catch (IOException e)
+        {
+            BrokkGuiPlatform.getInstance().getLogger().warning("Cannot write atlas layout cache. file=" + cacheFile);
+        }
+    }
+
+    public void setLayout(AtlasLayout layout)
+    {
+        this.layout = layout;
+        this.remapped.clear();
+
+        this.pageResources = new String[layout == null ? 0 : layout.getPageCount()];
+        for (int page = 0; page < this.pageResources.length; page++)
+            this.pageResources[page] = this.pagePrefix + page;
+    }
+
+    public AtlasLayout getLayout()
+    {
+        return this.layout;
+    }
+
+    /**
+     * @return the region of the page holding the given image, or null if it is not packed
+     */
+    public AtlasRegion getRegion(String resource)
+    {
+        if (this.layout == null || resource == null)
+            return null;
+        return this.layout.getRegion(resource);
+    }
+
+    public String getPageResource(int page)
+    {
+        return this.pageResources[page];
+    }
+
+    /**
+     * @return the same area of the texture image in its atlas page, or the texture itself if its image is not packed
+     */
+    public Texture remap(Texture texture)
+    {
+        AtlasRegion region = this.getRegion(texture.getResource());
+        if (region == null)
+            return texture;
+
+        Texture remappedTexture = this.remapped.get(texture);
+        if (remappedTexture == null)
+        {
+            remappedTexture = new Texture(this.getPageResource(region.getPage()),
+                    region.getU(texture.getUMin()), region.getV(texture.getVMin()),
+                    region.getU(texture.getUMax()), region.getV(texture.getVMax()),
+                    texture.getPixelWidth(), texture.getPixelHeight());
+            this.remapped.put(texture, remappedTexture);
+        }
+        return remappedTexture;
+    }
+}
@@ -77,6 +77,9 @@ public class TextureStyleTranslator implements IStyleDecoder<Texture>, IStyleEnc
             }
         }
 
+        if (BrokkGuiPlatform.getInstance().getTextureAtlas() != null)
+            BrokkGuiPlatform.getInstance().getTextureAtlas().track(resource);
+
         return new Texture(resource, uMin, vMin, uMax, vMax, pixelWidth, pixelHeight);
     }
 
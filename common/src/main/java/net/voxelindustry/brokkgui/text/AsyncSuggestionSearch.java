@@ -0,0 +1,149 @@
+package net.voxelindustry.brokkgui.text;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs suggestion queries off the render thread.
+ * <p>
+ * Every new search cancels the previous ones, only the result of the newest search is published and it is picked up
+ * from the render thread with {@link #pollResult()}. The index is rebuilt lazily, from a copy of the suggestions taken
+ * on the first search following an invalidation.
+ */
+public class AsyncSuggestionSearch
+{
+    private final Supplier<Collection<String>>                             suggestionsSupplier;
+    private final Supplier<Function<Collection<String>, ISuggestionIndex>> indexFactorySupplier;
+
+    private final AtomicInteger                 generation;
+    private final AtomicReference<SearchResult> result;
+
+    private final Object           indexLock = new Object();
+    private       ISuggestionIndex index;
+    private       Runnable         pendingBuild;
+
+    private boolean indexDirty = true;
+
+    public AsyncSuggestionSearch(Supplier<Collection<String>> suggestionsSupplier,
+                                 Supplier<Function<Collection<String>, ISuggestionIndex>> indexFactorySupplier)
+    {
+        this.suggestionsSupplier = suggestionsSupplier;
+        this.indexFactorySupplier = indexFactorySupplier;
+
+        this.generation = new AtomicInteger();
+        this.result = new AtomicReference<>();
+    }
+
+    /**
+     * Mark the index as outdated, it will be rebuilt by the next search. Searches already running are cancelled.
+     */
+    public void invalidateIndex()
+    {
+        this.indexDirty = true;
+        this.cancel();
+    }
+
+    /**
+     * Start a search, cancelling the ones still running. Must be called from the render thread.
+     */
+    public void search(String text, int limit, Executor executor)
+    {
+        if (this.indexDirty)
+        {
+            List<String> snapshot = new ArrayList<>(this.suggestionsSupplier.get());
+            Function<Collection<String>, ISuggestionIndex> factory = this.indexFactorySupplier.get();
+
+            synchronized (this.indexLock)
+            {
+                this.pendingBuild = () -> this.index = factory.apply(snapshot);
+            }
+            this.indexDirty = false;
+        }
+
+        int searchGeneration = this.generation.incrementAndGet();
+        executor.execute(() ->
+        {
+            if (this.generation.get() != searchGeneration)
+                return;
+
+            List<String> matches = this.getIndex().query(text, limit,
+                    () -> this.generation.get() != searchGeneration);
+
+            if (this.generation.get() == searchGeneration)
+                this.result.set(new SearchResult(searchGeneration, matches));
+        });
+    }
+
+    /**
+     * Cancel the running searches and drop their results.
+     */
+    public void cancel()
+    {
+        this.generation.incrementAndGet();
+        this.result.set(null);
+    }
+
+    /**
+     * @return the matches of the newest search if it finished since the last poll, null otherwise
+     */
+    public List<String> pollResult()
+    {
+        SearchResult finished = this.result.getAndSet(null);
+
+        if (finished == null || finished.generation != this.generation.get())
+            return null;
+        return finished.matches;
+    }
+
+    private ISuggestionIndex getIndex()
+    {
+        synchronized (this.indexLock)
+        {
+            if (this.pendingBuild != null)
+            {
+                this.pendingBuild.run();
+                this.pendingBuild = null;
+            }
+            return this.index;
+        }
+    }
+
+    /**
+     * @return the executor shared by the searches not given a custom one, running them one at a time on a daemon
+     * thread
+     */
+    public static Executor getDefaultExecutor()
+    {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    private static class DefaultExecutorHolder
+    {
+        private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "BrokkGui suggestion search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static class SearchResult
+    {
+        private final int          generation;
+        private final List<String> matches;
+
+        SearchResult(int generation, List<String> matches)
+        {
+            this.generation = generation;
+            this.matches = matches;
+        }
+    }
+}
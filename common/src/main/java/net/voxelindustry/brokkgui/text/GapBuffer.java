@@ -0,0 +1,153 @@
+package net.voxelindustry.brokkgui.text;
+
+import java.util.Arrays;
+
+/**
+ * Editable char sequence keeping its free space at the last edit position.
+ * <p>
+ * Consecutive edits around the same position, like typing or deleting, only move the chars between the old and new
+ * edit positions instead of copying the whole text.
+ */
+public class GapBuffer implements CharSequence
+{
+    private static final int MIN_GAP = 16;
+
+    private char[] buffer;
+    private int    gapStart;
+    private int    gapEnd;
+
+    public GapBuffer(CharSequence text)
+    {
+        this.buffer = new char[text.length() + MIN_GAP];
+        this.gapStart = 0;
+        this.gapEnd = this.buffer.length;
+
+        this.insert(0, text);
+    }
+
+    public GapBuffer()
+    {
+        this("");
+    }
+
+    @Override
+    public int length()
+    {
+        return this.buffer.length - (this.gapEnd - this.gapStart);
+    }
+
+    @Override
+    public char charAt(int index)
+    {
+        if (index < 0 || index >= this.length())
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.length());
+        return index < this.gapStart ? this.buffer[index] : this.buffer[index + this.gapEnd - this.gapStart];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end)
+    {
+        return this.substring(start, end);
+    }
+
+    public String substring(int start, int end)
+    {
+        this.checkRange(start, end);
+
+        if (end <= this.gapStart)
+            return new String(this.buffer, start, end - start);
+
+        int gapLength = this.gapEnd - this.gapStart;
+        if (start >= this.gapStart)
+            return new String(this.buffer, start + gapLength, end - start);
+
+        char[] chars = new char[end - start];
+        System.arraycopy(this.buffer, start, chars, 0, this.gapStart - start);
+        System.arraycopy(this.buffer, this.gapEnd, chars, this.gapStart - start, end - this.gapStart);
+        return new String(chars);
+    }
+
+    public void insert(int index, CharSequence text)
+    {
+        this.checkRange(index, index);
+        if (text.length() == 0)
+            return;
+
+        this.moveGap(index);
+        this.ensureGap(text.length());
+
+        for (int i = 0; i < text.length(); i++)
+            this.buffer[this.gapStart + i] = text.charAt(i);
+        this.gapStart += text.length();
+    }
+
+    public void delete(int start, int end)
+    {
+        this.checkRange(start, end);
+        if (start == end)
+            return;
+
+        this.moveGap(start);
+        this.gapEnd += end - start;
+    }
+
+    public void replace(int start, int end, CharSequence text)
+    {
+        this.delete(start, end);
+        this.insert(start, text);
+    }
+
+    public void setText(CharSequence text)
+    {
+        this.gapStart = 0;
+        this.gapEnd = this.buffer.length;
+        this.insert(0, text);
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.substring(0, this.length());
+    }
+
+    private void moveGap(int index)
+    {
+        if (index < this.gapStart)
+        {
+            int moved = this.gapStart - index;
+            System.arraycopy(this.buffer, index, this.buffer, this.gapEnd - moved, moved);
+            this.gapStart -= moved;
+            this.gapEnd -= moved;
+        }
+        else if (index > this.gapStart)
+        {
+            int moved = index - this.gapStart;
+            System.arraycopy(this.buffer, this.gapEnd, this.buffer, this.gapStart, moved);
+            this.gapStart += moved;
+            this.gapEnd += moved;
+        }
+    }
+
+    private void ensureGap(int required)
+    {
+        int gapLength = this.gapEnd - this.gapStart;
+        if (gapLength >= required)
+            return;
+
+        int tailLength = this.buffer.length - this.gapEnd;
+        int newLength = Math.max(this.buffer.length * 2, this.length() + required + MIN_GAP);
+
+        char[] newBuffer = Arrays.copyOf(this.buffer, newLength);
+        System.arraycopy(this.buffer, this.gapEnd, newBuffer, newLength - tailLength, tailLength);
+
+        this.buffer = newBuffer;
+        this.gapEnd = newLength - tailLength;
+    }
+
+    private void checkRange(int start, int end)
+    {
+        if (start < 0 || end > this.length() || start > end)
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of bounds for length "
+                    + this.length());
+    }
+}
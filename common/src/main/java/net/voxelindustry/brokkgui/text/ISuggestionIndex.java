@@ -0,0 +1,20 @@
+package net.voxelindustry.brokkgui.text;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Immutable index over a list of suggestions, queried from any thread.
+ */
+public interface ISuggestionIndex
+{
+    /**
+     * @param search    the lower case text to match
+     * @param limit     the maximum count of suggestions returned
+     * @param cancelled polled during long queries, the query stops early and returns an empty list once it is true
+     * @return the best matching suggestions first. Suggestions starting with the search come before the ones only
+     * containing it, then shorter suggestions come first. An empty search returns the first suggestions in their
+     * original order.
+     */
+    List<String> query(String search, int limit, BooleanSupplier cancelled);
+}
@@ -0,0 +1,174 @@
+package net.voxelindustry.brokkgui.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Suggestions sorted by their lower case form, matched by prefix with a binary search.
+ * <p>
+ * Subclasses can add matches not starting with the search through {@link #addSubstringMatches}.
+ */
+public class SortedSuggestionIndex implements ISuggestionIndex
+{
+    /**
+     * Count of iterations between two checks of the cancellation of a query.
+     */
+    protected static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    private final String[] suggestions;
+    private final String[] sortedKeys;
+    private final int[]    sortedIds;
+
+    public SortedSuggestionIndex(Collection<String> suggestions)
+    {
+        this.suggestions = suggestions.toArray(new String[0]);
+
+        Integer[] order = new Integer[this.suggestions.length];
+        String[] keys = new String[this.suggestions.length];
+        for (int id = 0; id < keys.length; id++)
+        {
+            order[id] = id;
+            keys[id] = this.suggestions[id].toLowerCase();
+        }
+        Arrays.sort(order, (first, second) -> keys[first].compareTo(keys[second]));
+
+        this.sortedKeys = new String[keys.length];
+        this.sortedIds = new int[keys.length];
+        for (int position = 0; position < keys.length; position++)
+        {
+            this.sortedIds[position] = order[position];
+            this.sortedKeys[position] = keys[order[position]];
+        }
+    }
+
+    @Override
+    public List<String> query(String search, int limit, BooleanSupplier cancelled)
+    {
+        if (limit <= 0)
+            return Collections.emptyList();
+
+        if (search.isEmpty())
+        {
+            List<String> firsts = new ArrayList<>(Math.min(limit, this.suggestions.length));
+            for (int id = 0; id < this.suggestions.length && firsts.size() < limit; id++)
+                firsts.add(this.suggestions[id]);
+            return firsts;
+        }
+
+        RankedMatches matches = new RankedMatches(limit);
+
+        int prefixStart = this.lowerBound(search);
+        int prefixEnd = prefixStart;
+        while (prefixEnd < this.sortedKeys.length && this.sortedKeys[prefixEnd].startsWith(search))
+        {
+            if ((prefixEnd - prefixStart) % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean())
+                return Collections.emptyList();
+
+            matches.offer(false, this.sortedKeys[prefixEnd].length(), prefixEnd);
+            prefixEnd++;
+        }
+
+        // Every prefix match ranks before a substring match
+        if (!matches.isFull() && !this.addSubstringMatches(search, prefixStart, prefixEnd, matches, cancelled))
+            return Collections.emptyList();
+
+        return matches.toList(this);
+    }
+
+    /**
+     * Add the suggestions containing the search without starting with it.
+     *
+     * @param prefixStart first sorted position of the suggestions starting with the search
+     * @param prefixEnd   exclusive last sorted position of the suggestions starting with the search
+     * @return false if the query was cancelled
+     */
+    protected boolean addSubstringMatches(String search, int prefixStart, int prefixEnd, RankedMatches matches,
+                                          BooleanSupplier cancelled)
+    {
+        return true;
+    }
+
+    protected int size()
+    {
+        return this.sortedKeys.length;
+    }
+
+    protected String getKey(int sortedPosition)
+    {
+        return this.sortedKeys[sortedPosition];
+    }
+
+    private String getSuggestion(int sortedPosition)
+    {
+        return this.suggestions[this.sortedIds[sortedPosition]];
+    }
+
+    private int lowerBound(String search)
+    {
+        int low = 0;
+        int high = this.sortedKeys.length;
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+
+            if (this.sortedKeys[middle].compareTo(search) < 0)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Keeps the best ranked matches of a query, ranks are packed in a long to be compared at once.
+     * Limits are expected to be small, matches are kept sorted by insertion.
+     */
+    protected static class RankedMatches
+    {
+        private final long[] ranks;
+        private       int    count;
+
+        RankedMatches(int limit)
+        {
+            this.ranks = new long[limit];
+        }
+
+        public boolean isFull()
+        {
+            return this.count == this.ranks.length;
+        }
+
+        /**
+         * @param substring      true if the suggestion only contains the search
+         * @param length         the length of the suggestion
+         * @param sortedPosition the position of the suggestion in the sorted keys
+         */
+        public void offer(boolean substring, int length, int sortedPosition)
+        {
+            long rank = (substring ? 1L << 62 : 0) | ((long) length << 31) | sortedPosition;
+
+            if (this.isFull() && rank >= this.ranks[this.count - 1])
+                return;
+
+            int index = this.isFull() ? this.count - 1 : this.count++;
+            while (index > 0 && this.ranks[index - 1] > rank)
+            {
+                this.ranks[index] = this.ranks[index - 1];
+                index--;
+            }
+            this.ranks[index] = rank;
+        }
+
+        List<String> toList(SortedSuggestionIndex index)
+        {
+            List<String> list = new ArrayList<>(this.count);
+            for (int i = 0; i < this.count; i++)
+                list.add(index.getSuggestion((int) (this.ranks[i] & Integer.MAX_VALUE)));
+            return list;
+        }
+    }
+}
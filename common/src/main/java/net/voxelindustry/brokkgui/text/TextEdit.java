@@ -0,0 +1,74 @@
+package net.voxelindustry.brokkgui.text;
+
+/**
+ * Replacement of a range of a text by another string, produced by the text models after each change.
+ */
+public class TextEdit
+{
+    private final int    offset;
+    private final String removedText;
+    private final String insertedText;
+
+    public TextEdit(int offset, String removedText, String insertedText)
+    {
+        this.offset = offset;
+        this.removedText = removedText;
+        this.insertedText = insertedText;
+    }
+
+    public int getOffset()
+    {
+        return offset;
+    }
+
+    public String getRemovedText()
+    {
+        return removedText;
+    }
+
+    public String getInsertedText()
+    {
+        return insertedText;
+    }
+
+    public int getRemovedLength()
+    {
+        return removedText.length();
+    }
+
+    public int getInsertedLength()
+    {
+        return insertedText.length();
+    }
+
+    /**
+     * @return the end of the inserted text in the edited text
+     */
+    public int getInsertedEnd()
+    {
+        return offset + insertedText.length();
+    }
+
+    /**
+     * @param position a position in the text before this edit
+     * @return the matching position in the edited text
+     */
+    public int shiftPosition(int position)
+    {
+        if (position <= offset)
+            return position;
+        if (position >= offset + removedText.length())
+            return position - removedText.length() + insertedText.length();
+        return this.getInsertedEnd();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TextEdit{" +
+                "offset=" + offset +
+                ", removedText='" + removedText + '\'' +
+                ", insertedText='" + insertedText + '\'' +
+                '}';
+    }
+}
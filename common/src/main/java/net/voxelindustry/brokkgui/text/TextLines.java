@@ -0,0 +1,160 @@
+package net.voxelindustry.brokkgui.text;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Multi-line text stored as a list of lines, without their line separator.
+ * <p>
+ * Edits only rebuild the lines they touch and are reported to the listeners as a replaced range of lines, letting
+ * views keep per-line caches.
+ */
+public class TextLines
+{
+    @FunctionalInterface
+    public interface LinesEditListener
+    {
+        /**
+         * @param firstLine     the first edited line
+         * @param removedCount  the count of lines replaced starting from firstLine
+         * @param insertedCount the count of lines now in their place
+         */
+        void linesEdited(int firstLine, int removedCount, int insertedCount);
+    }
+
+    private final List<String>            lines;
+    private final List<LinesEditListener> listeners;
+
+    private String joinedText;
+
+    public TextLines(String text)
+    {
+        this.lines = new ArrayList<>();
+        this.listeners = new ArrayList<>();
+
+        this.lines.add("");
+        this.setText(text);
+    }
+
+    public TextLines()
+    {
+        this("");
+    }
+
+    public void addListener(LinesEditListener listener)
+    {
+        this.listeners.add(listener);
+    }
+
+    public void removeListener(LinesEditListener listener)
+    {
+        this.listeners.remove(listener);
+    }
+
+    public int getLineCount()
+    {
+        return this.lines.size();
+    }
+
+    public String getLine(int line)
+    {
+        return this.lines.get(line);
+    }
+
+    public int getLineLength(int line)
+    {
+        return this.lines.get(line).length();
+    }
+
+    /**
+     * @return the whole text, joined with \n. The joined text is kept until the next edit.
+     */
+    public String getText()
+    {
+        if (this.joinedText == null)
+            this.joinedText = String.join("\n", this.lines);
+        return this.joinedText;
+    }
+
+    public void setText(String text)
+    {
+        int removedCount = this.lines.size();
+
+        this.lines.clear();
+        splitLines(text == null ? "" : text, this.lines);
+
+        this.fireEdit(0, removedCount, this.lines.size());
+    }
+
+    /**
+     * @return the position right after the inserted text
+     */
+    public TextPosition insert(int line, int column, String text)
+    {
+        String edited = this.lines.get(line);
+        String before = edited.substring(0, column);
+        String after = edited.substring(column);
+
+        List<String> insertedLines = new ArrayList<>();
+        splitLines(text, insertedLines);
+
+        int lastIndex = insertedLines.size() - 1;
+        String lastLine = insertedLines.get(lastIndex);
+
+        if (lastIndex == 0)
+        {
+            this.lines.set(line, before + lastLine + after);
+            this.fireEdit(line, 1, 1);
+            return new TextPosition(line, column + lastLine.length());
+        }
+
+        insertedLines.set(0, before + insertedLines.get(0));
+        insertedLines.set(lastIndex, lastLine + after);
+
+        this.lines.set(line, insertedLines.get(0));
+        this.lines.addAll(line + 1, insertedLines.subList(1, insertedLines.size()));
+        this.fireEdit(line, 1, insertedLines.size());
+        return new TextPosition(line + lastIndex, lastLine.length());
+    }
+
+    public void delete(int startLine, int startColumn, int endLine, int endColumn)
+    {
+        if (startLine == endLine && startColumn == endColumn)
+            return;
+
+        String merged = this.lines.get(startLine).substring(0, startColumn)
+                + this.lines.get(endLine).substring(endColumn);
+
+        this.lines.set(startLine, merged);
+        if (endLine > startLine)
+            this.lines.subList(startLine + 1, endLine + 1).clear();
+
+        this.fireEdit(startLine, endLine - startLine + 1, 1);
+    }
+
+    private void fireEdit(int firstLine, int removedCount, int insertedCount)
+    {
+        this.joinedText = null;
+
+        for (int i = 0; i < this.listeners.size(); i++)
+            this.listeners.get(i).linesEdited(firstLine, removedCount, insertedCount);
+    }
+
+    private static void splitLines(String text, List<String> lines)
+    {
+        int start = 0;
+        for (int index = 0; index < text.length(); index++)
+        {
+            char current = text.charAt(index);
+
+            if (current == '\n' || current == '\r')
+            {
+                lines.add(text.substring(start, index));
+                if (current == '\r' && index + 1 < text.length() && text.charAt(index + 1) == '\n')
+                    index++;
+                start = index + 1;
+            }
+        }
+        lines.add(text.substring(start));
+    }
+}
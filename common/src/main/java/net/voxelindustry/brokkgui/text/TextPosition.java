@@ -0,0 +1,52 @@
+package net.voxelindustry.brokkgui.text;
+
+/**
+ * Position in a multi-line text, both line and column start at 0.
+ */
+public class TextPosition
+{
+    private final int line;
+    private final int column;
+
+    public TextPosition(int line, int column)
+    {
+        this.line = line;
+        this.column = column;
+    }
+
+    public int getLine()
+    {
+        return line;
+    }
+
+    public int getColumn()
+    {
+        return column;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        TextPosition that = (TextPosition) o;
+        return line == that.line && column == that.column;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * line + column;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TextPosition{" +
+                "line=" + line +
+                ", column=" + column +
+                '}';
+    }
+}
@@ -0,0 +1,95 @@
+package net.voxelindustry.brokkgui.text;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Sorted suggestions also matched by substring.
+ * <p>
+ * Each three chars sequence of the suggestions maps to the sorted positions containing it, a search only verifies the
+ * suggestions of the rarest sequence it contains. Searches shorter than three chars fall back to a full scan.
+ */
+public class TrigramSuggestionIndex extends SortedSuggestionIndex
+{
+    private final Map<Long, int[]> postings;
+
+    public TrigramSuggestionIndex(Collection<String> suggestions)
+    {
+        super(suggestions);
+
+        Map<Long, PositionList> lists = new HashMap<>();
+        for (int position = 0; position < this.size(); position++)
+        {
+            String key = this.getKey(position);
+            for (int start = 0; start + 3 <= key.length(); start++)
+                lists.computeIfAbsent(trigram(key, start), trigram -> new PositionList()).add(position);
+        }
+
+        this.postings = new HashMap<>(lists.size() * 4 / 3 + 1);
+        lists.forEach((trigram, list) -> this.postings.put(trigram, Arrays.copyOf(list.positions, list.size)));
+    }
+
+    @Override
+    protected boolean addSubstringMatches(String search, int prefixStart, int prefixEnd, RankedMatches matches,
+                                          BooleanSupplier cancelled)
+    {
+        if (search.length() < 3)
+        {
+            for (int position = 0; position < this.size(); position++)
+            {
+                if (position % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean())
+                    return false;
+
+                if ((position < prefixStart || position >= prefixEnd) && this.getKey(position).contains(search))
+                    matches.offer(true, this.getKey(position).length(), position);
+            }
+            return true;
+        }
+
+        int[] rarest = null;
+        for (int start = 0; start + 3 <= search.length(); start++)
+        {
+            int[] positions = this.postings.get(trigram(search, start));
+            if (positions == null)
+                return true;
+            if (rarest == null || positions.length < rarest.length)
+                rarest = positions;
+        }
+
+        for (int i = 0; i < rarest.length; i++)
+        {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean())
+                return false;
+
+            int position = rarest[i];
+            if ((position < prefixStart || position >= prefixEnd) && this.getKey(position).contains(search))
+                matches.offer(true, this.getKey(position).length(), position);
+        }
+        return true;
+    }
+
+    private static long trigram(String text, int start)
+    {
+        return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16 | text.charAt(start + 2);
+    }
+
+    private static class PositionList
+    {
+        private int[] positions = new int[4];
+        private int   size;
+
+        void add(int position)
+        {
+            // Positions are added in order, a sequence found twice in a suggestion is only kept once
+            if (this.size != 0 && this.positions[this.size - 1] == position)
+                return;
+
+            if (this.size == this.positions.length)
+                this.positions = Arrays.copyOf(this.positions, this.size * 2);
+            this.positions[this.size++] = position;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package net.voxelindustry.brokkgui.util;
+
+import net.voxelindustry.brokkgui.internal.IGuiHelper;
+import net.voxelindustry.brokkgui.text.TextEdit;
+
+import java.util.Arrays;
+
+/**
+ * Glyph widths of an editable line of text, kept in a gap array following the edit position.
+ * <p>
+ * Glyphs before the gap store the width from the start of the text to their end, glyphs after the gap store the
+ * width from their start to the end of the text. An edit at the gap only measures the inserted chars and moving the
+ * gap only converts the glyphs it crosses, so typing around the caret does not touch the rest of the line.
+ * Unlike {@link GlyphAdvances} the width of each char is measured on its own, edits being measured without the
+ * text around them.
+ */
+public class GlyphAdvanceBuffer
+{
+    private static final int MIN_GAP = 16;
+
+    private float[] widths;
+    private int     gapStart;
+    private int     gapEnd;
+
+    public GlyphAdvanceBuffer(CharSequence text, IGuiHelper helper)
+    {
+        this.widths = new float[text.length() + MIN_GAP];
+        this.gapEnd = this.widths.length;
+
+        this.insert(text, 0, text.length(), helper);
+    }
+
+    /**
+     * Replace the widths by the widths of a whole new text.
+     */
+    public void setText(CharSequence text, IGuiHelper helper)
+    {
+        this.gapStart = 0;
+        this.gapEnd = this.widths.length;
+
+        this.insert(text, 0, text.length(), helper);
+    }
+
+    /**
+     * Apply an edit made on the text of these widths. Only the inserted chars are measured.
+     *
+     * @param edit       the edit made on the text
+     * @param editedText the text after the edit, only the inserted range is read
+     */
+    public void edit(TextEdit edit, CharSequence editedText, IGuiHelper helper)
+    {
+        this.moveGap(edit.getOffset());
+        this.gapEnd += edit.getRemovedLength();
+
+        this.insert(editedText, edit.getOffset(), edit.getInsertedEnd(), helper);
+    }
+
+    public int length()
+    {
+        return this.widths.length - (this.gapEnd - this.gapStart);
+    }
+
+    public float getWidth()
+    {
+        return this.getWidthBeforeGap() + this.getWidthAfterGap();
+    }
+
+    /**
+     * @param start inclusive index of the first char
+     * @param end   exclusive index of the last char
+     * @return the width of the text between start and end
+     */
+    public float getWidth(int start, int end)
+    {
+        return this.getPosition(end) - this.getPosition(start);
+    }
+
+    /**
+     * @param index the index of a char, or the length of the text
+     * @return the width of the text before the given char
+     */
+    public float getPosition(int index)
+    {
+        if (index <= this.gapStart)
+            return index == 0 ? 0 : this.widths[index - 1];
+        if (index == this.length())
+            return this.getWidth();
+        return this.getWidth() - this.widths[index + this.gapEnd - this.gapStart];
+    }
+
+    /**
+     * @param start    index of the first char to keep
+     * @param maxWidth the width the kept text must fit in
+     * @return the exclusive index of the last char fitting in maxWidth when starting at start
+     */
+    public int fitForward(int start, float maxWidth)
+    {
+        float limit = this.getPosition(start) + maxWidth;
+
+        int low = start;
+        int high = this.length();
+        while (low < high)
+        {
+            int middle = (low + high + 1) >>> 1;
+
+            if (this.getPosition(middle) <= limit)
+                low = middle;
+            else
+                high = middle - 1;
+        }
+        return low;
+    }
+
+    /**
+     * @param end      exclusive index of the last char to keep
+     * @param maxWidth the width the kept text must fit in
+     * @return the index of the first char fitting in maxWidth when ending at end
+     */
+    public int fitBackward(int end, float maxWidth)
+    {
+        float limit = this.getPosition(end) - maxWidth;
+
+        int low = 0;
+        int high = end;
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+
+            if (this.getPosition(middle) >= limit)
+                high = middle;
+            else
+                low = middle + 1;
+        }
+        return low;
+    }
+
+    private float getWidthBeforeGap()
+    {
+        return this.gapStart == 0 ? 0 : this.widths[this.gapStart - 1];
+    }
+
+    private float getWidthAfterGap()
+    {
+        return this.gapEnd == this.widths.length ? 0 : this.widths[this.gapEnd];
+    }
+
+    private void insert(CharSequence text, int start, int end, IGuiHelper helper)
+    {
+        this.ensureGap(end - start);
+
+        float width = this.getWidthBeforeGap();
+        for (int index = start; index < end; index++)
+        {
+            width += helper.getStringWidth(String.valueOf(text.charAt(index)));
+            this.widths[this.gapStart++] = width;
+        }
+    }
+
+    private void moveGap(int index)
+    {
+        int gapLength = this.gapEnd - this.gapStart;
+
+        if (index < this.gapStart)
+        {
+            // The crossed glyphs now measure up to the end of the text
+            float widthToEnd = this.getWidthAfterGap();
+            for (int glyph = this.gapStart - 1; glyph >= index; glyph--)
+            {
+                float glyphStart = glyph == 0 ? 0 : this.widths[glyph - 1];
+                widthToEnd += this.widths[glyph] - glyphStart;
+                this.widths[glyph + gapLength] = widthToEnd;
+            }
+        }
+        else if (index > this.gapStart)
+        {
+            // The crossed glyphs now measure from the start of the text
+            float widthFromStart = this.getWidthBeforeGap();
+            int length = this.length();
+            for (int glyph = this.gapStart; glyph < index; glyph++)
+            {
+                float glyphEnd = glyph + 1 == length ? 0 : this.widths[glyph + 1 + gapLength];
+                widthFromStart += this.widths[glyph + gapLength] - glyphEnd;
+                this.widths[glyph] = widthFromStart;
+            }
+        }
+        this.gapStart = index;
+        this.gapEnd = index + gapLength;
+    }
+
+    private void ensureGap(int required)
+    {
+        int gapLength = this.gapEnd - this.gapStart;
+        if (gapLength >= required)
+            return;
+
+        int tailLength = this.widths.length - this.gapEnd;
+        int newLength = Math.max(this.widths.length * 2, this.length() + required + MIN_GAP);
+
+        float[] newWidths = Arrays.copyOf(this.widths, newLength);
+        System.arraycopy(this.widths, this.gapEnd, newWidths, newLength - tailLength, tailLength);
+
+        this.widths = newWidths;
+        this.gapEnd = newLength - tailLength;
+    }
+}
@@ -0,0 +1,187 @@
+package net.voxelindustry.brokkgui.util;
+
+import net.voxelindustry.brokkgui.internal.IGuiHelper;
+
+/**
+ * Cumulative glyph widths of a single line of text.
+ * <p>
+ * Built once per text in O(n), then every trim or substring width is answered with a binary search or a difference
+ * of two sums without asking the platform to measure again.
+ * Kerning is not taken into account, each code point is measured on its own with the styles set before it.
+ * Formatting codes have no width and a trim never splits them, nor a surrogate pair.
+ *
+ * @see GlyphAdvanceBuffer for the widths of a text being edited
+ */
+public class GlyphAdvances
+{
+    public static final char FORMATTING_CHAR = '\u00a7';
+
+    private final String  text;
+    private final float[] cumulativeWidths;
+
+    private GlyphAdvances(String text, float[] cumulativeWidths)
+    {
+        this.text = text;
+        this.cumulativeWidths = cumulativeWidths;
+    }
+
+    public static GlyphAdvances of(String text, IGuiHelper helper)
+    {
+        if (text == null)
+            text = "";
+
+        float[] cumulativeWidths = new float[text.length() + 1];
+        String style = "";
+
+        int index = 0;
+        while (index < text.length())
+        {
+            float start = cumulativeWidths[index];
+
+            if (text.charAt(index) == FORMATTING_CHAR && index + 1 < text.length())
+            {
+                style = nextStyle(style, text.charAt(index + 1));
+                cumulativeWidths[index + 1] = start;
+                cumulativeWidths[index + 2] = start;
+                index += 2;
+                continue;
+            }
+
+            int glyphEnd = index + Character.charCount(text.codePointAt(index));
+            float end = start + helper.getStringWidth(style.isEmpty() ? text.substring(index, glyphEnd) :
+                    style + text.substring(index, glyphEnd));
+
+            // The low surrogate of a pair already ends the whole glyph, so a forward fit never keeps half of it
+            for (int glyphIndex = index + 1; glyphIndex <= glyphEnd; glyphIndex++)
+                cumulativeWidths[glyphIndex] = end;
+            index = glyphEnd;
+        }
+        return new GlyphAdvances(text, cumulativeWidths);
+    }
+
+    /**
+     * Style codes change the width of the glyphs drawn after them until a color or reset code clears them.
+     */
+    private static String nextStyle(String style, char code)
+    {
+        char lowerCode = Character.toLowerCase(code);
+        if (lowerCode >= 'k' && lowerCode <= 'o')
+            return style + FORMATTING_CHAR + lowerCode;
+        return "";
+    }
+
+    /**
+     * @return the given advances if they were computed for this text, freshly computed ones otherwise
+     */
+    public static GlyphAdvances reuseOrCompute(GlyphAdvances advances, String text, IGuiHelper helper)
+    {
+        if (advances != null && advances.text.equals(text == null ? "" : text))
+            return advances;
+        return of(text, helper);
+    }
+
+    public String getText()
+    {
+        return this.text;
+    }
+
+    public int length()
+    {
+        return this.text.length();
+    }
+
+    public float getWidth()
+    {
+        return this.cumulativeWidths[this.text.length()];
+    }
+
+    /**
+     * @param start inclusive index of the first char
+     * @param end   exclusive index of the last char
+     * @return the width of the text between start and end
+     */
+    public float getWidth(int start, int end)
+    {
+        return this.cumulativeWidths[end] - this.cumulativeWidths[start];
+    }
+
+    /**
+     * @param start    index of the first char to keep
+     * @param maxWidth the width the kept text must fit in
+     * @return the exclusive index of the last char fitting in maxWidth when starting at start
+     */
+    public int fitForward(int start, float maxWidth)
+    {
+        float limit = this.cumulativeWidths[start] + maxWidth;
+
+        int low = start;
+        int high = this.text.length();
+        while (low < high)
+        {
+            int middle = (low + high + 1) >>> 1;
+
+            if (this.cumulativeWidths[middle] <= limit)
+                low = middle;
+            else
+                high = middle - 1;
+        }
+        return low;
+    }
+
+    /**
+     * @param end      exclusive index of the last char to keep
+     * @param maxWidth the width the kept text must fit in
+     * @return the index of the first char fitting in maxWidth when ending at end
+     */
+    public int fitBackward(int end, float maxWidth)
+    {
+        float limit = this.cumulativeWidths[end] - maxWidth;
+
+        int low = 0;
+        int high = end;
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+
+            if (this.cumulativeWidths[middle] >= limit)
+                high = middle;
+            else
+                low = middle + 1;
+        }
+
+        if (low > 0 && low < end && Character.isLowSurrogate(this.text.charAt(low))
+                && Character.isHighSurrogate(this.text.charAt(low - 1)))
+            return low + 1;
+        return low;
+    }
+
+    /**
+     * @param maxWidth the width the text must fit in
+     * @return the longest prefix of the text fitting in maxWidth
+     */
+    public String trim(float maxWidth)
+    {
+        return this.text.substring(0, this.fitForward(0, maxWidth));
+    }
+
+    /**
+     * @param maxWidth      the width the text must fit in
+     * @param ellipsis      the string appended to the text when it does not fit
+     * @param ellipsisWidth the width of the ellipsis
+     * @return the whole text if it fits in maxWidth, the longest prefix followed by the ellipsis that does
+     * otherwise. An empty string is returned if even the ellipsis cannot fit.
+     */
+    public String ellipsize(float maxWidth, String ellipsis, float ellipsisWidth)
+    {
+        if (this.getWidth() <= maxWidth)
+            return this.text;
+        if (ellipsisWidth > maxWidth)
+            return "";
+        return this.text.substring(0, this.fitForward(0, maxWidth - ellipsisWidth)) + ellipsis;
+    }
+
+    public String ellipsize(float maxWidth, String ellipsis, IGuiHelper helper)
+    {
+        return this.ellipsize(maxWidth, ellipsis, helper.getStringWidth(ellipsis));
+    }
+}
@@ -0,0 +1,176 @@
+package net.voxelindustry.brokkgui.util;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+
+/**
+ * Ordered subset of the indices of a source list, used to sort and filter a view without moving its items.
+ * <p>
+ * The indices are kept in a plain int array reused between updates, sorting is a stable merge sort working on the
+ * indices only.
+ * Not thread-safe, meant to be used from the gui thread.
+ */
+public class IndexPermutation
+{
+    private int[] indices;
+    private int[] buffer;
+    private int   size;
+
+    /**
+     * Position of each source index in the view, -1 when filtered out. Built on demand.
+     */
+    private int[]   inverse;
+    private boolean inverseValid;
+
+    public IndexPermutation()
+    {
+        this.indices = new int[0];
+        this.buffer = new int[0];
+        this.inverse = new int[0];
+    }
+
+    /**
+     * Rebuild the view over a source of the given size, keeping the source indices accepted by the filter in their
+     * natural order.
+     *
+     * @param sourceSize the size of the source list
+     * @param filter     tested with each source index, null to keep every index
+     */
+    public void reset(int sourceSize, IntPredicate filter)
+    {
+        if (this.indices.length < sourceSize)
+            this.indices = new int[sourceSize];
+
+        this.size = 0;
+        for (int index = 0; index < sourceSize; index++)
+        {
+            if (filter == null || filter.test(index))
+                this.indices[this.size++] = index;
+        }
+        this.inverseValid = false;
+    }
+
+    /**
+     * Sort the view, items comparing as equal keep their current order.
+     *
+     * @param comparator compares two source indices
+     */
+    public void sort(IntBinaryOperator comparator)
+    {
+        if (this.size < 2)
+            return;
+
+        if (this.buffer.length < this.size)
+            this.buffer = new int[this.indices.length];
+
+        int[] from = this.indices;
+        int[] to = this.buffer;
+        for (int width = 1; width < this.size; width *= 2)
+        {
+            for (int start = 0; start < this.size; start += 2 * width)
+            {
+                int middle = Math.min(start + width, this.size);
+                int end = Math.min(start + 2 * width, this.size);
+                merge(from, to, start, middle, end, comparator);
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+
+        // The sorted indices are in the last written array
+        if (from != this.indices)
+        {
+            this.buffer = this.indices;
+            this.indices = from;
+        }
+        this.inverseValid = false;
+    }
+
+    private static void merge(int[] from, int[] to, int start, int middle, int end, IntBinaryOperator comparator)
+    {
+        int left = start;
+        int right = middle;
+        int index = start;
+
+        // Already ordered runs are copied without comparing each element
+        if (middle < end && comparator.applyAsInt(from[middle - 1], from[middle]) <= 0)
+        {
+            System.arraycopy(from, start, to, start, end - start);
+            return;
+        }
+
+        while (left < middle && right < end)
+        {
+            if (comparator.applyAsInt(from[right], from[left]) < 0)
+                to[index++] = from[right++];
+            else
+                to[index++] = from[left++];
+        }
+        System.arraycopy(from, left, to, index, middle - left);
+        System.arraycopy(from, right, to, index + middle - left, end - right);
+    }
+
+    /**
+     * Reverse the order of the view.
+     */
+    public void reverse()
+    {
+        for (int left = 0, right = this.size - 1; left < right; left++, right--)
+        {
+            int swap = this.indices[left];
+            this.indices[left] = this.indices[right];
+            this.indices[right] = swap;
+        }
+        this.inverseValid = false;
+    }
+
+    /**
+     * @return the count of source indices in the view
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * @param viewIndex a position in the view
+     * @return the source index displayed at this position
+     */
+    public int getSourceIndex(int viewIndex)
+    {
+        if (viewIndex < 0 || viewIndex >= this.size)
+            throw new IndexOutOfBoundsException("Index: " + viewIndex + ", Size: " + this.size);
+        return this.indices[viewIndex];
+    }
+
+    /**
+     * @param sourceIndex an index of the source list
+     * @return the position of this source index in the view, -1 if it was filtered out
+     */
+    public int getViewIndex(int sourceIndex)
+    {
+        if (!this.inverseValid)
+            this.buildInverse();
+
+        if (sourceIndex < 0 || sourceIndex >= this.inverse.length)
+            return -1;
+        return this.inverse[sourceIndex];
+    }
+
+    private void buildInverse()
+    {
+        int sourceSize = 0;
+        for (int viewIndex = 0; viewIndex < this.size; viewIndex++)
+            sourceSize = Math.max(sourceSize, this.indices[viewIndex] + 1);
+
+        if (this.inverse.length < sourceSize)
+            this.inverse = new int[sourceSize];
+        Arrays.fill(this.inverse, -1);
+
+        for (int viewIndex = 0; viewIndex < this.size; viewIndex++)
+            this.inverse[this.indices[viewIndex]] = viewIndex;
+        this.inverseValid = true;
+    }
+}
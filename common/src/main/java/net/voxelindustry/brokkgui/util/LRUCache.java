@@ -0,0 +1,87 @@
+package net.voxelindustry.brokkgui.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded map evicting its least recently used entry once full, counting hits and misses.
+ * <p>
+ * Not thread-safe, meant to be used from the gui thread.
+ */
+public class LRUCache<K, V>
+{
+    private final int                 capacity;
+    private final LinkedHashMap<K, V> entries;
+
+    private long hitCount;
+    private long missCount;
+
+    public LRUCache(int capacity)
+    {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Cannot create a cache with a capacity of " + capacity);
+        this.capacity = capacity;
+
+        this.entries = new LinkedHashMap<K, V>(16, 0.75F, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest)
+            {
+                return this.size() > LRUCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * @param key    the key to look for
+     * @param loader called on a miss to compute the value to store
+     * @return the cached value, or the newly computed one
+     */
+    public V get(K key, Function<? super K, ? extends V> loader)
+    {
+        V value = this.entries.get(key);
+
+        if (value != null)
+        {
+            this.hitCount++;
+            return value;
+        }
+
+        this.missCount++;
+        value = loader.apply(key);
+        this.entries.put(key, value);
+        return value;
+    }
+
+    public void clear()
+    {
+        this.entries.clear();
+    }
+
+    public int size()
+    {
+        return this.entries.size();
+    }
+
+    public int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    public long getHitCount()
+    {
+        return this.hitCount;
+    }
+
+    public long getMissCount()
+    {
+        return this.missCount;
+    }
+
+    public void resetCounters()
+    {
+        this.hitCount = 0;
+        this.missCount = 0;
+    }
+}
@@ -0,0 +1,138 @@
+package net.voxelindustry.brokkgui.util;
+
+import java.util.Arrays;
+
+/**
+ * List of non-negative counts with their prefix sums, kept in a Fenwick tree.
+ * <p>
+ * Changing a count, reading a prefix sum and finding the index containing a cumulative position are done in
+ * logarithmic time. Inserting or removing counts rebuilds the tree in linear time.
+ * Not thread-safe, meant to be used from the gui thread.
+ */
+public class PrefixSumTree
+{
+    private int[] counts;
+    /**
+     * One-based Fenwick tree, the node i holds the sum of the counts in (i - lowestBit(i), i]
+     */
+    private int[] tree;
+    private int   size;
+
+    public PrefixSumTree(int size, int count)
+    {
+        this.counts = new int[0];
+        this.tree = new int[1];
+        this.reset(size, count);
+    }
+
+    /**
+     * Replace every count by size times the given count.
+     */
+    public void reset(int size, int count)
+    {
+        this.ensureCapacity(size);
+        this.size = size;
+
+        Arrays.fill(this.counts, 0, size, count);
+        this.rebuild();
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    public int get(int index)
+    {
+        return this.counts[index];
+    }
+
+    public void set(int index, int count)
+    {
+        int delta = count - this.counts[index];
+        if (delta == 0)
+            return;
+
+        this.counts[index] = count;
+        for (int node = index + 1; node <= this.size; node += node & -node)
+            this.tree[node] += delta;
+    }
+
+    /**
+     * @param end exclusive index of the last count
+     * @return the sum of the counts before end
+     */
+    public int prefixSum(int end)
+    {
+        int sum = 0;
+        for (int node = end; node > 0; node -= node & -node)
+            sum += this.tree[node];
+        return sum;
+    }
+
+    public int total()
+    {
+        return this.prefixSum(this.size);
+    }
+
+    /**
+     * @param position a cumulative position, from 0 to the total exclusive
+     * @return the index whose counts contain the position, the size if the position is past the total
+     */
+    public int find(int position)
+    {
+        int index = 0;
+        int remaining = position;
+        for (int step = Integer.highestOneBit(Math.max(1, this.size)); step > 0; step >>= 1)
+        {
+            int node = index + step;
+            if (node <= this.size && this.tree[node] <= remaining)
+            {
+                index = node;
+                remaining -= this.tree[node];
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Replace removedCount counts starting at first by insertedCount times the given count.
+     */
+    public void splice(int first, int removedCount, int insertedCount, int count)
+    {
+        int newSize = this.size - removedCount + insertedCount;
+        if (removedCount != insertedCount)
+        {
+            this.ensureCapacity(newSize);
+            System.arraycopy(this.counts, first + removedCount, this.counts, first + insertedCount,
+                    this.size - first - removedCount);
+            this.size = newSize;
+        }
+
+        Arrays.fill(this.counts, first, first + insertedCount, count);
+        this.rebuild();
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if (this.counts.length >= capacity)
+            return;
+
+        int newCapacity = Math.max(capacity, this.counts.length * 2);
+        this.counts = Arrays.copyOf(this.counts, newCapacity);
+        this.tree = new int[newCapacity + 1];
+    }
+
+    private void rebuild()
+    {
+        Arrays.fill(this.tree, 0);
+        for (int node = 1; node <= this.size; node++)
+        {
+            this.tree[node] += this.counts[node - 1];
+
+            int parent = node + (node & -node);
+            if (parent <= this.size)
+                this.tree[parent] += this.tree[node];
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package net.voxelindustry.brokkgui.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Hierarchical timing wheel running delayed and repeating tasks when its clock is advanced.
+ * <p>
+ * The wheel has four levels of 64 slots, each slot of a level spanning a whole turn of the level below. Scheduling and
+ * cancelling a task is done in constant time, tasks of a slot are moved down a level each time the lower level
+ * completes a turn. Tasks due further than the top level are kept aside until they get in range.
+ * <p>
+ * The time unit is the one of the clock, milliseconds or ticks for example. Tasks due at the same time run in the
+ * order they were scheduled. Not thread-safe, meant to be used from the gui thread.
+ */
+public class TimingWheel
+{
+    private static final int  LEVELS     = 4;
+    private static final int  SLOT_BITS  = 6;
+    private static final int  SLOTS      = 1 << SLOT_BITS;
+    private static final long SLOT_MASK  = SLOTS - 1;
+    private static final int  RANGE_BITS = LEVELS * SLOT_BITS;
+
+    private static final int OVERFLOW = LEVELS * SLOTS;
+    private static final int DETACHED = -1;
+
+    private final LongSupplier clock;
+
+    /**
+     * Heads and tails of the task lists of each slot of each level, followed by the tasks out of range
+     */
+    private final Task[] heads;
+    private final Task[] tails;
+    private final long[] occupiedSlots;
+
+    private long current;
+    private int  count;
+    private Task running;
+
+    public TimingWheel(LongSupplier clock)
+    {
+        this.clock = clock;
+
+        this.heads = new Task[OVERFLOW + 1];
+        this.tails = new Task[OVERFLOW + 1];
+        this.occupiedSlots = new long[LEVELS];
+
+        this.current = clock.getAsLong();
+    }
+
+    /**
+     * Run a task once after a delay. A delay of 0 runs the task on the next advance of the wheel.
+     *
+     * @param task  the task to run
+     * @param delay the delay in units of the clock
+     * @return a handle to cancel the task
+     */
+    public Task schedule(Runnable task, long delay)
+    {
+        return this.scheduleRepeating(task, delay, 0);
+    }
+
+    /**
+     * Run a task after a delay, then each time the period elapsed until it is cancelled.
+     *
+     * @param task   the task to run
+     * @param delay  the delay before the first run, in units of the clock
+     * @param period the delay between two runs, in units of the clock. 0 to run the task only once.
+     * @return a handle to cancel the task
+     */
+    public Task scheduleRepeating(Runnable task, long delay, long period)
+    {
+        if (delay < 0 || period < 0)
+            throw new IllegalArgumentException("Cannot schedule a task with a negative delay or period");
+
+        Task scheduled = new Task(this, task, Math.max(this.clock.getAsLong() + delay, this.current + 1), period);
+        this.insert(scheduled);
+        this.count++;
+        return scheduled;
+    }
+
+    /**
+     * Run all the tasks due up to the current time of the clock.
+     */
+    public void advance()
+    {
+        this.advance(this.clock.getAsLong());
+    }
+
+    /**
+     * Run all the tasks due up to the given time, in order of their due time.
+     *
+     * @param now the time to advance the wheel to
+     */
+    public void advance(long now)
+    {
+        while (this.current < now)
+        {
+            if (this.count == 0)
+            {
+                this.current = now;
+                return;
+            }
+
+            // Empty slots of the lowest level are skipped up to the end of its turn
+            int from = (int) (this.current & SLOT_MASK) + 1;
+            long occupied = from == SLOTS ? 0 : this.occupiedSlots[0] & (-1L << from);
+            long next = occupied != 0 ? (this.current & ~SLOT_MASK) + Long.numberOfTrailingZeros(occupied) :
+                    (this.current | SLOT_MASK) + 1;
+
+            if (next > now)
+            {
+                this.current = now;
+                return;
+            }
+            this.current = next;
+
+            if ((this.current & SLOT_MASK) == 0)
+                this.cascade();
+            this.runSlot((int) (this.current & SLOT_MASK));
+        }
+    }
+
+    /**
+     * @return the count of tasks scheduled and not cancelled, repeating tasks included
+     */
+    public int size()
+    {
+        return this.count;
+    }
+
+    /**
+     * @return the time the wheel was last advanced to
+     */
+    public long getCurrentTime()
+    {
+        return this.current;
+    }
+
+    /**
+     * Cancel all the tasks.
+     */
+    public void clear()
+    {
+        for (int bucket = 0; bucket <= OVERFLOW; bucket++)
+        {
+            while (this.heads[bucket] != null)
+            {
+                Task task = this.heads[bucket];
+                this.unlink(task);
+                task.cancelled = true;
+            }
+        }
+        if (this.running != null)
+            this.running.cancelled = true;
+        this.count = 0;
+    }
+
+    private void runSlot(int slot)
+    {
+        // Tasks are taken one by one, a running task can cancel the next ones of the slot
+        while (this.heads[slot] != null)
+        {
+            Task task = this.heads[slot];
+            this.unlink(task);
+
+            this.running = task;
+            try
+            {
+                task.task.run();
+            } finally
+            {
+                this.running = null;
+            }
+
+            if (task.cancelled)
+                continue;
+            if (task.period == 0)
+            {
+                task.done = true;
+                this.count--;
+                continue;
+            }
+
+            task.deadline = Math.max(task.deadline + task.period, this.current + 1);
+            this.insert(task);
+        }
+    }
+
+    /**
+     * Move down the tasks of the slots of the upper levels starting their turn at the current time.
+     */
+    private void cascade()
+    {
+        if ((this.current & ((1L << RANGE_BITS) - 1)) == 0)
+            this.reinsertBucket(OVERFLOW);
+
+        for (int level = LEVELS - 1; level > 0; level--)
+        {
+            if ((this.current & ((1L << (SLOT_BITS * level)) - 1)) != 0)
+                continue;
+
+            int slot = (int) ((this.current >> (SLOT_BITS * level)) & SLOT_MASK);
+            this.reinsertBucket(level * SLOTS + slot);
+        }
+    }
+
+    private void reinsertBucket(int bucket)
+    {
+        Task task = this.heads[bucket];
+        Task tail = this.tails[bucket];
+        if (task == null)
+            return;
+
+        this.heads[bucket] = null;
+        this.tails[bucket] = null;
+        if (bucket != OVERFLOW)
+            this.occupiedSlots[bucket / SLOTS] &= ~(1L << (bucket % SLOTS));
+
+        // Reinserted in order, keeping the scheduling order of tasks due at the same time
+        while (task != null)
+        {
+            Task next = task.next;
+            task.prev = null;
+            task.next = null;
+            task.bucket = DETACHED;
+            this.insert(task);
+
+            if (task == tail)
+                break;
+            task = next;
+        }
+    }
+
+    private void insert(Task task)
+    {
+        int bucket = OVERFLOW;
+        for (int level = 0; level < LEVELS; level++)
+        {
+            int shift = SLOT_BITS * (level + 1);
+            if ((task.deadline >> shift) == (this.current >> shift))
+            {
+                bucket = level * SLOTS + (int) ((task.deadline >> (SLOT_BITS * level)) & SLOT_MASK);
+                this.occupiedSlots[level] |= 1L << (bucket % SLOTS);
+                break;
+            }
+        }
+
+        task.bucket = bucket;
+        task.prev = this.tails[bucket];
+        if (this.tails[bucket] == null)
+            this.heads[bucket] = task;
+        else
+            this.tails[bucket].next = task;
+        this.tails[bucket] = task;
+    }
+
+    private void unlink(Task task)
+    {
+        int bucket = task.bucket;
+
+        if (task.prev == null)
+            this.heads[bucket] = task.next;
+        else
+            task.prev.next = task.next;
+        if (task.next == null)
+            this.tails[bucket] = task.prev;
+        else
+            task.next.prev = task.prev;
+
+        if (this.heads[bucket] == null && bucket != OVERFLOW)
+            this.occupiedSlots[bucket / SLOTS] &= ~(1L << (bucket % SLOTS));
+
+        task.prev = null;
+        task.next = null;
+        task.bucket = DETACHED;
+    }
+
+    /**
+     * Handle of a task scheduled in a {@link TimingWheel}.
+     */
+    public static final class Task
+    {
+        private final TimingWheel wheel;
+        private final Runnable    task;
+        private final long        period;
+
+        private long deadline;
+        private int  bucket;
+        private Task prev;
+        private Task next;
+
+        private boolean cancelled;
+        private boolean done;
+
+        private Task(TimingWheel wheel, Runnable task, long deadline, long period)
+        {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+            this.bucket = DETACHED;
+        }
+
+        /**
+         * Prevent the next runs of this task. A task can cancel itself while running.
+         */
+        public void cancel()
+        {
+            if (this.cancelled || this.done)
+                return;
+
+            this.cancelled = true;
+            this.wheel.count--;
+            if (this.bucket != DETACHED)
+                this.wheel.unlink(this);
+        }
+
+        public boolean isCancelled()
+        {
+            return this.cancelled;
+        }
+
+        /**
+         * @return true once a task not repeating has run
+         */
+        public boolean isDone()
+        {
+            return this.done;
+        }
+
+        /**
+         * @return the time of the next run of this task, in units of the clock of its wheel
+         */
+        public long getDeadline()
+        {
+            return this.deadline;
+        }
+
+        public boolean isRepeating()
+        {
+            return this.period != 0;
+        }
+    }
+}
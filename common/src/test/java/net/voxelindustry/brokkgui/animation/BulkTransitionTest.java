@@ -0,0 +1,152 @@
+package net.voxelindustry.brokkgui.animation;
+
+import net.voxelindustry.brokkgui.animation.BulkTransition.Channel;
+import net.voxelindustry.brokkgui.panel.GuiPane;
+import net.voxelindustry.brokkgui.style.adapter.StyleEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class BulkTransitionTest
+{
+    private TickScheduler  scheduler;
+    private BulkTransition transition;
+
+    @BeforeEach
+    public void init()
+    {
+        StyleEngine.getInstance().start();
+
+        this.scheduler = new TickScheduler(() -> 0L);
+        this.transition = new BulkTransition(this.scheduler, 2);
+    }
+
+    @Test
+    public void tick_givenManyNodes_thenShouldWriteInterpolatedValues()
+    {
+        GuiPane[] panes = new GuiPane[10];
+        for (int i = 0; i < panes.length; i++)
+        {
+            panes[i] = new GuiPane();
+            this.transition.translate(panes[i], 0, 0, 100, 10 * i, 100, 0, Interpolators.LINEAR, null);
+        }
+
+        this.scheduler.tick(1000);
+        this.scheduler.tick(1050);
+
+        for (int i = 0; i < panes.length; i++)
+        {
+            assertThat(panes[i].getxTranslate()).isEqualTo(50);
+            assertThat(panes[i].getyTranslate()).isEqualTo(5 * i);
+        }
+        assertThat(this.transition.size()).isEqualTo(20);
+    }
+
+    @Test
+    public void tick_givenFinishedEntries_thenShouldCallbackAndUnregister()
+    {
+        GuiPane pane = new GuiPane();
+        AtomicInteger finished = new AtomicInteger();
+
+        this.transition.add(pane, Channel.TRANSLATE_X, 0, 20, 100, 0, Interpolators.LINEAR, finished::incrementAndGet);
+        assertThat(this.scheduler.isTicking(this.transition)).isTrue();
+
+        this.scheduler.tick(0);
+        this.scheduler.tick(150);
+
+        assertThat(pane.getxTranslate()).isEqualTo(20);
+        assertThat(finished.get()).isEqualTo(1);
+        assertThat(this.transition.size()).isZero();
+        assertThat(this.scheduler.isTicking(this.transition)).isFalse();
+    }
+
+    @Test
+    public void tick_givenDelay_thenShouldKeepValueUntilStart()
+    {
+        GuiPane pane = new GuiPane();
+        pane.setxTranslate(7);
+
+        this.transition.add(pane, Channel.TRANSLATE_X, 0, 100, 100, 50, Interpolators.LINEAR, null);
+
+        this.scheduler.tick(0);
+        this.scheduler.tick(40);
+        assertThat(pane.getxTranslate()).isEqualTo(7);
+
+        this.scheduler.tick(100);
+        assertThat(pane.getxTranslate()).isEqualTo(50);
+    }
+
+    @Test
+    public void tick_givenDisposedNode_thenShouldDropItsEntries()
+    {
+        GuiPane disposed = new GuiPane();
+        GuiPane kept = new GuiPane();
+
+        this.transition.add(disposed, Channel.TRANSLATE_X, 0, 100, 100, Interpolators.LINEAR);
+        this.transition.add(kept, Channel.TRANSLATE_X, 0, 100, 100, Interpolators.LINEAR);
+        disposed.dispose();
+
+        this.scheduler.tick(0);
+        this.scheduler.tick(50);
+
+        assertThat(disposed.getxTranslate()).isZero();
+        assertThat(kept.getxTranslate()).isEqualTo(50);
+        assertThat(this.transition.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void tick_givenUserInterpolator_thenShouldUseTableOwnedByBatch()
+    {
+        GuiPane first = new GuiPane();
+        GuiPane second = new GuiPane();
+        Interpolator custom = delta -> delta * delta;
+
+        this.transition.add(first, Channel.TRANSLATE_X, 0, 100, 100, custom);
+        this.transition.add(second, Channel.TRANSLATE_X, 0, 100, 100, custom);
+
+        this.scheduler.tick(0);
+        this.scheduler.tick(50);
+
+        assertThat(first.getxTranslate()).isCloseTo(25, within(0.01F));
+        assertThat(second.getxTranslate()).isCloseTo(25, within(0.01F));
+        assertThat(Interpolators.lookup(custom)).isSameAs(custom);
+    }
+
+    @Test
+    public void add_givenManyDistinctInterpolatorsOverFinishedRuns_thenShouldReuseTheirSlots()
+    {
+        GuiPane pane = new GuiPane();
+
+        for (int run = 0; run < 3; run++)
+        {
+            for (int i = 0; i < 60; i++)
+            {
+                float offset = run * 60 + i;
+                this.transition.add(pane, Channel.TRANSLATE_X, 0, 10, 100, delta -> delta + offset * 0);
+            }
+
+            this.scheduler.tick(run * 1000);
+            this.scheduler.tick(run * 1000 + 150);
+            assertThat(this.transition.size()).isZero();
+        }
+
+        for (int i = 0; i < 100; i++)
+        {
+            float offset = i;
+            this.transition.add(pane, Channel.OPACITY, 0, 1, 100, delta -> delta + offset * 0);
+        }
+        this.transition.clear();
+
+        for (int i = 0; i < 100; i++)
+        {
+            float offset = i;
+            this.transition.add(pane, Channel.OPACITY, 0, 1, 100, delta -> delta + offset * 0);
+        }
+        assertThat(this.transition.size()).isEqualTo(100);
+        assertThat(pane.getxTranslate()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,119 @@
+package net.voxelindustry.brokkgui.animation;
+
+import net.voxelindustry.brokkgui.BrokkGuiPlatform;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FrameClockTest
+{
+    @Test
+    public void nextFrame_givenSource_thenShouldComputeDeltaAndIndex()
+    {
+        long[] nanos = {5_000_000};
+        FrameClock clock = new FrameClock(() -> nanos[0], 1000);
+
+        clock.nextFrame();
+        assertThat(clock.getFrameIndex()).isEqualTo(1);
+        assertThat(clock.getDeltaNanos()).isZero();
+        assertThat(clock.getFrameMillis()).isEqualTo(1000);
+
+        nanos[0] += 16_000_000;
+        clock.nextFrame();
+        assertThat(clock.getFrameIndex()).isEqualTo(2);
+        assertThat(clock.getDeltaNanos()).isEqualTo(16_000_000);
+        assertThat(clock.getDeltaSeconds()).isEqualTo(0.016F);
+        assertThat(clock.getFrameMillis()).isEqualTo(1016);
+    }
+
+    @Test
+    public void getFrameMillis_givenReadsDuringFrame_thenShouldNotSampleSource()
+    {
+        AtomicInteger reads = new AtomicInteger();
+        FrameClock clock = new FrameClock(() -> reads.incrementAndGet() * 1_000_000L, 0);
+
+        clock.nextFrame();
+        long frameMillis = clock.getFrameMillis();
+        for (int i = 0; i < 10; i++)
+            assertThat(clock.getFrameMillis()).isEqualTo(frameMillis);
+
+        // Once at creation and once for the frame
+        assertThat(reads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void tick_givenSchedulerOnFrameClock_thenShouldReceiveFrameTime()
+    {
+        long[] nanos = {0};
+        FrameClock clock = new FrameClock(() -> nanos[0], 500);
+        TickScheduler scheduler = new TickScheduler(clock::getFrameMillis);
+
+        long[] received = new long[1];
+        scheduler.addTicking(millis -> received[0] = millis);
+
+        nanos[0] = 40_000_000;
+        clock.nextFrame();
+        scheduler.tick();
+
+        assertThat(received[0]).isEqualTo(540);
+    }
+
+    @Test
+    public void getFrameMillis_givenReadOutsideFrame_thenShouldSampleSourceAgain()
+    {
+        long[] nanos = {0};
+        FrameClock clock = new FrameClock(() -> nanos[0], 1000);
+
+        clock.nextFrame();
+        nanos[0] = 20_000_000;
+        assertThat(clock.getFrameMillis()).isEqualTo(1000);
+
+        clock.exitFrame();
+        assertThat(clock.getFrameMillis()).isEqualTo(1020);
+        assertThat(clock.getFrameIndex()).isEqualTo(1);
+
+        nanos[0] = 36_000_000;
+        clock.nextFrame();
+        assertThat(clock.getDeltaNanos()).isEqualTo(36_000_000);
+    }
+
+    @Test
+    public void start_givenAnimationStartedAfterClockWentStale_thenShouldStartFromCurrentTime()
+    {
+        FrameClock previousClock = BrokkGuiPlatform.getInstance().getFrameClock();
+        ITickSender previousTickSender = BrokkGuiPlatform.getInstance().getTickSender();
+
+        long[] nanos = {0};
+        FrameClock clock = new FrameClock(() -> nanos[0], 0);
+        TickScheduler scheduler = new TickScheduler(clock::getFrameMillis);
+        BrokkGuiPlatform.getInstance().setFrameClock(clock);
+        BrokkGuiPlatform.getInstance().setTickSender(scheduler);
+
+        try
+        {
+            // Last frame of a previous screen, then nothing is rendered for 10 seconds
+            clock.nextFrame();
+            clock.exitFrame();
+            nanos[0] = 10_000_000_000L;
+
+            Animation animation = new Animation(1000, TimeUnit.MILLISECONDS)
+            {
+            };
+            animation.start();
+
+            nanos[0] += 100_000_000;
+            clock.nextFrame();
+            scheduler.tick();
+
+            assertThat(animation.getStatus()).isEqualTo(AnimationStatus.RUNNING);
+            assertThat(animation.getProgress()).isEqualTo(0.1F);
+        } finally
+        {
+            BrokkGuiPlatform.getInstance().setFrameClock(previousClock);
+            BrokkGuiPlatform.getInstance().setTickSender(previousTickSender);
+        }
+    }
+}
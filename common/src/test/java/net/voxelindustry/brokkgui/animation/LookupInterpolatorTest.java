@@ -0,0 +1,83 @@
+package net.voxelindustry.brokkgui.animation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class LookupInterpolatorTest
+{
+    @Test
+    public void apply_givenSmoothInterpolators_thenShouldStayCloseToSource()
+    {
+        Interpolator[] sources = {Interpolators.QUAD_BOTH, Interpolators.SINE_BOTH, Interpolators.EXP_IN,
+                Interpolators.QUINTIC_OUT};
+
+        for (Interpolator source : sources)
+        {
+            LookupInterpolator lookup = new LookupInterpolator(source);
+
+            for (int step = 0; step <= 10_000; step++)
+            {
+                float delta = step / 10_000f;
+                assertThat(lookup.apply(delta)).isCloseTo(source.apply(delta), within(5e-4f));
+            }
+        }
+    }
+
+    @Test
+    public void apply_givenSamplePosition_thenShouldReturnSourceValue()
+    {
+        LookupInterpolator lookup = new LookupInterpolator(Interpolators.SINE_IN, 4);
+
+        assertThat(lookup.apply(0.25f)).isEqualTo(Interpolators.SINE_IN.apply(0.25f));
+        assertThat(lookup.apply(0.75f)).isEqualTo(Interpolators.SINE_IN.apply(0.75f));
+        assertThat(lookup.apply(1)).isEqualTo(Interpolators.SINE_IN.apply(1));
+    }
+
+    @Test
+    public void apply_givenBetweenSamples_thenShouldBlendLinearly()
+    {
+        LookupInterpolator lookup = new LookupInterpolator(Interpolators.QUAD_IN, 2);
+
+        // Samples are 0, 0.25 and 1
+        assertThat(lookup.apply(0.25f)).isEqualTo(0.125f);
+        assertThat(lookup.apply(0.75f)).isEqualTo(0.625f);
+    }
+
+    @Test
+    public void apply_givenOutOfRangeDelta_thenShouldClampToBounds()
+    {
+        LookupInterpolator lookup = new LookupInterpolator(Interpolators.CUBIC_OUT, 16);
+
+        assertThat(lookup.apply(-1)).isEqualTo(Interpolators.CUBIC_OUT.apply(0));
+        assertThat(lookup.apply(2)).isEqualTo(Interpolators.CUBIC_OUT.apply(1));
+    }
+
+    @Test
+    public void lookup_givenSameInterpolator_thenShouldShareTable()
+    {
+        Interpolator lookup = Interpolators.lookup(Interpolators.SINE_OUT);
+
+        assertThat(lookup).isInstanceOf(LookupInterpolator.class);
+        assertThat(Interpolators.lookup(Interpolators.SINE_OUT)).isSameAs(lookup);
+        assertThat(Interpolators.lookup(lookup)).isSameAs(lookup);
+    }
+
+    @Test
+    public void lookup_givenDiscreteOrLinear_thenShouldReturnAsIs()
+    {
+        assertThat(Interpolators.lookup(Interpolators.DISCRETE)).isSameAs(Interpolators.DISCRETE);
+        assertThat(Interpolators.lookup(Interpolators.LINEAR)).isSameAs(Interpolators.LINEAR);
+    }
+
+    @Test
+    public void lookup_givenUserInterpolator_thenShouldNotKeepSharedTable()
+    {
+        Interpolator custom = delta -> delta * delta;
+
+        assertThat(Interpolators.lookup(custom)).isSameAs(custom);
+        assertThat(Interpolators.needsOwnLookup(custom)).isTrue();
+        assertThat(Interpolators.needsOwnLookup(Interpolators.SINE_OUT)).isFalse();
+    }
+}
@@ -0,0 +1,111 @@
+package net.voxelindustry.brokkgui.animation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TickSchedulerTest
+{
+    @Test
+    public void tick_givenClock_thenShouldReadItOncePerFrame()
+    {
+        AtomicInteger clockReads = new AtomicInteger();
+        TickScheduler scheduler = new TickScheduler(() -> 100L + clockReads.getAndIncrement());
+
+        List<Long> received = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            scheduler.addTicking(received::add);
+
+        scheduler.tick();
+
+        assertThat(clockReads.get()).isEqualTo(1);
+        assertThat(received).hasSize(10).containsOnly(100L);
+    }
+
+    @Test
+    public void addTicking_givenSameTickingTwice_thenShouldTickItOnce()
+    {
+        TickScheduler scheduler = new TickScheduler(() -> 0L);
+        AtomicInteger ticks = new AtomicInteger();
+        ITicking ticking = millis -> ticks.incrementAndGet();
+
+        scheduler.addTicking(ticking);
+        scheduler.addTicking(ticking);
+        scheduler.tick();
+
+        assertThat(ticks.get()).isEqualTo(1);
+        assertThat(scheduler.getTickingCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void removeTicking_givenRemovalDuringTick_thenShouldSkipRemovedAndKeepOthers()
+    {
+        TickScheduler scheduler = new TickScheduler(() -> 0L);
+        List<String> ticked = new ArrayList<>();
+
+        ITicking last = millis -> ticked.add("last");
+        ITicking middle = millis -> ticked.add("middle");
+        ITicking first = millis ->
+        {
+            ticked.add("first");
+            scheduler.removeTicking(middle);
+        };
+        scheduler.addTicking(first);
+        scheduler.addTicking(middle);
+        scheduler.addTicking(last);
+
+        scheduler.tick();
+        assertThat(ticked).containsExactly("first", "last");
+
+        ticked.clear();
+        scheduler.tick();
+        assertThat(ticked).containsExactly("first", "last");
+        assertThat(scheduler.getTickingCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void addTicking_givenAdditionDuringTick_thenShouldTickItOnNextFrame()
+    {
+        TickScheduler scheduler = new TickScheduler(() -> 0L);
+        AtomicInteger addedTicks = new AtomicInteger();
+        ITicking added = millis -> addedTicks.incrementAndGet();
+
+        scheduler.addTicking(millis -> scheduler.addTicking(added));
+
+        scheduler.tick();
+        assertThat(addedTicks.get()).isZero();
+
+        scheduler.tick();
+        assertThat(addedTicks.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void removeTicking_givenSelfRemovalDuringTick_thenShouldAllowReAdding()
+    {
+        TickScheduler scheduler = new TickScheduler(() -> 0L);
+        AtomicInteger ticks = new AtomicInteger();
+
+        ITicking ticking = new ITicking()
+        {
+            @Override
+            public void tick(long currentMillis)
+            {
+                ticks.incrementAndGet();
+                scheduler.removeTicking(this);
+                scheduler.addTicking(this);
+            }
+        };
+        scheduler.addTicking(ticking);
+
+        scheduler.tick();
+        scheduler.tick();
+
+        assertThat(ticks.get()).isEqualTo(2);
+        assertThat(scheduler.isTicking(ticking)).isTrue();
+        assertThat(scheduler.getTickingCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,108 @@
+package net.voxelindustry.brokkgui.animation.transition;
+
+import net.voxelindustry.brokkgui.BrokkGuiPlatform;
+import net.voxelindustry.brokkgui.animation.AnimationStatus;
+import net.voxelindustry.brokkgui.animation.FrameClock;
+import net.voxelindustry.brokkgui.animation.ITickSender;
+import net.voxelindustry.brokkgui.animation.Interpolators;
+import net.voxelindustry.brokkgui.animation.TickScheduler;
+import net.voxelindustry.brokkgui.component.GuiNode;
+import net.voxelindustry.brokkgui.internal.IGuiRenderer;
+import net.voxelindustry.brokkgui.paint.RenderPass;
+import net.voxelindustry.brokkgui.style.adapter.StyleEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransitionTest
+{
+    private FrameClock  previousClock;
+    private ITickSender previousTickSender;
+
+    private long          nanos;
+    private FrameClock    clock;
+    private TickScheduler scheduler;
+
+    private GuiNode             node;
+    private TranslateTransition transition;
+
+    @BeforeEach
+    public void init()
+    {
+        StyleEngine.getInstance().start();
+
+        this.previousClock = BrokkGuiPlatform.getInstance().getFrameClock();
+        this.previousTickSender = BrokkGuiPlatform.getInstance().getTickSender();
+
+        this.clock = new FrameClock(() -> this.nanos, 0);
+        this.scheduler = new TickScheduler(this.clock::getFrameMillis);
+        BrokkGuiPlatform.getInstance().setFrameClock(this.clock);
+        BrokkGuiPlatform.getInstance().setTickSender(this.scheduler);
+
+        this.node = new GuiNode("test")
+        {
+            @Override
+            protected void renderContent(IGuiRenderer renderer, RenderPass pass, int mouseX, int mouseY)
+            {
+
+            }
+        };
+        this.transition = new TranslateTransition(this.node, 1000);
+        this.transition.setTranslateX(100);
+        this.transition.setInterpolator(Interpolators.LINEAR);
+
+        this.frame(0, true);
+        this.transition.start();
+    }
+
+    @AfterEach
+    public void restorePlatform()
+    {
+        BrokkGuiPlatform.getInstance().setFrameClock(this.previousClock);
+        BrokkGuiPlatform.getInstance().setTickSender(this.previousTickSender);
+    }
+
+    @Test
+    public void tick_givenHiddenNode_thenShouldParkAndCatchUpOnRender()
+    {
+        this.frame(100, false);
+        assertThat(this.node.getxTranslate()).isEqualTo(10);
+
+        this.frame(200, false);
+        assertThat(this.transition.isParked()).isTrue();
+        assertThat(this.scheduler.isTicking(this.transition)).isFalse();
+        assertThat(this.node.getxTranslate()).isEqualTo(10);
+
+        this.frame(600, true);
+        assertThat(this.transition.isParked()).isFalse();
+
+        this.frame(700, true);
+        assertThat(this.node.getxTranslate()).isEqualTo(70);
+    }
+
+    @Test
+    public void tick_givenDurationElapsedWhileParked_thenShouldCompleteAtEndValue()
+    {
+        this.frame(100, false);
+        this.frame(200, false);
+        assertThat(this.transition.isParked()).isTrue();
+
+        this.frame(5000, true);
+        this.frame(5016, true);
+
+        assertThat(this.transition.getStatus()).isEqualTo(AnimationStatus.COMPLETED);
+        assertThat(this.node.getxTranslate()).isEqualTo(100);
+    }
+
+    private void frame(long millis, boolean render)
+    {
+        this.nanos = millis * 1_000_000;
+        this.clock.nextFrame();
+        this.scheduler.tick();
+
+        if (render)
+            this.node.renderNode(null, RenderPass.MAIN, 0, 0);
+    }
+}
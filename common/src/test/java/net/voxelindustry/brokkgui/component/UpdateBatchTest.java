@@ -0,0 +1,128 @@
+package net.voxelindustry.brokkgui.component;
+
+import fr.ourten.teabeans.binding.BaseExpression;
+import net.voxelindustry.brokkgui.panel.GuiPane;
+import net.voxelindustry.brokkgui.style.adapter.StyleEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UpdateBatchTest
+{
+    @BeforeEach
+    public void init()
+    {
+        StyleEngine.getInstance().start();
+    }
+
+    @Test
+    public void run_givenSeveralWrites_thenShouldNotifyOnceWithFinalValue()
+    {
+        BatchedProperty<Float> property = new BatchedProperty<>(0f, "property");
+        List<Float> notified = new ArrayList<>();
+        property.addListener((observable, oldValue, newValue) -> notified.add(newValue));
+
+        UpdateBatch.run(() ->
+        {
+            property.setValue(1f);
+            property.setValue(2f);
+            property.setValue(3f);
+
+            assertThat(property.getValue()).isEqualTo(3f);
+            assertThat(notified).isEmpty();
+        });
+
+        assertThat(notified).containsExactly(3f);
+        assertThat(property.getValue()).isEqualTo(3f);
+    }
+
+    @Test
+    public void run_givenNestedBatches_thenShouldFlushOnceWhenOutermostCloses()
+    {
+        BatchedProperty<Float> property = new BatchedProperty<>(0f, "property");
+        AtomicInteger notified = new AtomicInteger();
+        property.addListener((observable, oldValue, newValue) -> notified.incrementAndGet());
+
+        UpdateBatch.run(() ->
+        {
+            UpdateBatch.run(() -> property.setValue(1f));
+            assertThat(notified.get()).isZero();
+
+            UpdateBatch.run(() -> property.setValue(2f));
+            assertThat(notified.get()).isZero();
+        });
+
+        assertThat(notified.get()).isEqualTo(1);
+        assertThat(property.getValue()).isEqualTo(2f);
+        assertThat(UpdateBatch.isOpen()).isFalse();
+    }
+
+    @Test
+    public void run_givenWriteOutsideBatch_thenShouldNotifyImmediately()
+    {
+        BatchedProperty<Float> property = new BatchedProperty<>(0f, "property");
+        AtomicInteger notified = new AtomicInteger();
+        property.addListener((observable, oldValue, newValue) -> notified.incrementAndGet());
+
+        property.setValue(1f);
+        property.setValue(2f);
+
+        assertThat(notified.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void run_givenListenerWritingDuringFlush_thenShouldFlushItsWritesToo()
+    {
+        BatchedProperty<Float> source = new BatchedProperty<>(0f, "source");
+        BatchedProperty<Float> target = new BatchedProperty<>(0f, "target");
+        source.addListener((observable, oldValue, newValue) -> UpdateBatch.run(() -> target.setValue(newValue * 2)));
+
+        UpdateBatch.run(() -> source.setValue(5f));
+
+        assertThat(source.getValue()).isEqualTo(5f);
+        assertThat(target.getValue()).isEqualTo(10f);
+    }
+
+    @Test
+    public void batchUpdate_givenSizeAndTranslation_thenListenersShouldSeeFinalValues()
+    {
+        GuiPane pane = new GuiPane();
+        List<Float> heightsSeenByWidth = new ArrayList<>();
+        pane.getWidthProperty().addListener((observable, oldValue, newValue) -> heightsSeenByWidth.add(pane.getHeight()));
+
+        GuiNode.batchUpdate(() ->
+        {
+            pane.setWidth(10);
+            pane.setWidth(20);
+            pane.setHeight(30);
+            pane.setxTranslate(4);
+        });
+
+        assertThat(heightsSeenByWidth).containsExactly(30f);
+        assertThat(pane.getWidth()).isEqualTo(20);
+        assertThat(pane.getHeight()).isEqualTo(30);
+        assertThat(pane.getxTranslate()).isEqualTo(4);
+    }
+
+    @Test
+    public void batchUpdate_givenBindingOnSeveralProperties_thenShouldHoldFinalValuesAfterFlush()
+    {
+        GuiPane pane = new GuiPane();
+        BaseExpression<Float> area = BaseExpression.biCombine(pane.getWidthProperty(), pane.getHeightProperty(),
+                (width, height) -> width * height);
+
+        GuiNode.batchUpdate(() ->
+        {
+            pane.setWidth(4);
+            pane.setHeight(5);
+            pane.setWidth(6);
+        });
+
+        assertThat(area.getValue()).isEqualTo(30f);
+    }
+}
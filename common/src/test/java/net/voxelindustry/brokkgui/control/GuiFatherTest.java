@@ -0,0 +1,97 @@
+package net.voxelindustry.brokkgui.control;
+
+import net.voxelindustry.brokkgui.component.GuiNode;
+import net.voxelindustry.brokkgui.internal.IGuiRenderer;
+import net.voxelindustry.brokkgui.paint.RenderPass;
+import net.voxelindustry.brokkgui.policy.GuiOverflowPolicy;
+import net.voxelindustry.brokkgui.shape.ScissorBox;
+import net.voxelindustry.brokkgui.style.adapter.StyleEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+public class GuiFatherTest
+{
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private IGuiRenderer renderer;
+
+    private GuiFather root;
+    private int       renderCount;
+
+    @BeforeEach
+    public void init()
+    {
+        StyleEngine.getInstance().start();
+
+        this.root = new GuiFather("root");
+        this.place(this.root, 0, 0, 100, 100);
+        this.root.setScissorBox(ScissorBox.fitNode(this.root));
+        this.root.setGuiOverflow(GuiOverflowPolicy.TRIM_ALL);
+    }
+
+    @Test
+    public void renderContent_givenLeafOutsideScissor_thenShouldSkipIt()
+    {
+        this.root.addChild(this.countingLeaf(200, 200));
+
+        this.root.renderNode(this.renderer, RenderPass.MAIN, 0, 0);
+
+        assertThat(this.renderCount).isZero();
+    }
+
+    @Test
+    public void renderContent_givenEmptyParentWithVisibleChild_thenShouldRenderChild()
+    {
+        GuiFather emptyParent = new GuiFather("empty");
+        this.place(emptyParent, 200, 200, 0, 0);
+        emptyParent.addChild(this.countingLeaf(40, 40));
+        this.root.addChild(emptyParent);
+
+        this.root.renderNode(this.renderer, RenderPass.MAIN, 0, 0);
+
+        assertThat(this.renderCount).isEqualTo(1);
+    }
+
+    @Test
+    public void renderContent_givenOutsideParentTrimmingItsChildren_thenShouldSkipSubtree()
+    {
+        GuiFather trimmingParent = new GuiFather("trimming");
+        this.place(trimmingParent, 200, 200, 10, 10);
+        trimmingParent.setScissorBox(ScissorBox.fitNode(trimmingParent));
+        trimmingParent.setGuiOverflow(GuiOverflowPolicy.TRIM_ALL);
+        trimmingParent.addChild(this.countingLeaf(40, 40));
+        this.root.addChild(trimmingParent);
+
+        this.root.renderNode(this.renderer, RenderPass.MAIN, 0, 0);
+
+        assertThat(this.renderCount).isZero();
+    }
+
+    private GuiNode countingLeaf(float x, float y)
+    {
+        GuiNode leaf = new GuiNode("leaf")
+        {
+            @Override
+            protected void renderContent(IGuiRenderer renderer, RenderPass pass, int mouseX, int mouseY)
+            {
+                GuiFatherTest.this.renderCount++;
+            }
+        };
+        this.place(leaf, x, y, 10, 10);
+        return leaf;
+    }
+
+    private void place(GuiNode node, float x, float y, float width, float height)
+    {
+        node.getxPosProperty().setValue(x);
+        node.getyPosProperty().setValue(y);
+        node.setWidth(width);
+        node.setHeight(height);
+    }
+}
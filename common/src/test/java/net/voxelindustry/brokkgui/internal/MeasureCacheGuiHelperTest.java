@@ -0,0 +1,117 @@
+package net.voxelindustry.brokkgui.internal;
+
+import net.voxelindustry.brokkgui.BrokkGuiPlatform;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MeasureCacheGuiHelperTest
+{
+    @Mock
+    private IGuiHelper delegate;
+
+    @Test
+    public void getStringWidth_givenSameString_thenShouldMeasureOnce()
+    {
+        when(delegate.getStringWidth("abc")).thenReturn(18F);
+        when(delegate.getStringWidth("de")).thenReturn(12F);
+        MeasureCacheGuiHelper helper = new MeasureCacheGuiHelper(delegate);
+
+        assertThat(helper.getStringWidth("abc")).isEqualTo(18);
+        assertThat(helper.getStringWidth("abc")).isEqualTo(18);
+        assertThat(helper.getStringWidth("de")).isEqualTo(12);
+
+        verify(delegate, times(1)).getStringWidth("abc");
+        assertThat(helper.getHitCount()).isEqualTo(1);
+        assertThat(helper.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void getStringHeightMultiLine_givenOtherLineSpacing_thenShouldMeasureAgain()
+    {
+        when(delegate.getStringHeightMultiLine("a\nb", 1)).thenReturn(19F);
+        when(delegate.getStringHeightMultiLine("a\nb", 2)).thenReturn(20F);
+        MeasureCacheGuiHelper helper = new MeasureCacheGuiHelper(delegate);
+
+        assertThat(helper.getStringHeightMultiLine("a\nb", 1)).isEqualTo(19);
+        assertThat(helper.getStringHeightMultiLine("a\nb", 2)).isEqualTo(20);
+        assertThat(helper.getStringHeightMultiLine("a\nb", 1)).isEqualTo(19);
+
+        assertThat(helper.getMissCount()).isEqualTo(2);
+        assertThat(helper.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void getStringWidth_givenFontStateChange_thenShouldMeasureAgain()
+    {
+        float[] scale = {1};
+        when(delegate.getStringWidth("abc")).thenReturn(18F, 36F);
+        MeasureCacheGuiHelper helper = new MeasureCacheGuiHelper(delegate, 16, () -> scale[0]);
+
+        assertThat(helper.getStringWidth("abc")).isEqualTo(18);
+        assertThat(helper.getStringWidth("abc")).isEqualTo(18);
+
+        scale[0] = 2;
+        assertThat(helper.getStringWidth("abc")).isEqualTo(36);
+        assertThat(helper.getStringWidth("abc")).isEqualTo(36);
+
+        verify(delegate, times(2)).getStringWidth("abc");
+    }
+
+    @Test
+    public void getStringWidthMultiLine_givenInvalidate_thenShouldMeasureAgain()
+    {
+        when(delegate.getStringWidthMultiLine("a\nbc")).thenReturn(12F, 14F);
+        MeasureCacheGuiHelper helper = new MeasureCacheGuiHelper(delegate);
+
+        assertThat(helper.getStringWidthMultiLine("a\nbc")).isEqualTo(12);
+        helper.invalidate();
+        assertThat(helper.getStringWidthMultiLine("a\nbc")).isEqualTo(14);
+
+        verify(delegate, times(2)).getStringWidthMultiLine("a\nbc");
+    }
+
+    @Test
+    public void setGuiHelper_givenFontStateSupplier_thenShouldWrapItOnce()
+    {
+        IGuiHelper previousHelper = BrokkGuiPlatform.getInstance().getGuiHelper();
+
+        try
+        {
+            BrokkGuiPlatform.getInstance().setGuiHelper(delegate, () -> 1);
+
+            IGuiHelper installed = BrokkGuiPlatform.getInstance().getGuiHelper();
+            assertThat(installed).isInstanceOf(MeasureCacheGuiHelper.class);
+            assertThat(((MeasureCacheGuiHelper) installed).getDelegate()).isSameAs(delegate);
+
+            BrokkGuiPlatform.getInstance().setGuiHelper(installed, () -> 1);
+            assertThat(BrokkGuiPlatform.getInstance().getGuiHelper()).isSameAs(installed);
+        } finally
+        {
+            BrokkGuiPlatform.getInstance().setGuiHelper(previousHelper);
+        }
+    }
+
+    @Test
+    public void setGuiHelper_givenHelperOnly_thenShouldKeepItAsIs()
+    {
+        IGuiHelper previousHelper = BrokkGuiPlatform.getInstance().getGuiHelper();
+
+        try
+        {
+            BrokkGuiPlatform.getInstance().setGuiHelper(delegate);
+
+            assertThat(BrokkGuiPlatform.getInstance().getGuiHelper()).isSameAs(delegate);
+        } finally
+        {
+            BrokkGuiPlatform.getInstance().setGuiHelper(previousHelper);
+        }
+    }
+}
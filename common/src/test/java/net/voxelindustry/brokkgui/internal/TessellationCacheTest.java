@@ -0,0 +1,79 @@
+package net.voxelindustry.brokkgui.internal;
+
+import net.voxelindustry.brokkgui.data.RectCorner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class TessellationCacheTest
+{
+    @Mock
+    private IGuiRenderer renderer;
+
+    @Test
+    public void getSegmentCount_givenRadius_thenShouldKeepErrorUnderMaximum()
+    {
+        int previous = 0;
+        for (float radius = 1; radius < 2000; radius *= 1.5F)
+        {
+            int segments = TessellationCache.getSegmentCount(radius);
+
+            assertThat(segments % 4).isZero();
+            assertThat(segments).isGreaterThanOrEqualTo(previous);
+            assertThat(radius * (1 - Math.cos(Math.PI / segments))).isLessThanOrEqualTo(TessellationCache.MAX_ERROR);
+            previous = segments;
+        }
+        assertThat(TessellationCache.getSegmentCount(0)).isEqualTo(TessellationCache.MIN_SEGMENTS);
+        assertThat(TessellationCache.getSegmentCount(100_000)).isEqualTo(TessellationCache.MAX_SEGMENTS);
+    }
+
+    @Test
+    public void getCircle_givenCloseSegmentCounts_thenShouldShareGeometry()
+    {
+        ArcGeometry circle = TessellationCache.getCircle(62);
+
+        assertThat(TessellationCache.getCircle(64)).isSameAs(circle);
+        assertThat(circle.getPointCount()).isEqualTo(65);
+        assertThat(circle.getX(64)).isEqualTo(circle.getX(0));
+        assertThat(circle.getY(64)).isEqualTo(circle.getY(0));
+    }
+
+    @Test
+    public void getArc_givenCorner_thenShouldMatchQuarterOfCircle()
+    {
+        ArcGeometry circle = TessellationCache.getCircle(32);
+        ArcGeometry arc = TessellationCache.getArc(RectCorner.TOP_LEFT, 32);
+
+        assertThat(arc.getPointCount()).isEqualTo(9);
+        for (int index = 0; index < arc.getPointCount(); index++)
+        {
+            assertThat(arc.getX(index)).isCloseTo(circle.getX(16 + index), within(1e-5F));
+            assertThat(arc.getY(index)).isCloseTo(circle.getY(16 + index), within(1e-5F));
+        }
+        assertThat(arc.getX(0)).isCloseTo(-1, within(1e-5F));
+        assertThat(arc.getY(8)).isCloseTo(-1, within(1e-5F));
+    }
+
+    @Test
+    public void addFanVertices_givenCircle_thenShouldTranslateAndScaleUnitPoints()
+    {
+        ArcGeometry circle = TessellationCache.getCircle(8);
+
+        circle.addFanVertices(renderer, 10, 20, 5, 1);
+
+        InOrder order = inOrder(renderer);
+        order.verify(renderer).addVertex(10, 20, 1);
+        order.verify(renderer).addVertex(15, 20, 1);
+        verify(renderer, times(10)).addVertex(anyDouble(), anyDouble(), anyDouble());
+    }
+}
@@ -0,0 +1,151 @@
+package net.voxelindustry.brokkgui.panel;
+
+import net.voxelindustry.brokkgui.component.GuiNode;
+import net.voxelindustry.brokkgui.data.RectAxis;
+import net.voxelindustry.brokkgui.style.adapter.StyleEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GuiFlexPaneTest
+{
+    private GuiFlexPane pane;
+
+    @BeforeEach
+    public void init()
+    {
+        StyleEngine.getInstance().start();
+
+        this.pane = new GuiFlexPane(RectAxis.HORIZONTAL);
+        this.pane.setWidth(100);
+        this.pane.setHeight(20);
+    }
+
+    @Test
+    public void layoutNode_givenGrowFactors_thenShouldShareFreeSpaceProportionally()
+    {
+        GuiNode first = this.child(10, 10);
+        GuiNode second = this.child(10, 8);
+        this.pane.addChild(first, 1);
+        this.pane.addChild(second, 3);
+
+        this.pane.layoutNode();
+
+        assertThat(first.getWidth()).isEqualTo(30);
+        assertThat(second.getWidth()).isEqualTo(70);
+        assertThat(first.getxPos()).isEqualTo(0);
+        assertThat(second.getxPos()).isEqualTo(30);
+        assertThat(second.getHeight()).isEqualTo(8);
+    }
+
+    @Test
+    public void layoutNode_givenOverflow_thenShouldShrinkWeightedByBasis()
+    {
+        this.pane.setWidth(50);
+        GuiNode first = this.child(40, 10);
+        GuiNode second = this.child(60, 10);
+        this.pane.addChild(first);
+        this.pane.addChild(second);
+
+        this.pane.layoutNode();
+
+        assertThat(first.getWidth()).isEqualTo(20);
+        assertThat(second.getWidth()).isEqualTo(30);
+        assertThat(second.getxPos()).isEqualTo(20);
+    }
+
+    @Test
+    public void layoutNode_givenMaxSize_thenShouldGiveRemainingSpaceToOthers()
+    {
+        this.pane.setWidth(50);
+        GuiNode first = this.child(10, 10);
+        GuiNode second = this.child(10, 10);
+        this.pane.addChild(first, FlexConstraint.grow(1).withMaxSize(15));
+        this.pane.addChild(second, FlexConstraint.grow(1));
+
+        this.pane.layoutNode();
+
+        assertThat(first.getWidth()).isEqualTo(15);
+        assertThat(second.getWidth()).isEqualTo(35);
+    }
+
+    @Test
+    public void layoutNode_givenMinSize_thenShouldTakeMissingSpaceFromOthers()
+    {
+        this.pane.setWidth(50);
+        GuiNode first = this.child(40, 10);
+        GuiNode second = this.child(60, 10);
+        this.pane.addChild(first, FlexConstraint.DEFAULT.withMinSize(30));
+        this.pane.addChild(second);
+
+        this.pane.layoutNode();
+
+        assertThat(first.getWidth()).isEqualTo(30);
+        assertThat(second.getWidth()).isEqualTo(20);
+    }
+
+    @Test
+    public void layoutNode_givenLargeOverflow_thenShouldNotShrinkUnderZero()
+    {
+        this.pane.setWidth(10);
+        this.pane.setGap(20);
+        GuiNode first = this.child(10, 10);
+        GuiNode second = this.child(10, 10);
+        this.pane.addChild(first);
+        this.pane.addChild(second);
+
+        this.pane.layoutNode();
+
+        assertThat(first.getWidth()).isZero();
+        assertThat(second.getWidth()).isZero();
+        assertThat(second.getxPos()).isEqualTo(20);
+    }
+
+    @Test
+    public void layoutNode_givenWrapAndGap_thenShouldMoveOverflowingChildToNextLine()
+    {
+        this.pane.setWidth(50);
+        this.pane.setWrap(true);
+        this.pane.setGap(5);
+        GuiNode first = this.child(20, 10);
+        GuiNode second = this.child(20, 12);
+        GuiNode third = this.child(20, 10);
+        this.pane.addChild(first, FlexConstraint.rigid());
+        this.pane.addChild(second, FlexConstraint.rigid());
+        this.pane.addChild(third, FlexConstraint.rigid());
+
+        this.pane.layoutNode();
+
+        assertThat(second.getxPos()).isEqualTo(25);
+        assertThat(second.getyPos()).isEqualTo(0);
+        assertThat(third.getxPos()).isEqualTo(0);
+        assertThat(third.getyPos()).isEqualTo(17);
+    }
+
+    @Test
+    public void layoutNode_givenVerticalDirection_thenShouldGrowHeights()
+    {
+        this.pane.setDirection(RectAxis.VERTICAL);
+        this.pane.setHeight(60);
+        GuiNode first = this.child(10, 10);
+        GuiNode second = this.child(15, 10);
+        this.pane.addChild(first, FlexConstraint.of(1, 1, 20));
+        this.pane.addChild(second, 1);
+
+        this.pane.layoutNode();
+
+        assertThat(first.getHeight()).isEqualTo(35);
+        assertThat(second.getHeight()).isEqualTo(25);
+        assertThat(second.getyPos()).isEqualTo(35);
+        assertThat(second.getWidth()).isEqualTo(15);
+    }
+
+    private GuiNode child(float width, float height)
+    {
+        GuiPane child = new GuiPane();
+        child.setWidth(width);
+        child.setHeight(height);
+        return child;
+    }
+}
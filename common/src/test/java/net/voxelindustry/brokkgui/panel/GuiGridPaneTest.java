@@ -0,0 +1,121 @@
+package net.voxelindustry.brokkgui.panel;
+
+import net.voxelindustry.brokkgui.component.GuiNode;
+import net.voxelindustry.brokkgui.style.adapter.StyleEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GuiGridPaneTest
+{
+    private GuiGridPane pane;
+
+    @BeforeEach
+    public void init()
+    {
+        StyleEngine.getInstance().start();
+
+        this.pane = new GuiGridPane();
+        this.pane.setWidth(200);
+        this.pane.setHeight(100);
+    }
+
+    @Test
+    public void layoutNode_givenMixedTracks_thenShouldShareLeftSpaceBetweenFractions()
+    {
+        this.pane.setColumns(GridTrack.fixed(20), GridTrack.auto(), GridTrack.fraction(1), GridTrack.fraction(3));
+        this.pane.setRows(GridTrack.fixed(40));
+        GuiNode auto = this.child(30, 10);
+        GuiNode smallFraction = this.child(5, 5);
+        GuiNode largeFraction = this.child(5, 5);
+        this.pane.addChild(auto, GridCell.fill(1, 0));
+        this.pane.addChild(smallFraction, GridCell.fill(2, 0));
+        this.pane.addChild(largeFraction, GridCell.fill(3, 0));
+
+        this.pane.layoutNode();
+
+        assertThat(auto.getxPos()).isEqualTo(20);
+        assertThat(auto.getWidth()).isEqualTo(30);
+        assertThat(smallFraction.getxPos()).isEqualTo(50);
+        assertThat(smallFraction.getWidth()).isEqualTo(37.5F);
+        assertThat(largeFraction.getxPos()).isEqualTo(87.5F);
+        assertThat(largeFraction.getWidth()).isEqualTo(112.5F);
+        assertThat(largeFraction.getHeight()).isEqualTo(40);
+    }
+
+    @Test
+    public void layoutNode_givenAutoTrack_thenShouldFitLargestSingleSpanChild()
+    {
+        this.pane.setColumns(GridTrack.auto(), GridTrack.fixed(10));
+        this.pane.setRows(GridTrack.auto(), GridTrack.auto());
+        GuiNode narrow = this.child(12, 10);
+        GuiNode wide = this.child(26, 14);
+        GuiNode spanning = this.child(80, 10);
+        this.pane.addChild(narrow, GridCell.fill(0, 0));
+        this.pane.addChild(wide, GridCell.fill(0, 1));
+        this.pane.addChild(spanning, GridCell.fill(0, 0, 2, 1));
+
+        this.pane.layoutNode();
+
+        assertThat(narrow.getWidth()).isEqualTo(26);
+        assertThat(wide.getyPos()).isEqualTo(10);
+        assertThat(wide.getHeight()).isEqualTo(14);
+        assertThat(spanning.getWidth()).isEqualTo(36);
+    }
+
+    @Test
+    public void layoutNode_givenSpanAndGap_thenShouldIncludeInnerGaps()
+    {
+        this.pane.setGap(5);
+        this.pane.setColumns(GridTrack.fixed(10), GridTrack.fixed(10), GridTrack.fixed(10));
+        this.pane.setRows(GridTrack.fixed(10), GridTrack.fixed(10));
+        GuiNode spanning = this.child(5, 5);
+        GuiNode last = this.child(5, 5);
+        this.pane.addChild(spanning, GridCell.fill(0, 0, 3, 1));
+        this.pane.addChild(last, GridCell.fill(2, 1));
+
+        this.pane.layoutNode();
+
+        assertThat(spanning.getWidth()).isEqualTo(40);
+        assertThat(last.getxPos()).isEqualTo(30);
+        assertThat(last.getyPos()).isEqualTo(15);
+    }
+
+    @Test
+    public void layoutNode_givenNonFillingChild_thenShouldCenterItInItsCell()
+    {
+        this.pane.setColumns(GridTrack.fixed(40));
+        this.pane.setRows(GridTrack.fixed(30));
+        GuiNode child = this.child(10, 10);
+        this.pane.addChild(child, 0, 0);
+
+        this.pane.layoutNode();
+
+        assertThat(child.getxPos()).isEqualTo(15);
+        assertThat(child.getyPos()).isEqualTo(10);
+        assertThat(child.getWidth()).isEqualTo(10);
+    }
+
+    @Test
+    public void layoutNode_givenFixedTracksOverflowing_thenShouldGiveNothingToFractions()
+    {
+        this.pane.setColumns(GridTrack.fixed(150), GridTrack.fixed(100), GridTrack.fraction(1));
+        this.pane.setRows(GridTrack.fixed(10));
+        GuiNode fraction = this.child(5, 5);
+        this.pane.addChild(fraction, GridCell.fill(2, 0));
+
+        this.pane.layoutNode();
+
+        assertThat(fraction.getxPos()).isEqualTo(250);
+        assertThat(fraction.getWidth()).isZero();
+    }
+
+    private GuiNode child(float width, float height)
+    {
+        GuiPane child = new GuiPane();
+        child.setWidth(width);
+        child.setHeight(height);
+        return child;
+    }
+}
@@ -62,4 +62,41 @@ public class SpriteAnimationInstanceTest
         assertThat(spriteAnimationInstance.getCurrentFrame(1751))
                 .isEqualTo(new Texture("blabla", 0.75F, 0, 1, 1));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getCurrentTexture_givenTimeMovingBackward_thenShouldReturnCorrectFrame()
+    {
+        long[] frameEndTimes = {100, 150, 400, 700, 1000};
+        Texture texture = new Texture("blabla", 0, 0, 1, 1);
+
+        SpriteAnimationInstance spriteAnimationInstance = new SpriteAnimation(true, 5, frameEndTimes).instantiate();
+        spriteAnimationInstance.computeTextures(texture);
+        spriteAnimationInstance.start(0);
+
+        assertThat(spriteAnimationInstance.getCurrentFrame(900))
+                .isEqualTo(new Texture("blabla", 0, 0.8F, 1, 1));
+        assertThat(spriteAnimationInstance.getCurrentFrame(120))
+                .isEqualTo(new Texture("blabla", 0, 0.2F, 1, 0.4F));
+        assertThat(spriteAnimationInstance.getCurrentFrame(400))
+                .isEqualTo(new Texture("blabla", 0, 0.4F, 1, 0.6F));
+        assertThat(spriteAnimationInstance.getCurrentFrame(50))
+                .isEqualTo(new Texture("blabla", 0, 0, 1, 0.2F));
+    }
+
+    @Test
+    public void computeTextures_givenInstancesOfSameAnimation_thenShouldShareTextures()
+    {
+        SpriteAnimation spriteAnimation = new SpriteAnimation(false, 2, new long[]{500, 1000});
+        Texture texture = new Texture("blabla", 0, 0, 1, 1);
+
+        SpriteAnimationInstance first = spriteAnimation.instantiate();
+        SpriteAnimationInstance second = spriteAnimation.instantiate();
+        first.computeTextures(texture);
+        second.computeTextures(new Texture("blabla", 0, 0, 1, 1));
+        first.start(0);
+        second.start(0);
+
+        assertThat(first.getCurrentFrame(600)).isSameAs(second.getCurrentFrame(600));
+        assertThat(spriteAnimation.getFrameTextures(texture)).hasSize(2);
+    }
+}
@@ -0,0 +1,44 @@
+package net.voxelindustry.brokkgui.sprite;
+
+import net.voxelindustry.brokkgui.internal.IGuiRenderer;
+import net.voxelindustry.brokkgui.shape.Rectangle;
+import net.voxelindustry.brokkgui.style.adapter.StyleEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+public class SpriteBackgroundDrawerTest
+{
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private IGuiRenderer renderer;
+
+    @BeforeEach
+    public void init()
+    {
+        StyleEngine.getInstance().start();
+    }
+
+    @Test
+    public void drawBackground_givenRotationChangedAfterCaching_thenShouldUseNewRotation()
+    {
+        Rectangle shape = new Rectangle(0, 0, 40, 16);
+        shape.setBackgroundTexture(new Texture("tile", 0, 0, 1, 1, 16, 16));
+        shape.setBackgroundRepeat(SpriteRepeat.REPEAT_X);
+        shape.setBackgroundRotation(SpriteRotation.CLOCKWISE);
+
+        SpriteBackgroundDrawer.drawBackground(shape, this.renderer);
+        SpriteTileGeometry cached = shape.getBackgroundTileGeometry();
+
+        shape.setBackgroundRotation(SpriteRotation.UPSIDE);
+        SpriteBackgroundDrawer.drawBackground(shape, this.renderer);
+
+        assertThat(shape.getBackgroundTileGeometry()).isNotSameAs(cached);
+        assertThat(shape.getBackgroundTileGeometry().getQuadRotations()[0]).isEqualTo(SpriteRotation.UPSIDE);
+    }
+}
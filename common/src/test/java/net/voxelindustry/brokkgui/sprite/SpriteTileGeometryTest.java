@@ -0,0 +1,134 @@
+package net.voxelindustry.brokkgui.sprite;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpriteTileGeometryTest
+{
+    @Test
+    public void compute_givenWholeImageWithoutRotation_thenShouldWrapInSingleQuad()
+    {
+        Texture texture = new Texture("tile", 0, 0, 1, 1, 16, 16);
+
+        SpriteTileGeometry geometry = SpriteTileGeometry.compute(1920, 1080, texture, SpriteRepeat.REPEAT_BOTH, null);
+
+        assertThat(geometry.isWrapped()).isTrue();
+        assertThat(geometry.getWrappedU()).isEqualTo(120);
+        assertThat(geometry.getWrappedV()).isEqualTo(67.5F);
+    }
+
+    @Test
+    public void compute_givenRepeatX_thenShouldStretchTileHeight()
+    {
+        Texture texture = new Texture("tile", 0, 0, 1, 1, 16, 16);
+
+        SpriteTileGeometry geometry = SpriteTileGeometry.compute(40, 10, texture, SpriteRepeat.REPEAT_X, null);
+
+        assertThat(geometry.getWrappedU()).isEqualTo(2.5F);
+        assertThat(geometry.getWrappedV()).isEqualTo(1);
+    }
+
+    @Test
+    public void compute_givenTextureRegion_thenShouldCropLeftOverTiles()
+    {
+        Texture texture = new Texture("sheet", 0.5F, 0, 1, 0.5F, 16, 16);
+
+        SpriteTileGeometry geometry = SpriteTileGeometry.compute(40, 16, texture, SpriteRepeat.REPEAT_X, null);
+
+        assertThat(geometry.isWrapped()).isFalse();
+        assertThat(geometry.getQuadCount()).isEqualTo(3);
+        assertThat(geometry.getQuadRotations()).isNull();
+
+        float[] quads = geometry.getQuads();
+        int last = 2 * SpriteTileGeometry.QUAD_SIZE;
+        assertThat(quads[last]).isEqualTo(32);
+        assertThat(quads[last + 2]).isEqualTo(8);
+        assertThat(quads[last + 4]).isEqualTo(0.5F);
+        assertThat(quads[last + 6]).isEqualTo(0.75F);
+        assertThat(quads[last + 7]).isEqualTo(0.5F);
+    }
+
+    @Test
+    public void compute_givenRotations_thenShouldKeepThemInTileOrder()
+    {
+        Texture texture = new Texture("tile", 0, 0, 1, 1, 16, 16);
+        SpriteRotation[] rotations = {SpriteRotation.NONE, SpriteRotation.CLOCKWISE, SpriteRotation.UPSIDE};
+
+        SpriteTileGeometry geometry = SpriteTileGeometry.compute(40, 16, texture, SpriteRepeat.REPEAT_X, rotations);
+
+        assertThat(geometry.isWrapped()).isFalse();
+        assertThat(geometry.getQuadCount()).isEqualTo(3);
+        assertThat(geometry.getQuadRotations()).startsWith(SpriteRotation.NONE, SpriteRotation.CLOCKWISE, SpriteRotation.UPSIDE);
+
+        // A rotated partial tile is squeezed instead of cropped
+        int last = 2 * SpriteTileGeometry.QUAD_SIZE;
+        assertThat(geometry.getQuads()[last + 2]).isEqualTo(8);
+        assertThat(geometry.getQuads()[last + 6]).isEqualTo(1);
+    }
+
+    @Test
+    public void compute_givenRepeatYWithPartialTile_thenShouldKeepItsRotation()
+    {
+        Texture texture = new Texture("tile", 0, 0, 1, 1, 16, 16);
+        SpriteRotation[] rotations = new SpriteRotation[SpriteRepeat.REPEAT_Y.getRepeatCount(texture, 16, 40)];
+        rotations[0] = SpriteRotation.NONE;
+        rotations[1] = SpriteRotation.UPSIDE;
+        rotations[2] = SpriteRotation.COUNTERCLOCKWISE;
+
+        SpriteTileGeometry geometry = SpriteTileGeometry.compute(16, 40, texture, SpriteRepeat.REPEAT_Y, rotations);
+
+        assertThat(geometry.getQuadCount()).isEqualTo(3);
+        assertThat(geometry.getQuadRotations()).startsWith(SpriteRotation.NONE, SpriteRotation.UPSIDE, SpriteRotation.COUNTERCLOCKWISE);
+
+        int last = 2 * SpriteTileGeometry.QUAD_SIZE;
+        assertThat(geometry.getQuads()[last + 1]).isEqualTo(32);
+        assertThat(geometry.getQuads()[last + 3]).isEqualTo(8);
+    }
+
+    @Test
+    public void compute_givenRepeatBothWithOnlyBottomPartialTiles_thenShouldReadRotationsInBounds()
+    {
+        Texture texture = new Texture("tile", 0, 0, 1, 1, 16, 16);
+        SpriteRotation[] rotations = new SpriteRotation[SpriteRepeat.REPEAT_BOTH.getRepeatCount(texture, 32, 40)];
+        Arrays.fill(rotations, SpriteRotation.NONE);
+        rotations[4] = SpriteRotation.CLOCKWISE;
+        rotations[5] = SpriteRotation.UPSIDE;
+
+        SpriteTileGeometry geometry = SpriteTileGeometry.compute(32, 40, texture, SpriteRepeat.REPEAT_BOTH, rotations);
+
+        assertThat(geometry.getQuadCount()).isEqualTo(6);
+        assertThat(geometry.getQuadRotations()[4]).isEqualTo(SpriteRotation.CLOCKWISE);
+        assertThat(geometry.getQuadRotations()[5]).isEqualTo(SpriteRotation.UPSIDE);
+    }
+
+    @Test
+    public void matches_givenSameParameters_thenShouldReuseGeometry()
+    {
+        Texture texture = new Texture("tile", 0, 0, 1, 1, 16, 16);
+        SpriteRotation[] rotations = {SpriteRotation.CLOCKWISE};
+
+        SpriteTileGeometry geometry = SpriteTileGeometry.compute(40, 16, texture, SpriteRepeat.REPEAT_X, rotations);
+
+        assertThat(geometry.matches(40, 16, new Texture("tile", 0, 0, 1, 1, 16, 16), SpriteRepeat.REPEAT_X, rotations)).isTrue();
+        assertThat(geometry.matches(41, 16, texture, SpriteRepeat.REPEAT_X, rotations)).isFalse();
+        assertThat(geometry.matches(40, 16, texture, SpriteRepeat.REPEAT_BOTH, rotations)).isFalse();
+        assertThat(geometry.matches(40, 16, texture, SpriteRepeat.REPEAT_X, new SpriteRotation[]{SpriteRotation.CLOCKWISE})).isTrue();
+        assertThat(geometry.matches(40, 16, texture, SpriteRepeat.REPEAT_X, new SpriteRotation[]{SpriteRotation.UPSIDE})).isFalse();
+    }
+
+    @Test
+    public void matches_givenRotationChangedInPlace_thenShouldComputeAgain()
+    {
+        Texture texture = new Texture("tile", 0, 0, 1, 1, 16, 16);
+        SpriteRotation[] rotations = {SpriteRotation.CLOCKWISE};
+
+        SpriteTileGeometry geometry = SpriteTileGeometry.compute(40, 16, texture, SpriteRepeat.REPEAT_X, rotations);
+        rotations[0] = SpriteRotation.UPSIDE;
+
+        assertThat(geometry.matches(40, 16, texture, SpriteRepeat.REPEAT_X, rotations)).isFalse();
+        assertThat(geometry.getQuadRotations()[0]).isEqualTo(SpriteRotation.CLOCKWISE);
+    }
+}
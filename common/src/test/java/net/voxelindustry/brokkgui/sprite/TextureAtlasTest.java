@@ -0,0 +1,156 @@
+package net.voxelindustry.brokkgui.sprite;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TextureAtlasTest
+{
+    @Test
+    public void pack_givenSources_thenShouldPlaceThemWithoutOverlap()
+    {
+        List<AtlasSource> sources = new ArrayList<>();
+        for (int i = 0; i < 40; i++)
+            sources.add(new AtlasSource("image" + i, 8 + (i * 7) % 40, 8 + (i * 13) % 40, i));
+
+        AtlasLayout layout = AtlasLayout.pack(sources, 128, 1);
+
+        assertThat(layout.getRegions()).hasSize(40);
+        List<AtlasRegion> regions = new ArrayList<>(layout.getRegions().values());
+        for (int i = 0; i < regions.size(); i++)
+        {
+            AtlasRegion region = regions.get(i);
+            assertThat(region.getX() + region.getWidth()).isLessThanOrEqualTo(128);
+            assertThat(region.getY() + region.getHeight()).isLessThanOrEqualTo(128);
+
+            for (int j = i + 1; j < regions.size(); j++)
+            {
+                AtlasRegion other = regions.get(j);
+                boolean overlap = region.getPage() == other.getPage() &&
+                        region.getX() < other.getX() + other.getWidth() && other.getX() < region.getX() + region.getWidth() &&
+                        region.getY() < other.getY() + other.getHeight() && other.getY() < region.getY() + region.getHeight();
+                assertThat(overlap).isFalse();
+            }
+        }
+    }
+
+    @Test
+    public void pack_givenSameSourcesInOtherOrder_thenShouldGiveSameLayout()
+    {
+        List<AtlasSource> sources = Arrays.asList(
+                new AtlasSource("a", 16, 16, 1),
+                new AtlasSource("b", 32, 8, 2),
+                new AtlasSource("c", 8, 32, 3));
+        List<AtlasSource> reversed = new ArrayList<>(sources);
+        Collections.reverse(reversed);
+
+        AtlasLayout layout = AtlasLayout.pack(sources, 64, 0);
+        AtlasLayout other = AtlasLayout.pack(reversed, 64, 0);
+
+        assertThat(other.getKey()).isEqualTo(layout.getKey());
+        for (String resource : Arrays.asList("a", "b", "c"))
+        {
+            assertThat(other.getRegion(resource).getX()).isEqualTo(layout.getRegion(resource).getX());
+            assertThat(other.getRegion(resource).getY()).isEqualTo(layout.getRegion(resource).getY());
+        }
+    }
+
+    @Test
+    public void pack_givenSourceLargerThanPage_thenShouldLeaveItOut()
+    {
+        AtlasLayout layout = AtlasLayout.pack(Arrays.asList(
+                new AtlasSource("small", 16, 16, 1),
+                new AtlasSource("large", 128, 16, 2)), 64, 0);
+
+        assertThat(layout.getRegion("small")).isNotNull();
+        assertThat(layout.getRegion("large")).isNull();
+        assertThat(layout.getPageCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void remap_givenPackedTexture_thenShouldMoveUVsToPageRegion()
+    {
+        Map<String, AtlasSource> sources = new HashMap<>();
+        sources.put("tall", new AtlasSource("tall", 32, 64, 1));
+        sources.put("button", new AtlasSource("button", 32, 32, 2));
+
+        TextureAtlas atlas = new TextureAtlas("atlas/page", 128, 0, sources::get);
+        atlas.track("tall");
+        atlas.track("button");
+        atlas.build(null);
+
+        // The tall image comes first, the button is right after it on the same shelf
+        Texture remapped = atlas.remap(new Texture("button", 0, 0.5F, 0.5F, 1));
+
+        assertThat(remapped).isEqualTo(new Texture("atlas/page0", 0.25F, 0.125F, 0.375F, 0.25F));
+        assertThat(atlas.remap(new Texture("button", 0, 0.5F, 0.5F, 1))).isSameAs(remapped);
+        assertThat(atlas.remap(new Texture("unknown"))).isEqualTo(new Texture("unknown"));
+    }
+
+    @Test
+    public void readWrite_givenLayout_thenShouldReadSameRegions() throws Exception
+    {
+        AtlasLayout layout = AtlasLayout.pack(Arrays.asList(
+                new AtlasSource("a", 16, 16, 1),
+                new AtlasSource("b", 32, 8, 2)), 64, 1);
+
+        StringWriter writer = new StringWriter();
+        layout.write(writer);
+        AtlasLayout read = AtlasLayout.read(new StringReader(writer.toString()));
+
+        assertThat(read.getKey()).isEqualTo(layout.getKey());
+        assertThat(read.getPageCount()).isEqualTo(layout.getPageCount());
+        assertThat(read.getRegion("b").getX()).isEqualTo(layout.getRegion("b").getX());
+        assertThat(read.getRegion("b").getY()).isEqualTo(layout.getRegion("b").getY());
+        assertThat(read.getRegion("b").getWidth()).isEqualTo(32);
+    }
+
+    @Test
+    public void build_givenCacheWithSameSources_thenShouldReuseCachedLayout(@TempDir Path folder)
+    {
+        Path cache = folder.resolve("atlas.layout");
+        Map<String, AtlasSource> sources = new HashMap<>();
+        sources.put("a", new AtlasSource("a", 16, 16, 1));
+
+        TextureAtlas atlas = new TextureAtlas("page", 64, 0, sources::get);
+        atlas.track("a");
+        AtlasLayout first = atlas.build(cache);
+
+        TextureAtlas reloaded = new TextureAtlas("page", 64, 0, sources::get);
+        reloaded.track("a");
+        AtlasLayout second = reloaded.build(cache);
+
+        assertThat(cache).exists();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getKey()).isEqualTo(first.getKey());
+        assertThat(second.getRegion("a").getWidth()).isEqualTo(16);
+    }
+
+    @Test
+    public void build_givenChangedSourceContent_thenShouldPackAgain(@TempDir Path folder)
+    {
+        Path cache = folder.resolve("atlas.layout");
+        Map<String, AtlasSource> sources = new HashMap<>();
+        sources.put("a", AtlasSource.of("a", 16, 16, new byte[]{1, 2, 3}));
+
+        TextureAtlas atlas = new TextureAtlas("page", 64, 0, sources::get);
+        atlas.track("a");
+        AtlasLayout first = atlas.build(cache);
+
+        sources.put("a", AtlasSource.of("a", 16, 16, new byte[]{1, 2, 4}));
+        AtlasLayout second = atlas.build(cache);
+
+        assertThat(second.getKey()).isNotEqualTo(first.getKey());
+    }
+}
@@ -0,0 +1,56 @@
+package net.voxelindustry.brokkgui.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncSuggestionSearchTest
+{
+    @Test
+    public void pollResult_givenStaleSearchFinishingLast_thenShouldOnlyPublishNewest()
+    {
+        List<String> suggestions = Arrays.asList("apple", "apricot", "banana");
+        AsyncSuggestionSearch search = new AsyncSuggestionSearch(() -> suggestions,
+                () -> SortedSuggestionIndex::new);
+        Deque<Runnable> queued = new ArrayDeque<>();
+
+        search.search("ap", 5, queued::add);
+        search.search("ban", 5, queued::add);
+
+        queued.removeLast().run();
+        assertThat(search.pollResult()).containsExactly("banana");
+
+        queued.removeLast().run();
+        assertThat(search.pollResult()).isNull();
+    }
+
+    @Test
+    public void search_givenInvalidatedIndex_thenShouldRebuildFromNewSuggestions()
+    {
+        List<String> suggestions = new ArrayList<>(Arrays.asList("apple"));
+        List<Collection<String>> builtFrom = new ArrayList<>();
+        AsyncSuggestionSearch search = new AsyncSuggestionSearch(() -> suggestions, () -> list ->
+        {
+            builtFrom.add(list);
+            return new SortedSuggestionIndex(list);
+        });
+
+        search.search("ap", 5, Runnable::run);
+        search.search("app", 5, Runnable::run);
+        assertThat(builtFrom).hasSize(1);
+
+        suggestions.add("apply");
+        search.invalidateIndex();
+        search.search("app", 5, Runnable::run);
+
+        assertThat(builtFrom).hasSize(2);
+        assertThat(search.pollResult()).containsExactly("apple", "apply");
+    }
+}
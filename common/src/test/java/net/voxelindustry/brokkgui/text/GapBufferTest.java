@@ -0,0 +1,59 @@
+package net.voxelindustry.brokkgui.text;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GapBufferTest
+{
+    @Test
+    public void insert_givenEditsAtDifferentPositions_thenShouldKeepOrder()
+    {
+        GapBuffer buffer = new GapBuffer("hello world");
+
+        buffer.insert(5, ",");
+        buffer.insert(buffer.length(), "!");
+        buffer.insert(0, ">> ");
+
+        assertThat(buffer.toString()).isEqualTo(">> hello, world!");
+        assertThat(buffer.length()).isEqualTo(16);
+        assertThat(buffer.charAt(8)).isEqualTo(',');
+    }
+
+    @Test
+    public void insert_givenTextLargerThanGap_thenShouldGrow()
+    {
+        GapBuffer buffer = new GapBuffer("ab");
+
+        StringBuilder expected = new StringBuilder("ab");
+        for (int i = 0; i < 100; i++)
+        {
+            buffer.insert(1, "xyz");
+            expected.insert(1, "xyz");
+        }
+
+        assertThat(buffer.toString()).isEqualTo(expected.toString());
+    }
+
+    @Test
+    public void delete_givenRangeAcrossGap_thenShouldRemoveIt()
+    {
+        GapBuffer buffer = new GapBuffer("0123456789");
+
+        buffer.insert(5, "-");
+        buffer.delete(3, 8);
+
+        assertThat(buffer.toString()).isEqualTo("012789");
+        assertThat(buffer.substring(2, 5)).isEqualTo("278");
+    }
+
+    @Test
+    public void shiftPosition_givenPositionsAroundEdit_thenShouldMatchEditedText()
+    {
+        TextEdit edit = new TextEdit(2, "cd", "XYZ");
+
+        assertThat(edit.shiftPosition(1)).isEqualTo(1);
+        assertThat(edit.shiftPosition(3)).isEqualTo(5);
+        assertThat(edit.shiftPosition(6)).isEqualTo(7);
+    }
+}
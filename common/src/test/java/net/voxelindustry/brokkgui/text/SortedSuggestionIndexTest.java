@@ -0,0 +1,39 @@
+package net.voxelindustry.brokkgui.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SortedSuggestionIndexTest
+{
+    private static final List<String> SUGGESTIONS = Arrays.asList("Iron Ingot", "Gold Ingot", "Iron", "Ironwood",
+            "Cast Iron Pipe", "Stone", "Irony");
+
+    @Test
+    public void query_givenPrefix_thenShouldRankExactAndShorterFirst()
+    {
+        ISuggestionIndex index = new SortedSuggestionIndex(SUGGESTIONS);
+
+        assertThat(index.query("iron", 10, () -> false))
+                .containsExactly("Iron", "Irony", "Ironwood", "Iron Ingot");
+    }
+
+    @Test
+    public void query_givenSubstring_thenShouldNotMatchIt()
+    {
+        ISuggestionIndex index = new SortedSuggestionIndex(SUGGESTIONS);
+
+        assertThat(index.query("ingot", 10, () -> false)).isEmpty();
+    }
+
+    @Test
+    public void query_givenLimit_thenShouldKeepShortestPrefixMatches()
+    {
+        ISuggestionIndex index = new SortedSuggestionIndex(SUGGESTIONS);
+
+        assertThat(index.query("iron", 2, () -> false)).containsExactly("Iron", "Irony");
+    }
+}
@@ -0,0 +1,67 @@
+package net.voxelindustry.brokkgui.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TextLinesTest
+{
+    @Test
+    public void setText_givenMixedSeparators_thenShouldSplitLines()
+    {
+        TextLines lines = new TextLines("first\nsecond\r\nthird\rfourth");
+
+        assertThat(lines.getLineCount()).isEqualTo(4);
+        assertThat(lines.getLine(1)).isEqualTo("second");
+        assertThat(lines.getLine(3)).isEqualTo("fourth");
+        assertThat(lines.getText()).isEqualTo("first\nsecond\nthird\nfourth");
+    }
+
+    @Test
+    public void insert_givenMultiLineText_thenShouldSplitEditedLine()
+    {
+        TextLines lines = new TextLines("hello world\nend");
+        List<int[]> edits = new ArrayList<>();
+        lines.addListener((firstLine, removedCount, insertedCount) ->
+                edits.add(new int[]{firstLine, removedCount, insertedCount}));
+
+        TextPosition end = lines.insert(0, 5, ",\nbig\nnew");
+
+        assertThat(lines.getText()).isEqualTo("hello,\nbig\nnew world\nend");
+        assertThat(end).isEqualTo(new TextPosition(2, 3));
+        assertThat(edits).containsExactly(new int[]{0, 1, 3});
+    }
+
+    @Test
+    public void insert_givenSingleLineText_thenShouldOnlyReplaceEditedLine()
+    {
+        TextLines lines = new TextLines("a\nb\nc");
+        List<int[]> edits = new ArrayList<>();
+        lines.addListener((firstLine, removedCount, insertedCount) ->
+                edits.add(new int[]{firstLine, removedCount, insertedCount}));
+
+        TextPosition end = lines.insert(1, 1, "cd");
+
+        assertThat(lines.getLine(1)).isEqualTo("bcd");
+        assertThat(end).isEqualTo(new TextPosition(1, 3));
+        assertThat(edits).containsExactly(new int[]{1, 1, 1});
+    }
+
+    @Test
+    public void delete_givenRangeAcrossLines_thenShouldJoinBounds()
+    {
+        TextLines lines = new TextLines("one\ntwo\nthree\nfour");
+        List<int[]> edits = new ArrayList<>();
+        lines.addListener((firstLine, removedCount, insertedCount) ->
+                edits.add(new int[]{firstLine, removedCount, insertedCount}));
+
+        lines.delete(0, 2, 2, 3);
+
+        assertThat(lines.getLineCount()).isEqualTo(2);
+        assertThat(lines.getText()).isEqualTo("onee\nfour");
+        assertThat(edits).containsExactly(new int[]{0, 3, 1});
+    }
+}
@@ -0,0 +1,50 @@
+package net.voxelindustry.brokkgui.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TrigramSuggestionIndexTest
+{
+    private static final List<String> SUGGESTIONS = Arrays.asList("Iron Ingot", "Gold Ingot", "Iron", "Ironwood",
+            "Cast Iron Pipe", "Stone", "Irony");
+
+    @Test
+    public void query_givenSubstring_thenShouldRankItAfterPrefixMatches()
+    {
+        ISuggestionIndex index = new TrigramSuggestionIndex(SUGGESTIONS);
+
+        assertThat(index.query("iron", 10, () -> false))
+                .containsExactly("Iron", "Irony", "Ironwood", "Iron Ingot", "Cast Iron Pipe");
+        assertThat(index.query("ingot", 10, () -> false)).containsExactly("Gold Ingot", "Iron Ingot");
+    }
+
+    @Test
+    public void query_givenShortSubstring_thenShouldScanAllSuggestions()
+    {
+        ISuggestionIndex index = new TrigramSuggestionIndex(SUGGESTIONS);
+
+        assertThat(index.query("on", 10, () -> false))
+                .containsExactly("Iron", "Irony", "Stone", "Ironwood", "Iron Ingot", "Cast Iron Pipe");
+    }
+
+    @Test
+    public void query_givenLimit_thenShouldKeepBestMatches()
+    {
+        ISuggestionIndex index = new TrigramSuggestionIndex(SUGGESTIONS);
+
+        assertThat(index.query("iron", 2, () -> false)).containsExactly("Iron", "Irony");
+        assertThat(index.query("", 3, () -> false)).containsExactly("Iron Ingot", "Gold Ingot", "Iron");
+    }
+
+    @Test
+    public void query_givenCancelledQuery_thenShouldReturnNothing()
+    {
+        ISuggestionIndex index = new TrigramSuggestionIndex(SUGGESTIONS);
+
+        assertThat(index.query("iron", 10, () -> true)).isEmpty();
+    }
+}
@@ -0,0 +1,97 @@
+package net.voxelindustry.brokkgui.util;
+
+import net.voxelindustry.brokkgui.internal.IGuiHelper;
+import net.voxelindustry.brokkgui.text.TextEdit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class GlyphAdvanceBufferTest
+{
+    @Mock
+    private IGuiHelper helper;
+
+    @BeforeEach
+    public void setup()
+    {
+        // A w is 10 pixels wide, every other glyph is 6 pixels wide
+        when(helper.getStringWidth(anyString())).thenAnswer(call -> "w".equals(call.getArgument(0)) ? 10F : 6F);
+    }
+
+    @Test
+    public void edit_givenInsertionsAroundCaret_thenShouldOnlyMeasureInsertedChars()
+    {
+        StringBuilder text = new StringBuilder("abcdef");
+        GlyphAdvanceBuffer advances = new GlyphAdvanceBuffer(text, helper);
+        clearInvocations(helper);
+
+        this.edit(advances, text, 3, 3, "w");
+        this.edit(advances, text, 4, 4, "ww");
+
+        verify(helper, times(3)).getStringWidth(anyString());
+        assertThat(advances.length()).isEqualTo(9);
+        assertThat(advances.getWidth()).isEqualTo(66);
+        assertThat(advances.getPosition(3)).isEqualTo(18);
+        assertThat(advances.getPosition(6)).isEqualTo(48);
+        assertThat(advances.getWidth(6, 9)).isEqualTo(18);
+    }
+
+    @Test
+    public void edit_givenEditsAwayFromGap_thenShouldMatchFreshAdvances()
+    {
+        StringBuilder text = new StringBuilder("hello world");
+        GlyphAdvanceBuffer advances = new GlyphAdvanceBuffer(text, helper);
+
+        this.edit(advances, text, 11, 11, "www");
+        this.edit(advances, text, 0, 2, "w");
+        this.edit(advances, text, 5, 9, "");
+        this.edit(advances, text, 8, 10, "abwwwwwwwwwwwwwwwwwwwwc");
+
+        GlyphAdvances expected = GlyphAdvances.of(text.toString(), helper);
+        assertThat(advances.length()).isEqualTo(text.length());
+        for (int index = 0; index <= text.length(); index++)
+            assertThat(advances.getPosition(index)).isEqualTo(expected.getWidth(0, index));
+    }
+
+    @Test
+    public void fit_givenWidth_thenShouldMatchFreshAdvances()
+    {
+        StringBuilder text = new StringBuilder("abcdefgh");
+        GlyphAdvanceBuffer advances = new GlyphAdvanceBuffer(text, helper);
+        this.edit(advances, text, 4, 4, "w");
+
+        GlyphAdvances expected = GlyphAdvances.of(text.toString(), helper);
+        assertThat(advances.fitForward(0, 30)).isEqualTo(expected.fitForward(0, 30));
+        assertThat(advances.fitForward(3, 16)).isEqualTo(expected.fitForward(3, 16));
+        assertThat(advances.fitBackward(9, 20)).isEqualTo(expected.fitBackward(9, 20));
+        assertThat(advances.fitBackward(5, 100)).isZero();
+    }
+
+    @Test
+    public void setText_givenNewText_thenShouldReplaceAllWidths()
+    {
+        GlyphAdvanceBuffer advances = new GlyphAdvanceBuffer("abcdef", helper);
+
+        advances.setText("ww", helper);
+
+        assertThat(advances.length()).isEqualTo(2);
+        assertThat(advances.getWidth()).isEqualTo(20);
+    }
+
+    private void edit(GlyphAdvanceBuffer advances, StringBuilder text, int start, int end, String inserted)
+    {
+        TextEdit edit = new TextEdit(start, text.substring(start, end), inserted);
+        text.replace(start, end, inserted);
+        advances.edit(edit, text, helper);
+    }
+}
@@ -0,0 +1,84 @@
+package net.voxelindustry.brokkgui.util;
+
+import net.voxelindustry.brokkgui.internal.IGuiHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class GlyphAdvancesTest
+{
+    @Mock
+    private IGuiHelper helper;
+
+    @BeforeEach
+    public void setup()
+    {
+        // Every glyph is 6 pixels wide and 7 once bold, the ellipsis as a whole is 6 pixels too
+        when(helper.getStringWidth(anyString())).thenAnswer(call ->
+                call.<String>getArgument(0).startsWith("\u00a7l") ? 7F : 6F);
+    }
+
+    @Test
+    public void fitForward_givenWidth_thenShouldReturnLastFittingIndex()
+    {
+        GlyphAdvances advances = GlyphAdvances.of("abcdefgh", helper);
+
+        assertThat(advances.getWidth()).isEqualTo(48);
+        assertThat(advances.fitForward(0, 20)).isEqualTo(3);
+        assertThat(advances.fitForward(2, 24)).isEqualTo(6);
+        assertThat(advances.fitForward(0, 100)).isEqualTo(8);
+        assertThat(advances.fitForward(0, 5)).isEqualTo(0);
+    }
+
+    @Test
+    public void fitBackward_givenWidth_thenShouldReturnFirstFittingIndex()
+    {
+        GlyphAdvances advances = GlyphAdvances.of("abcdefgh", helper);
+
+        assertThat(advances.fitBackward(8, 20)).isEqualTo(5);
+        assertThat(advances.fitBackward(4, 100)).isEqualTo(0);
+    }
+
+    @Test
+    public void ellipsize_givenTooLongText_thenShouldTrimAndAppendEllipsis()
+    {
+        GlyphAdvances advances = GlyphAdvances.of("abcdefgh", helper);
+
+        assertThat(advances.ellipsize(30, "...", helper)).isEqualTo("abcd...");
+        assertThat(advances.ellipsize(48, "...", helper)).isEqualTo("abcdefgh");
+        assertThat(advances.ellipsize(4, "...", helper)).isEmpty();
+    }
+
+    @Test
+    public void of_givenFormattingCodes_thenShouldMeasureGlyphsWithTheirStyle()
+    {
+        GlyphAdvances advances = GlyphAdvances.of("a\u00a7lbc\u00a7rd", helper);
+
+        assertThat(advances.getWidth()).isEqualTo(26);
+        assertThat(advances.getWidth(0, 4)).isEqualTo(13);
+        assertThat(advances.trim(13)).isEqualTo("a\u00a7lb");
+        verify(helper, never()).getStringWidth(startsWith("\u00a7r"));
+    }
+
+    @Test
+    public void fit_givenSurrogatePair_thenShouldNeverSplitIt()
+    {
+        GlyphAdvances advances = GlyphAdvances.of("a\uD83D\uDE00b", helper);
+
+        assertThat(advances.getWidth()).isEqualTo(18);
+        assertThat(advances.fitForward(0, 9)).isEqualTo(1);
+        assertThat(advances.fitForward(0, 12)).isEqualTo(3);
+        assertThat(advances.fitBackward(4, 9)).isEqualTo(3);
+        verify(helper).getStringWidth("\uD83D\uDE00");
+    }
+}
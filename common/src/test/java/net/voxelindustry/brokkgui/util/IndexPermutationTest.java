@@ -0,0 +1,58 @@
+package net.voxelindustry.brokkgui.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IndexPermutationTest
+{
+    @Test
+    public void reset_givenFilter_thenShouldKeepAcceptedIndicesInOrder()
+    {
+        IndexPermutation permutation = new IndexPermutation();
+
+        permutation.reset(6, index -> index % 2 == 0);
+
+        assertThat(permutation.size()).isEqualTo(3);
+        assertThat(permutation.getSourceIndex(0)).isEqualTo(0);
+        assertThat(permutation.getSourceIndex(1)).isEqualTo(2);
+        assertThat(permutation.getSourceIndex(2)).isEqualTo(4);
+        assertThat(permutation.getViewIndex(3)).isEqualTo(-1);
+        assertThat(permutation.getViewIndex(4)).isEqualTo(2);
+    }
+
+    @Test
+    public void sort_givenEqualItems_thenShouldKeepSourceOrder()
+    {
+        List<String> source = Arrays.asList("b2", "a1", "b1", "a2", "c1", "a3");
+        IndexPermutation permutation = new IndexPermutation();
+
+        permutation.reset(source.size(), null);
+        permutation.sort((first, second) -> Character.compare(source.get(first).charAt(0),
+                source.get(second).charAt(0)));
+
+        String[] sorted = new String[permutation.size()];
+        for (int index = 0; index < sorted.length; index++)
+            sorted[index] = source.get(permutation.getSourceIndex(index));
+
+        assertThat(sorted).containsExactly("a1", "a2", "a3", "b2", "b1", "c1");
+        assertThat(permutation.getViewIndex(0)).isEqualTo(3);
+    }
+
+    @Test
+    public void reverse_givenSortedView_thenShouldUpdateViewIndices()
+    {
+        IndexPermutation permutation = new IndexPermutation();
+
+        permutation.reset(4, null);
+        assertThat(permutation.getViewIndex(0)).isEqualTo(0);
+
+        permutation.reverse();
+
+        assertThat(permutation.getSourceIndex(0)).isEqualTo(3);
+        assertThat(permutation.getViewIndex(0)).isEqualTo(3);
+    }
+}
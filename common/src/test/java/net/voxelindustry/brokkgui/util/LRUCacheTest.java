@@ -0,0 +1,35 @@
+package net.voxelindustry.brokkgui.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LRUCacheTest
+{
+    @Test
+    public void get_givenSameKey_thenShouldLoadOnce()
+    {
+        LRUCache<String, Integer> cache = new LRUCache<>(4);
+
+        assertThat(cache.get("abc", String::length)).isEqualTo(3);
+        assertThat(cache.get("abc", key -> -1)).isEqualTo(3);
+
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_givenFullCache_thenShouldEvictLeastRecentlyUsed()
+    {
+        LRUCache<String, Integer> cache = new LRUCache<>(2);
+
+        cache.get("a", String::length);
+        cache.get("b", String::length);
+        cache.get("a", String::length);
+        cache.get("c", String::length);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a", key -> -1)).isEqualTo(1);
+        assertThat(cache.get("b", key -> -1)).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,69 @@
+package net.voxelindustry.brokkgui.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrefixSumTreeTest
+{
+    @Test
+    public void set_givenChangedCount_thenShouldShiftFollowingPrefixSums()
+    {
+        PrefixSumTree tree = new PrefixSumTree(6, 1);
+
+        tree.set(2, 4);
+
+        assertThat(tree.get(2)).isEqualTo(4);
+        assertThat(tree.prefixSum(2)).isEqualTo(2);
+        assertThat(tree.prefixSum(3)).isEqualTo(6);
+        assertThat(tree.prefixSum(6)).isEqualTo(9);
+        assertThat(tree.total()).isEqualTo(9);
+    }
+
+    @Test
+    public void find_givenPositions_thenShouldReturnContainingIndex()
+    {
+        PrefixSumTree tree = new PrefixSumTree(5, 1);
+        tree.set(1, 3);
+        tree.set(3, 2);
+
+        assertThat(tree.find(0)).isEqualTo(0);
+        assertThat(tree.find(1)).isEqualTo(1);
+        assertThat(tree.find(3)).isEqualTo(1);
+        assertThat(tree.find(4)).isEqualTo(2);
+        assertThat(tree.find(5)).isEqualTo(3);
+        assertThat(tree.find(6)).isEqualTo(3);
+        assertThat(tree.find(7)).isEqualTo(4);
+        assertThat(tree.find(8)).isEqualTo(5);
+    }
+
+    @Test
+    public void splice_givenInsertionAndRemoval_thenShouldKeepOtherCounts()
+    {
+        PrefixSumTree tree = new PrefixSumTree(4, 1);
+        tree.set(0, 2);
+        tree.set(3, 5);
+
+        tree.splice(1, 1, 3, 1);
+        assertThat(tree.size()).isEqualTo(6);
+        assertThat(tree.get(0)).isEqualTo(2);
+        assertThat(tree.get(5)).isEqualTo(5);
+        assertThat(tree.total()).isEqualTo(11);
+
+        tree.splice(0, 4, 0, 1);
+        assertThat(tree.size()).isEqualTo(2);
+        assertThat(tree.get(1)).isEqualTo(5);
+        assertThat(tree.find(3)).isEqualTo(1);
+    }
+
+    @Test
+    public void reset_givenLargerSize_thenShouldCountEachIndexOnce()
+    {
+        PrefixSumTree tree = new PrefixSumTree(2, 3);
+
+        tree.reset(100_000, 1);
+
+        assertThat(tree.total()).isEqualTo(100_000);
+        assertThat(tree.find(54_321)).isEqualTo(54_321);
+    }
+}
@@ -0,0 +1,122 @@
+package net.voxelindustry.brokkgui.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimingWheelTest
+{
+    private long        time;
+    private TimingWheel wheel;
+
+    @BeforeEach
+    public void init()
+    {
+        this.time = 1000;
+        this.wheel = new TimingWheel(() -> this.time);
+    }
+
+    @Test
+    public void advance_givenTasksOfSameDeadline_thenShouldRunInSchedulingOrder()
+    {
+        List<String> ran = new ArrayList<>();
+        this.wheel.schedule(() -> ran.add("first"), 100);
+        this.wheel.schedule(() -> ran.add("early"), 10);
+        this.wheel.schedule(() -> ran.add("second"), 100);
+
+        this.advanceBy(99);
+        assertThat(ran).containsExactly("early");
+
+        this.advanceBy(1);
+        assertThat(ran).containsExactly("early", "first", "second");
+        assertThat(this.wheel.size()).isZero();
+    }
+
+    @Test
+    public void advance_givenFarDeadlines_thenShouldRunOnTime()
+    {
+        List<Long> ranAt = new ArrayList<>();
+        this.wheel.schedule(() -> ranAt.add(this.time), 5_000);
+        this.wheel.schedule(() -> ranAt.add(this.time), 300_000);
+        this.wheel.schedule(() -> ranAt.add(this.time), 20_000_000);
+
+        for (int step = 0; step < 20_000_000; step += 1000)
+            this.advanceBy(1000);
+
+        assertThat(ranAt).containsExactly(6_000L, 301_000L, 20_001_000L);
+    }
+
+    @Test
+    public void cancel_givenScheduledTask_thenShouldNotRun()
+    {
+        AtomicInteger runs = new AtomicInteger();
+        TimingWheel.Task task = this.wheel.schedule(runs::incrementAndGet, 10);
+        this.wheel.schedule(() -> {}, 10);
+
+        task.cancel();
+        this.advanceBy(20);
+
+        assertThat(runs.get()).isZero();
+        assertThat(task.isCancelled()).isTrue();
+        assertThat(this.wheel.size()).isZero();
+    }
+
+    @Test
+    public void cancel_givenCancellationFromTaskOfSameSlot_thenShouldSkipCancelled()
+    {
+        List<String> ran = new ArrayList<>();
+        TimingWheel.Task[] second = new TimingWheel.Task[1];
+
+        this.wheel.schedule(() ->
+        {
+            ran.add("first");
+            second[0].cancel();
+        }, 10);
+        second[0] = this.wheel.schedule(() -> ran.add("second"), 10);
+        this.wheel.schedule(() -> ran.add("third"), 10);
+
+        this.advanceBy(10);
+
+        assertThat(ran).containsExactly("first", "third");
+    }
+
+    @Test
+    public void scheduleRepeating_givenPeriod_thenShouldRunUntilCancelled()
+    {
+        AtomicInteger runs = new AtomicInteger();
+        TimingWheel.Task task = this.wheel.scheduleRepeating(runs::incrementAndGet, 10, 5);
+
+        for (int step = 0; step < 30; step++)
+            this.advanceBy(1);
+        assertThat(runs.get()).isEqualTo(5);
+        assertThat(task.isDone()).isFalse();
+
+        task.cancel();
+        this.advanceBy(100);
+        assertThat(runs.get()).isEqualTo(5);
+        assertThat(this.wheel.size()).isZero();
+    }
+
+    @Test
+    public void advance_givenLateAdvance_thenShouldCatchUpMissedRuns()
+    {
+        AtomicInteger runs = new AtomicInteger();
+        this.wheel.scheduleRepeating(runs::incrementAndGet, 0, 10);
+
+        this.advanceBy(1);
+        this.advanceBy(1000);
+
+        assertThat(runs.get()).isEqualTo(101);
+    }
+
+    private void advanceBy(long delta)
+    {
+        this.time += delta;
+        this.wheel.advance();
+    }
+}
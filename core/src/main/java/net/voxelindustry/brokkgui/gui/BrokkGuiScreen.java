@@ -6,6 +6,8 @@ import fr.ourten.teabeans.value.BaseProperty;
 import fr.ourten.teabeans.value.IProperty;
 import net.voxelindustry.brokkgui.BrokkGuiPlatform;
 import net.voxelindustry.brokkgui.GuiFocusManager;
+import net.voxelindustry.brokkgui.animation.FrameClock;
+import net.voxelindustry.brokkgui.animation.TickScheduler;
 import net.voxelindustry.brokkgui.control.GuiFather;
 import net.voxelindustry.brokkgui.debug.DebugRenderer;
 import net.voxelindustry.brokkgui.event.WindowEvent;
@@ -19,19 +21,17 @@ import net.voxelindustry.brokkgui.panel.GuiPane;
 import net.voxelindustry.brokkgui.style.IStyleRoot;
 import net.voxelindustry.brokkgui.style.StylesheetManager;
 import net.voxelindustry.brokkgui.style.tree.StyleList;
+import net.voxelindustry.brokkgui.util.TimingWheel;
 import net.voxelindustry.hermod.EventDispatcher;
 import net.voxelindustry.hermod.EventHandler;
 import net.voxelindustry.hermod.EventType;
 import net.voxelindustry.hermod.HermodEvent;
 import net.voxelindustry.hermod.IEventEmitter;
-import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.PriorityQueue;
 import java.util.concurrent.TimeUnit;
 
 public class BrokkGuiScreen implements IGuiWindow, IStyleRoot, IEventEmitter
@@ -60,7 +60,9 @@ public class BrokkGuiScreen implements IGuiWindow, IStyleRoot, IEventEmitter
 
     private int lastClickX, lastClickY;
 
-    private PriorityQueue<Pair<Runnable, Long>> tasksQueue;
+    private final TimingWheel timedTasks;
+    private final TimingWheel tickTasks;
+    private long              tickCount;
 
     protected boolean isDebugged;
 
@@ -91,8 +93,8 @@ public class BrokkGuiScreen implements IGuiWindow, IStyleRoot, IEventEmitter
         this.lastClickX = -1;
         this.lastClickY = -1;
 
-        Comparator<Pair<Runnable, Long>> comparator = Comparator.comparingLong(Pair::getValue);
-        this.tasksQueue = new PriorityQueue<>(comparator.reversed());
+        this.timedTasks = new TimingWheel(() -> this.getFrameClock().getFrameMillis());
+        this.tickTasks = new TimingWheel(() -> this.tickCount);
 
         this.setMainPanel(new GuiPane());
     }
@@ -159,10 +161,30 @@ public class BrokkGuiScreen implements IGuiWindow, IStyleRoot, IEventEmitter
 
     @Override
     public void render(int mouseX, int mouseY, RenderTarget target, RenderPass... passes)
+    {
+        // Everything rendered reads the time of the frame started by the main target, the time moves again once out
+        if (target == RenderTarget.MAIN)
+            this.getFrameClock().nextFrame();
+        else
+            this.getFrameClock().enterFrame();
+
+        try
+        {
+            this.renderTarget(mouseX, mouseY, target, passes);
+        } finally
+        {
+            this.getFrameClock().exitFrame();
+        }
+    }
+
+    private void renderTarget(int mouseX, int mouseY, RenderTarget target, RenderPass... passes)
     {
         switch (target)
         {
             case MAIN:
+                if (BrokkGuiPlatform.getInstance().getTickSender() instanceof TickScheduler)
+                    ((TickScheduler) BrokkGuiPlatform.getInstance().getTickSender()).tick();
+
                 for (RenderPass pass : passes)
                 {
                     this.renderer.beginPass(pass);
@@ -227,13 +249,10 @@ public class BrokkGuiScreen implements IGuiWindow, IStyleRoot, IEventEmitter
     @Override
     public void tick()
     {
-        if (tasksQueue.isEmpty())
-            return;
-
-        long currentMillis = System.currentTimeMillis();
+        this.tickCount++;
 
-        while (tasksQueue.peek().getValue() <= currentMillis)
-            tasksQueue.poll().getLeft().run();
+        this.tickTasks.advance(this.tickCount);
+        this.timedTasks.advance();
     }
 
     @Override
@@ -446,14 +465,81 @@ public class BrokkGuiScreen implements IGuiWindow, IStyleRoot, IEventEmitter
         this.mainPanel.setWindow(this);
     }
 
+    /**
+     * Run a task on the first tick after the given delay.
+     *
+     * @see #schedule(Runnable, long, TimeUnit) to keep a handle on the task
+     */
     public void runLater(Runnable runnable, long time, TimeUnit unit)
     {
-        this.tasksQueue.add(Pair.of(runnable, System.currentTimeMillis() + unit.toMillis(time)));
+        this.schedule(runnable, time, unit);
     }
 
+    /**
+     * Run a task after the given count of ticks of this screen.
+     *
+     * @see #scheduleTicks(Runnable, int) to keep a handle on the task
+     */
     public void runLater(Runnable runnable, int ticks)
     {
-        this.runLater(runnable, ticks * 50, TimeUnit.MILLISECONDS);
+        this.scheduleTicks(runnable, ticks);
+    }
+
+    /**
+     * Run a task on the first tick after the given delay.
+     *
+     * @return a handle to cancel the task
+     */
+    public TimingWheel.Task schedule(Runnable runnable, long time, TimeUnit unit)
+    {
+        return this.timedTasks.schedule(runnable, unit.toMillis(time));
+    }
+
+    /**
+     * Run a task after the given count of ticks of this screen.
+     *
+     * @return a handle to cancel the task
+     */
+    public TimingWheel.Task scheduleTicks(Runnable runnable, int ticks)
+    {
+        return this.tickTasks.schedule(runnable, ticks);
+    }
+
+    /**
+     * Run a task on the first tick after the given delay, then each time the period elapsed until it is cancelled.
+     *
+     * @return a handle to cancel the task
+     */
+    public TimingWheel.Task runRepeating(Runnable runnable, long delay, long period, TimeUnit unit)
+    {
+        return this.timedTasks.scheduleRepeating(runnable, unit.toMillis(delay), unit.toMillis(period));
+    }
+
+    /**
+     * Run a task after the given count of ticks of this screen, then each time the period in ticks elapsed until it is
+     * cancelled.
+     *
+     * @return a handle to cancel the task
+     */
+    public TimingWheel.Task runRepeating(Runnable runnable, int delayTicks, int periodTicks)
+    {
+        return this.tickTasks.scheduleRepeating(runnable, delayTicks, periodTicks);
+    }
+
+    /**
+     * @return the clock of the platform, sampled by this screen at the start of each frame
+     */
+    public FrameClock getFrameClock()
+    {
+        return BrokkGuiPlatform.getInstance().getFrameClock();
+    }
+
+    /**
+     * @return the count of ticks received by this screen
+     */
+    public long getTickCount()
+    {
+        return this.tickCount;
     }
 
     public BaseProperty<Float> getWidthProperty()
@@ -1,48 +1,216 @@
 package net.voxelindustry.brokkgui.behavior;
 
+import fr.ourten.teabeans.listener.ValueInvalidationListener;
 import fr.ourten.teabeans.value.BaseListProperty;
+import net.voxelindustry.brokkgui.BrokkGuiPlatform;
 import net.voxelindustry.brokkgui.component.GuiNode;
+import net.voxelindustry.brokkgui.data.RectAxis;
 import net.voxelindustry.brokkgui.element.GuiListCell;
 import net.voxelindustry.brokkgui.element.GuiListView;
 import net.voxelindustry.brokkgui.event.ClickEvent;
+import net.voxelindustry.brokkgui.event.KeyEvent;
+import net.voxelindustry.brokkgui.internal.IKeyboardUtil;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 public class GuiListViewBehavior<T> extends GuiScrollableBehavior<GuiListView<T>>
 {
+    private final IKeyboardUtil keyboard = BrokkGuiPlatform.getInstance().getKeyboardUtil();
+
     private Supplier<BaseListProperty<GuiNode>> childrenSupplier;
 
+    /**
+     * Items and cells currently mapped when not virtualized, in the order of the elements.
+     */
+    private final List<T>              mappedItems;
+    private final List<GuiListCell<T>> mappedCells;
+
+    /**
+     * Cells of a virtualized ListView, the cell displaying the index i is held at i % size.
+     */
+    private final List<GuiListCell<T>>  virtualCells;
+    private final Deque<GuiListCell<T>> recycledCells;
+
     public GuiListViewBehavior(final GuiListView<T> model, Supplier<BaseListProperty<GuiNode>> childrenSupplier)
     {
         super(model);
 
         this.childrenSupplier = childrenSupplier;
+        this.mappedItems = new ArrayList<>();
+        this.mappedCells = new ArrayList<>();
+        this.virtualCells = new ArrayList<>();
+        this.recycledCells = new ArrayDeque<>();
+
+        this.updateCells();
+        this.getModel().getElementsProperty().addListener(obs ->
+        {
+            if (getModel().isVirtualized())
+                getModel().requestLayout();
+            else
+                this.updateCells();
+        });
+        this.getModel().getVirtualizedProperty().addListener(obs ->
+        {
+            this.removeAllCells();
+            this.updateCells();
+            getModel().requestLayout();
+        });
 
-        this.mapAllCells();
-        this.getModel().getElementsProperty()
-                .addListener(obs -> this.mapAllCells());
+        ValueInvalidationListener viewportListener = obs ->
+        {
+            if (getModel().isVirtualized())
+                getModel().requestLayout();
+        };
+        this.getModel().getScrollXProperty().addListener(viewportListener);
+        this.getModel().getScrollYProperty().addListener(viewportListener);
+        this.getModel().getCellWidthProperty().addListener(viewportListener);
+        this.getModel().getCellHeightProperty().addListener(viewportListener);
+        this.getModel().getCellXPaddingProperty().addListener(viewportListener);
+        this.getModel().getCellYPaddingProperty().addListener(viewportListener);
+        this.getModel().getOrientationProperty().addListener(viewportListener);
+        this.getModel().getOverscanProperty().addListener(viewportListener);
 
         this.getModel().getEventDispatcher().addHandler(ClickEvent.TYPE, this::onClick);
+        this.getModel().getEventDispatcher().addHandler(KeyEvent.PRESS, this::onKeyPressed);
     }
 
     /**
-     * Used to transfer ClickEvent to the right node inside the ListView. If the
-     * list does not contains any GuiListCell it's forwarded to the placeholder
-     * node.
+     * Used to select the cell under the mouse. The index is computed from the mouse position, the scroll offset and
+     * the fixed cell size, without looking at the cells themselves.
      *
      * @param e
      */
     private void onClick(final ClickEvent e)
     {
-        if (!this.childrenSupplier.get().isEmpty())
-        {
-            this.childrenSupplier.get().getModifiableValue().stream()
-                    .filter(cell -> cell instanceof GuiListCell && cell.isPointInside(e.getMouseX(), e.getMouseY()))
-                    .findFirst()
-                    .ifPresent(guiNode -> this.selectCell(this.childrenSupplier.get().indexOf(guiNode)));
-        }
+        int index = this.getIndexAt(e.getMouseX(), e.getMouseY());
+
+        if (index != -1)
+            this.selectCell(index);
+    }
+
+    private void onKeyPressed(final KeyEvent.Press event)
+    {
+        int size = this.getModel().getElements().size();
+        if (size == 0)
+            return;
+
+        boolean vertical = this.getModel().getOrientation() == RectAxis.VERTICAL;
+        int current = this.getModel().getSelectedCellIndex();
+        int key = event.getKey();
+        int target;
+
+        if (key == this.keyboard.getKeyCode(vertical ? "UP" : "LEFT"))
+            target = current - 1;
+        else if (key == this.keyboard.getKeyCode(vertical ? "DOWN" : "RIGHT"))
+            target = current + 1;
+        else if (key == this.keyboard.getKeyCode("PRIOR"))
+            target = current - this.getPageSize();
+        else if (key == this.keyboard.getKeyCode("NEXT"))
+            target = current + this.getPageSize();
+        else if (key == this.keyboard.getKeyCode("HOME"))
+            target = 0;
+        else if (key == this.keyboard.getKeyCode("END"))
+            target = size - 1;
+        else
+            return;
+
+        target = Math.max(0, Math.min(size - 1, target));
+        if (target == current)
+            return;
+
+        this.selectCell(target);
+        this.scrollToCell(target);
+    }
+
+    /**
+     * @return the index of the element whose cell contains the given point, -1 if the point is outside of any cell
+     */
+    public int getIndexAt(float pointX, float pointY)
+    {
+        GuiListView<T> model = this.getModel();
+        boolean vertical = model.getOrientation() == RectAxis.VERTICAL;
+
+        float cellSize = vertical ? model.getCellHeight() : model.getCellWidth();
+        float crossSize = vertical ? model.getCellWidth() : model.getCellHeight();
+        float stride = this.getCellStride();
+        if (stride <= 0)
+            return -1;
+
+        float local = vertical ? pointY - model.getyPos() - model.getScrollY() :
+                pointX - model.getxPos() - model.getScrollX() - this.getHorizontalCellOffset();
+        float crossLocal = vertical ? pointX - model.getxPos() - model.getScrollX() :
+                pointY - model.getyPos() - model.getScrollY();
+
+        if (local < 0 || crossLocal < 0 || crossLocal > crossSize)
+            return -1;
+
+        int index = (int) (local / stride);
+        if (index >= model.getElements().size() || local - index * stride > cellSize)
+            return -1;
+        return index;
+    }
+
+    /**
+     * Scroll the least needed for the cell of the given index to be fully in the viewport.
+     */
+    public void scrollToCell(int index)
+    {
+        GuiListView<T> model = this.getModel();
+        boolean vertical = model.getOrientation() == RectAxis.VERTICAL;
+
+        float cellSize = vertical ? model.getCellHeight() : model.getCellWidth();
+        float viewport = vertical ? model.getHeight() : model.getWidth();
+        float cellStart = index * this.getCellStride() + (vertical ? 0 : this.getHorizontalCellOffset());
+        float offset = vertical ? -model.getScrollY() : -model.getScrollX();
+
+        if (cellStart < offset)
+            offset = cellStart;
+        else if (cellStart + cellSize > offset + viewport)
+            offset = cellStart + cellSize - viewport;
+        else
+            return;
+
+        if (vertical)
+            model.setScrollY(-offset);
+        else
+            model.setScrollX(-offset);
+    }
+
+    private float getCellStride()
+    {
+        if (this.getModel().getOrientation() == RectAxis.VERTICAL)
+            return this.getModel().getCellHeight() + this.getModel().getCellYPadding();
+        return this.getModel().getCellWidth() + this.getModel().getCellXPadding();
+    }
+
+    /**
+     * Horizontal cells are shifted by half their width, see the position bindings of {@link GuiListCell}
+     */
+    private float getHorizontalCellOffset()
+    {
+        return this.getModel().getCellWidth() / 2;
+    }
+
+    private int getPageSize()
+    {
+        float viewport = this.getModel().getOrientation() == RectAxis.VERTICAL ?
+                this.getModel().getHeight() : this.getModel().getWidth();
+        float stride = this.getCellStride();
+
+        if (stride <= 0)
+            return 1;
+        return Math.max(1, (int) (viewport / stride));
     }
 
     /**
@@ -56,7 +224,115 @@ public class GuiListViewBehavior<T> extends GuiScrollableBehavior<GuiListView<T>
         this.getModel().setSelectedCellIndex(cellIndex);
     }
 
-    private void mapAllCells()
+    /**
+     * Bring the cells in line with the elements of the ListView.
+     * <p>
+     * The changed range is found by comparing by identity the mapped items with the elements from both ends. Cells
+     * outside of this range are kept and only get their index shifted. Inside of it cells of items still present are
+     * moved, remaining cells are given new items through the cell updater and only the missing ones are created.
+     */
+    private void updateCells()
+    {
+        if (getModel().isVirtualized())
+            return;
+
+        List<T> elements = this.getModel().getElements();
+        int oldSize = this.mappedItems.size();
+        int newSize = elements.size();
+
+        int prefix = 0;
+        while (prefix < oldSize && prefix < newSize && this.mappedItems.get(prefix) == elements.get(prefix))
+            prefix++;
+
+        int suffix = 0;
+        while (suffix < oldSize - prefix && suffix < newSize - prefix
+                && this.mappedItems.get(oldSize - 1 - suffix) == elements.get(newSize - 1 - suffix))
+            suffix++;
+
+        int oldEnd = oldSize - suffix;
+        int newEnd = newSize - suffix;
+        if (prefix == oldEnd && prefix == newEnd)
+            return;
+
+        Map<T, Deque<GuiListCell<T>>> cellsByItem = new IdentityHashMap<>();
+        for (int index = prefix; index < oldEnd; index++)
+            cellsByItem.computeIfAbsent(this.mappedItems.get(index), item -> new ArrayDeque<>(1))
+                    .add(this.mappedCells.get(index));
+
+        List<GuiListCell<T>> changedCells = new ArrayList<>(newEnd - prefix);
+        for (int index = prefix; index < newEnd; index++)
+        {
+            Deque<GuiListCell<T>> sameItemCells = cellsByItem.get(elements.get(index));
+            changedCells.add(sameItemCells == null ? null : sameItemCells.poll());
+        }
+
+        Deque<GuiListCell<T>> unusedCells = new ArrayDeque<>();
+        cellsByItem.values().forEach(unusedCells::addAll);
+
+        BiConsumer<GuiListCell<T>, T> updater = this.getModel().getCellUpdater();
+        List<GuiNode> createdCells = new ArrayList<>();
+        for (int index = prefix; index < newEnd; index++)
+        {
+            if (changedCells.get(index - prefix) != null)
+                continue;
+
+            T item = elements.get(index);
+            GuiListCell<T> cell;
+            if (updater != null && !unusedCells.isEmpty())
+            {
+                cell = unusedCells.poll();
+                updater.accept(cell, item);
+            }
+            else
+            {
+                cell = this.getModel().getCellFactory().apply(item);
+                cell.setFather(this.getModel());
+                createdCells.add(cell);
+            }
+            changedCells.set(index - prefix, cell);
+        }
+
+        this.removeCells(unusedCells);
+
+        this.mappedItems.subList(prefix, oldEnd).clear();
+        this.mappedItems.addAll(prefix, elements.subList(prefix, newEnd));
+        this.mappedCells.subList(prefix, oldEnd).clear();
+        this.mappedCells.addAll(prefix, changedCells);
+
+        int shiftEnd = oldEnd == newEnd ? newEnd : newSize;
+        for (int index = prefix; index < shiftEnd; index++)
+            this.mappedCells.get(index).setIndex(index);
+
+        // Add and trigger the listeners to refresh the style of the cell
+        if (!createdCells.isEmpty())
+            this.childrenSupplier.get().addAll(createdCells);
+    }
+
+    private void removeCells(Collection<GuiListCell<T>> cells)
+    {
+        if (cells.isEmpty())
+            return;
+
+        Set<GuiNode> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        removed.addAll(cells);
+
+        // Remove with one iteration only
+        Iterator<GuiNode> childrenIterator = this.childrenSupplier.get().getModifiableValue().iterator();
+        while (childrenIterator.hasNext())
+        {
+            GuiNode next = childrenIterator.next();
+
+            if (removed.contains(next))
+            {
+                this.getModel().removeStyleChild(next);
+                next.setFather(null);
+                childrenIterator.remove();
+            }
+        }
+        this.getModel().requestLayout();
+    }
+
+    private void removeAllCells()
     {
         // Remove without triggering the listeners and with one iteration only
         Iterator<GuiNode> childrenIterator = this.childrenSupplier.get().getModifiableValue().iterator();
@@ -71,11 +347,120 @@ public class GuiListViewBehavior<T> extends GuiScrollableBehavior<GuiListView<T>
                 childrenIterator.remove();
             }
         }
+        this.mappedItems.clear();
+        this.mappedCells.clear();
+        this.virtualCells.clear();
+        this.recycledCells.clear();
+    }
 
-        // Add and trigger the listeners to refresh the style of the cell
-        this.childrenSupplier.get().addAll(
-                this.getModel().getElements().stream().map(this.getModel().getCellFactory())
-                        .peek(cell -> cell.setFather(this.getModel()))
-                        .collect(Collectors.toList()));
+    ////////////////////
+    // VIRTUALIZATION //
+    ////////////////////
+
+    /**
+     * Assign the items intersecting the viewport, plus the overscan, to the virtual cells.
+     * Only the cells whose index changed are updated. Called by the skin on each layout pass.
+     */
+    public void layoutVirtualCells()
+    {
+        if (!getModel().isVirtualized())
+            return;
+
+        List<T> elements = getModel().getElements();
+        boolean vertical = getModel().getOrientation() == RectAxis.VERTICAL;
+
+        float stride = vertical ? getModel().getCellHeight() + getModel().getCellYPadding() :
+                getModel().getCellWidth() + getModel().getCellXPadding();
+        float offset = vertical ? -getModel().getScrollY() : -getModel().getScrollX();
+        float viewport = vertical ? getModel().getHeight() : getModel().getWidth();
+        int overscan = Math.max(0, getModel().getOverscan());
+
+        int first = 0;
+        int last = -1;
+        int capacity = 0;
+        if (!elements.isEmpty() && stride > 0)
+        {
+            first = Math.max(0, (int) Math.floor(offset / stride) - overscan);
+            last = Math.min(elements.size() - 1, (int) Math.floor((offset + viewport) / stride) + overscan);
+            capacity = Math.min(elements.size(), (int) Math.ceil(viewport / stride) + 1 + 2 * overscan);
+        }
+
+        this.resizeVirtualCells(capacity);
+
+        for (int slot = 0; slot < capacity; slot++)
+        {
+            int index = first + Math.floorMod(slot - first, capacity);
+
+            if (index > last)
+                this.hideVirtualCell(slot);
+            else
+                this.bindVirtualCell(slot, index, elements.get(index));
+        }
+
+        // Leftovers of a shrunk viewport are not needed anymore
+        while (!this.recycledCells.isEmpty())
+        {
+            GuiListCell<T> cell = this.recycledCells.pop();
+            this.childrenSupplier.get().remove(cell);
+        }
+    }
+
+    private void resizeVirtualCells(int capacity)
+    {
+        if (this.virtualCells.size() == capacity)
+            return;
+
+        // The index to slot mapping changes with the capacity, every cell is reassigned
+        for (GuiListCell<T> cell : this.virtualCells)
+        {
+            if (cell != null)
+                this.recycledCells.push(cell);
+        }
+        this.virtualCells.clear();
+
+        for (int slot = 0; slot < capacity; slot++)
+            this.virtualCells.add(null);
+    }
+
+    private void bindVirtualCell(int slot, int index, T item)
+    {
+        GuiListCell<T> cell = this.virtualCells.get(slot);
+
+        if (cell != null && cell.getIndexProperty().getValue() == index && cell.getItem() == item && cell.isVisible())
+            return;
+
+        BiConsumer<GuiListCell<T>, T> updater = getModel().getCellUpdater();
+
+        if (cell == null && updater != null && !this.recycledCells.isEmpty())
+            cell = this.recycledCells.pop();
+
+        if (cell != null && cell.getItem() != item)
+        {
+            if (updater != null)
+                updater.accept(cell, item);
+            else
+            {
+                this.childrenSupplier.get().remove(cell);
+                cell = null;
+            }
+        }
+
+        if (cell == null)
+        {
+            cell = getModel().getCellFactory().apply(item);
+            this.childrenSupplier.get().add(cell);
+        }
+
+        cell.setIndex(index);
+        cell.setVisible(true);
+        this.virtualCells.set(slot, cell);
+    }
+
+    private void hideVirtualCell(int slot)
+    {
+        GuiListCell<T> cell = this.virtualCells.get(slot);
+
+        if (cell != null && cell.isVisible())
+            cell.setVisible(false);
     }
-}
\ No newline at end of file
+}
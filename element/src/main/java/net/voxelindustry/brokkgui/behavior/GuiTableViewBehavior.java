@@ -0,0 +1,277 @@
+package net.voxelindustry.brokkgui.behavior;
+
+import fr.ourten.teabeans.listener.ValueInvalidationListener;
+import fr.ourten.teabeans.value.BaseListProperty;
+import net.voxelindustry.brokkgui.BrokkGuiPlatform;
+import net.voxelindustry.brokkgui.component.GuiNode;
+import net.voxelindustry.brokkgui.element.GuiTableCell;
+import net.voxelindustry.brokkgui.element.GuiTableColumn;
+import net.voxelindustry.brokkgui.element.GuiTableView;
+import net.voxelindustry.brokkgui.event.ClickEvent;
+import net.voxelindustry.brokkgui.event.KeyEvent;
+import net.voxelindustry.brokkgui.internal.IKeyboardUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class GuiTableViewBehavior<T> extends GuiScrollableBehavior<GuiTableView<T>>
+{
+    private final IKeyboardUtil keyboard = BrokkGuiPlatform.getInstance().getKeyboardUtil();
+
+    private Supplier<BaseListProperty<GuiNode>> childrenSupplier;
+
+    /**
+     * Cells of the TableView, the cell displaying the row r and the column c is held at
+     * (r % rowCapacity) * columnCapacity + c % columnCapacity.
+     */
+    private final List<GuiTableCell<T>> cells;
+
+    public GuiTableViewBehavior(final GuiTableView<T> model, Supplier<BaseListProperty<GuiNode>> childrenSupplier)
+    {
+        super(model);
+
+        this.childrenSupplier = childrenSupplier;
+        this.cells = new ArrayList<>();
+
+        ValueInvalidationListener viewportListener = obs -> getModel().requestLayout();
+        this.getModel().getScrollXProperty().addListener(viewportListener);
+        this.getModel().getScrollYProperty().addListener(viewportListener);
+        this.getModel().getWidthProperty().addListener(viewportListener);
+        this.getModel().getHeightProperty().addListener(viewportListener);
+        this.getModel().getCellHeightProperty().addListener(viewportListener);
+        this.getModel().getHeaderHeightProperty().addListener(viewportListener);
+        this.getModel().getOverscanProperty().addListener(viewportListener);
+        this.getModel().getSelectedItemProperty().addListener(viewportListener);
+
+        // The rows displayed by the cells are no longer valid, they are all updated again
+        ValueInvalidationListener rowsListener = obs ->
+        {
+            this.cells.forEach(cell -> cell.setItem(null));
+            getModel().requestLayout();
+        };
+        this.getModel().getItemsProperty().addListener(rowsListener);
+        this.getModel().getFilterProperty().addListener(rowsListener);
+        this.getModel().getSortColumnProperty().addListener(rowsListener);
+        this.getModel().getSortAscendingProperty().addListener(rowsListener);
+        this.getModel().getColumnsProperty().addListener(obs ->
+        {
+            this.cells.forEach(cell -> cell.setColumn(null));
+            getModel().requestLayout();
+        });
+
+        this.getModel().getEventDispatcher().addHandler(ClickEvent.TYPE, this::onClick);
+        this.getModel().getEventDispatcher().addHandler(KeyEvent.PRESS, this::onKeyPressed);
+    }
+
+    /**
+     * Sort by the column of a clicked header, or select the clicked row.
+     *
+     * @param e
+     */
+    private void onClick(final ClickEvent e)
+    {
+        GuiTableView<T> model = this.getModel();
+
+        float localX = e.getMouseX() - model.getxPos() - model.getxTranslate();
+        float localY = e.getMouseY() - model.getyPos() - model.getyTranslate();
+        if (localX < 0 || localX > model.getWidth() || localY < 0)
+            return;
+
+        if (localY < model.getHeaderHeight())
+        {
+            int column = this.getColumnAt(e.getMouseX());
+            if (column != -1)
+                model.toggleSort(model.getColumns().get(column));
+            return;
+        }
+
+        int row = this.getRowAt(e.getMouseY());
+        if (row != -1)
+            model.setSelectedItem(model.getRowItem(row));
+    }
+
+    private void onKeyPressed(final KeyEvent.Press event)
+    {
+        GuiTableView<T> model = this.getModel();
+        int rowCount = model.getRowCount();
+        if (rowCount == 0)
+            return;
+
+        int current = model.getSelectedItem() == null ? -1 : model.getRowIndex(model.getSelectedItem());
+        int key = event.getKey();
+        int target;
+
+        if (key == this.keyboard.getKeyCode("UP"))
+            target = current - 1;
+        else if (key == this.keyboard.getKeyCode("DOWN"))
+            target = current + 1;
+        else if (key == this.keyboard.getKeyCode("PRIOR"))
+            target = current - this.getPageSize();
+        else if (key == this.keyboard.getKeyCode("NEXT"))
+            target = current + this.getPageSize();
+        else if (key == this.keyboard.getKeyCode("HOME"))
+            target = 0;
+        else if (key == this.keyboard.getKeyCode("END"))
+            target = rowCount - 1;
+        else
+            return;
+
+        target = Math.max(0, Math.min(rowCount - 1, target));
+        if (target == current)
+            return;
+
+        model.setSelectedItem(model.getRowItem(target));
+        model.scrollToRow(target);
+    }
+
+    /**
+     * @return the row of the view under the given height, computed from the scroll offset and the fixed cell height.
+     * -1 if the point is not on a row.
+     */
+    public int getRowAt(float pointY)
+    {
+        GuiTableView<T> model = this.getModel();
+
+        float localY = pointY - model.getyPos() - model.getyTranslate() - model.getHeaderHeight()
+                - model.getScrollY();
+        if (localY < 0 || model.getCellHeight() <= 0)
+            return -1;
+
+        int row = (int) (localY / model.getCellHeight());
+        return row < model.getRowCount() ? row : -1;
+    }
+
+    /**
+     * @return the column under the given abscissa, -1 if the point is past the last column.
+     */
+    public int getColumnAt(float pointX)
+    {
+        GuiTableView<T> model = this.getModel();
+
+        float offset = pointX - model.getxPos() - model.getxTranslate() - model.getScrollX();
+        if (offset < 0 || offset >= model.getColumnsWidth())
+            return -1;
+        return model.getColumnAt(offset);
+    }
+
+    private int getPageSize()
+    {
+        GuiTableView<T> model = this.getModel();
+
+        if (model.getCellHeight() <= 0)
+            return 1;
+        return Math.max(1, (int) ((model.getHeight() - model.getHeaderHeight()) / model.getCellHeight()));
+    }
+
+    ////////////////////
+    // VIRTUALIZATION //
+    ////////////////////
+
+    /**
+     * Assign the rows and columns intersecting the viewport, plus the overscan, to the cells.
+     * Only the cells whose row or column changed are updated. Called by the skin on each layout pass.
+     */
+    public void layoutVirtualCells()
+    {
+        GuiTableView<T> model = this.getModel();
+        List<GuiTableColumn<T, ?>> columns = model.getColumns();
+        int rowCount = model.getRowCount();
+        float cellHeight = model.getCellHeight();
+        int overscan = Math.max(0, model.getOverscan());
+
+        int firstRow = 0;
+        int lastRow = -1;
+        int rowCapacity = 0;
+        float viewportHeight = Math.max(0, model.getHeight() - model.getHeaderHeight());
+        if (rowCount != 0 && cellHeight > 0)
+        {
+            float offset = -model.getScrollY();
+
+            firstRow = Math.max(0, (int) Math.floor(offset / cellHeight) - overscan);
+            lastRow = Math.min(rowCount - 1, (int) Math.floor((offset + viewportHeight) / cellHeight) + overscan);
+            rowCapacity = Math.min(rowCount, (int) Math.ceil(viewportHeight / cellHeight) + 1 + 2 * overscan);
+        }
+
+        int firstColumn = 0;
+        int lastColumn = -1;
+        int columnCapacity = 0;
+        if (!columns.isEmpty() && model.getColumnsWidth() > 0)
+        {
+            float offset = -model.getScrollX();
+
+            firstColumn = Math.max(0, model.getColumnAt(offset) - overscan);
+            lastColumn = Math.min(columns.size() - 1, model.getColumnAt(offset + model.getWidth()) + overscan);
+
+            // Column widths differ, the capacity is the widest range any scroll can show so scrolling keeps it
+            columnCapacity = Math.min(columns.size(), model.getMaxVisibleColumns(model.getWidth()) + 2 * overscan);
+            columnCapacity = Math.max(columnCapacity, lastColumn - firstColumn + 1);
+        }
+
+        this.resizeCells(rowCapacity, columnCapacity);
+
+        for (int slot = 0; slot < this.cells.size(); slot++)
+        {
+            GuiTableCell<T> cell = this.cells.get(slot);
+            int row = firstRow + Math.floorMod(slot / columnCapacity - firstRow, rowCapacity);
+            int column = firstColumn + Math.floorMod(slot % columnCapacity - firstColumn, columnCapacity);
+
+            if (row > lastRow || column > lastColumn)
+            {
+                if (cell.isVisible())
+                    cell.setVisible(false);
+                continue;
+            }
+
+            T item = model.getRowItem(row);
+            GuiTableColumn<T, ?> tableColumn = columns.get(column);
+            if (cell.getColumn() != tableColumn)
+            {
+                // A graphic made for another column may not be understood by the updater of the new one
+                if (cell.getColumn() != null && cell.getColumn().getCellUpdater() != tableColumn.getCellUpdater())
+                    cell.setGraphic(null);
+                cell.setColumn(tableColumn);
+                tableColumn.updateCell(cell, item);
+                cell.setItem(item);
+            }
+            else if (cell.getItem() != item)
+            {
+                tableColumn.updateCell(cell, item);
+                cell.setItem(item);
+            }
+            cell.setRowIndex(row);
+            cell.setColumnOffset(model.getColumnStart(column));
+            this.updateSelectedState(cell, item == model.getSelectedItem());
+
+            if (!cell.isVisible())
+                cell.setVisible(true);
+        }
+    }
+
+    private void resizeCells(int rowCapacity, int columnCapacity)
+    {
+        int capacity = rowCapacity * columnCapacity;
+
+        // Cells are kept and only reassigned when the capacity changes
+        while (this.cells.size() > capacity)
+            this.childrenSupplier.get().remove(this.cells.remove(this.cells.size() - 1));
+
+        while (this.cells.size() < capacity)
+        {
+            GuiTableCell<T> cell = new GuiTableCell<>(this.getModel());
+            this.cells.add(cell);
+            this.childrenSupplier.get().add(cell);
+        }
+    }
+
+    private void updateSelectedState(GuiTableCell<T> cell, boolean selected)
+    {
+        if (selected == cell.getActivePseudoClass().contains("selected"))
+            return;
+
+        if (selected)
+            cell.getActivePseudoClass().add("selected");
+        else
+            cell.getActivePseudoClass().remove("selected");
+    }
+}
@@ -0,0 +1,89 @@
+package net.voxelindustry.brokkgui.behavior;
+
+import net.voxelindustry.brokkgui.BrokkGuiPlatform;
+import net.voxelindustry.brokkgui.element.input.GuiTextArea;
+import net.voxelindustry.brokkgui.event.ClickEvent;
+import net.voxelindustry.brokkgui.event.KeyEvent;
+import net.voxelindustry.brokkgui.internal.IKeyboardUtil;
+import net.voxelindustry.brokkgui.skin.GuiTextAreaSkin;
+import net.voxelindustry.brokkgui.text.TextPosition;
+
+public class GuiTextAreaBehavior extends GuiScrollableBehavior<GuiTextArea>
+{
+    private final IKeyboardUtil keyboard = BrokkGuiPlatform.getInstance().getKeyboardUtil();
+
+    public GuiTextAreaBehavior(GuiTextArea model)
+    {
+        super(model);
+
+        this.getModel().getEventDispatcher().addHandler(KeyEvent.INPUT, this::onKeyTyped);
+        this.getModel().getEventDispatcher().addHandler(KeyEvent.PRESS, this::onKeyPressed);
+        this.getModel().getEventDispatcher().addHandler(ClickEvent.TYPE, this::onClick);
+    }
+
+    private void onKeyTyped(KeyEvent.Input event)
+    {
+        if (this.getModel().isEditable() && this.keyboard.isKeyValidChar(event.getCharacter()))
+            this.getModel().insertAtCaret(String.valueOf(event.getCharacter()));
+    }
+
+    private void onKeyPressed(KeyEvent.Press event)
+    {
+        GuiTextArea model = this.getModel();
+        int key = event.getKey();
+
+        if (key == this.keyboard.getKeyCode("RETURN") || key == this.keyboard.getKeyCode("NUMPADENTER"))
+        {
+            if (model.isEditable())
+                model.insertAtCaret("\n");
+        }
+        else if (key == this.keyboard.getKeyCode("BACK"))
+        {
+            if (model.isEditable())
+                model.deleteBeforeCaret();
+        }
+        else if (key == this.keyboard.getKeyCode("DELETE"))
+        {
+            if (model.isEditable())
+                model.deleteAfterCaret();
+        }
+        else if (key == this.keyboard.getKeyCode("V") && this.keyboard.isCtrlKeyDown())
+        {
+            if (model.isEditable())
+                model.insertAtCaret(this.keyboard.getClipboardString());
+        }
+        else if (key == this.keyboard.getKeyCode("LEFT"))
+        {
+            if (model.getCaretColumn() > 0)
+                model.setCaret(model.getCaretLine(), model.getCaretColumn() - 1);
+            else if (model.getCaretLine() > 0)
+                model.setCaret(model.getCaretLine() - 1, Integer.MAX_VALUE);
+        }
+        else if (key == this.keyboard.getKeyCode("RIGHT"))
+        {
+            if (model.getCaretColumn() < model.getTextLines().getLineLength(model.getCaretLine()))
+                model.setCaret(model.getCaretLine(), model.getCaretColumn() + 1);
+            else if (model.getCaretLine() < model.getTextLines().getLineCount() - 1)
+                model.setCaret(model.getCaretLine() + 1, 0);
+        }
+        else if (key == this.keyboard.getKeyCode("UP"))
+            model.setCaret(model.getCaretLine() - 1, model.getCaretColumn());
+        else if (key == this.keyboard.getKeyCode("DOWN"))
+            model.setCaret(model.getCaretLine() + 1, model.getCaretColumn());
+        else if (key == this.keyboard.getKeyCode("HOME"))
+            model.setCaret(this.keyboard.isCtrlKeyDown() ? 0 : model.getCaretLine(), 0);
+        else if (key == this.keyboard.getKeyCode("END"))
+            model.setCaret(this.keyboard.isCtrlKeyDown() ? Integer.MAX_VALUE : model.getCaretLine(),
+                    Integer.MAX_VALUE);
+    }
+
+    private void onClick(ClickEvent event)
+    {
+        if (!(this.getModel().getSkin() instanceof GuiTextAreaSkin))
+            return;
+
+        TextPosition position = ((GuiTextAreaSkin) this.getModel().getSkin())
+                .getPositionAt(event.getMouseX(), event.getMouseY());
+        this.getModel().setCaret(position.getLine(), position.getColumn());
+    }
+}
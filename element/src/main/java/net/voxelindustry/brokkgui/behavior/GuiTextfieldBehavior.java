@@ -27,21 +27,19 @@ public class GuiTextfieldBehavior<T extends GuiTextfield> extends GuiBehaviorBas
 
     protected void onKeyTyped(KeyEvent.Input event)
     {
-        String oldText = this.getModel().getText();
+        String oldText = this.getTextForEvent();
 
         if (this.getModel().isEditable()
                 && BrokkGuiPlatform.getInstance().getKeyboardUtil().isKeyValidChar(event.getCharacter()))
         {
             this.appendTextToCursor(String.valueOf(event.getCharacter()));
-
-            this.getModel().getEventDispatcher().dispatchEvent(TextTypedEvent.TYPE,
-                    new TextTypedEvent(this.getModel(), oldText, this.getModel().getText()));
+            this.dispatchTextTyped(oldText);
         }
     }
 
     protected void onKeyPressed(KeyEvent.Press event)
     {
-        String oldText = this.getModel().getText();
+        String oldText = this.getTextForEvent();
         boolean contentChanged = false;
 
         if (event.getKey() == this.keyboard.getKeyCode("DELETE"))
@@ -85,6 +83,24 @@ public class GuiTextfieldBehavior<T extends GuiTextfield> extends GuiBehaviorBas
         }
 
         if (contentChanged)
+            this.dispatchTextTyped(oldText);
+    }
+
+    /**
+     * The whole text is only built for the typed event when a handler listens to it, edits alone do not need it.
+     *
+     * @return the current text if a TextTypedEvent handler is set, null otherwise
+     */
+    private String getTextForEvent()
+    {
+        if (this.getModel().getOnTextTyped() == null)
+            return null;
+        return this.getModel().getText();
+    }
+
+    private void dispatchTextTyped(String oldText)
+    {
+        if (oldText != null)
             this.getModel().getEventDispatcher().dispatchEvent(TextTypedEvent.TYPE,
                     new TextTypedEvent(this.getModel(), oldText, this.getModel().getText()));
     }
@@ -96,19 +112,15 @@ public class GuiTextfieldBehavior<T extends GuiTextfield> extends GuiBehaviorBas
      */
     protected boolean deleteFromCursor()
     {
-        if (this.getModel().getCursorPos() == 0 || this.getModel().getText().length() == 0)
+        if (this.getModel().getCursorPos() == 0 || this.getModel().getTextBuffer().length() == 0)
         {
             this.getModel().setCursorPos(0);
             return false;
         }
-        String result = this.getModel().getText();
-        final String temp = this.getModel().getText().length() > this.getModel().getCursorPos() ? this.getModel()
-                .getText().substring(this.getModel().getCursorPos()) : "";
-
-        result = result.substring(0, this.getModel().getCursorPos() - 1);
-        result += temp;
-        this.getModel().setText(result);
-        this.getModel().setCursorPos(this.getModel().getCursorPos() - 1);
+        int cursorPos = this.getModel().getCursorPos();
+
+        this.getModel().deleteText(cursorPos - 1, cursorPos);
+        this.getModel().setCursorPos(cursorPos - 1);
         return true;
     }
 
@@ -119,50 +131,40 @@ public class GuiTextfieldBehavior<T extends GuiTextfield> extends GuiBehaviorBas
      */
     protected boolean deleteAfterCursor()
     {
-        if (this.getModel().getCursorPos() == this.getModel().getText().length()
-                || this.getModel().getText().length() == 0)
+        if (this.getModel().getCursorPos() == this.getModel().getTextBuffer().length()
+                || this.getModel().getTextBuffer().length() == 0)
             return false;
-        String result = this.getModel().getText();
-        final String temp = this.getModel().getText().substring(this.getModel().getCursorPos() + 1);
-
-        result = result.substring(0, this.getModel().getCursorPos());
-        result += temp;
-        this.getModel().setText(result);
+        this.getModel().deleteText(this.getModel().getCursorPos(), this.getModel().getCursorPos() + 1);
         return true;
     }
 
     protected void appendTextToCursor(String toAppend)
     {
+        int length = this.getModel().getTextBuffer().length();
         if (this.getModel().getMaxTextLength() >= 0
-                && this.getModel().getText().length() + toAppend.length() <= this.getModel().getMaxTextLength())
-            toAppend = toAppend.substring(0,
-                    this.getModel().getText().length() - this.getModel().getMaxTextLength() < 0 ? 0
-                            : this.getModel().getText().length() - this.getModel().getMaxTextLength());
+                && length + toAppend.length() > this.getModel().getMaxTextLength())
+            toAppend = toAppend.substring(0, Math.max(0, this.getModel().getMaxTextLength() - length));
 
-        if (!toAppend.equals(""))
+        if (!toAppend.isEmpty())
         {
-            String result = this.getModel().getText();
-            String temp = this.getModel().getText().substring(this.getModel().getCursorPos());
-
-            result = result.substring(0, this.getModel().getCursorPos());
-            result += toAppend;
-            result += temp;
-            this.getModel().setText(result);
-            this.getModel().setCursorPos(this.getModel().getCursorPos() + toAppend.length());
+            int cursorPos = this.getModel().getCursorPos();
+
+            this.getModel().insertText(cursorPos, toAppend);
+            this.getModel().setCursorPos(cursorPos + toAppend.length());
         }
     }
 
     protected int previousWordPosition()
     {
-        String textBeforeCursor = getModel().getText().substring(0, getModel().getCursorPos());
-        if (textBeforeCursor.isEmpty())
+        CharSequence text = getModel().getTextBuffer();
+        if (getModel().getCursorPos() == 0)
             return 0;
         int pos = getModel().getCursorPos();
 
         boolean foundCharacter = false;
         while (pos > 0)
         {
-            String charAtPos = textBeforeCursor.charAt(pos - 1) + "";
+            String charAtPos = text.charAt(pos - 1) + "";
             if (ALPHA_NUM_REGEX.matcher(charAtPos).matches())
             {
                 foundCharacter = true;
@@ -191,12 +193,12 @@ public class GuiTextfieldBehavior<T extends GuiTextfield> extends GuiBehaviorBas
 
     protected int nextWordPosition()
     {
-        if (getModel().getCursorPos() == getModel().getText().length())
+        CharSequence text = getModel().getTextBuffer();
+        if (getModel().getCursorPos() == text.length())
             return getModel().getCursorPos();
-        String text = getModel().getText();
         int pos = getModel().getCursorPos();
         boolean foundSpace = false;
-        while (pos < getModel().getText().length())
+        while (pos < text.length())
         {
             String charAtPos = text.charAt(pos) + "";
             if (charAtPos.equals(" "))
@@ -228,19 +230,17 @@ public class GuiTextfieldBehavior<T extends GuiTextfield> extends GuiBehaviorBas
             return false;
         }
         int pos = previousWordPosition();
-        String currentText = this.getModel().getText();
-        this.getModel().setText(currentText.substring(0, pos) + currentText.substring(this.getModel().getCursorPos()));
+        this.getModel().deleteText(pos, this.getModel().getCursorPos());
         this.getModel().setCursorPos(pos);
         return true;
     }
 
     protected boolean deleteWordAfterCursor()
     {
-        if (this.getModel().getCursorPos() == this.getModel().getText().length())
+        if (this.getModel().getCursorPos() == this.getModel().getTextBuffer().length())
             return false;
         int pos = nextWordPosition();
-        String currentText = this.getModel().getText();
-        this.getModel().setText(currentText.substring(0, getModel().getCursorPos()) + currentText.substring(pos));
+        this.getModel().deleteText(getModel().getCursorPos(), pos);
         return true;
     }
 }
\ No newline at end of file
@@ -23,7 +23,7 @@ public class GuiTextfieldCompleteBehavior<T extends GuiTextfieldComplete> extend
         if (!e.isFocused() && skin.isCompletePopupShown())
             skin.hideCompletePopup();
         else if (e.isFocused() && !skin.isCompletePopupShown() &&
-                this.getModel().getText().length() >= this.getModel().getCharBeforeCompletion())
+                this.getModel().getTextBuffer().length() >= this.getModel().getCharBeforeCompletion())
             skin.showCompletePopup();
 
     }
@@ -35,10 +35,10 @@ public class GuiTextfieldCompleteBehavior<T extends GuiTextfieldComplete> extend
 
         GuiTextfieldCompleteSkin skin = (GuiTextfieldCompleteSkin) this.getModel().getSkin();
 
-        if (this.getModel().getText().length() < this.getModel().getCharBeforeCompletion() &&
+        if (this.getModel().getTextBuffer().length() < this.getModel().getCharBeforeCompletion() &&
                 skin.isCompletePopupShown())
             skin.hideCompletePopup();
-        else if (this.getModel().getText().length() >= this.getModel().getCharBeforeCompletion() &&
+        else if (this.getModel().getTextBuffer().length() >= this.getModel().getCharBeforeCompletion() &&
                 !skin.isCompletePopupShown())
             skin.showCompletePopup();
     }
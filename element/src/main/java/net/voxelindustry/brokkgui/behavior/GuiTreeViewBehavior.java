@@ -0,0 +1,238 @@
+package net.voxelindustry.brokkgui.behavior;
+
+import fr.ourten.teabeans.listener.ValueInvalidationListener;
+import fr.ourten.teabeans.value.BaseListProperty;
+import net.voxelindustry.brokkgui.BrokkGuiPlatform;
+import net.voxelindustry.brokkgui.component.GuiNode;
+import net.voxelindustry.brokkgui.element.GuiTreeCell;
+import net.voxelindustry.brokkgui.element.GuiTreeItem;
+import net.voxelindustry.brokkgui.element.GuiTreeView;
+import net.voxelindustry.brokkgui.event.ClickEvent;
+import net.voxelindustry.brokkgui.event.KeyEvent;
+import net.voxelindustry.brokkgui.internal.IKeyboardUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+public class GuiTreeViewBehavior<T> extends GuiScrollableBehavior<GuiTreeView<T>>
+{
+    private final IKeyboardUtil keyboard = BrokkGuiPlatform.getInstance().getKeyboardUtil();
+
+    private Supplier<BaseListProperty<GuiNode>> childrenSupplier;
+
+    /**
+     * Cells of the TreeView, the cell displaying the row i is held at i % size.
+     */
+    private final List<GuiTreeCell<T>> cells;
+
+    public GuiTreeViewBehavior(final GuiTreeView<T> model, Supplier<BaseListProperty<GuiNode>> childrenSupplier)
+    {
+        super(model);
+
+        this.childrenSupplier = childrenSupplier;
+        this.cells = new ArrayList<>();
+
+        ValueInvalidationListener viewportListener = obs -> getModel().requestLayout();
+        this.getModel().getScrollYProperty().addListener(viewportListener);
+        this.getModel().getHeightProperty().addListener(viewportListener);
+        this.getModel().getCellHeightProperty().addListener(viewportListener);
+        this.getModel().getOverscanProperty().addListener(viewportListener);
+        this.getModel().getSelectedItemProperty().addListener(viewportListener);
+
+        // Cells were filled by the previous updater, they are all updated again
+        this.getModel().getCellUpdaterProperty().addListener(obs ->
+        {
+            this.cells.forEach(cell -> cell.setItem(null));
+            getModel().requestLayout();
+        });
+
+        this.getModel().getEventDispatcher().addHandler(ClickEvent.TYPE, this::onClick);
+        this.getModel().getEventDispatcher().addHandler(KeyEvent.PRESS, this::onKeyPressed);
+    }
+
+    /**
+     * Select the row under the mouse, and toggle its item when the click is on its expander.
+     *
+     * @param e
+     */
+    private void onClick(final ClickEvent e)
+    {
+        int row = this.getRowAt(e.getMouseX(), e.getMouseY());
+        if (row == -1)
+            return;
+
+        GuiTreeView<T> model = this.getModel();
+        GuiTreeItem<T> item = model.getRow(row);
+
+        float expanderStart = model.getxPos() + model.getxTranslate() + model.getRowLevel(item) * model.getIndent();
+        if (!item.isLeaf() && e.getMouseX() >= expanderStart && e.getMouseX() < expanderStart + model.getCellHeight())
+            item.setExpanded(!item.isExpanded());
+
+        model.setSelectedItem(item);
+    }
+
+    private void onKeyPressed(final KeyEvent.Press event)
+    {
+        GuiTreeView<T> model = this.getModel();
+        int rowCount = model.getRowCount();
+        if (rowCount == 0)
+            return;
+
+        GuiTreeItem<T> selected = model.getSelectedItem();
+        int current = selected == null ? -1 : model.getRowIndex(selected);
+        int key = event.getKey();
+        int target;
+
+        if (key == this.keyboard.getKeyCode("UP"))
+            target = current - 1;
+        else if (key == this.keyboard.getKeyCode("DOWN"))
+            target = current + 1;
+        else if (key == this.keyboard.getKeyCode("PRIOR"))
+            target = current - this.getPageSize();
+        else if (key == this.keyboard.getKeyCode("NEXT"))
+            target = current + this.getPageSize();
+        else if (key == this.keyboard.getKeyCode("HOME"))
+            target = 0;
+        else if (key == this.keyboard.getKeyCode("END"))
+            target = rowCount - 1;
+        else if (current != -1 && key == this.keyboard.getKeyCode("LEFT"))
+        {
+            if (selected.isExpanded() && !selected.isLeaf())
+            {
+                selected.setExpanded(false);
+                return;
+            }
+            target = selected.getParent() == null ? -1 : model.getRowIndex(selected.getParent());
+        }
+        else if (current != -1 && key == this.keyboard.getKeyCode("RIGHT"))
+        {
+            if (selected.isLeaf())
+                return;
+            if (!selected.isExpanded())
+            {
+                selected.setExpanded(true);
+                return;
+            }
+            target = current + 1;
+        }
+        else
+            return;
+
+        if (target == -1 && current == -1)
+            target = 0;
+        target = Math.max(0, Math.min(model.getRowCount() - 1, target));
+        if (target == current)
+            return;
+
+        model.setSelectedItem(model.getRow(target));
+        model.scrollToRow(target);
+    }
+
+    /**
+     * @return the row under the given point, computed from the scroll offset and the fixed cell height. -1 if the
+     * point is outside of any row.
+     */
+    public int getRowAt(float pointX, float pointY)
+    {
+        GuiTreeView<T> model = this.getModel();
+
+        float localX = pointX - model.getxPos() - model.getxTranslate();
+        float localY = pointY - model.getyPos() - model.getyTranslate() - model.getScrollY();
+        if (localX < 0 || localX > model.getWidth() || localY < 0 || model.getCellHeight() <= 0)
+            return -1;
+
+        int row = (int) (localY / model.getCellHeight());
+        return row < model.getRowCount() ? row : -1;
+    }
+
+    private int getPageSize()
+    {
+        if (this.getModel().getCellHeight() <= 0)
+            return 1;
+        return Math.max(1, (int) (this.getModel().getHeight() / this.getModel().getCellHeight()));
+    }
+
+    ////////////////////
+    // VIRTUALIZATION //
+    ////////////////////
+
+    /**
+     * Assign the rows intersecting the viewport, plus the overscan, to the cells.
+     * Only the cells whose row changed are updated. Called by the skin on each layout pass.
+     */
+    public void layoutVirtualCells()
+    {
+        GuiTreeView<T> model = this.getModel();
+        int rowCount = model.getRowCount();
+        float cellHeight = model.getCellHeight();
+        int overscan = Math.max(0, model.getOverscan());
+
+        int first = 0;
+        int last = -1;
+        int capacity = 0;
+        if (rowCount != 0 && cellHeight > 0)
+        {
+            float offset = -model.getScrollY();
+
+            first = Math.max(0, (int) Math.floor(offset / cellHeight) - overscan);
+            last = Math.min(rowCount - 1, (int) Math.floor((offset + model.getHeight()) / cellHeight) + overscan);
+            capacity = Math.min(rowCount, (int) Math.ceil(model.getHeight() / cellHeight) + 1 + 2 * overscan);
+        }
+
+        this.resizeCells(capacity);
+
+        BiConsumer<GuiTreeCell<T>, T> updater = model.getCellUpdater();
+        for (int slot = 0; slot < capacity; slot++)
+        {
+            int index = first + Math.floorMod(slot - first, capacity);
+            GuiTreeCell<T> cell = this.cells.get(slot);
+
+            if (index > last)
+            {
+                if (cell.isVisible())
+                    cell.setVisible(false);
+                continue;
+            }
+
+            GuiTreeItem<T> item = model.getRow(index);
+            if (cell.getItem() != item)
+            {
+                updater.accept(cell, item.getValue());
+                cell.setItem(item);
+            }
+            cell.setIndex(index);
+            cell.setLevel(model.getRowLevel(item));
+            this.updateSelectedState(cell, item == model.getSelectedItem());
+
+            if (!cell.isVisible())
+                cell.setVisible(true);
+        }
+    }
+
+    private void resizeCells(int capacity)
+    {
+        // Cells all display the same kind of content, they are kept and only reassigned when the capacity changes
+        while (this.cells.size() > capacity)
+            this.childrenSupplier.get().remove(this.cells.remove(this.cells.size() - 1));
+
+        while (this.cells.size() < capacity)
+        {
+            GuiTreeCell<T> cell = new GuiTreeCell<>(this.getModel());
+            this.cells.add(cell);
+            this.childrenSupplier.get().add(cell);
+        }
+    }
+
+    private void updateSelectedState(GuiTreeCell<T> cell, boolean selected)
+    {
+        if (selected == cell.getActivePseudoClass().contains("selected"))
+            return;
+
+        if (selected)
+            cell.getActivePseudoClass().add("selected");
+        else
+            cell.getActivePseudoClass().remove("selected");
+    }
+}
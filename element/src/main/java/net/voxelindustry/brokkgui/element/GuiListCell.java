@@ -15,6 +15,7 @@ public class GuiListCell<T> extends GuiElement
 
     private final BaseProperty<T>       itemProperty;
     private final BaseProperty<GuiNode> graphicProperty;
+    private final BaseProperty<Integer> indexProperty;
 
     public GuiListCell(final GuiListView<T> listView, final T item)
     {
@@ -24,6 +25,7 @@ public class GuiListCell<T> extends GuiElement
 
         this.itemProperty = new BaseProperty<>(item, "itemProperty");
         this.graphicProperty = new BaseProperty<>(null, "graphicProperty");
+        this.indexProperty = new BaseProperty<>(-1, "indexProperty");
 
         this.getWidthProperty().bind(listView.getCellWidthProperty());
         this.getHeightProperty().bind(listView.getCellHeightProperty());
@@ -33,7 +35,7 @@ public class GuiListCell<T> extends GuiElement
             {
                 super.bind(listView.getxPosProperty(), getWidthProperty(),
                         listView.getOrientationProperty(), listView.getScrollXProperty(),
-                        listView.getCellXPaddingProperty());
+                        listView.getCellXPaddingProperty(), indexProperty);
             }
 
             @Override
@@ -41,9 +43,9 @@ public class GuiListCell<T> extends GuiElement
             {
                 if (listView.getOrientation() == RectAxis.HORIZONTAL)
                     return listView.getxPos() + listView.getScrollX()
-                            + listView.getElements().indexOf(GuiListCell.this.getItem()) * GuiListCell.this.getWidth()
+                            + GuiListCell.this.getIndex() * GuiListCell.this.getWidth()
                             + GuiListCell.this.getWidth() / 2
-                            + listView.getCellXPadding() * listView.getElements().indexOf(GuiListCell.this.getItem());
+                            + listView.getCellXPadding() * GuiListCell.this.getIndex();
                 else
                     return listView.getxPos() + listView.getScrollX();
             }
@@ -54,7 +56,7 @@ public class GuiListCell<T> extends GuiElement
             {
                 super.bind(listView.getyPosProperty(), GuiListCell.this.getHeightProperty(),
                         listView.getOrientationProperty(), listView.getScrollYProperty(),
-                        listView.getCellYPaddingProperty());
+                        listView.getCellYPaddingProperty(), indexProperty);
             }
 
             @Override
@@ -62,8 +64,8 @@ public class GuiListCell<T> extends GuiElement
             {
                 if (listView.getOrientation() == RectAxis.VERTICAL)
                     return listView.getyPos() + listView.getScrollY()
-                            + listView.getElements().indexOf(GuiListCell.this.getItem()) * GuiListCell.this.getHeight()
-                            + listView.getCellYPadding() * listView.getElements().indexOf(GuiListCell.this.getItem());
+                            + GuiListCell.this.getIndex() * GuiListCell.this.getHeight()
+                            + listView.getCellYPadding() * GuiListCell.this.getIndex();
                 else
                     return listView.getyPos() + listView.getScrollY();
             }
@@ -101,6 +103,27 @@ public class GuiListCell<T> extends GuiElement
         this.getItemProperty().setValue(item);
     }
 
+    public BaseProperty<Integer> getIndexProperty()
+    {
+        return this.indexProperty;
+    }
+
+    /**
+     * @return the index of the displayed item in the elements of the ListView. Falls back to a lookup of the item
+     * when this cell was not indexed by the ListView.
+     */
+    public int getIndex()
+    {
+        if (this.getIndexProperty().getValue() >= 0)
+            return this.getIndexProperty().getValue();
+        return this.listView.getElements().indexOf(this.getItem());
+    }
+
+    public void setIndex(int index)
+    {
+        this.getIndexProperty().setValue(index);
+    }
+
     public GuiNode getGraphic()
     {
         return this.getGraphicProperty().getValue();
@@ -13,6 +13,7 @@ import net.voxelindustry.brokkgui.skin.GuiSkinBase;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 public class GuiListView<T> extends GuiScrollableBase
@@ -23,7 +24,13 @@ public class GuiListView<T> extends GuiScrollableBase
     private final BaseProperty<GuiNode>  placeholderProperty;
     private final BaseProperty<RectAxis> orientationProperty;
 
-    private final BaseProperty<Function<T, GuiListCell<T>>> cellFactoryProperty;
+    private final BaseProperty<Function<T, GuiListCell<T>>>   cellFactoryProperty;
+    private final BaseProperty<BiConsumer<GuiListCell<T>, T>> cellUpdaterProperty;
+    private final Function<T, GuiListCell<T>>                 defaultCellFactory;
+    private final BiConsumer<GuiListCell<T>, T>               defaultCellUpdater;
+
+    private final BaseProperty<Boolean> virtualizedProperty;
+    private final BaseProperty<Integer> overscanProperty;
 
     private final BaseProperty<Float> cellWidthProperty, cellHeightProperty;
     private final BaseProperty<Float> cellXPaddingProperty, cellYPaddingProperty;
@@ -41,6 +48,19 @@ public class GuiListView<T> extends GuiScrollableBase
         this.orientationProperty = new BaseProperty<>(RectAxis.VERTICAL, "orientationProperty");
 
         this.cellFactoryProperty = new BaseProperty<>(null, "cellFactoryProperty");
+        this.cellUpdaterProperty = new BaseProperty<>(null, "cellUpdaterProperty");
+        this.defaultCellFactory = this.createDefaultCellFactory();
+        this.defaultCellUpdater = this.createDefaultCellUpdater();
+
+        // The default updater only knows how to refresh cells made by the default factory
+        this.cellFactoryProperty.addListener((obs, oldValue, newValue) ->
+        {
+            if (newValue != this.defaultCellFactory && this.cellUpdaterProperty.getValue() == this.defaultCellUpdater)
+                this.cellUpdaterProperty.setValue(null);
+        });
+
+        this.virtualizedProperty = new BaseProperty<>(false, "virtualizedProperty");
+        this.overscanProperty = new BaseProperty<>(2, "overscanProperty");
 
         this.cellWidthProperty = new BaseProperty<>(100f, "cellWidthProperty");
         this.cellHeightProperty = new BaseProperty<>(20f, "cellHeightProperty");
@@ -128,6 +148,21 @@ public class GuiListView<T> extends GuiScrollableBase
         return this.cellFactoryProperty;
     }
 
+    public BaseProperty<BiConsumer<GuiListCell<T>, T>> getCellUpdaterProperty()
+    {
+        return this.cellUpdaterProperty;
+    }
+
+    public BaseProperty<Boolean> getVirtualizedProperty()
+    {
+        return this.virtualizedProperty;
+    }
+
+    public BaseProperty<Integer> getOverscanProperty()
+    {
+        return this.overscanProperty;
+    }
+
     public BaseProperty<Float> getCellWidthProperty()
     {
         return this.cellWidthProperty;
@@ -248,30 +283,90 @@ public class GuiListView<T> extends GuiScrollableBase
     public Function<T, GuiListCell<T>> getCellFactory()
     {
         if (!this.getCellFactoryProperty().isPresent())
-            this.setCellFactory(this.getDefaultCellFactory());
+        {
+            this.setCellFactory(this.defaultCellFactory);
+            if (!this.getCellUpdaterProperty().isPresent())
+                this.setCellUpdater(this.defaultCellUpdater);
+        }
         return this.getCellFactoryProperty().getValue();
     }
 
-    private Function<T, GuiListCell<T>> getDefaultCellFactory()
+    /**
+     * The cell updater is used to display another item in an existing cell, it allows cells to be recycled when
+     * this ListView is virtualized.
+     * A custom cell factory replaces the default updater, cells are then created again for each new item unless a
+     * matching updater is given.
+     *
+     * @param cellUpdater a consumer changing the content of a cell made by the cell factory to a new item
+     */
+    public void setCellUpdater(final BiConsumer<GuiListCell<T>, T> cellUpdater)
+    {
+        this.getCellUpdaterProperty().setValue(cellUpdater);
+    }
+
+    public BiConsumer<GuiListCell<T>, T> getCellUpdater()
+    {
+        this.getCellFactory();
+        return this.getCellUpdaterProperty().getValue();
+    }
+
+    private Function<T, GuiListCell<T>> createDefaultCellFactory()
     {
         return content ->
         {
             final GuiListCell<T> cell = new GuiListCell<>(this, content);
 
+            this.defaultCellUpdater.accept(cell, content);
+            return cell;
+        };
+    }
+
+    private BiConsumer<GuiListCell<T>, T> createDefaultCellUpdater()
+    {
+        return (cell, content) ->
+        {
+            Object previousContent = cell.getItem();
+            cell.setItem(content);
+
             if (content == null)
                 cell.setGraphic(null);
             else if (content instanceof GuiNode)
                 cell.setGraphic((GuiNode) content);
+            else if (cell.getGraphic() instanceof GuiLabel && cell.getGraphic() != previousContent)
+                ((GuiLabel) cell.getGraphic()).setText(content.toString());
             else
             {
                 GuiLabel label = new GuiLabel(content.toString());
                 label.setExpandToText(false);
                 cell.setGraphic(label);
             }
-            return cell;
         };
     }
 
+    /**
+     * A virtualized ListView only holds the cells intersecting its viewport, plus {@link #getOverscan()} cells
+     * before and after. Cells scrolled out of view are given the new items through the cell updater.
+     */
+    public boolean isVirtualized()
+    {
+        return this.getVirtualizedProperty().getValue();
+    }
+
+    public void setVirtualized(boolean virtualized)
+    {
+        this.getVirtualizedProperty().setValue(virtualized);
+    }
+
+    public int getOverscan()
+    {
+        return this.getOverscanProperty().getValue();
+    }
+
+    public void setOverscan(int overscan)
+    {
+        this.getOverscanProperty().setValue(overscan);
+    }
+
     public float getCellWidth()
     {
         return this.getCellWidthProperty().getValue();
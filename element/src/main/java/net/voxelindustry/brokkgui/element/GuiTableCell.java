@@ -0,0 +1,184 @@
+package net.voxelindustry.brokkgui.element;
+
+import fr.ourten.teabeans.binding.BaseBinding;
+import fr.ourten.teabeans.value.BaseProperty;
+import net.voxelindustry.brokkgui.component.GuiNode;
+import net.voxelindustry.brokkgui.control.GuiElement;
+import net.voxelindustry.brokkgui.data.RelativeBindingHelper;
+import net.voxelindustry.brokkgui.skin.GuiSkinBase;
+import net.voxelindustry.brokkgui.skin.GuiTableCellSkin;
+
+/**
+ * A cell of a {@link GuiTableView}, at the crossing of a row and a column. Cells are recycled, the row and the column
+ * displayed change when the TableView is scrolled.
+ */
+public class GuiTableCell<T> extends GuiElement
+{
+    private final GuiTableView<T> tableView;
+
+    private final BaseProperty<T>                    itemProperty;
+    private final BaseProperty<GuiTableColumn<T, ?>> columnProperty;
+    private final BaseProperty<GuiNode>              graphicProperty;
+    private final BaseProperty<Integer>              rowIndexProperty;
+    private final BaseProperty<Float>                columnOffsetProperty;
+
+    public GuiTableCell(final GuiTableView<T> tableView)
+    {
+        super("tablecell");
+
+        this.tableView = tableView;
+
+        this.itemProperty = new BaseProperty<>(null, "itemProperty");
+        this.columnProperty = new BaseProperty<>(null, "columnProperty");
+        this.graphicProperty = new BaseProperty<>(null, "graphicProperty");
+        this.rowIndexProperty = new BaseProperty<>(0, "rowIndexProperty");
+        this.columnOffsetProperty = new BaseProperty<>(0f, "columnOffsetProperty");
+
+        this.getHeightProperty().bind(tableView.getCellHeightProperty());
+
+        this.getxPosProperty().bind(new BaseBinding<Float>()
+        {
+            {
+                super.bind(tableView.getxPosProperty(), tableView.getxTranslateProperty(),
+                        tableView.getScrollXProperty(), columnOffsetProperty);
+            }
+
+            @Override
+            public Float computeValue()
+            {
+                return tableView.getxPos() + tableView.getxTranslate() + tableView.getScrollX()
+                        + GuiTableCell.this.getColumnOffset();
+            }
+        });
+        this.getyPosProperty().bind(new BaseBinding<Float>()
+        {
+            {
+                super.bind(tableView.getyPosProperty(), tableView.getyTranslateProperty(),
+                        tableView.getScrollYProperty(), tableView.getHeaderHeightProperty(), getHeightProperty(),
+                        rowIndexProperty);
+            }
+
+            @Override
+            public Float computeValue()
+            {
+                return tableView.getyPos() + tableView.getyTranslate() + tableView.getHeaderHeight()
+                        + tableView.getScrollY() + GuiTableCell.this.getRowIndex() * GuiTableCell.this.getHeight();
+            }
+        });
+    }
+
+    @Override
+    protected GuiSkinBase<?> makeDefaultSkin()
+    {
+        return new GuiTableCellSkin<>(this);
+    }
+
+    public GuiTableView<T> getTableView()
+    {
+        return this.tableView;
+    }
+
+    public BaseProperty<T> getItemProperty()
+    {
+        return this.itemProperty;
+    }
+
+    public BaseProperty<GuiTableColumn<T, ?>> getColumnProperty()
+    {
+        return this.columnProperty;
+    }
+
+    public BaseProperty<GuiNode> getGraphicProperty()
+    {
+        return this.graphicProperty;
+    }
+
+    public BaseProperty<Integer> getRowIndexProperty()
+    {
+        return this.rowIndexProperty;
+    }
+
+    public BaseProperty<Float> getColumnOffsetProperty()
+    {
+        return this.columnOffsetProperty;
+    }
+
+    public T getItem()
+    {
+        return this.getItemProperty().getValue();
+    }
+
+    public void setItem(T item)
+    {
+        this.getItemProperty().setValue(item);
+    }
+
+    public GuiTableColumn<T, ?> getColumn()
+    {
+        return this.getColumnProperty().getValue();
+    }
+
+    /**
+     * Show the given column in this cell, the width of the cell follows the width of the column.
+     */
+    public void setColumn(GuiTableColumn<T, ?> column)
+    {
+        if (this.getColumn() == column)
+            return;
+
+        this.getWidthProperty().unbind();
+        this.getColumnProperty().setValue(column);
+        if (column != null)
+            this.getWidthProperty().bind(column.getWidthProperty());
+    }
+
+    /**
+     * @return the row of the view displayed by this cell, after sorting and filtering
+     */
+    public int getRowIndex()
+    {
+        return this.getRowIndexProperty().getValue();
+    }
+
+    public void setRowIndex(int rowIndex)
+    {
+        this.getRowIndexProperty().setValue(rowIndex);
+    }
+
+    /**
+     * @return the horizontal offset of the column of this cell from the left of the table content
+     */
+    public float getColumnOffset()
+    {
+        return this.getColumnOffsetProperty().getValue();
+    }
+
+    public void setColumnOffset(float columnOffset)
+    {
+        this.getColumnOffsetProperty().setValue(columnOffset);
+    }
+
+    public GuiNode getGraphic()
+    {
+        return this.getGraphicProperty().getValue();
+    }
+
+    public void setGraphic(GuiNode graphic)
+    {
+        if (this.getGraphic() != null)
+        {
+            this.removeChild(this.getGraphic());
+            this.getGraphic().getWidthProperty().unbind();
+            this.getGraphic().getHeightProperty().unbind();
+        }
+        this.getGraphicProperty().setValue(graphic);
+        if (this.getGraphic() != null)
+        {
+            this.addChild(this.getGraphic());
+
+            RelativeBindingHelper.bindToPos(this.getGraphic(), this);
+            this.getGraphic().getWidthProperty().bind(this.getWidthProperty());
+            this.getGraphic().getHeightProperty().bind(this.getHeightProperty());
+        }
+    }
+}
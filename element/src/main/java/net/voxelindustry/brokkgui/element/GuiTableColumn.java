@@ -0,0 +1,188 @@
+package net.voxelindustry.brokkgui.element;
+
+import fr.ourten.teabeans.value.BaseProperty;
+import net.voxelindustry.brokkgui.data.RectAlignment;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * A column of a {@link GuiTableView}, extracting a value from each row item.
+ * <p>
+ * Columns are not nodes, the TableView only creates cells for the columns intersecting its viewport.
+ *
+ * @param <T> the type of the items of the table
+ * @param <V> the type of the values displayed by this column
+ */
+public class GuiTableColumn<T, V>
+{
+    private final BaseProperty<String>         headerProperty;
+    private final BaseProperty<Float>          widthProperty;
+    private final BaseProperty<Function<T, V>> valueFactoryProperty;
+
+    private final BaseProperty<BiConsumer<GuiTableCell<T>, V>> cellUpdaterProperty;
+    private final BaseProperty<Comparator<V>>                  comparatorProperty;
+
+    public GuiTableColumn(String header, float width, Function<T, V> valueFactory)
+    {
+        this.headerProperty = new BaseProperty<>(header, "headerProperty");
+        this.widthProperty = new BaseProperty<>(width, "widthProperty");
+        this.valueFactoryProperty = new BaseProperty<>(valueFactory, "valueFactoryProperty");
+
+        this.cellUpdaterProperty = new BaseProperty<>(null, "cellUpdaterProperty");
+        this.comparatorProperty = new BaseProperty<>(null, "comparatorProperty");
+    }
+
+    public GuiTableColumn(String header, Function<T, V> valueFactory)
+    {
+        this(header, 100f, valueFactory);
+    }
+
+    public BaseProperty<String> getHeaderProperty()
+    {
+        return this.headerProperty;
+    }
+
+    public BaseProperty<Float> getWidthProperty()
+    {
+        return this.widthProperty;
+    }
+
+    public BaseProperty<Function<T, V>> getValueFactoryProperty()
+    {
+        return this.valueFactoryProperty;
+    }
+
+    public BaseProperty<BiConsumer<GuiTableCell<T>, V>> getCellUpdaterProperty()
+    {
+        return this.cellUpdaterProperty;
+    }
+
+    public BaseProperty<Comparator<V>> getComparatorProperty()
+    {
+        return this.comparatorProperty;
+    }
+
+    public String getHeader()
+    {
+        return this.getHeaderProperty().getValue();
+    }
+
+    public void setHeader(String header)
+    {
+        this.getHeaderProperty().setValue(header);
+    }
+
+    public float getWidth()
+    {
+        return this.getWidthProperty().getValue();
+    }
+
+    public void setWidth(float width)
+    {
+        this.getWidthProperty().setValue(width);
+    }
+
+    public Function<T, V> getValueFactory()
+    {
+        return this.getValueFactoryProperty().getValue();
+    }
+
+    public void setValueFactory(Function<T, V> valueFactory)
+    {
+        this.getValueFactoryProperty().setValue(valueFactory);
+    }
+
+    public BiConsumer<GuiTableCell<T>, V> getCellUpdater()
+    {
+        if (!this.getCellUpdaterProperty().isPresent())
+            this.setCellUpdater(this.createDefaultCellUpdater());
+        return this.getCellUpdaterProperty().getValue();
+    }
+
+    /**
+     * The cell updater changes the content of a cell to a new value of this column. Cells are recycled when the
+     * TableView is scrolled, the updater is called again on the same cell for each new row or column it displays.
+     *
+     * @param cellUpdater a consumer changing the graphic of a cell to display a value
+     */
+    public void setCellUpdater(BiConsumer<GuiTableCell<T>, V> cellUpdater)
+    {
+        this.getCellUpdaterProperty().setValue(cellUpdater);
+    }
+
+    public Comparator<V> getComparator()
+    {
+        return this.getComparatorProperty().getValue();
+    }
+
+    /**
+     * @param comparator the order used when the TableView is sorted by this column, null if it cannot be sorted
+     */
+    public void setComparator(Comparator<V> comparator)
+    {
+        this.getComparatorProperty().setValue(comparator);
+    }
+
+    public boolean isSortable()
+    {
+        return this.getComparatorProperty().isPresent();
+    }
+
+    public V getValue(T item)
+    {
+        return this.getValueFactory().apply(item);
+    }
+
+    /**
+     * Display the value of this column for the given item in a cell.
+     */
+    public void updateCell(GuiTableCell<T> cell, T item)
+    {
+        this.getCellUpdater().accept(cell, item == null ? null : this.getValue(item));
+    }
+
+    /**
+     * Create a comparator of indices of the given items, ordering them by their value in this column with null values
+     * first. Values are extracted once for all the items instead of on each comparison.
+     */
+    IntBinaryOperator createIndexComparator(List<T> items)
+    {
+        Comparator<V> comparator = this.getComparator();
+        List<V> values = new ArrayList<>(items.size());
+        for (T item : items)
+            values.add(this.getValue(item));
+
+        return (first, second) ->
+        {
+            V firstValue = values.get(first);
+            V secondValue = values.get(second);
+
+            if (firstValue == null || secondValue == null)
+                return firstValue == secondValue ? 0 : firstValue == null ? -1 : 1;
+            return comparator.compare(firstValue, secondValue);
+        };
+    }
+
+    private BiConsumer<GuiTableCell<T>, V> createDefaultCellUpdater()
+    {
+        return (cell, value) ->
+        {
+            if (value == null)
+                cell.setGraphic(null);
+            else if (cell.getGraphic() instanceof GuiLabel)
+                ((GuiLabel) cell.getGraphic()).setText(value.toString());
+            else
+            {
+                GuiLabel label = new GuiLabel(value.toString());
+                label.setExpandToText(false);
+                label.setTextAlignment(RectAlignment.LEFT_CENTER);
+                cell.setGraphic(label);
+            }
+        };
+    }
+}
@@ -0,0 +1,446 @@
+package net.voxelindustry.brokkgui.element;
+
+import fr.ourten.teabeans.listener.ValueInvalidationListener;
+import fr.ourten.teabeans.value.BaseListProperty;
+import fr.ourten.teabeans.value.BaseProperty;
+import net.voxelindustry.brokkgui.behavior.GuiTableViewBehavior;
+import net.voxelindustry.brokkgui.control.GuiScrollableBase;
+import net.voxelindustry.brokkgui.skin.GuiSkinBase;
+import net.voxelindustry.brokkgui.skin.GuiTableViewSkin;
+import net.voxelindustry.brokkgui.util.IndexPermutation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+import java.util.function.Predicate;
+
+/**
+ * Displays items as rows of equal height, split in {@link GuiTableColumn}.
+ * <p>
+ * Only the cells at the crossing of the rows and the columns intersecting the viewport are created, and they are
+ * recycled on scroll. Sorting and filtering reorder an index permutation of the items, the items list is never
+ * modified and no cell is created again.
+ *
+ * @param <T> the type of the items
+ */
+public class GuiTableView<T> extends GuiScrollableBase
+{
+    private final BaseListProperty<T>                    itemsProperty;
+    private final BaseListProperty<GuiTableColumn<T, ?>> columnsProperty;
+
+    private final BaseProperty<Predicate<T>>         filterProperty;
+    private final BaseProperty<GuiTableColumn<T, ?>> sortColumnProperty;
+    private final BaseProperty<Boolean>              sortAscendingProperty;
+
+    private final BaseProperty<Float>   cellHeightProperty;
+    private final BaseProperty<Float>   headerHeightProperty;
+    private final BaseProperty<Integer> overscanProperty;
+
+    private final BaseProperty<T> selectedItemProperty;
+
+    private final IndexPermutation view;
+    private       boolean          viewValid;
+
+    /**
+     * Left offset of each column, followed by the width of all columns.
+     */
+    private       float[]                    columnStarts;
+    private       boolean                    columnStartsValid;
+    private       float                      maxVisibleColumnsWidth = -1;
+    private       int                        maxVisibleColumns;
+    private final List<GuiTableColumn<T, ?>> observedColumns;
+    private final ValueInvalidationListener  columnWidthListener;
+
+    public GuiTableView(List<T> items)
+    {
+        super("tableview");
+
+        this.itemsProperty = new BaseListProperty<>(items, "itemsProperty");
+        this.columnsProperty = new BaseListProperty<>(new ArrayList<>(), "columnsProperty");
+
+        this.filterProperty = new BaseProperty<>(null, "filterProperty");
+        this.sortColumnProperty = new BaseProperty<>(null, "sortColumnProperty");
+        this.sortAscendingProperty = new BaseProperty<>(true, "sortAscendingProperty");
+
+        this.cellHeightProperty = new BaseProperty<>(20f, "cellHeightProperty");
+        this.headerHeightProperty = new BaseProperty<>(20f, "headerHeightProperty");
+        this.overscanProperty = new BaseProperty<>(2, "overscanProperty");
+
+        this.selectedItemProperty = new BaseProperty<>(null, "selectedItemProperty");
+
+        this.view = new IndexPermutation();
+        this.columnStarts = new float[1];
+        this.observedColumns = new ArrayList<>();
+
+        ValueInvalidationListener viewListener = obs -> this.invalidateView();
+        this.itemsProperty.addListener(viewListener);
+        this.filterProperty.addListener(viewListener);
+        this.sortColumnProperty.addListener(viewListener);
+        this.sortAscendingProperty.addListener(viewListener);
+
+        this.columnWidthListener = obs -> this.invalidateColumns();
+        this.columnsProperty.addListener(obs ->
+        {
+            this.observedColumns.forEach(column -> column.getWidthProperty().removeListener(this.columnWidthListener));
+            this.observedColumns.clear();
+            this.observedColumns.addAll(this.getColumns());
+            this.observedColumns.forEach(column -> column.getWidthProperty().addListener(this.columnWidthListener));
+
+            if (this.getSortColumn() != null && !this.getColumns().contains(this.getSortColumn()))
+                this.setSortColumn(null);
+            this.invalidateColumns();
+        });
+
+        this.invalidateView();
+    }
+
+    public GuiTableView()
+    {
+        this(new ArrayList<>());
+    }
+
+    @Override
+    protected GuiSkinBase<?> makeDefaultSkin()
+    {
+        return new GuiTableViewSkin<>(this, new GuiTableViewBehavior<>(this, this::getChildrensProperty));
+    }
+
+    public BaseListProperty<T> getItemsProperty()
+    {
+        return this.itemsProperty;
+    }
+
+    public BaseListProperty<GuiTableColumn<T, ?>> getColumnsProperty()
+    {
+        return this.columnsProperty;
+    }
+
+    public BaseProperty<Predicate<T>> getFilterProperty()
+    {
+        return this.filterProperty;
+    }
+
+    public BaseProperty<GuiTableColumn<T, ?>> getSortColumnProperty()
+    {
+        return this.sortColumnProperty;
+    }
+
+    public BaseProperty<Boolean> getSortAscendingProperty()
+    {
+        return this.sortAscendingProperty;
+    }
+
+    public BaseProperty<Float> getCellHeightProperty()
+    {
+        return this.cellHeightProperty;
+    }
+
+    public BaseProperty<Float> getHeaderHeightProperty()
+    {
+        return this.headerHeightProperty;
+    }
+
+    public BaseProperty<Integer> getOverscanProperty()
+    {
+        return this.overscanProperty;
+    }
+
+    public BaseProperty<T> getSelectedItemProperty()
+    {
+        return this.selectedItemProperty;
+    }
+
+    public List<T> getItems()
+    {
+        return this.getItemsProperty().getValue();
+    }
+
+    public void setItems(List<T> items)
+    {
+        this.getItemsProperty().clear();
+        this.getItemsProperty().addAll(items);
+    }
+
+    public List<GuiTableColumn<T, ?>> getColumns()
+    {
+        return this.getColumnsProperty().getValue();
+    }
+
+    public void addColumn(GuiTableColumn<T, ?> column)
+    {
+        this.getColumnsProperty().add(column);
+    }
+
+    public void removeColumn(GuiTableColumn<T, ?> column)
+    {
+        this.getColumnsProperty().remove(column);
+    }
+
+    public Predicate<T> getFilter()
+    {
+        return this.getFilterProperty().getValue();
+    }
+
+    /**
+     * @param filter the items not accepted by the filter are hidden, null to show all items
+     */
+    public void setFilter(Predicate<T> filter)
+    {
+        this.getFilterProperty().setValue(filter);
+    }
+
+    public GuiTableColumn<T, ?> getSortColumn()
+    {
+        return this.getSortColumnProperty().getValue();
+    }
+
+    /**
+     * @param sortColumn the column to order the rows by, null to keep the order of the items
+     */
+    public void setSortColumn(GuiTableColumn<T, ?> sortColumn)
+    {
+        this.getSortColumnProperty().setValue(sortColumn);
+    }
+
+    public boolean isSortAscending()
+    {
+        return this.getSortAscendingProperty().getValue();
+    }
+
+    public void setSortAscending(boolean sortAscending)
+    {
+        this.getSortAscendingProperty().setValue(sortAscending);
+    }
+
+    /**
+     * Sort the rows by the given column, ascending on the first call and reversing the order on the next ones.
+     * Columns without comparator are ignored.
+     */
+    public void toggleSort(GuiTableColumn<T, ?> column)
+    {
+        if (!column.isSortable())
+            return;
+
+        if (this.getSortColumn() == column)
+            this.setSortAscending(!this.isSortAscending());
+        else
+        {
+            this.setSortAscending(true);
+            this.setSortColumn(column);
+        }
+    }
+
+    public float getCellHeight()
+    {
+        return this.getCellHeightProperty().getValue();
+    }
+
+    public void setCellHeight(float cellHeight)
+    {
+        this.getCellHeightProperty().setValue(cellHeight);
+    }
+
+    public float getHeaderHeight()
+    {
+        return this.getHeaderHeightProperty().getValue();
+    }
+
+    public void setHeaderHeight(float headerHeight)
+    {
+        this.getHeaderHeightProperty().setValue(headerHeight);
+    }
+
+    public int getOverscan()
+    {
+        return this.getOverscanProperty().getValue();
+    }
+
+    /**
+     * @param overscan the count of rows, and of columns, kept ready outside of the viewport on each side
+     */
+    public void setOverscan(int overscan)
+    {
+        this.getOverscanProperty().setValue(overscan);
+    }
+
+    public T getSelectedItem()
+    {
+        return this.getSelectedItemProperty().getValue();
+    }
+
+    public void setSelectedItem(T selectedItem)
+    {
+        this.getSelectedItemProperty().setValue(selectedItem);
+    }
+
+    //////////
+    // ROWS //
+    //////////
+
+    /**
+     * @return the count of rows displayed, after filtering
+     */
+    public int getRowCount()
+    {
+        this.validateView();
+        return this.view.size();
+    }
+
+    /**
+     * @param row a row of the view, after sorting and filtering
+     * @return the item displayed at this row
+     */
+    public T getRowItem(int row)
+    {
+        this.validateView();
+        return this.getItemsProperty().get(this.view.getSourceIndex(row));
+    }
+
+    /**
+     * @return the row displaying the item, -1 if it is not displayed
+     */
+    public int getRowIndex(T item)
+    {
+        this.validateView();
+
+        int sourceIndex = this.getItemsProperty().indexOf(item);
+        return sourceIndex == -1 ? -1 : this.view.getViewIndex(sourceIndex);
+    }
+
+    /**
+     * Scroll the least needed for the row to be fully in the viewport, below the header.
+     */
+    public void scrollToRow(int row)
+    {
+        float rowStart = row * this.getCellHeight();
+        float offset = -this.getScrollY();
+        float viewport = this.getHeight() - this.getHeaderHeight();
+
+        if (rowStart < offset)
+            this.setScrollY(-rowStart);
+        else if (rowStart + this.getCellHeight() > offset + viewport)
+            this.setScrollY(-(rowStart + this.getCellHeight() - viewport));
+    }
+
+    private void invalidateView()
+    {
+        this.viewValid = false;
+        this.requestLayout();
+    }
+
+    private void validateView()
+    {
+        if (this.viewValid)
+            return;
+        this.viewValid = true;
+
+        List<T> items = this.getItems();
+        Predicate<T> filter = this.getFilter();
+        this.view.reset(items.size(), filter == null ? null : index -> filter.test(items.get(index)));
+
+        GuiTableColumn<T, ?> sortColumn = this.getSortColumn();
+        if (sortColumn != null && sortColumn.isSortable())
+        {
+            IntBinaryOperator comparator = sortColumn.createIndexComparator(items);
+            if (this.isSortAscending())
+                this.view.sort(comparator);
+            else
+                this.view.sort((first, second) -> comparator.applyAsInt(second, first));
+        }
+    }
+
+    /////////////
+    // COLUMNS //
+    /////////////
+
+    /**
+     * @return the offset of the left of the column from the left of the table content
+     */
+    public float getColumnStart(int column)
+    {
+        this.validateColumns();
+        return this.columnStarts[column];
+    }
+
+    /**
+     * @return the width of all the columns
+     */
+    public float getColumnsWidth()
+    {
+        this.validateColumns();
+        return this.columnStarts[this.columnStarts.length - 1];
+    }
+
+    /**
+     * @param offset a horizontal offset from the left of the table content
+     * @return the index of the column at this offset, clamped to the existing columns. -1 if there is no column.
+     */
+    public int getColumnAt(float offset)
+    {
+        this.validateColumns();
+
+        int columnCount = this.columnStarts.length - 1;
+        if (columnCount == 0)
+            return -1;
+
+        int found = Arrays.binarySearch(this.columnStarts, 0, columnCount, offset);
+        int column = found >= 0 ? found : -found - 2;
+        return Math.max(0, Math.min(columnCount - 1, column));
+    }
+
+    /**
+     * @param viewportWidth the width of the viewport showing the columns
+     * @return the most columns a viewport of this width can intersect at once, whatever the horizontal scroll
+     */
+    public int getMaxVisibleColumns(float viewportWidth)
+    {
+        this.validateColumns();
+        if (viewportWidth == this.maxVisibleColumnsWidth)
+            return this.maxVisibleColumns;
+
+        // The viewport starting at the end of a column intersects the most columns following it
+        int columnCount = this.columnStarts.length - 1;
+        int maxVisible = 0;
+        int last = 0;
+        for (int first = 0; first < columnCount; first++)
+        {
+            float limit = this.columnStarts[first + 1] + viewportWidth;
+
+            last = Math.max(last, first);
+            while (last + 1 < columnCount && this.columnStarts[last + 1] < limit)
+                last++;
+            maxVisible = Math.max(maxVisible, last - first + 1);
+        }
+
+        this.maxVisibleColumnsWidth = viewportWidth;
+        this.maxVisibleColumns = maxVisible;
+        return maxVisible;
+    }
+
+    private void invalidateColumns()
+    {
+        this.columnStartsValid = false;
+        this.requestLayout();
+    }
+
+    private void validateColumns()
+    {
+        if (this.columnStartsValid)
+            return;
+        this.columnStartsValid = true;
+        this.maxVisibleColumnsWidth = -1;
+
+        List<GuiTableColumn<T, ?>> columns = this.getColumns();
+        if (this.columnStarts.length != columns.size() + 1)
+            this.columnStarts = new float[columns.size() + 1];
+
+        float start = 0;
+        for (int column = 0; column < columns.size(); column++)
+        {
+            this.columnStarts[column] = start;
+            start += columns.get(column).getWidth();
+        }
+        this.columnStarts[columns.size()] = start;
+    }
+}
@@ -1,11 +1,13 @@
 package net.voxelindustry.brokkgui.element;
 
 import fr.ourten.teabeans.value.BaseProperty;
+import net.voxelindustry.brokkgui.BrokkGuiPlatform;
 import net.voxelindustry.brokkgui.component.GuiNode;
 import net.voxelindustry.brokkgui.component.IGuiPopup;
 import net.voxelindustry.brokkgui.control.GuiFather;
 import net.voxelindustry.brokkgui.data.RelativeBindingHelper;
 import net.voxelindustry.brokkgui.internal.IGuiRenderer;
+import net.voxelindustry.brokkgui.paint.Color;
 import net.voxelindustry.brokkgui.paint.RenderPass;
 import net.voxelindustry.brokkgui.panel.GuiAbsolutePane;
 
@@ -14,6 +16,7 @@ public class GuiToast extends GuiFather implements IGuiPopup
     private final BaseProperty<GuiNode> contentProperty;
     private final BaseProperty<Long>    lifeTimeProperty;
     private final BaseProperty<Long>    currentTimeProperty;
+    private final BaseProperty<Integer> countProperty;
 
     private long millisStart;
 
@@ -47,6 +50,9 @@ public class GuiToast extends GuiFather implements IGuiPopup
 
         this.lifeTimeProperty = new BaseProperty<>(lifeTime, "lifeTimeProperty");
         this.currentTimeProperty = new BaseProperty<>(0L, "currentTimeProperty");
+        this.countProperty = new BaseProperty<>(1, "countProperty");
+
+        this.getStyle().registerProperty("count-color", Color.WHITE, Color.class);
     }
 
     public GuiToast(long lifeTime)
@@ -61,9 +67,19 @@ public class GuiToast extends GuiFather implements IGuiPopup
 
         if (pass == RenderPass.MAIN)
         {
+            long frameMillis = BrokkGuiPlatform.getInstance().getFrameClock().getFrameMillis();
             if (millisStart == 0)
-                millisStart = System.currentTimeMillis();
-            currentTimeProperty.setValue((System.currentTimeMillis() - millisStart));
+                millisStart = frameMillis;
+            currentTimeProperty.setValue(frameMillis - millisStart);
+        }
+        else if (pass == RenderPass.FOREGROUND && this.getCount() > 1)
+        {
+            String count = "x" + this.getCount();
+            float countWidth = renderer.getHelper().getStringWidth(count);
+
+            renderer.getHelper().drawString(count,
+                    this.getxPos() + this.getxTranslate() + this.getWidth() - countWidth - 2,
+                    this.getyPos() + this.getyTranslate() + 2, this.getzLevel(), this.getCountColor());
         }
     }
 
@@ -82,6 +98,11 @@ public class GuiToast extends GuiFather implements IGuiPopup
         return currentTimeProperty;
     }
 
+    public BaseProperty<Integer> getCountProperty()
+    {
+        return countProperty;
+    }
+
     public GuiNode getContent()
     {
         return this.getContentProperty().getValue();
@@ -113,6 +134,35 @@ public class GuiToast extends GuiFather implements IGuiPopup
         this.millisStart = 0;
     }
 
+    /**
+     * Move the time of this toast, it keeps counting from the given time.
+     *
+     * @param currentTime the time in milliseconds since the toast was shown
+     */
+    public void setCurrentTime(long currentTime)
+    {
+        this.getCurrentTimeProperty().setValue(currentTime);
+        this.millisStart = BrokkGuiPlatform.getInstance().getFrameClock().getFrameMillis() - currentTime;
+    }
+
+    /**
+     * @return the count of identical toasts merged in this one, displayed when above 1
+     */
+    public int getCount()
+    {
+        return this.getCountProperty().getValue();
+    }
+
+    public void setCount(int count)
+    {
+        this.getCountProperty().setValue(count);
+    }
+
+    public Color getCountColor()
+    {
+        return this.getStyle().getStyleValue("count-color", Color.class, Color.WHITE);
+    }
+
     private void addCurrentTime(long currentLife)
     {
         this.getCurrentTimeProperty().setValue(this.getCurrentTime() + currentLife);
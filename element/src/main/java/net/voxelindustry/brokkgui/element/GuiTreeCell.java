@@ -0,0 +1,161 @@
+package net.voxelindustry.brokkgui.element;
+
+import fr.ourten.teabeans.binding.BaseBinding;
+import fr.ourten.teabeans.binding.BaseExpression;
+import fr.ourten.teabeans.value.BaseProperty;
+import net.voxelindustry.brokkgui.component.GuiNode;
+import net.voxelindustry.brokkgui.control.GuiElement;
+import net.voxelindustry.brokkgui.data.RelativeBindingHelper;
+import net.voxelindustry.brokkgui.skin.GuiSkinBase;
+import net.voxelindustry.brokkgui.skin.GuiTreeCellSkin;
+
+/**
+ * A row of a {@link GuiTreeView}. Cells are recycled, the item displayed changes when the TreeView is scrolled.
+ */
+public class GuiTreeCell<T> extends GuiElement
+{
+    private final GuiTreeView<T> treeView;
+
+    private final BaseProperty<GuiTreeItem<T>> itemProperty;
+    private final BaseProperty<GuiNode>        graphicProperty;
+    private final BaseProperty<Integer>        indexProperty;
+    private final BaseProperty<Integer>        levelProperty;
+
+    private final BaseBinding<Float> contentOffset;
+
+    public GuiTreeCell(final GuiTreeView<T> treeView)
+    {
+        super("treecell");
+
+        this.treeView = treeView;
+
+        this.itemProperty = new BaseProperty<>(null, "itemProperty");
+        this.graphicProperty = new BaseProperty<>(null, "graphicProperty");
+        this.indexProperty = new BaseProperty<>(0, "indexProperty");
+        this.levelProperty = new BaseProperty<>(0, "levelProperty");
+
+        this.getWidthProperty().bind(treeView.getWidthProperty());
+        this.getHeightProperty().bind(treeView.getCellHeightProperty());
+
+        this.getxPosProperty().bind(BaseExpression.biCombine(treeView.getxPosProperty(),
+                treeView.getxTranslateProperty(), (xPos, xTranslate) -> xPos + xTranslate));
+        this.getyPosProperty().bind(new BaseBinding<Float>()
+        {
+            {
+                super.bind(treeView.getyPosProperty(), treeView.getyTranslateProperty(),
+                        treeView.getScrollYProperty(), getHeightProperty(), indexProperty);
+            }
+
+            @Override
+            public Float computeValue()
+            {
+                return treeView.getyPos() + treeView.getyTranslate() + treeView.getScrollY()
+                        + GuiTreeCell.this.getIndex() * GuiTreeCell.this.getHeight();
+            }
+        });
+
+        // The expander takes a square of the height of the cell after the indentation
+        this.contentOffset = new BaseExpression<>(() -> this.getLevel() * treeView.getIndent() + this.getHeight(),
+                this.levelProperty, treeView.getIndentProperty(), this.getHeightProperty());
+    }
+
+    @Override
+    protected GuiSkinBase<?> makeDefaultSkin()
+    {
+        return new GuiTreeCellSkin<>(this);
+    }
+
+    public GuiTreeView<T> getTreeView()
+    {
+        return this.treeView;
+    }
+
+    public BaseProperty<GuiTreeItem<T>> getItemProperty()
+    {
+        return this.itemProperty;
+    }
+
+    public BaseProperty<GuiNode> getGraphicProperty()
+    {
+        return this.graphicProperty;
+    }
+
+    public BaseProperty<Integer> getIndexProperty()
+    {
+        return this.indexProperty;
+    }
+
+    public BaseProperty<Integer> getLevelProperty()
+    {
+        return this.levelProperty;
+    }
+
+    public GuiTreeItem<T> getItem()
+    {
+        return this.getItemProperty().getValue();
+    }
+
+    public void setItem(GuiTreeItem<T> item)
+    {
+        this.getItemProperty().setValue(item);
+    }
+
+    /**
+     * @return the row displayed by this cell
+     */
+    public int getIndex()
+    {
+        return this.getIndexProperty().getValue();
+    }
+
+    public void setIndex(int index)
+    {
+        this.getIndexProperty().setValue(index);
+    }
+
+    /**
+     * @return the level of indentation of the displayed item
+     */
+    public int getLevel()
+    {
+        return this.getLevelProperty().getValue();
+    }
+
+    public void setLevel(int level)
+    {
+        this.getLevelProperty().setValue(level);
+    }
+
+    /**
+     * @return the horizontal offset of the graphic from the left of this cell
+     */
+    public float getContentOffset()
+    {
+        return this.contentOffset.getValue();
+    }
+
+    public GuiNode getGraphic()
+    {
+        return this.getGraphicProperty().getValue();
+    }
+
+    public void setGraphic(GuiNode graphic)
+    {
+        if (this.getGraphic() != null)
+        {
+            this.removeChild(this.getGraphic());
+            this.getGraphic().getWidthProperty().unbind();
+            this.getGraphic().getHeightProperty().unbind();
+        }
+        this.getGraphicProperty().setValue(graphic);
+        if (this.getGraphic() != null)
+        {
+            this.addChild(this.getGraphic());
+
+            RelativeBindingHelper.bindToPos(this.getGraphic(), this, this.contentOffset, null);
+            this.getGraphic().getWidthProperty().bind(BaseExpression.biCombine(this.getWidthProperty(),
+                    this.contentOffset, (width, offset) -> width - offset));
+            this.getGraphic().getHeightProperty().bind(this.getHeightProperty());
+        }
+    }
+}
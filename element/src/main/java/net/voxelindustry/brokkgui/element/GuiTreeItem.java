@@ -0,0 +1,247 @@
+package net.voxelindustry.brokkgui.element;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A value of a {@link GuiTreeView} and its children.
+ * <p>
+ * Items are plain objects and not nodes, only the rows in the viewport of the TreeView get a cell. Children not added
+ * by hand are loaded through the children loader of the TreeView on the first expansion of the item.
+ *
+ * @param <T> the type of value held
+ */
+public class GuiTreeItem<T>
+{
+    private final T value;
+
+    private GuiTreeItem<T>       parent;
+    private GuiTreeView<T>       treeView;
+    private List<GuiTreeItem<T>> children;
+
+    private boolean expanded;
+    private int     depth;
+    private int     rowIndex = -1;
+
+    public GuiTreeItem(T value)
+    {
+        this.value = value;
+    }
+
+    public T getValue()
+    {
+        return this.value;
+    }
+
+    public GuiTreeItem<T> getParent()
+    {
+        return this.parent;
+    }
+
+    /**
+     * @return the count of ancestors of this item, 0 for the root
+     */
+    public int getDepth()
+    {
+        return this.depth;
+    }
+
+    /**
+     * @return the TreeView displaying the tree of this item, found from its root
+     */
+    public GuiTreeView<T> getTreeView()
+    {
+        GuiTreeItem<T> root = this;
+        while (root.parent != null)
+            root = root.parent;
+        return root.treeView;
+    }
+
+    void setTreeView(GuiTreeView<T> treeView)
+    {
+        this.treeView = treeView;
+    }
+
+    /**
+     * @return the last row this item was indexed at by its TreeView, only checked by the TreeView
+     */
+    int getRowIndex()
+    {
+        return this.rowIndex;
+    }
+
+    void setRowIndex(int rowIndex)
+    {
+        this.rowIndex = rowIndex;
+    }
+
+    public boolean isExpanded()
+    {
+        return this.expanded;
+    }
+
+    /**
+     * Expanding an item loads its children if they were not already, the rows of its displayed descendants are then
+     * inserted in the TreeView.
+     */
+    public void setExpanded(boolean expanded)
+    {
+        if (this.expanded == expanded)
+            return;
+
+        if (expanded)
+            this.loadChildren();
+        this.expanded = expanded;
+
+        GuiTreeView<T> treeView = this.getTreeView();
+        if (treeView != null)
+            treeView.onExpandedChange(this);
+    }
+
+    /**
+     * @return true if this item has no children. Items with children still to load ask the leaf predicate of their
+     * TreeView, and are considered as branches without one.
+     */
+    public boolean isLeaf()
+    {
+        if (this.children != null)
+            return this.children.isEmpty();
+
+        GuiTreeView<T> treeView = this.getTreeView();
+        return treeView != null && treeView.getLeafPredicate() != null && treeView.getLeafPredicate().test(this.value);
+    }
+
+    public boolean isChildrenLoaded()
+    {
+        return this.children != null;
+    }
+
+    /**
+     * @return an immutable list, the children are loaded if they were not already and a loader is available
+     */
+    public List<GuiTreeItem<T>> getChildren()
+    {
+        this.loadChildren();
+
+        if (this.children == null)
+            return Collections.emptyList();
+        return Collections.unmodifiableList(this.children);
+    }
+
+    public void addChild(GuiTreeItem<T> child)
+    {
+        this.addChild(child, this.getChildren().size());
+    }
+
+    public void addChild(GuiTreeItem<T> child, int index)
+    {
+        this.loadChildren();
+        if (this.children == null)
+            this.children = new ArrayList<>();
+
+        if (child.parent != null)
+            child.parent.removeChild(child);
+        this.attachChild(child, index);
+
+        GuiTreeView<T> treeView = this.getTreeView();
+        if (treeView != null)
+            treeView.onChildAdded(this, child);
+    }
+
+    public void addChildren(Collection<GuiTreeItem<T>> children)
+    {
+        children.forEach(this::addChild);
+    }
+
+    public boolean removeChild(GuiTreeItem<T> child)
+    {
+        if (this.children == null || child.parent != this)
+            return false;
+
+        GuiTreeView<T> treeView = this.getTreeView();
+        if (treeView != null)
+            treeView.onChildRemoved(this, child);
+
+        this.children.remove(child);
+        child.parent = null;
+        return true;
+    }
+
+    /**
+     * Collapse this item and drop its children, they will be loaded again on the next expansion.
+     * Children added by hand are dropped too. A hidden root always displaying its children, they are loaded again
+     * right away.
+     */
+    public void unloadChildren()
+    {
+        this.setExpanded(false);
+
+        if (this.children != null)
+            this.children.forEach(child -> child.parent = null);
+        this.children = null;
+
+        GuiTreeView<T> treeView = this.getTreeView();
+        if (treeView != null)
+            treeView.onChildrenUnloaded(this);
+    }
+
+    /**
+     * @return true if the given item is a descendant of this one
+     */
+    public boolean isAncestorOf(GuiTreeItem<T> item)
+    {
+        GuiTreeItem<T> current = item.parent;
+        while (current != null)
+        {
+            if (current == this)
+                return true;
+            current = current.parent;
+        }
+        return false;
+    }
+
+    /**
+     * Load the children from the TreeView loader. Nothing is loaded while the item is not in a TreeView with a loader,
+     * so that a loader given later is still used.
+     */
+    private void loadChildren()
+    {
+        if (this.children != null)
+            return;
+
+        GuiTreeView<T> treeView = this.getTreeView();
+        if (treeView == null || treeView.getChildrenLoader() == null)
+            return;
+
+        this.children = new ArrayList<>();
+        Collection<T> values = treeView.getChildrenLoader().apply(this.value);
+        if (values == null)
+            return;
+
+        for (T childValue : values)
+            this.attachChild(new GuiTreeItem<>(childValue), this.children.size());
+    }
+
+    private void attachChild(GuiTreeItem<T> child, int index)
+    {
+        child.parent = this;
+        child.updateDepth(this.depth + 1);
+        this.children.add(index, child);
+    }
+
+    private void updateDepth(int depth)
+    {
+        this.depth = depth;
+
+        if (this.children != null)
+            this.children.forEach(child -> child.updateDepth(depth + 1));
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.valueOf(this.value);
+    }
+}
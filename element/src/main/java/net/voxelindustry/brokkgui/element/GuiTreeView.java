@@ -0,0 +1,482 @@
+package net.voxelindustry.brokkgui.element;
+
+import fr.ourten.teabeans.value.BaseProperty;
+import net.voxelindustry.brokkgui.behavior.GuiTreeViewBehavior;
+import net.voxelindustry.brokkgui.control.GuiScrollableBase;
+import net.voxelindustry.brokkgui.data.RectAlignment;
+import net.voxelindustry.brokkgui.skin.GuiSkinBase;
+import net.voxelindustry.brokkgui.skin.GuiTreeViewSkin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Displays a tree of {@link GuiTreeItem} as rows of equal height, only the rows intersecting the viewport get a cell.
+ * <p>
+ * The displayed items are kept in a flat list of rows, updated on each expansion, collapse or change of children
+ * without walking the rest of the tree.
+ *
+ * @param <T> the type of the values of the items
+ */
+public class GuiTreeView<T> extends GuiScrollableBase
+{
+    private final BaseProperty<GuiTreeItem<T>> rootProperty;
+    private final BaseProperty<Boolean>        showRootProperty;
+
+    private final BaseProperty<Function<T, Collection<T>>>    childrenLoaderProperty;
+    private final BaseProperty<Predicate<T>>                  leafPredicateProperty;
+    private final BaseProperty<BiConsumer<GuiTreeCell<T>, T>> cellUpdaterProperty;
+
+    private final BaseProperty<Float>   cellHeightProperty;
+    private final BaseProperty<Float>   indentProperty;
+    private final BaseProperty<Integer> overscanProperty;
+
+    private final BaseProperty<GuiTreeItem<T>> selectedItemProperty;
+
+    /**
+     * Displayed items, in display order
+     */
+    private final List<GuiTreeItem<T>> rows;
+
+    /**
+     * Count of leading rows whose item holds its current row index, the rows after it moved since they were indexed
+     */
+    private int indexedRows;
+
+    public GuiTreeView(GuiTreeItem<T> root)
+    {
+        super("treeview");
+
+        this.rootProperty = new BaseProperty<>(null, "rootProperty");
+        this.showRootProperty = new BaseProperty<>(true, "showRootProperty");
+
+        this.childrenLoaderProperty = new BaseProperty<>(null, "childrenLoaderProperty");
+        this.leafPredicateProperty = new BaseProperty<>(null, "leafPredicateProperty");
+        this.cellUpdaterProperty = new BaseProperty<>(null, "cellUpdaterProperty");
+
+        this.cellHeightProperty = new BaseProperty<>(20f, "cellHeightProperty");
+        this.indentProperty = new BaseProperty<>(10f, "indentProperty");
+        this.overscanProperty = new BaseProperty<>(2, "overscanProperty");
+
+        this.selectedItemProperty = new BaseProperty<>(null, "selectedItemProperty");
+
+        this.rows = new ArrayList<>();
+
+        this.rootProperty.addListener((obs, oldValue, newValue) ->
+        {
+            if (oldValue != null)
+                oldValue.setTreeView(null);
+            if (newValue != null)
+                newValue.setTreeView(this);
+            this.rebuildRows();
+        });
+        this.showRootProperty.addListener(obs -> this.rebuildRows());
+        this.childrenLoaderProperty.addListener(obs -> this.rebuildRows());
+        this.leafPredicateProperty.addListener(obs -> this.requestLayout());
+
+        this.setRoot(root);
+    }
+
+    public GuiTreeView()
+    {
+        this(null);
+    }
+
+    @Override
+    protected GuiSkinBase<?> makeDefaultSkin()
+    {
+        return new GuiTreeViewSkin<>(this, new GuiTreeViewBehavior<>(this, this::getChildrensProperty));
+    }
+
+    public BaseProperty<GuiTreeItem<T>> getRootProperty()
+    {
+        return this.rootProperty;
+    }
+
+    public BaseProperty<Boolean> getShowRootProperty()
+    {
+        return this.showRootProperty;
+    }
+
+    public BaseProperty<Function<T, Collection<T>>> getChildrenLoaderProperty()
+    {
+        return this.childrenLoaderProperty;
+    }
+
+    public BaseProperty<Predicate<T>> getLeafPredicateProperty()
+    {
+        return this.leafPredicateProperty;
+    }
+
+    public BaseProperty<BiConsumer<GuiTreeCell<T>, T>> getCellUpdaterProperty()
+    {
+        return this.cellUpdaterProperty;
+    }
+
+    public BaseProperty<Float> getCellHeightProperty()
+    {
+        return this.cellHeightProperty;
+    }
+
+    public BaseProperty<Float> getIndentProperty()
+    {
+        return this.indentProperty;
+    }
+
+    public BaseProperty<Integer> getOverscanProperty()
+    {
+        return this.overscanProperty;
+    }
+
+    public BaseProperty<GuiTreeItem<T>> getSelectedItemProperty()
+    {
+        return this.selectedItemProperty;
+    }
+
+    public GuiTreeItem<T> getRoot()
+    {
+        return this.getRootProperty().getValue();
+    }
+
+    public void setRoot(GuiTreeItem<T> root)
+    {
+        this.getRootProperty().setValue(root);
+    }
+
+    public boolean isShowRoot()
+    {
+        return this.getShowRootProperty().getValue();
+    }
+
+    /**
+     * A hidden root always displays its children, as if it was expanded.
+     *
+     * @param showRoot
+     */
+    public void setShowRoot(boolean showRoot)
+    {
+        this.getShowRootProperty().setValue(showRoot);
+    }
+
+    public Function<T, Collection<T>> getChildrenLoader()
+    {
+        return this.getChildrenLoaderProperty().getValue();
+    }
+
+    /**
+     * The children loader is called with the value of an item on its first expansion, to create its children.
+     * Trees of any size can then be displayed while only building the branches opened by the user.
+     *
+     * @param childrenLoader a function returning the values of the children of a value
+     */
+    public void setChildrenLoader(Function<T, Collection<T>> childrenLoader)
+    {
+        this.getChildrenLoaderProperty().setValue(childrenLoader);
+    }
+
+    public Predicate<T> getLeafPredicate()
+    {
+        return this.getLeafPredicateProperty().getValue();
+    }
+
+    /**
+     * Tell which values have no children without loading them, to hide the expander of their rows.
+     *
+     * @param leafPredicate
+     */
+    public void setLeafPredicate(Predicate<T> leafPredicate)
+    {
+        this.getLeafPredicateProperty().setValue(leafPredicate);
+    }
+
+    public BiConsumer<GuiTreeCell<T>, T> getCellUpdater()
+    {
+        if (!this.getCellUpdaterProperty().isPresent())
+            this.setCellUpdater(this.createDefaultCellUpdater());
+        return this.getCellUpdaterProperty().getValue();
+    }
+
+    /**
+     * The cell updater changes the content of a cell to a new value, cells are recycled when scrolled out of view.
+     *
+     * @param cellUpdater a consumer changing the graphic of a cell to display a value
+     */
+    public void setCellUpdater(BiConsumer<GuiTreeCell<T>, T> cellUpdater)
+    {
+        this.getCellUpdaterProperty().setValue(cellUpdater);
+    }
+
+    public float getCellHeight()
+    {
+        return this.getCellHeightProperty().getValue();
+    }
+
+    public void setCellHeight(float cellHeight)
+    {
+        this.getCellHeightProperty().setValue(cellHeight);
+    }
+
+    public float getIndent()
+    {
+        return this.getIndentProperty().getValue();
+    }
+
+    /**
+     * @param indent the horizontal offset added to the cells for each level of depth
+     */
+    public void setIndent(float indent)
+    {
+        this.getIndentProperty().setValue(indent);
+    }
+
+    public int getOverscan()
+    {
+        return this.getOverscanProperty().getValue();
+    }
+
+    public void setOverscan(int overscan)
+    {
+        this.getOverscanProperty().setValue(overscan);
+    }
+
+    public GuiTreeItem<T> getSelectedItem()
+    {
+        return this.getSelectedItemProperty().getValue();
+    }
+
+    public void setSelectedItem(GuiTreeItem<T> selectedItem)
+    {
+        this.getSelectedItemProperty().setValue(selectedItem);
+    }
+
+    private BiConsumer<GuiTreeCell<T>, T> createDefaultCellUpdater()
+    {
+        return (cell, value) ->
+        {
+            if (value == null)
+                cell.setGraphic(null);
+            else if (cell.getGraphic() instanceof GuiLabel)
+                ((GuiLabel) cell.getGraphic()).setText(value.toString());
+            else
+            {
+                GuiLabel label = new GuiLabel(value.toString());
+                label.setExpandToText(false);
+                label.setTextAlignment(RectAlignment.LEFT_CENTER);
+                cell.setGraphic(label);
+            }
+        };
+    }
+
+    //////////
+    // ROWS //
+    //////////
+
+    public int getRowCount()
+    {
+        return this.rows.size();
+    }
+
+    public GuiTreeItem<T> getRow(int index)
+    {
+        return this.rows.get(index);
+    }
+
+    /**
+     * @return the row displaying the item, -1 if it is not displayed
+     */
+    public int getRowIndex(GuiTreeItem<T> item)
+    {
+        int row = item.getRowIndex();
+        if (row >= 0 && row < this.indexedRows && this.rows.get(row) == item)
+            return row;
+
+        // Index the rows moved since the last lookup, they stay indexed until a splice before them
+        for (; this.indexedRows < this.rows.size(); this.indexedRows++)
+            this.rows.get(this.indexedRows).setRowIndex(this.indexedRows);
+
+        row = item.getRowIndex();
+        if (row >= 0 && row < this.rows.size() && this.rows.get(row) == item)
+            return row;
+        return -1;
+    }
+
+    /**
+     * @return the level of indentation of the row, the children of a hidden root are at the level 0
+     */
+    public int getRowLevel(GuiTreeItem<T> item)
+    {
+        return this.isShowRoot() ? item.getDepth() : item.getDepth() - 1;
+    }
+
+    /**
+     * Expand every ancestor of the item and scroll to it.
+     */
+    public void reveal(GuiTreeItem<T> item)
+    {
+        GuiTreeItem<T> parent = item.getParent();
+        while (parent != null)
+        {
+            parent.setExpanded(true);
+            parent = parent.getParent();
+        }
+
+        int row = this.getRowIndex(item);
+        if (row != -1)
+            this.scrollToRow(row);
+    }
+
+    /**
+     * Scroll the least needed for the row to be fully in the viewport.
+     */
+    public void scrollToRow(int row)
+    {
+        float rowStart = row * this.getCellHeight();
+        float offset = -this.getScrollY();
+
+        if (rowStart < offset)
+            this.setScrollY(-rowStart);
+        else if (rowStart + this.getCellHeight() > offset + this.getHeight())
+            this.setScrollY(-(rowStart + this.getCellHeight() - this.getHeight()));
+    }
+
+    private void rebuildRows()
+    {
+        this.rows.clear();
+        this.indexedRows = 0;
+
+        GuiTreeItem<T> root = this.getRoot();
+        if (root != null)
+        {
+            if (this.isShowRoot())
+                this.addDisplayed(root, this.rows);
+            else
+                this.addDisplayedChildren(root, this.rows);
+        }
+        this.requestLayout();
+    }
+
+    void onExpandedChange(GuiTreeItem<T> item)
+    {
+        // The children of a hidden root are always displayed
+        if (item == this.getRoot() && !this.isShowRoot())
+            return;
+
+        int childrenStart = this.getChildrenStartRow(item);
+        if (childrenStart == -1)
+            return;
+
+        if (item.isExpanded())
+        {
+            List<GuiTreeItem<T>> displayed = new ArrayList<>();
+            this.addDisplayedChildren(item, displayed);
+            this.rows.addAll(childrenStart, displayed);
+            this.indexedRows = Math.min(this.indexedRows, childrenStart);
+        }
+        else
+        {
+            this.rows.subList(childrenStart, this.getSubtreeEnd(childrenStart, item.getDepth())).clear();
+            this.indexedRows = Math.min(this.indexedRows, childrenStart);
+
+            if (this.getSelectedItem() != null && item.isAncestorOf(this.getSelectedItem()))
+                this.setSelectedItem(item);
+        }
+        this.requestLayout();
+    }
+
+    void onChildrenUnloaded(GuiTreeItem<T> item)
+    {
+        // Collapsing only removed the rows of a displayed item, the children of a hidden root are reloaded instead
+        if (item != this.getRoot() || this.isShowRoot())
+            return;
+
+        this.setSelectedItem(null);
+        this.rebuildRows();
+    }
+
+    void onChildAdded(GuiTreeItem<T> parent, GuiTreeItem<T> child)
+    {
+        if (!this.areChildrenDisplayed(parent))
+            return;
+
+        int childrenStart = this.getChildrenStartRow(parent);
+        if (childrenStart == -1)
+            return;
+
+        // Rows of the siblings before the child are skipped by depth
+        int row = childrenStart;
+        List<GuiTreeItem<T>> siblings = parent.getChildren();
+        int childIndex = siblings.indexOf(child);
+        for (int sibling = 0; sibling < childIndex; sibling++)
+            row = this.getSubtreeEnd(row + 1, child.getDepth());
+
+        List<GuiTreeItem<T>> displayed = new ArrayList<>();
+        this.addDisplayed(child, displayed);
+        this.rows.addAll(row, displayed);
+        this.indexedRows = Math.min(this.indexedRows, row);
+        this.requestLayout();
+    }
+
+    void onChildRemoved(GuiTreeItem<T> parent, GuiTreeItem<T> child)
+    {
+        if (!this.areChildrenDisplayed(parent))
+            return;
+
+        int row = this.getRowIndex(child);
+        if (row == -1)
+            return;
+
+        this.rows.subList(row, this.getSubtreeEnd(row + 1, child.getDepth())).clear();
+        this.indexedRows = Math.min(this.indexedRows, row);
+
+        if (this.getSelectedItem() == child || this.getSelectedItem() != null
+                && child.isAncestorOf(this.getSelectedItem()))
+            this.setSelectedItem(null);
+        this.requestLayout();
+    }
+
+    /**
+     * @return the row the children of the item start at, -1 if the item is not displayed
+     */
+    private int getChildrenStartRow(GuiTreeItem<T> item)
+    {
+        if (item == this.getRoot() && !this.isShowRoot())
+            return 0;
+
+        int row = this.getRowIndex(item);
+        return row == -1 ? -1 : row + 1;
+    }
+
+    /**
+     * @return the exclusive end of the rows deeper than the given depth, starting at from
+     */
+    private int getSubtreeEnd(int from, int depth)
+    {
+        int end = from;
+        while (end < this.rows.size() && this.rows.get(end).getDepth() > depth)
+            end++;
+        return end;
+    }
+
+    private boolean areChildrenDisplayed(GuiTreeItem<T> item)
+    {
+        return item.isExpanded() || item == this.getRoot() && !this.isShowRoot();
+    }
+
+    private void addDisplayed(GuiTreeItem<T> item, List<GuiTreeItem<T>> displayed)
+    {
+        displayed.add(item);
+
+        if (item.isExpanded())
+            this.addDisplayedChildren(item, displayed);
+    }
+
+    private void addDisplayedChildren(GuiTreeItem<T> item, List<GuiTreeItem<T>> displayed)
+    {
+        for (GuiTreeItem<T> child : item.getChildren())
+            this.addDisplayed(child, displayed);
+    }
+}
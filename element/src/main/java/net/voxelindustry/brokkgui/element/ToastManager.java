@@ -1,17 +1,26 @@
 package net.voxelindustry.brokkgui.element;
 
-import fr.ourten.teabeans.binding.BaseBinding;
 import fr.ourten.teabeans.binding.BaseExpression;
 import fr.ourten.teabeans.value.BaseProperty;
+import net.voxelindustry.brokkgui.BrokkGuiPlatform;
 import net.voxelindustry.brokkgui.component.GuiNode;
+import net.voxelindustry.brokkgui.component.IGuiPopup;
 import net.voxelindustry.brokkgui.data.RectAlignment;
 import net.voxelindustry.brokkgui.gui.IGuiWindow;
 import net.voxelindustry.brokkgui.internal.PopupHandler;
-import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.ArrayDeque;
-import java.util.Queue;
-
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Displays toasts as popups, stacked from a position of the screen.
+ * <p>
+ * Toasts above {@link #getMaxVisible()}, one by default, wait in a queue that can be bounded, toasts added with the
+ * same key are merged in a single one showing a counter. The stack is laid out once per frame of the platform
+ * {@link net.voxelindustry.brokkgui.animation.FrameClock}, and toast nodes are pooled between notifications.
+ */
 public class ToastManager
 {
     private final IGuiWindow screen;
@@ -22,12 +31,26 @@ public class ToastManager
     private final BaseProperty<Float>         relativeYPosProperty;
     private final BaseProperty<RectAlignment> toastAlignmentProperty;
 
-    private final BaseProperty<Float>   toastExitXProperty;
-    private final BaseProperty<Float>   toastExitYProperty;
-    private final BaseProperty<GuiNode> current;
+    private final BaseProperty<Float> toastExitXProperty;
+    private final BaseProperty<Float> toastExitYProperty;
+
+    private final BaseProperty<Integer> maxVisibleProperty;
+    private final BaseProperty<Integer> queueCapacityProperty;
+    private final BaseProperty<Float>   toastSpacingProperty;
+    private final BaseProperty<Long>    transitionDurationProperty;
 
-    private GuiToast                   toastHolder;
-    private Queue<Pair<GuiNode, Long>> toastQueue;
+    private final List<GuiToast>      visibleToasts;
+    private final List<String>        visibleKeys;
+    private final Deque<PendingToast> toastQueue;
+    private final Deque<GuiToast>     toastPool;
+    private final Deque<PendingToast> pendingPool;
+
+    /**
+     * Registered as the first popup of the manager, lays out the stack before the toasts are rendered.
+     */
+    private final IGuiPopup layoutPopup;
+    private       boolean   layoutPopupAdded;
+    private       long      lastLayoutFrame;
 
     public ToastManager(IGuiWindow screen)
     {
@@ -42,86 +65,302 @@ public class ToastManager
         this.toastExitXProperty = new BaseProperty<>(0f, "toastExitXProperty");
         this.toastExitYProperty = new BaseProperty<>(-100f, "toastExitYProperty");
 
+        this.maxVisibleProperty = new BaseProperty<>(1, "maxVisibleProperty");
+        this.queueCapacityProperty = new BaseProperty<>(Integer.MAX_VALUE, "queueCapacityProperty");
+        this.toastSpacingProperty = new BaseProperty<>(2f, "toastSpacingProperty");
+        this.transitionDurationProperty = new BaseProperty<>(200L, "transitionDurationProperty");
+
+        this.visibleToasts = new ArrayList<>();
+        this.visibleKeys = new ArrayList<>();
         this.toastQueue = new ArrayDeque<>();
-        this.current = new BaseProperty<>(null, "currentToastProperty");
-        this.toastHolder = new GuiToast(null, 0L);
+        this.toastPool = new ArrayDeque<>();
+        this.pendingPool = new ArrayDeque<>();
 
-        toastHolder.getCurrentTimeProperty().addListener((obs, oldValue, newValue) ->
+        this.layoutPopup = (renderer, pass, mouseX, mouseY) ->
         {
-            if (!(newValue > toastHolder.getLifeTime()))
-                return;
-
-            PopupHandler.getInstance(screen).removePopup(toastHolder);
-            current.setValue(null);
-            toastHolder.setContent(null);
-
-            if (!toastQueue.isEmpty())
+            long frame = this.getFrameIndex();
+            if (frame != this.lastLayoutFrame)
             {
-                Pair<GuiNode, Long> next = toastQueue.poll();
-                current.setValue(next.getKey());
-                toastHolder.setContent(current.getValue());
-                toastHolder.resetCurrentTime();
-                toastHolder.setLifeTime(next.getValue());
-                PopupHandler.getInstance(screen).addPopup(toastHolder);
+                this.lastLayoutFrame = frame;
+                this.layoutStack();
             }
-        });
+        };
+    }
 
-        toastHolder.getxPosProperty().bind(new BaseBinding<Float>()
+    public void addToast(GuiNode toastContent, Long lifeTime)
+    {
+        this.addToast(null, toastContent, lifeTime);
+    }
+
+    /**
+     * Show a toast, or queue it when {@link #getMaxVisible()} toasts are already shown.
+     * <p>
+     * A toast with the same key as a shown or queued one is merged in it, incrementing its counter. A shown toast
+     * also restarts its life time. When the queue is full the oldest queued toast is dropped.
+     *
+     * @param key          identifies toasts to merge, null to never merge this toast
+     * @param toastContent the node displayed by the toast, discarded when merged
+     * @param lifeTime     the time in milliseconds the toast is shown
+     */
+    public void addToast(String key, GuiNode toastContent, long lifeTime)
+    {
+        if (key != null && this.coalesce(key))
+            return;
+
+        if (this.visibleToasts.size() < this.getMaxVisible())
         {
-            {
-                super.bind(xPosProperty, getToastAlignmentProperty(), toastHolder.getWidthProperty(),
-                        getToastExitXProperty(), current);
-            }
+            this.showToast(key, toastContent, lifeTime, 1);
+            return;
+        }
 
-            @Override
-            public Float computeValue()
-            {
-                float offset = (current.getValue() == toastHolder.getContent() ? 0 :
-                        getToastExitXProperty().getValue());
-
-                if (getToastAlignmentProperty().getValue().isLeft())
-                    return xPosProperty.getValue() - toastHolder.getWidth() + offset;
-                else if (getToastAlignmentProperty().getValue().isRight())
-                    return xPosProperty.getValue() + offset;
-                else
-                    return xPosProperty.getValue() - toastHolder.getWidth() / 2 + offset;
-            }
-        });
-        toastHolder.getyPosProperty().bind(new BaseBinding<Float>()
+        if (this.getQueueCapacity() <= 0)
+            return;
+        while (this.toastQueue.size() >= this.getQueueCapacity())
+            this.releasePending(this.toastQueue.poll());
+
+        PendingToast pending = this.pendingPool.isEmpty() ? new PendingToast() : this.pendingPool.pop();
+        pending.key = key;
+        pending.content = toastContent;
+        pending.lifeTime = lifeTime;
+        pending.count = 1;
+        this.toastQueue.add(pending);
+    }
+
+    private boolean coalesce(String key)
+    {
+        int visibleIndex = this.visibleKeys.indexOf(key);
+        if (visibleIndex != -1)
         {
-            {
-                super.bind(yPosProperty, getToastAlignmentProperty(), toastHolder.getHeightProperty(),
-                        getToastExitYProperty(), current);
-            }
+            GuiToast toast = this.visibleToasts.get(visibleIndex);
+            toast.setCount(toast.getCount() + 1);
+
+            // The toast stays entered, only the time to exit is reset
+            toast.setCurrentTime(Math.min(toast.getCurrentTime(), this.getTransitionDuration()));
+            return true;
+        }
 
-            @Override
-            public Float computeValue()
+        for (PendingToast pending : this.toastQueue)
+        {
+            if (key.equals(pending.key))
             {
-                float offset = (current.getValue() == toastHolder.getContent() ? 0 :
-                        getToastExitYProperty().getValue());
-
-                if (getToastAlignmentProperty().getValue().isUp())
-                    return yPosProperty.getValue() - toastHolder.getHeight() + offset;
-                else if (getToastAlignmentProperty().getValue().isDown())
-                    return yPosProperty.getValue() + offset;
-                else
-                    return yPosProperty.getValue() - toastHolder.getHeight() / 2 + offset;
+                pending.count++;
+                return true;
             }
-        });
+        }
+        return false;
     }
 
-    public void addToast(GuiNode toastContent, Long lifeTime)
+    private void showToast(String key, GuiNode content, long lifeTime, int count)
     {
-        if (current.isPresent())
-            toastQueue.add(Pair.of(toastContent, lifeTime));
-        else
+        GuiToast toast = this.toastPool.isEmpty() ? new GuiToast(null, lifeTime) : this.toastPool.pop();
+        toast.setContent(content);
+        toast.setLifeTime(lifeTime);
+        toast.setCount(count);
+        toast.resetCurrentTime();
+
+        this.visibleToasts.add(toast);
+        this.visibleKeys.add(key);
+
+        PopupHandler popupHandler = PopupHandler.getInstance(this.screen);
+        if (!this.layoutPopupAdded)
         {
-            current.setValue(toastContent);
-            toastHolder.resetCurrentTime();
-            toastHolder.setLifeTime(lifeTime);
-            toastHolder.setContent(current.getValue());
-            PopupHandler.getInstance(screen).addPopup(toastHolder);
+            popupHandler.addPopup(this.layoutPopup);
+            this.layoutPopupAdded = true;
+            this.lastLayoutFrame = this.getFrameIndex();
         }
+        // Placed before its first render, the next layout pass only happens on the next frame
+        this.placeToast(toast, this.getStackOffset(this.visibleToasts.size() - 1), 1);
+        popupHandler.addPopup(toast);
+    }
+
+    private long getFrameIndex()
+    {
+        return BrokkGuiPlatform.getInstance().getFrameClock().getFrameIndex();
+    }
+
+    private void releaseToast(int index)
+    {
+        GuiToast toast = this.visibleToasts.remove(index);
+        this.visibleKeys.remove(index);
+
+        PopupHandler.getInstance(this.screen).removePopup(toast);
+        toast.setContent(null);
+        toast.setCount(1);
+
+        if (this.toastPool.size() < this.getMaxVisible())
+            this.toastPool.push(toast);
+    }
+
+    private void releasePending(PendingToast pending)
+    {
+        pending.key = null;
+        pending.content = null;
+
+        if (this.pendingPool.size() < this.getQueueCapacity())
+            this.pendingPool.push(pending);
+    }
+
+    /**
+     * Remove the expired toasts, show the queued ones in the freed places and place all shown toasts.
+     * Called once per frame while toasts are shown.
+     */
+    private void layoutStack()
+    {
+        for (int index = this.visibleToasts.size() - 1; index >= 0; index--)
+        {
+            GuiToast toast = this.visibleToasts.get(index);
+            if (toast.getCurrentTime() > toast.getLifeTime())
+                this.releaseToast(index);
+        }
+
+        while (this.visibleToasts.size() < this.getMaxVisible() && !this.toastQueue.isEmpty())
+        {
+            PendingToast next = this.toastQueue.poll();
+            this.showToast(next.key, next.content, next.lifeTime, next.count);
+            this.releasePending(next);
+        }
+
+        if (this.visibleToasts.isEmpty())
+        {
+            PopupHandler.getInstance(this.screen).removePopup(this.layoutPopup);
+            this.layoutPopupAdded = false;
+            return;
+        }
+
+        float stackOffset = 0;
+        for (GuiToast toast : this.visibleToasts)
+        {
+            this.placeToast(toast, stackOffset, this.getExitRatio(toast));
+            stackOffset += toast.getHeight() + this.getToastSpacing();
+        }
+    }
+
+    /**
+     * @return the ratio of the exit offset to apply to the toast, 1 when entering or leaving and 0 once fully shown
+     */
+    private float getExitRatio(GuiToast toast)
+    {
+        long duration = this.getTransitionDuration();
+        if (duration <= 0)
+            return 0;
+
+        long shownTime = Math.min(toast.getCurrentTime(), toast.getLifeTime() - toast.getCurrentTime());
+        return 1 - Math.max(0, Math.min(1, (float) shownTime / duration));
+    }
+
+    private float getStackOffset(int index)
+    {
+        float stackOffset = 0;
+        for (int previous = 0; previous < index; previous++)
+            stackOffset += this.visibleToasts.get(previous).getHeight() + this.getToastSpacing();
+        return stackOffset;
+    }
+
+    private void placeToast(GuiToast toast, float stackOffset, float exitRatio)
+    {
+        RectAlignment alignment = this.getToastAlignment();
+        float offsetX = this.getToastExitX() * exitRatio;
+        float offsetY = this.getToastExitY() * exitRatio;
+
+        float xPos;
+        if (alignment.isLeft())
+            xPos = this.getPosX() - toast.getWidth() + offsetX;
+        else if (alignment.isRight())
+            xPos = this.getPosX() + offsetX;
+        else
+            xPos = this.getPosX() - toast.getWidth() / 2 + offsetX;
+
+        // Toasts aligned up are stacked upward, the others downward
+        float yPos;
+        if (alignment.isUp())
+            yPos = this.getPosY() - toast.getHeight() - stackOffset + offsetY;
+        else if (alignment.isDown())
+            yPos = this.getPosY() + stackOffset + offsetY;
+        else
+            yPos = this.getPosY() - toast.getHeight() / 2 + stackOffset + offsetY;
+
+        toast.getxPosProperty().setValue(xPos);
+        toast.getyPosProperty().setValue(yPos);
+    }
+
+    /**
+     * @return the count of toasts shown, not counting the queued ones
+     */
+    public int getVisibleCount()
+    {
+        return this.visibleToasts.size();
+    }
+
+    public int getQueuedCount()
+    {
+        return this.toastQueue.size();
+    }
+
+    public BaseProperty<Integer> getMaxVisibleProperty()
+    {
+        return maxVisibleProperty;
+    }
+
+    public BaseProperty<Integer> getQueueCapacityProperty()
+    {
+        return queueCapacityProperty;
+    }
+
+    public BaseProperty<Float> getToastSpacingProperty()
+    {
+        return toastSpacingProperty;
+    }
+
+    public BaseProperty<Long> getTransitionDurationProperty()
+    {
+        return transitionDurationProperty;
+    }
+
+    public int getMaxVisible()
+    {
+        return this.getMaxVisibleProperty().getValue();
+    }
+
+    public void setMaxVisible(int maxVisible)
+    {
+        this.getMaxVisibleProperty().setValue(maxVisible);
+    }
+
+    public int getQueueCapacity()
+    {
+        return this.getQueueCapacityProperty().getValue();
+    }
+
+    /**
+     * @param queueCapacity the count of toasts waiting to be shown, the oldest ones are dropped past it. Unbounded by
+     *                      default
+     */
+    public void setQueueCapacity(int queueCapacity)
+    {
+        this.getQueueCapacityProperty().setValue(queueCapacity);
+    }
+
+    public float getToastSpacing()
+    {
+        return this.getToastSpacingProperty().getValue();
+    }
+
+    public void setToastSpacing(float toastSpacing)
+    {
+        this.getToastSpacingProperty().setValue(toastSpacing);
+    }
+
+    public long getTransitionDuration()
+    {
+        return this.getTransitionDurationProperty().getValue();
+    }
+
+    /**
+     * @param transitionDuration the time in milliseconds a toast takes to slide from and to its exit position
+     */
+    public void setTransitionDuration(long transitionDuration)
+    {
+        this.getTransitionDurationProperty().setValue(transitionDuration);
     }
 
     public BaseProperty<RectAlignment> getToastAlignmentProperty()
@@ -248,4 +487,12 @@ public class ToastManager
         }
         this.getRelativeYPosProperty().setValue(relativeYPos);
     }
+
+    private static class PendingToast
+    {
+        private String  key;
+        private GuiNode content;
+        private long    lifeTime;
+        private int     count;
+    }
 }
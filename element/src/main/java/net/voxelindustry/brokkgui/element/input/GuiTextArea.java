@@ -0,0 +1,226 @@
+package net.voxelindustry.brokkgui.element.input;
+
+import fr.ourten.teabeans.value.BaseProperty;
+import net.voxelindustry.brokkgui.behavior.GuiTextAreaBehavior;
+import net.voxelindustry.brokkgui.component.ITextInput;
+import net.voxelindustry.brokkgui.control.GuiScrollableBase;
+import net.voxelindustry.brokkgui.data.RectBox;
+import net.voxelindustry.brokkgui.skin.GuiSkinBase;
+import net.voxelindustry.brokkgui.skin.GuiTextAreaSkin;
+import net.voxelindustry.brokkgui.text.TextLines;
+import net.voxelindustry.brokkgui.text.TextPosition;
+
+/**
+ * Multi-line editable text, stored line by line.
+ * <p>
+ * Only the visible lines are wrapped and drawn, edits only invalidate the wrapping of the lines they touch.
+ */
+public class GuiTextArea extends GuiScrollableBase implements ITextInput
+{
+    private final TextLines textLines;
+
+    private final BaseProperty<Boolean> editableProperty;
+    private final BaseProperty<Boolean> wrapTextProperty;
+    private final BaseProperty<Float>   lineSpacingProperty;
+    private final BaseProperty<RectBox> textPaddingProperty;
+
+    private final BaseProperty<Integer> caretLineProperty;
+    private final BaseProperty<Integer> caretColumnProperty;
+
+    public GuiTextArea(String text)
+    {
+        super("textarea");
+
+        this.textLines = new TextLines(text);
+
+        this.editableProperty = new BaseProperty<>(true, "editableProperty");
+        this.wrapTextProperty = new BaseProperty<>(true, "wrapTextProperty");
+        this.lineSpacingProperty = new BaseProperty<>(1F, "lineSpacingProperty");
+        this.textPaddingProperty = new BaseProperty<>(new RectBox(2), "textPaddingProperty");
+
+        this.caretLineProperty = new BaseProperty<>(0, "caretLineProperty");
+        this.caretColumnProperty = new BaseProperty<>(0, "caretColumnProperty");
+    }
+
+    public GuiTextArea()
+    {
+        this("");
+    }
+
+    @Override
+    protected GuiSkinBase<?> makeDefaultSkin()
+    {
+        return new GuiTextAreaSkin(this, new GuiTextAreaBehavior(this));
+    }
+
+    public TextLines getTextLines()
+    {
+        return this.textLines;
+    }
+
+    /**
+     * @return the whole text, joined on demand. Prefer {@link #getTextLines()} to read large texts.
+     */
+    @Override
+    public String getText()
+    {
+        return this.textLines.getText();
+    }
+
+    @Override
+    public void setText(String text)
+    {
+        this.textLines.setText(text);
+        this.setCaret(0, 0);
+    }
+
+    /**
+     * Insert a string at the caret position and move the caret after it.
+     */
+    public void insertAtCaret(String text)
+    {
+        if (text.isEmpty())
+            return;
+
+        TextPosition end = this.textLines.insert(this.getCaretLine(), this.getCaretColumn(), text);
+        this.setCaret(end.getLine(), end.getColumn());
+    }
+
+    /**
+     * Delete the char before the caret, joining the caret line with the previous one when at its start.
+     */
+    public void deleteBeforeCaret()
+    {
+        int line = this.getCaretLine();
+        int column = this.getCaretColumn();
+
+        if (column > 0)
+        {
+            this.textLines.delete(line, column - 1, line, column);
+            this.setCaret(line, column - 1);
+        }
+        else if (line > 0)
+        {
+            int previousLength = this.textLines.getLineLength(line - 1);
+            this.textLines.delete(line - 1, previousLength, line, 0);
+            this.setCaret(line - 1, previousLength);
+        }
+    }
+
+    /**
+     * Delete the char after the caret, joining the next line with the caret line when at its end.
+     */
+    public void deleteAfterCaret()
+    {
+        int line = this.getCaretLine();
+        int column = this.getCaretColumn();
+
+        if (column < this.textLines.getLineLength(line))
+            this.textLines.delete(line, column, line, column + 1);
+        else if (line < this.textLines.getLineCount() - 1)
+            this.textLines.delete(line, column, line + 1, 0);
+    }
+
+    /**
+     * Move the caret, the position is clamped to the text.
+     */
+    public void setCaret(int line, int column)
+    {
+        int clampedLine = Math.max(0, Math.min(this.textLines.getLineCount() - 1, line));
+        int clampedColumn = Math.max(0, Math.min(this.textLines.getLineLength(clampedLine), column));
+
+        this.getCaretLineProperty().setValue(clampedLine);
+        this.getCaretColumnProperty().setValue(clampedColumn);
+    }
+
+    public BaseProperty<Boolean> getEditableProperty()
+    {
+        return this.editableProperty;
+    }
+
+    public BaseProperty<Boolean> getWrapTextProperty()
+    {
+        return this.wrapTextProperty;
+    }
+
+    public BaseProperty<Float> getLineSpacingProperty()
+    {
+        return this.lineSpacingProperty;
+    }
+
+    public BaseProperty<RectBox> getTextPaddingProperty()
+    {
+        return this.textPaddingProperty;
+    }
+
+    public BaseProperty<Integer> getCaretLineProperty()
+    {
+        return this.caretLineProperty;
+    }
+
+    public BaseProperty<Integer> getCaretColumnProperty()
+    {
+        return this.caretColumnProperty;
+    }
+
+    @Override
+    public boolean isEditable()
+    {
+        return this.getEditableProperty().getValue();
+    }
+
+    @Override
+    public void setEditable(boolean editable)
+    {
+        this.getEditableProperty().setValue(editable);
+    }
+
+    /**
+     * TextArea does not support validators, nothing is done.
+     */
+    @Override
+    public void validate()
+    {
+
+    }
+
+    public boolean isWrapText()
+    {
+        return this.getWrapTextProperty().getValue();
+    }
+
+    public void setWrapText(boolean wrapText)
+    {
+        this.getWrapTextProperty().setValue(wrapText);
+    }
+
+    public float getLineSpacing()
+    {
+        return this.getLineSpacingProperty().getValue();
+    }
+
+    public void setLineSpacing(float lineSpacing)
+    {
+        this.getLineSpacingProperty().setValue(lineSpacing);
+    }
+
+    public RectBox getTextPadding()
+    {
+        return this.getTextPaddingProperty().getValue();
+    }
+
+    public void setTextPadding(RectBox textPadding)
+    {
+        this.getTextPaddingProperty().setValue(textPadding);
+    }
+
+    public int getCaretLine()
+    {
+        return this.getCaretLineProperty().getValue();
+    }
+
+    public int getCaretColumn()
+    {
+        return this.getCaretColumnProperty().getValue();
+    }
+}
@@ -12,10 +12,14 @@ import net.voxelindustry.brokkgui.event.CursorMoveEvent;
 import net.voxelindustry.brokkgui.event.TextTypedEvent;
 import net.voxelindustry.brokkgui.skin.GuiSkinBase;
 import net.voxelindustry.brokkgui.skin.GuiTextfieldSkin;
+import net.voxelindustry.brokkgui.text.GapBuffer;
+import net.voxelindustry.brokkgui.text.TextEdit;
 import net.voxelindustry.brokkgui.validation.BaseTextValidator;
 import net.voxelindustry.hermod.EventHandler;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Ourten 2 oct. 2016
@@ -34,6 +38,11 @@ public class GuiTextfield extends GuiElement implements ITextInput
 
     private final BaseListProperty<BaseTextValidator> validatorsProperty;
 
+    private final GapBuffer                textBuffer;
+    private final List<Consumer<TextEdit>> textEditListeners;
+    private       boolean                  syncingText;
+    private       boolean                  textPropertyStale;
+
     private EventHandler<TextTypedEvent>  onTextTyped;
     private EventHandler<CursorMoveEvent> onCursorMoveEvent;
 
@@ -57,6 +66,20 @@ public class GuiTextfield extends GuiElement implements ITextInput
 
         this.validatorsProperty = new BaseListProperty<>(null, "validatorsProperty");
 
+        this.textBuffer = new GapBuffer(text == null ? "" : text);
+        this.textEditListeners = new ArrayList<>();
+
+        // Text set from outside of the edit methods replaces the whole buffer
+        this.textProperty.addListener((obs, oldValue, newValue) ->
+        {
+            if (this.syncingText)
+                return;
+
+            String newText = newValue == null ? "" : newValue;
+            this.textBuffer.setText(newText);
+            this.fireTextEdit(new TextEdit(0, oldValue == null ? "" : oldValue, newText));
+        });
+
         this.setFocusable(true);
     }
 
@@ -73,6 +96,7 @@ public class GuiTextfield extends GuiElement implements ITextInput
 
     public BaseProperty<String> getTextProperty()
     {
+        this.syncTextProperty();
         return this.textProperty;
     }
 
@@ -148,6 +172,96 @@ public class GuiTextfield extends GuiElement implements ITextInput
         this.getPrompTextProperty().setValue(text);
     }
 
+    ///////////
+    // EDITS //
+    ///////////
+
+    /**
+     * Insert a string in the text of this Textfield. The cursor is not moved.
+     */
+    public void insertText(int index, String inserted)
+    {
+        this.replaceText(index, index, inserted);
+    }
+
+    /**
+     * Delete a range of the text of this Textfield. The cursor is not moved.
+     */
+    public void deleteText(int start, int end)
+    {
+        this.replaceText(start, end, "");
+    }
+
+    /**
+     * Replace a range of the text of this Textfield. The cursor is not moved.
+     * <p>
+     * The edit is made in place in the text buffer, then forwarded to the edit listeners. The text property is only
+     * rebuilt from the buffer when read or on the next layout pass, so the edits of a frame build a single string.
+     */
+    public void replaceText(int start, int end, String inserted)
+    {
+        if (start == end && inserted.isEmpty())
+            return;
+
+        String removed = this.textBuffer.substring(start, end);
+        this.textBuffer.replace(start, end, inserted);
+        this.textPropertyStale = true;
+        this.requestLayout();
+
+        this.fireTextEdit(new TextEdit(start, removed, inserted));
+    }
+
+    private void syncTextProperty()
+    {
+        if (!this.textPropertyStale)
+            return;
+        this.textPropertyStale = false;
+
+        this.syncingText = true;
+        try
+        {
+            this.textProperty.setValue(this.textBuffer.toString());
+        } finally
+        {
+            this.syncingText = false;
+        }
+    }
+
+    @Override
+    protected void measure()
+    {
+        this.syncTextProperty();
+        super.measure();
+    }
+
+    /**
+     * @return the editable buffer holding the text of this Textfield. It must not be modified directly.
+     */
+    public CharSequence getTextBuffer()
+    {
+        return this.textBuffer;
+    }
+
+    /**
+     * Listeners are called on every change of the text with the replaced range, once the text buffer is updated.
+     * The text property may still hold the previous text.
+     */
+    public void addTextEditListener(Consumer<TextEdit> listener)
+    {
+        this.textEditListeners.add(listener);
+    }
+
+    public void removeTextEditListener(Consumer<TextEdit> listener)
+    {
+        this.textEditListeners.remove(listener);
+    }
+
+    private void fireTextEdit(TextEdit edit)
+    {
+        for (int i = 0; i < this.textEditListeners.size(); i++)
+            this.textEditListeners.get(i).accept(edit);
+    }
+
     @Override
     public boolean isEditable()
     {
@@ -225,7 +339,7 @@ public class GuiTextfield extends GuiElement implements ITextInput
 
     public void setCursorPos(int cursorPos)
     {
-        if (cursorPos >= 0 && cursorPos <= this.getText().length())
+        if (cursorPos >= 0 && cursorPos <= this.textBuffer.length())
         {
             if (this.getOnCursorMoveEvent() != null)
                 this.getEventDispatcher().dispatchEvent(CursorMoveEvent.TYPE,
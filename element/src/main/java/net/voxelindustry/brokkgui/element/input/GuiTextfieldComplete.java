@@ -5,9 +5,14 @@ import fr.ourten.teabeans.value.BaseProperty;
 import net.voxelindustry.brokkgui.behavior.GuiTextfieldCompleteBehavior;
 import net.voxelindustry.brokkgui.skin.GuiSkinBase;
 import net.voxelindustry.brokkgui.skin.GuiTextfieldCompleteSkin;
+import net.voxelindustry.brokkgui.text.AsyncSuggestionSearch;
+import net.voxelindustry.brokkgui.text.ISuggestionIndex;
+import net.voxelindustry.brokkgui.text.TrigramSuggestionIndex;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 public class GuiTextfieldComplete extends GuiTextfield
 {
@@ -17,6 +22,9 @@ public class GuiTextfieldComplete extends GuiTextfield
     private final BaseProperty<Integer>    charBeforeCompletionProperty;
     private final BaseProperty<Float>      completePopupWidthProperty;
 
+    private final BaseProperty<Function<Collection<String>, ISuggestionIndex>> suggestionIndexFactoryProperty;
+    private final BaseProperty<Executor>                                       suggestionExecutorProperty;
+
     public GuiTextfieldComplete(String text)
     {
         super(text);
@@ -27,6 +35,11 @@ public class GuiTextfieldComplete extends GuiTextfield
         this.charBeforeCompletionProperty = new BaseProperty<>(3, "charBeforeCompletionProperty");
         this.completePopupWidthProperty = new BaseProperty<>(0f, "completePopupWidthProperty");
 
+        this.suggestionIndexFactoryProperty = new BaseProperty<>(TrigramSuggestionIndex::new,
+                "suggestionIndexFactoryProperty");
+        this.suggestionExecutorProperty = new BaseProperty<>(AsyncSuggestionSearch.getDefaultExecutor(),
+                "suggestionExecutorProperty");
+
         this.completePopupWidthProperty.bind(this.getWidthProperty());
     }
 
@@ -66,6 +79,16 @@ public class GuiTextfieldComplete extends GuiTextfield
         return completePopupWidthProperty;
     }
 
+    public BaseProperty<Function<Collection<String>, ISuggestionIndex>> getSuggestionIndexFactoryProperty()
+    {
+        return suggestionIndexFactoryProperty;
+    }
+
+    public BaseProperty<Executor> getSuggestionExecutorProperty()
+    {
+        return suggestionExecutorProperty;
+    }
+
     public List<String> getSuggestions()
     {
         return this.getSuggestionsProperty().getValue();
@@ -140,4 +163,37 @@ public class GuiTextfieldComplete extends GuiTextfield
         }
         this.getCompletePopupWidthProperty().setValue(completePopupWidth);
     }
+
+    public Function<Collection<String>, ISuggestionIndex> getSuggestionIndexFactory()
+    {
+        return this.getSuggestionIndexFactoryProperty().getValue();
+    }
+
+    /**
+     * Set the index built from the suggestions to match them against the text.
+     * By default suggestions are matched by prefix and substring with a {@link TrigramSuggestionIndex},
+     * use {@link net.voxelindustry.brokkgui.text.SortedSuggestionIndex} to only match them by prefix.
+     *
+     * @param suggestionIndexFactory
+     */
+    public void setSuggestionIndexFactory(Function<Collection<String>, ISuggestionIndex> suggestionIndexFactory)
+    {
+        this.getSuggestionIndexFactoryProperty().setValue(suggestionIndexFactory);
+    }
+
+    public Executor getSuggestionExecutor()
+    {
+        return this.getSuggestionExecutorProperty().getValue();
+    }
+
+    /**
+     * Set the executor running the suggestion queries.
+     * By default queries run on a single daemon thread shared by every textfield.
+     *
+     * @param suggestionExecutor
+     */
+    public void setSuggestionExecutor(Executor suggestionExecutor)
+    {
+        this.getSuggestionExecutorProperty().setValue(suggestionExecutor);
+    }
 }
\ No newline at end of file
@@ -9,7 +9,15 @@ import net.voxelindustry.brokkgui.data.RelativeBindingHelper;
 import net.voxelindustry.brokkgui.internal.IGuiRenderer;
 import net.voxelindustry.brokkgui.paint.RenderPass;
 
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 /**
+ * A tab of a {@link GuiTabPane}.
+ * <p>
+ * The content is only bound to the pane once the tab is selected. A tab given a content supplier instead of a content
+ * builds it on its first selection, and can drop it again after staying unselected for a given delay.
+ *
  * @author Ourten 15 oct. 2016
  */
 public class GuiTab
@@ -19,12 +27,44 @@ public class GuiTab
     private final BaseProperty<GuiTabPane> tabPaneProperty;
     private final BaseProperty<Boolean>    selectedProperty;
 
+    private final BaseProperty<Supplier<GuiNode>> contentSupplierProperty;
+    private final BaseProperty<Long>              idleDisposeDelayProperty;
+
+    private boolean contentSetup;
+    private long    deselectedTime;
+
     public GuiTab(final String text, final GuiNode content)
     {
         this.textProperty = new BaseProperty<>(text, "textProperty");
         this.contentProperty = new BaseProperty<>(content, "contentProperty");
         this.tabPaneProperty = new BaseProperty<>(null, "tabPaneProperty");
         this.selectedProperty = new BaseProperty<>(false, "selectedProperty");
+
+        this.contentSupplierProperty = new BaseProperty<>(null, "contentSupplierProperty");
+        this.idleDisposeDelayProperty = new BaseProperty<>(-1L, "idleDisposeDelayProperty");
+    }
+
+    /**
+     * @param contentSupplier called on the first selection of the tab to build its content
+     */
+    public static GuiTab lazy(final String text, final Supplier<GuiNode> contentSupplier)
+    {
+        GuiTab tab = new GuiTab(text);
+        tab.setContentSupplier(contentSupplier);
+        return tab;
+    }
+
+    /**
+     * @param contentSupplier called on the first selection of the tab to build its content, and on the next
+     *                        selection after it was disposed
+     * @param idleDelay       the time the tab must stay unselected before its content is disposed
+     */
+    public static GuiTab lazy(final String text, final Supplier<GuiNode> contentSupplier, final long idleDelay,
+                              final TimeUnit unit)
+    {
+        GuiTab tab = lazy(text, contentSupplier);
+        tab.setIdleDisposeDelay(unit.toMillis(idleDelay));
+        return tab;
     }
 
     public GuiTab(final String text)
@@ -57,6 +97,16 @@ public class GuiTab
         return this.selectedProperty;
     }
 
+    public BaseProperty<Supplier<GuiNode>> getContentSupplierProperty()
+    {
+        return this.contentSupplierProperty;
+    }
+
+    public BaseProperty<Long> getIdleDisposeDelayProperty()
+    {
+        return this.idleDisposeDelayProperty;
+    }
+
     public String getText()
     {
         return this.getTextProperty().getValue();
@@ -74,11 +124,53 @@ public class GuiTab
 
     public void setContent(final GuiNode content)
     {
-        if (content != null && this.getTabPane() != null)
-            this.setupContent(this.getTabPane(), content);
-        if (this.getContent() != null)
+        GuiNode previous = this.getContent();
+
+        if (this.contentSetup)
             this.disposeContent();
         this.getContentProperty().setValue(content);
+
+        if (this.isSelected() && this.getTabPane() != null)
+            this.getTabPane().replaceDisplayedContent(previous, this.acquireContent());
+    }
+
+    /**
+     * @return false if the content of this tab is still to be built by its supplier
+     */
+    public boolean isContentLoaded()
+    {
+        return this.getContent() != null;
+    }
+
+    public Supplier<GuiNode> getContentSupplier()
+    {
+        return this.getContentSupplierProperty().getValue();
+    }
+
+    /**
+     * Build the content of this tab on its first selection instead of giving it upfront.
+     *
+     * @param contentSupplier
+     */
+    public void setContentSupplier(final Supplier<GuiNode> contentSupplier)
+    {
+        this.getContentSupplierProperty().setValue(contentSupplier);
+    }
+
+    public long getIdleDisposeDelay()
+    {
+        return this.getIdleDisposeDelayProperty().getValue();
+    }
+
+    /**
+     * Control the time in milliseconds a tab with a content supplier must stay unselected before its content is
+     * disposed, setting it to -1 keeps the content forever.
+     *
+     * @param idleDisposeDelay
+     */
+    public void setIdleDisposeDelay(final long idleDisposeDelay)
+    {
+        this.getIdleDisposeDelayProperty().setValue(idleDisposeDelay);
     }
 
     public GuiTabPane getTabPane()
@@ -88,13 +180,48 @@ public class GuiTab
 
     public void setTabPane(final GuiTabPane tabPane)
     {
-        if (tabPane != null && this.getContent() != null)
-            this.setupContent(tabPane, this.getContent());
-        else if (this.getContent() != null)
+        if (this.contentSetup)
             this.disposeContent();
         this.getTabPaneProperty().setValue(tabPane);
     }
 
+    /**
+     * Build the content if needed and bind it to the tab pane.
+     *
+     * @return the content to display, null if this tab has none
+     */
+    GuiNode acquireContent()
+    {
+        if (this.getContent() == null && this.getContentSupplier() != null)
+            this.getContentProperty().setValue(this.getContentSupplier().get());
+
+        if (!this.contentSetup && this.getContent() != null && this.getTabPane() != null)
+            this.setupContent(this.getTabPane(), this.getContent());
+        return this.getContent();
+    }
+
+    void markDeselected(final long time)
+    {
+        this.deselectedTime = time;
+    }
+
+    /**
+     * Dispose the content built by the supplier if this tab stayed unselected longer than its idle delay.
+     *
+     * @return true if the content was disposed
+     */
+    boolean disposeIfIdle(final long time)
+    {
+        if (this.isSelected() || this.getIdleDisposeDelay() < 0 || this.getContentSupplier() == null
+                || this.getContent() == null || time - this.deselectedTime < this.getIdleDisposeDelay())
+            return false;
+
+        if (this.contentSetup)
+            this.disposeContent();
+        this.getContentProperty().setValue(null);
+        return true;
+    }
+
     private void setupContent(final GuiTabPane pane, final GuiNode content)
     {
         final BaseBinding<Float> xPadding = new BaseExpression<>(() ->
@@ -111,7 +238,6 @@ public class GuiTab
             return 0f;
         }, pane.getSideProperty(), pane.getHeightProperty());
 
-        this.getContent().setFather(pane);
         RelativeBindingHelper.bindToPos(content, pane, xPadding, yPadding);
 
         content.getWidthProperty().bind(new BaseBinding<Float>()
@@ -142,6 +268,7 @@ public class GuiTab
                 return pane.getHeight();
             }
         });
+        this.contentSetup = true;
     }
 
     private void disposeContent()
@@ -150,7 +277,7 @@ public class GuiTab
         this.getContent().getyPosProperty().unbind();
         this.getContent().getWidthProperty().unbind();
         this.getContent().getHeightProperty().unbind();
-        this.getContent().setFather(null);
+        this.contentSetup = false;
     }
 
     public boolean isSelected()
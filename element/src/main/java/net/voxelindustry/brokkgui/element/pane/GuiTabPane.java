@@ -2,20 +2,25 @@ package net.voxelindustry.brokkgui.element.pane;
 
 import fr.ourten.teabeans.value.BaseListProperty;
 import fr.ourten.teabeans.value.BaseProperty;
+import net.voxelindustry.brokkgui.BrokkGuiPlatform;
 import net.voxelindustry.brokkgui.behavior.GuiTabPaneBehavior;
+import net.voxelindustry.brokkgui.component.GuiNode;
 import net.voxelindustry.brokkgui.control.GuiElement;
 import net.voxelindustry.brokkgui.data.RectSide;
 import net.voxelindustry.brokkgui.element.TabHeaderFactory;
+import net.voxelindustry.brokkgui.internal.IGuiRenderer;
+import net.voxelindustry.brokkgui.paint.RenderPass;
 import net.voxelindustry.brokkgui.policy.GuiOverflowPolicy;
 import net.voxelindustry.brokkgui.shape.ScissorBox;
 import net.voxelindustry.brokkgui.skin.GuiSkinBase;
 import net.voxelindustry.brokkgui.skin.GuiTabPaneSkin;
-import net.voxelindustry.brokkgui.style.tree.StyleList;
 
 import java.util.*;
-import java.util.function.Supplier;
 
 /**
+ * Only the content of the selected tab is a child of this pane, the contents of the other tabs are neither rendered,
+ * hit tested nor styled until their tab is selected.
+ *
  * @author Ourten 15 oct. 2016
  */
 public class GuiTabPane extends GuiElement
@@ -136,6 +141,8 @@ public class GuiTabPane extends GuiElement
 
     private void disposeTab(final GuiTab tab)
     {
+        if (tab.isSelected() && tab.getContent() != null)
+            this.getChildrensProperty().remove(tab.getContent());
         tab.setTabPane(null);
     }
 
@@ -155,20 +162,55 @@ public class GuiTabPane extends GuiElement
 
     public void setSelectedTab(final int index)
     {
+        long time = BrokkGuiPlatform.getInstance().getFrameClock().getFrameMillis();
         this.getTabs().stream().filter(GuiTab::isSelected).forEach(tab ->
         {
             tab.setSelected(false);
-            this.getChildrensProperty().remove(tab.getContent());
+            tab.markDeselected(time);
+            if (tab.getContent() != null)
+                this.getChildrensProperty().remove(tab.getContent());
         });
 
         if (this.getTab(index) != null)
         {
             this.getTab(index).setSelected(true);
-            this.getChildrensProperty().add(this.getTab(index).getContent());
+
+            GuiNode content = this.getTab(index).acquireContent();
+            if (content != null)
+                this.getChildrensProperty().add(content);
         }
         this.getSelectedTabProperty().setValue(index);
     }
 
+    void replaceDisplayedContent(final GuiNode previous, final GuiNode content)
+    {
+        if (previous != null)
+            this.getChildrensProperty().remove(previous);
+        if (content != null)
+            this.getChildrensProperty().add(content);
+    }
+
+    /**
+     * Dispose the contents of the tabs that stayed unselected longer than their idle delay.
+     * Called on each frame, contents disposed are built again on the next selection of their tab.
+     */
+    public void disposeIdleTabs()
+    {
+        long time = BrokkGuiPlatform.getInstance().getFrameClock().getFrameMillis();
+
+        for (GuiTab tab : this.getTabs())
+            tab.disposeIfIdle(time);
+    }
+
+    @Override
+    public void renderContent(IGuiRenderer renderer, RenderPass pass, int mouseX, int mouseY)
+    {
+        if (pass == RenderPass.MAIN)
+            this.disposeIdleTabs();
+
+        super.renderContent(renderer, pass, mouseX, mouseY);
+    }
+
     public void setSelectedTab(final GuiTab tab)
     {
         this.setSelectedTab(this.tabsProperty.indexOf(tab));
@@ -260,32 +302,4 @@ public class GuiTabPane extends GuiElement
     {
         return Optional.ofNullable(this.tabHeaderFactories.getOrDefault(tab, this.globalTabHeaderFactory));
     }
-
-    /////////////////////
-    // STYLING //
-    /////////////////////
-
-    @Override
-    public void setStyleListSupplier(Supplier<StyleList> styleListSupplier)
-    {
-        super.setStyleListSupplier(styleListSupplier);
-
-        this.getTabs().forEach(node ->
-        {
-            if (node.getContent() != null)
-                node.getContent().setStyleListSupplier(styleListSupplier);
-        });
-    }
-
-    @Override
-    public void refreshStyle()
-    {
-        super.refreshStyle();
-
-        this.getTabs().forEach(node ->
-        {
-            if (node.getContent() != null)
-                node.getContent().refreshStyle();
-        });
-    }
 }
\ No newline at end of file
@@ -3,7 +3,6 @@ package net.voxelindustry.brokkgui.element.pane;
 import net.voxelindustry.brokkgui.behavior.GuiScrollableBehavior;
 import net.voxelindustry.brokkgui.component.GuiNode;
 import net.voxelindustry.brokkgui.control.GuiScrollableBase;
-import net.voxelindustry.brokkgui.data.RelativeBindingHelper;
 import net.voxelindustry.brokkgui.skin.GuiScrollableSkin;
 import net.voxelindustry.brokkgui.skin.GuiSkinBase;
 
@@ -38,12 +37,23 @@ public class ScrollPane extends GuiScrollableBase
 
         this.contentNode = node;
         this.addChild(node);
-        RelativeBindingHelper.bindToPos(node, this, this.getScrollXProperty(), this.getScrollYProperty());
 
         this.getTrueWidthProperty().bind(node.getWidthProperty());
         this.getTrueHeightProperty().bind(node.getHeightProperty());
     }
 
+    @Override
+    protected void arrange()
+    {
+        super.arrange();
+
+        if (this.contentNode != null)
+        {
+            this.contentNode.getxPosProperty().setValue(this.getLeftPos() + this.getScrollX());
+            this.contentNode.getyPosProperty().setValue(this.getTopPos() + this.getScrollY());
+        }
+    }
+
     @Override
     protected GuiSkinBase<?> makeDefaultSkin()
     {
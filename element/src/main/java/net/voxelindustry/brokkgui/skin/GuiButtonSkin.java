@@ -2,7 +2,7 @@ package net.voxelindustry.brokkgui.skin;
 
 import net.voxelindustry.brokkgui.behavior.GuiButtonBehavior;
 import net.voxelindustry.brokkgui.control.GuiButtonBase;
-import net.voxelindustry.brokkgui.data.RelativeBindingHelper;
+import net.voxelindustry.brokkgui.component.GuiNode;
 import net.voxelindustry.brokkgui.internal.IGuiRenderer;
 import net.voxelindustry.brokkgui.paint.RenderPass;
 
@@ -18,8 +18,6 @@ public class GuiButtonSkin<C extends GuiButtonBase, B extends GuiButtonBehavior<
 
     protected void bindLabel()
     {
-        RelativeBindingHelper.bindToCenter(getModel().getLabel(), getModel());
-
         getModel().getExpandToLabelProperty().addListener(obs -> this.refreshLabelBinding());
         this.refreshLabelBinding();
     }
@@ -48,6 +46,15 @@ public class GuiButtonSkin<C extends GuiButtonBase, B extends GuiButtonBehavior<
         }
     }
 
+    @Override
+    public void arrange()
+    {
+        GuiNode label = getModel().getLabel();
+
+        label.getxPosProperty().setValue(getModel().getLeftPos() + getModel().getWidth() / 2 - label.getWidth() / 2);
+        label.getyPosProperty().setValue(getModel().getTopPos() + getModel().getHeight() / 2 - label.getHeight() / 2);
+    }
+
     @Override
     public void render(RenderPass pass, IGuiRenderer renderer, int mouseX, int mouseY)
     {
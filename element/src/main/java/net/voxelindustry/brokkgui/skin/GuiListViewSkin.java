@@ -9,4 +9,12 @@ public class GuiListViewSkin<T> extends GuiScrollableSkin<GuiListView<T>, GuiLis
     {
         super(model, behaviour);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void arrange()
+    {
+        super.arrange();
+
+        this.getBehavior().layoutVirtualCells();
+    }
+}
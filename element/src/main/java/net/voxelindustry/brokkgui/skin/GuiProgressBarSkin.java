@@ -15,27 +15,33 @@ public class GuiProgressBarSkin<C extends GuiProgressBar, B extends GuiBehaviorB
         super(model, behaviour);
 
         this.track = new Rectangle(model.getxPos(), model.getyPos(), model.getWidth(), model.getHeight());
-        this.track.getxPosProperty().bind(new BaseExpression<>(() ->
-        {
-            if (model.getProgressDirection() == RectSide.LEFT)
-                return model.getxPos() + model.getWidth() - this.track.getWidth();
-            return model.getxPos();
-        }, model.getxPosProperty(), model.getWidthProperty(), model.getProgressDirectionProperty()));
-        this.track.getyPosProperty().bind(model.getyPosProperty());
-        this.track.getWidthProperty().bind(new BaseExpression<>(() ->
-                model.getWidth() * model.getProgress(), model.getProgressProperty(), model.getWidthProperty()));
 
         this.track.getStyleClass().add("track");
 
-        this.getText().getxPosProperty().bind(new BaseExpression<>(() ->
-                model.getxPos() + model.getWidth() / 2, model.getxPosProperty(), model.getWidthProperty()));
-
-        this.getText().getyPosProperty().bind(new BaseExpression<>(() ->
-                model.getyPos() + model.getHeight() / 2, model.getyPosProperty(), model.getHeightProperty()));
-
         this.getText().getzLevelProperty().bind(new BaseExpression<>(() ->
                 model.getzLevel() + 1, model.getzLevelProperty()));
 
+        model.getProgressProperty().addListener(obs -> getModel().requestLayout());
+        model.getProgressDirectionProperty().addListener(obs -> getModel().requestLayout());
+
         this.getModel().addChild(track);
     }
+
+    @Override
+    public void arrange()
+    {
+        super.arrange();
+
+        C model = getModel();
+
+        this.track.setWidth(model.getWidth() * model.getProgress());
+        if (model.getProgressDirection() == RectSide.LEFT)
+            this.track.getxPosProperty().setValue(model.getxPos() + model.getWidth() - this.track.getWidth());
+        else
+            this.track.getxPosProperty().setValue(model.getxPos());
+        this.track.getyPosProperty().setValue(model.getyPos());
+
+        this.getText().getxPosProperty().setValue(model.getxPos() + model.getWidth() / 2);
+        this.getText().getyPosProperty().setValue(model.getyPos() + model.getHeight() / 2);
+    }
 }
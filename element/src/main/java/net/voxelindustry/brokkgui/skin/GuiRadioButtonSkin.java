@@ -1,6 +1,5 @@
 package net.voxelindustry.brokkgui.skin;
 
-import fr.ourten.teabeans.binding.BaseBinding;
 import fr.ourten.teabeans.binding.BaseExpression;
 import net.voxelindustry.brokkgui.behavior.GuiButtonBehavior;
 import net.voxelindustry.brokkgui.component.GuiNode;
@@ -31,51 +30,45 @@ public class GuiRadioButtonSkin extends GuiButtonSkin<GuiRadioButton, GuiButtonB
     private void bindButton(GuiNode node)
     {
         this.getModel().addChild(node);
+    }
 
-        node.getxPosProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(getModel().getButtonSideProperty(),
-                        getModel().getxPosProperty(),
-                        getModel().getxTranslateProperty(),
-                        getModel().getLabel().getWidthProperty(),
-                        getModel().getWidthProperty(),
-                        node.getWidthProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                if (getModel().getButtonSide() == RectSide.LEFT)
-                    return getModel().getLeftPos();
-                if (getModel().getButtonSide() == RectSide.RIGHT)
-                    return getModel().getRightPos() - node.getWidth();
-                return getModel().getLeftPos() + getModel().getWidth() / 2
-                        - node.getWidth() / 2;
-            }
-        });
+    @Override
+    public void arrange()
+    {
+        GuiNode node = getModel().getButtonNode();
+        GuiNode label = getModel().getLabel();
 
-        node.getyPosProperty().bind(new BaseBinding<Float>()
+        if (getModel().getButtonSide() == RectSide.LEFT)
         {
-            {
-                super.bind(getModel().getButtonSideProperty(),
-                        getModel().getyPosProperty(),
-                        getModel().getyTranslateProperty(),
-                        getModel().getLabel().getHeightProperty(),
-                        getModel().getHeightProperty(),
-                        node.getHeightProperty());
-            }
+            node.getxPosProperty().setValue(getModel().getLeftPos());
+            label.getxPosProperty().setValue(getModel().getLeftPos() + node.getWidth());
+        }
+        else if (getModel().getButtonSide() == RectSide.RIGHT)
+        {
+            node.getxPosProperty().setValue(getModel().getRightPos() - node.getWidth());
+            label.getxPosProperty().setValue(getModel().getLeftPos());
+        }
+        else
+        {
+            node.getxPosProperty().setValue(getModel().getLeftPos() + getModel().getWidth() / 2 - node.getWidth() / 2);
+            label.getxPosProperty().setValue(getModel().getLeftPos() + getModel().getWidth() / 2 - label.getWidth() / 2);
+        }
 
-            @Override
-            public Float computeValue()
-            {
-                if (getModel().getButtonSide() == RectSide.UP)
-                    return getModel().getTopPos();
-                if (getModel().getButtonSide() == RectSide.DOWN)
-                    return getModel().getBottomPos() - getModel().getLabel().getHeight();
-                return getModel().getTopPos() + getModel().getHeight() / 2 - node.getHeight() / 2;
-            }
-        });
+        if (getModel().getButtonSide() == RectSide.UP)
+        {
+            node.getyPosProperty().setValue(getModel().getTopPos());
+            label.getyPosProperty().setValue(getModel().getTopPos() + node.getHeight());
+        }
+        else if (getModel().getButtonSide() == RectSide.DOWN)
+        {
+            node.getyPosProperty().setValue(getModel().getBottomPos() - label.getHeight());
+            label.getyPosProperty().setValue(getModel().getTopPos());
+        }
+        else
+        {
+            node.getyPosProperty().setValue(getModel().getTopPos() + getModel().getHeight() / 2 - node.getHeight() / 2);
+            label.getyPosProperty().setValue(getModel().getTopPos() + getModel().getHeight() / 2 - label.getHeight() / 2);
+        }
     }
 
     @Override
@@ -94,51 +87,7 @@ public class GuiRadioButtonSkin extends GuiButtonSkin<GuiRadioButton, GuiButtonB
 
         getModel().getLabel().getHeightProperty().bind(getModel().getHeightProperty());
 
-        getModel().getLabel().getxPosProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(getModel().getButtonSideProperty(),
-                        getModel().getxPosProperty(),
-                        getModel().getxTranslateProperty(),
-                        getModel().getLabel().getWidthProperty(),
-                        getModel().getWidthProperty(),
-                        getModel().getButtonNode().getWidthProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                if (getModel().getButtonSide() == RectSide.LEFT)
-                    return getModel().getLeftPos() + getModel().getButtonNode().getWidth();
-                if (getModel().getButtonSide() == RectSide.RIGHT)
-                    return getModel().getLeftPos();
-                return getModel().getLeftPos() + getModel().getWidth() / 2
-                        - getModel().getLabel().getWidth() / 2;
-            }
-        });
-
-        getModel().getLabel().getyPosProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(getModel().getButtonSideProperty(),
-                        getModel().getyPosProperty(),
-                        getModel().getyTranslateProperty(),
-                        getModel().getLabel().getHeightProperty(),
-                        getModel().getHeightProperty(),
-                        getModel().getButtonNode().getHeightProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                if (getModel().getButtonSide() == RectSide.UP)
-                    return getModel().getTopPos() + getModel().getButtonNode().getHeight();
-                if (getModel().getButtonSide() == RectSide.DOWN)
-                    return getModel().getTopPos();
-                return getModel().getTopPos() + getModel().getHeight() / 2
-                        - getModel().getLabel().getHeight() / 2;
-            }
-        });
+        getModel().getButtonSideProperty().addListener(obs -> getModel().requestLayout());
 
         getModel().getExpandToLabelProperty().addListener(obs ->
         {
@@ -0,0 +1,23 @@
+package net.voxelindustry.brokkgui.skin;
+
+import net.voxelindustry.brokkgui.behavior.GuiBehaviorBase;
+import net.voxelindustry.brokkgui.element.GuiTableCell;
+import net.voxelindustry.brokkgui.internal.IGuiRenderer;
+import net.voxelindustry.brokkgui.paint.RenderPass;
+
+public class GuiTableCellSkin<T> extends GuiBehaviorSkinBase<GuiTableCell<T>, GuiBehaviorBase<GuiTableCell<T>>>
+{
+    public GuiTableCellSkin(GuiTableCell<T> model)
+    {
+        super(model, new GuiBehaviorBase<>(model));
+    }
+
+    @Override
+    public void render(RenderPass pass, IGuiRenderer renderer, int mouseX, int mouseY)
+    {
+        super.render(pass, renderer, mouseX, mouseY);
+
+        if (this.getModel().getGraphicProperty().isPresent())
+            this.getModel().getGraphic().renderNode(renderer, pass, mouseX, mouseY);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package net.voxelindustry.brokkgui.skin;
+
+import net.voxelindustry.brokkgui.behavior.GuiTableViewBehavior;
+import net.voxelindustry.brokkgui.element.GuiTableColumn;
+import net.voxelindustry.brokkgui.element.GuiTableView;
+import net.voxelindustry.brokkgui.internal.IGuiRenderer;
+import net.voxelindustry.brokkgui.paint.Color;
+import net.voxelindustry.brokkgui.paint.RenderPass;
+
+public class GuiTableViewSkin<T> extends GuiScrollableSkin<GuiTableView<T>, GuiTableViewBehavior<T>>
+{
+    public GuiTableViewSkin(final GuiTableView<T> model, final GuiTableViewBehavior<T> behaviour)
+    {
+        super(model, behaviour);
+
+        getModel().getStyle().registerProperty("header-color", Color.LIGHT_GRAY, Color.class);
+        getModel().getStyle().registerProperty("header-text-color", Color.BLACK, Color.class);
+    }
+
+    @Override
+    public void arrange()
+    {
+        GuiTableView<T> model = this.getModel();
+
+        model.getTrueHeightProperty().setValue(model.getHeaderHeight() + model.getRowCount() * model.getCellHeight());
+        model.getTrueWidthProperty().setValue(model.getColumnsWidth());
+
+        // Filtering rows or removing columns can leave the viewport past the content
+        float maxOffsetY = Math.max(0, model.getTrueHeight() - model.getHeight());
+        if (-model.getScrollY() > maxOffsetY)
+            model.setScrollY(-maxOffsetY);
+        float maxOffsetX = Math.max(0, model.getTrueWidth() - model.getWidth());
+        if (-model.getScrollX() > maxOffsetX)
+            model.setScrollX(-maxOffsetX);
+
+        super.arrange();
+
+        this.getBehavior().layoutVirtualCells();
+    }
+
+    /**
+     * The header is drawn over the rows scrolled under it, only the headers of the visible columns are drawn.
+     */
+    @Override
+    public void render(RenderPass pass, IGuiRenderer renderer, int mouseX, int mouseY)
+    {
+        super.render(pass, renderer, mouseX, mouseY);
+
+        GuiTableView<T> model = this.getModel();
+        if (pass != RenderPass.FOREGROUND || model.getHeaderHeight() <= 0 || model.getColumns().isEmpty())
+            return;
+
+        float left = model.getLeftPos();
+        float top = model.getTopPos();
+        renderer.getHelper().drawColoredRect(renderer, left, top, model.getWidth(), model.getHeaderHeight(),
+                model.getzLevel(), this.getHeaderColor());
+
+        float textY = top + (model.getHeaderHeight() - renderer.getHelper().getStringHeight()) / 2;
+        int firstColumn = model.getColumnAt(-model.getScrollX());
+        int lastColumn = model.getColumnAt(-model.getScrollX() + model.getWidth());
+        for (int column = firstColumn; column <= lastColumn; column++)
+        {
+            GuiTableColumn<T, ?> tableColumn = model.getColumns().get(column);
+
+            String header = tableColumn.getHeader();
+            if (tableColumn == model.getSortColumn())
+                header += model.isSortAscending() ? " ^" : " v";
+
+            renderer.getHelper().drawString(header, left + model.getScrollX() + model.getColumnStart(column) + 2,
+                    textY, model.getzLevel(), this.getHeaderTextColor());
+        }
+    }
+
+    public Color getHeaderColor()
+    {
+        return getModel().getStyle().getStyleValue("header-color", Color.class, Color.LIGHT_GRAY);
+    }
+
+    public Color getHeaderTextColor()
+    {
+        return getModel().getStyle().getStyleValue("header-text-color", Color.class, Color.BLACK);
+    }
+}
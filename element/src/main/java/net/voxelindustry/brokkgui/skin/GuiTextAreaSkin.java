@@ -0,0 +1,496 @@
+package net.voxelindustry.brokkgui.skin;
+
+import net.voxelindustry.brokkgui.BrokkGuiPlatform;
+import net.voxelindustry.brokkgui.behavior.GuiTextAreaBehavior;
+import net.voxelindustry.brokkgui.element.input.GuiTextArea;
+import net.voxelindustry.brokkgui.internal.IGuiHelper;
+import net.voxelindustry.brokkgui.internal.IGuiRenderer;
+import net.voxelindustry.brokkgui.paint.Color;
+import net.voxelindustry.brokkgui.paint.RenderPass;
+import net.voxelindustry.brokkgui.text.TextLines;
+import net.voxelindustry.brokkgui.text.TextPosition;
+import net.voxelindustry.brokkgui.util.GlyphAdvances;
+import net.voxelindustry.brokkgui.util.PrefixSumTree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lays out the lines of a {@link GuiTextArea} in rows of equal height.
+ * <p>
+ * The wrap points and glyph advances of a line are only computed once it is scrolled into view and kept until the
+ * line is edited or the wrapping width changes. Lines never laid out count as a single row, an edited line keeps its
+ * previous row count until laid out again. The row counts of the lines are kept in a {@link PrefixSumTree}, laying
+ * out a line and finding the line of a row stay logarithmic in the line count, and only the rows inside the viewport
+ * are drawn.
+ */
+public class GuiTextAreaSkin extends GuiScrollableSkin<GuiTextArea, GuiTextAreaBehavior>
+{
+    private static final int[] SINGLE_ROW = new int[]{0};
+
+    private final List<LineLayout> lineLayouts;
+
+    private float   wrapWidth = -1;
+    private boolean wrapped;
+
+    private PrefixSumTree rowCounts;
+    private float         maxMeasuredWidth;
+    private boolean       maxMeasuredWidthDirty;
+
+    private boolean revealCaret;
+
+    private String[] visibleTexts = new String[0];
+    private float[]  visibleX     = new float[0];
+    private float[]  visibleY     = new float[0];
+    private int      visibleCount;
+
+    private float   caretX;
+    private float   caretY;
+    private boolean caretVisible;
+
+    public GuiTextAreaSkin(GuiTextArea model, GuiTextAreaBehavior behavior)
+    {
+        super(model, behavior);
+
+        this.lineLayouts = new ArrayList<>(Collections.nCopies(model.getTextLines().getLineCount(), null));
+        this.resetRows();
+
+        getModel().getStyle().registerProperty("color", Color.WHITE, Color.class);
+        getModel().getStyle().registerProperty("shadow-color", Color.ALPHA, Color.class);
+        getModel().getStyle().registerProperty("cursor-color", Color.WHITE.shade(0.3f), Color.class);
+
+        getModel().getTextLines().addListener(this::onLinesEdited);
+
+        // Layout invalidation
+        getModel().getWidthProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getHeightProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getWrapTextProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getTextPaddingProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getLineSpacingProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getCaretLineProperty().addListener(obs -> this.onCaretMoved());
+        getModel().getCaretColumnProperty().addListener(obs -> this.onCaretMoved());
+    }
+
+    @Override
+    public void arrange()
+    {
+        GuiTextArea model = getModel();
+        IGuiHelper helper = BrokkGuiPlatform.getInstance().getGuiHelper();
+
+        float availableWidth = Math.max(1, model.getWidth() - model.getTextPadding().getHorizontal());
+        if (model.isWrapText() != this.wrapped || (model.isWrapText() && availableWidth != this.wrapWidth))
+        {
+            this.wrapped = model.isWrapText();
+            this.wrapWidth = availableWidth;
+            Collections.fill(this.lineLayouts, null);
+            this.resetRows();
+        }
+
+        float lineHeight = this.getLineHeight(helper);
+
+        if (this.revealCaret)
+        {
+            this.ensureLayout(model.getCaretLine(), helper);
+            this.scrollToCaret(lineHeight);
+            this.revealCaret = false;
+        }
+
+        // A second pass is needed when the lines laid out in the first one did not fill the viewport
+        for (int pass = 0; pass < 2; pass++)
+        {
+            this.clampScroll(lineHeight);
+
+            int firstRow = this.getFirstVisibleRow(lineHeight);
+            int lastRow = this.getLastVisibleRow(lineHeight);
+
+            boolean laidOut = false;
+            int line = this.getLineAtRow(firstRow);
+            int row = this.rowCounts.prefixSum(line);
+            while (line < this.lineLayouts.size() && row <= lastRow)
+            {
+                laidOut |= this.ensureLayout(line, helper);
+                row += this.lineLayouts.get(line).starts.length;
+                line++;
+            }
+
+            if (!laidOut)
+                break;
+        }
+
+        model.getTrueHeightProperty().setValue(
+                this.getRowCount() * lineHeight + model.getTextPadding().getVertical());
+        model.getTrueWidthProperty().setValue(this.wrapped ? model.getWidth() :
+                this.getMaxMeasuredWidth() + model.getTextPadding().getHorizontal());
+
+        this.buildVisibleRows(lineHeight, helper);
+
+        super.arrange();
+    }
+
+    @Override
+    public void render(RenderPass pass, IGuiRenderer renderer, int mouseX, int mouseY)
+    {
+        super.render(pass, renderer, mouseX, mouseY);
+
+        if (pass == RenderPass.MAIN)
+        {
+            Color color = this.getTextColor();
+            Color shadowColor = this.getShadowColor();
+
+            for (int row = 0; row < this.visibleCount; row++)
+                renderer.getHelper().drawString(this.visibleTexts[row], this.visibleX[row], this.visibleY[row],
+                        getModel().getzLevel(), color, shadowColor);
+        }
+        else if (pass == RenderPass.FOREGROUND)
+        {
+            if (this.caretVisible && getModel().getFocusedProperty().getValue())
+                renderer.getHelper().drawColoredRect(renderer, this.caretX - 1, this.caretY - 1, 1,
+                        renderer.getHelper().getStringHeight() + 1, getModel().getzLevel() + 1,
+                        this.getCursorColor());
+        }
+    }
+
+    /**
+     * @param pointX the x position in screen space
+     * @param pointY the y position in screen space
+     * @return the position in the text of the char under the point, clamped to the text
+     */
+    public TextPosition getPositionAt(float pointX, float pointY)
+    {
+        GuiTextArea model = getModel();
+        IGuiHelper helper = BrokkGuiPlatform.getInstance().getGuiHelper();
+
+        float localY = pointY - model.getTopPos() - model.getTextPadding().getTop() - model.getScrollY();
+        int row = Math.max(0, Math.min(this.getRowCount() - 1, (int) Math.floor(localY / this.getLineHeight(helper))));
+
+        int line = this.getLineAtRow(row);
+        this.ensureLayout(line, helper);
+
+        LineLayout layout = this.lineLayouts.get(line);
+        int[] starts = layout.starts;
+        int segment = Math.max(0, Math.min(row - this.rowCounts.prefixSum(line), starts.length - 1));
+
+        int segmentStart = starts[segment];
+        int segmentEnd = segment + 1 < starts.length ? starts[segment + 1] : layout.advances.length();
+
+        float localX = pointX - model.getLeftPos() - model.getTextPadding().getLeft() - model.getScrollX();
+        int column = layout.advances.fitForward(segmentStart, Math.max(0, localX));
+
+        return new TextPosition(line, Math.min(column, segmentEnd));
+    }
+
+    public Color getTextColor()
+    {
+        return getModel().getStyle().getStyleValue("color", Color.class, Color.WHITE);
+    }
+
+    public Color getShadowColor()
+    {
+        return getModel().getStyle().getStyleValue("shadow-color", Color.class, Color.ALPHA);
+    }
+
+    public Color getCursorColor()
+    {
+        return getModel().getStyle().getStyleValue("cursor-color", Color.class, Color.ALPHA);
+    }
+
+    /**
+     * Drop the layouts of the edited lines only, the others keep their wrap points and row counts.
+     */
+    private void onLinesEdited(int firstLine, int removedCount, int insertedCount)
+    {
+        List<LineLayout> removedLayouts = this.lineLayouts.subList(firstLine, firstLine + removedCount);
+        for (LineLayout layout : removedLayouts)
+        {
+            if (layout != null && layout.advances.getWidth() >= this.maxMeasuredWidth)
+                this.maxMeasuredWidthDirty = true;
+        }
+        removedLayouts.clear();
+        this.lineLayouts.addAll(firstLine, Collections.nCopies(insertedCount, null));
+
+        // A line edited in place most likely keeps its row count, it is only updated once laid out again
+        if (removedCount != 1 || insertedCount != 1)
+            this.rowCounts.splice(firstLine, removedCount, insertedCount, 1);
+
+        this.revealCaret = true;
+        getModel().requestLayout();
+    }
+
+    private void onCaretMoved()
+    {
+        this.revealCaret = true;
+        getModel().requestLayout();
+    }
+
+    private float getLineHeight(IGuiHelper helper)
+    {
+        return helper.getStringHeight() + getModel().getLineSpacing();
+    }
+
+    ////////////
+    // LAYOUT //
+    ////////////
+
+    /**
+     * @return true if the layout of the line had to be computed
+     */
+    private boolean ensureLayout(int line, IGuiHelper helper)
+    {
+        if (this.lineLayouts.get(line) != null)
+            return false;
+
+        String text = getModel().getTextLines().getLine(line);
+        GlyphAdvances advances = GlyphAdvances.of(text, helper);
+
+        int[] starts = this.wrapped ? computeWrapStarts(advances, this.wrapWidth) : SINGLE_ROW;
+        this.lineLayouts.set(line, new LineLayout(starts, advances));
+
+        this.rowCounts.set(line, starts.length);
+        this.maxMeasuredWidth = Math.max(this.maxMeasuredWidth, advances.getWidth());
+        return true;
+    }
+
+    /**
+     * Break the line at the last space fitting in the width, or in the middle of a word longer than the width.
+     */
+    private static int[] computeWrapStarts(GlyphAdvances advances, float width)
+    {
+        String text = advances.getText();
+        if (advances.getWidth() <= width)
+            return SINGLE_ROW;
+
+        List<Integer> starts = new ArrayList<>();
+        starts.add(0);
+
+        int start = 0;
+        while (true)
+        {
+            int end = Math.max(start + 1, advances.fitForward(start, width));
+            if (end >= text.length())
+                break;
+
+            int next;
+            if (text.charAt(end) == ' ')
+                next = end + 1;
+            else
+            {
+                int space = text.lastIndexOf(' ', end - 1);
+                next = space > start ? space + 1 : end;
+            }
+
+            if (next >= text.length())
+                break;
+            starts.add(next);
+            start = next;
+        }
+
+        int[] result = new int[starts.size()];
+        for (int index = 0; index < result.length; index++)
+            result[index] = starts.get(index);
+        return result;
+    }
+
+    /**
+     * Count a single row for every line, to be called once all layouts are dropped.
+     */
+    private void resetRows()
+    {
+        if (this.rowCounts == null)
+            this.rowCounts = new PrefixSumTree(this.lineLayouts.size(), 1);
+        else
+            this.rowCounts.reset(this.lineLayouts.size(), 1);
+
+        this.maxMeasuredWidth = 0;
+        this.maxMeasuredWidthDirty = false;
+    }
+
+    /**
+     * @return the widest line laid out, searched again only when the widest one was edited
+     */
+    private float getMaxMeasuredWidth()
+    {
+        if (this.maxMeasuredWidthDirty)
+        {
+            this.maxMeasuredWidth = 0;
+            for (LineLayout layout : this.lineLayouts)
+            {
+                if (layout != null)
+                    this.maxMeasuredWidth = Math.max(this.maxMeasuredWidth, layout.advances.getWidth());
+            }
+            this.maxMeasuredWidthDirty = false;
+        }
+        return this.maxMeasuredWidth;
+    }
+
+    private int getRowCount()
+    {
+        return this.rowCounts.total();
+    }
+
+    private int getLineAtRow(int row)
+    {
+        return Math.min(this.rowCounts.find(row), this.lineLayouts.size() - 1);
+    }
+
+    private int getFirstVisibleRow(float lineHeight)
+    {
+        float offset = -getModel().getScrollY() - getModel().getTextPadding().getTop();
+        return Math.max(0, Math.min(this.getRowCount() - 1, (int) Math.floor(offset / lineHeight)));
+    }
+
+    private int getLastVisibleRow(float lineHeight)
+    {
+        float offset = -getModel().getScrollY() - getModel().getTextPadding().getTop() + getModel().getHeight();
+        return Math.max(0, Math.min(this.getRowCount() - 1, (int) Math.floor(offset / lineHeight)));
+    }
+
+    private int getCaretSegment(int[] starts, int column)
+    {
+        int segment = 0;
+        while (segment + 1 < starts.length && starts[segment + 1] <= column)
+            segment++;
+        return segment;
+    }
+
+    private void scrollToCaret(float lineHeight)
+    {
+        GuiTextArea model = getModel();
+        int line = model.getCaretLine();
+        LineLayout layout = this.lineLayouts.get(line);
+        int[] starts = layout.starts;
+        int segment = this.getCaretSegment(starts, model.getCaretColumn());
+
+        float rowY = model.getTextPadding().getTop() + (this.rowCounts.prefixSum(line) + segment) * lineHeight;
+        float offsetY = -model.getScrollY();
+
+        if (rowY < offsetY)
+            model.setScrollY(-(rowY - model.getTextPadding().getTop()));
+        else if (rowY + lineHeight > offsetY + model.getHeight())
+            model.setScrollY(-(rowY + lineHeight + model.getTextPadding().getBottom() - model.getHeight()));
+
+        if (this.wrapped)
+            return;
+
+        float caretOffset = model.getTextPadding().getLeft() +
+                layout.advances.getWidth(0, Math.min(model.getCaretColumn(), layout.advances.length()));
+        float offsetX = -model.getScrollX();
+
+        if (caretOffset < offsetX)
+            model.setScrollX(-(caretOffset - model.getTextPadding().getLeft()));
+        else if (caretOffset + 1 > offsetX + model.getWidth())
+            model.setScrollX(-(caretOffset + 1 + model.getTextPadding().getRight() - model.getWidth()));
+    }
+
+    private void clampScroll(float lineHeight)
+    {
+        GuiTextArea model = getModel();
+
+        float maxOffsetY = Math.max(0,
+                this.getRowCount() * lineHeight + model.getTextPadding().getVertical() - model.getHeight());
+        if (-model.getScrollY() > maxOffsetY)
+            model.setScrollY(-maxOffsetY);
+
+        if (this.wrapped && model.getScrollX() != 0)
+            model.setScrollX(0);
+    }
+
+    /**
+     * Compute the strings and positions of the rows inside the viewport, and the position of the caret.
+     * Rows of unwrapped lines are cut to the visible width.
+     */
+    private void buildVisibleRows(float lineHeight, IGuiHelper helper)
+    {
+        GuiTextArea model = getModel();
+        TextLines textLines = model.getTextLines();
+
+        int firstRow = this.getFirstVisibleRow(lineHeight);
+        int lastRow = this.getLastVisibleRow(lineHeight);
+        int rowCount = lastRow - firstRow + 1;
+
+        if (this.visibleTexts.length < rowCount)
+        {
+            this.visibleTexts = new String[rowCount];
+            this.visibleX = new float[rowCount];
+            this.visibleY = new float[rowCount];
+        }
+
+        float textX = model.getLeftPos() + model.getTextPadding().getLeft();
+        float textY = model.getTopPos() + model.getTextPadding().getTop() + model.getScrollY();
+        float offsetX = -model.getScrollX();
+        float viewWidth = model.getWidth() - model.getTextPadding().getHorizontal();
+
+        this.visibleCount = 0;
+        this.caretVisible = false;
+
+        int line = this.getLineAtRow(firstRow);
+        int lineRow = this.rowCounts.prefixSum(line);
+        while (line < this.lineLayouts.size() && lineRow <= lastRow)
+        {
+            this.ensureLayout(line, helper);
+            LineLayout layout = this.lineLayouts.get(line);
+            int[] starts = layout.starts;
+            String text = textLines.getLine(line);
+
+            for (int segment = 0; segment < starts.length; segment++)
+            {
+                int row = lineRow + segment;
+                if (row < firstRow || row > lastRow)
+                    continue;
+
+                int segmentEnd = segment + 1 < starts.length ? starts[segment + 1] : text.length();
+                float rowY = textY + row * lineHeight;
+
+                if (this.wrapped || offsetX == 0 && layout.advances.getWidth() <= viewWidth)
+                {
+                    this.addVisibleRow(text.substring(starts[segment], segmentEnd), textX, rowY);
+                }
+                else
+                {
+                    GlyphAdvances advances = layout.advances;
+                    int start = advances.fitForward(0, offsetX);
+                    if (advances.getWidth(0, start) < offsetX)
+                        start++;
+                    start = Math.min(start, text.length());
+
+                    float startX = advances.getWidth(0, start) - offsetX;
+                    int end = advances.fitForward(start, viewWidth - startX);
+                    this.addVisibleRow(text.substring(start, end), textX + startX, rowY);
+                }
+            }
+
+            if (line == model.getCaretLine())
+            {
+                int column = Math.min(model.getCaretColumn(), text.length());
+                int segment = this.getCaretSegment(starts, column);
+                int row = lineRow + segment;
+
+                this.caretVisible = row >= firstRow && row <= lastRow;
+                this.caretX = textX - offsetX + layout.advances.getWidth(starts[segment], column);
+                this.caretY = textY + row * lineHeight;
+            }
+            lineRow += starts.length;
+            line++;
+        }
+    }
+
+    private void addVisibleRow(String text, float x, float y)
+    {
+        this.visibleTexts[this.visibleCount] = text;
+        this.visibleX[this.visibleCount] = x;
+        this.visibleY[this.visibleCount] = y;
+        this.visibleCount++;
+    }
+
+    private static class LineLayout
+    {
+        private final int[]         starts;
+        private final GlyphAdvances advances;
+
+        LineLayout(int[] starts, GlyphAdvances advances)
+        {
+            this.starts = starts;
+            this.advances = advances;
+        }
+    }
+}
@@ -8,13 +8,15 @@ import net.voxelindustry.brokkgui.data.RectAlignment;
 import net.voxelindustry.brokkgui.data.RectBox;
 import net.voxelindustry.brokkgui.element.GuiLabel;
 import net.voxelindustry.brokkgui.element.input.GuiTextfieldComplete;
+import net.voxelindustry.brokkgui.internal.IGuiRenderer;
 import net.voxelindustry.brokkgui.internal.PopupHandler;
+import net.voxelindustry.brokkgui.paint.RenderPass;
 import net.voxelindustry.brokkgui.panel.GuiAbsolutePane;
+import net.voxelindustry.brokkgui.text.AsyncSuggestionSearch;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class GuiTextfieldCompleteSkin<T extends GuiTextfieldComplete> extends GuiTextfieldSkin<T>
 {
@@ -34,7 +36,7 @@ public class GuiTextfieldCompleteSkin<T extends GuiTextfieldComplete> extends Gu
         if (this.getModel().getSuggestionsProperty().isEmpty())
             return;
 
-        this.popup.mapSuggestions();
+        this.popup.refreshSuggestions(getModel().getText());
         this.isCompletePopupShown = true;
         PopupHandler.getInstance(getModel().getWindow()).addPopup(popup);
     }
@@ -45,6 +47,15 @@ public class GuiTextfieldCompleteSkin<T extends GuiTextfieldComplete> extends Gu
         this.isCompletePopupShown = false;
     }
 
+    @Override
+    public void render(RenderPass pass, IGuiRenderer renderer, int mouseX, int mouseY)
+    {
+        if (pass == RenderPass.MAIN)
+            this.popup.applySuggestions();
+
+        super.render(pass, renderer, mouseX, mouseY);
+    }
+
     public boolean isCompletePopupShown()
     {
         return isCompletePopupShown;
@@ -86,9 +97,12 @@ public class GuiTextfieldCompleteSkin<T extends GuiTextfieldComplete> extends Gu
 
         private GuiTextfieldComplete     model;
         private GuiTextfieldCompleteSkin skin;
-        private List<GuiLabel>           labelList;
+        private List<GuiLabel>           labelPool;
         private GuiLabel                 selected;
 
+        private AsyncSuggestionSearch search;
+        private boolean               searchOutdated;
+
         private String marked;
 
         CompletePopup(GuiTextfieldComplete model, GuiTextfieldCompleteSkin skin)
@@ -108,17 +122,35 @@ public class GuiTextfieldCompleteSkin<T extends GuiTextfieldComplete> extends Gu
 
             this.model = model;
             this.skin = skin;
-            this.labelList = new ArrayList<>();
+            this.labelPool = new ArrayList<>();
+            this.search = new AsyncSuggestionSearch(model::getSuggestions, model::getSuggestionIndexFactory);
 
             model.getTextProperty().addListener((obs, oldValue, newValue) ->
             {
                 if (selected == null)
                     refreshSuggestions(newValue);
             });
+
+            // The index is only rebuilt on the next search, adding many suggestions at once stays cheap
+            model.getSuggestionsProperty().addListener((ListValueChangeListener<String>) (obs, oldValue, newValue) ->
+                    this.invalidateIndex());
+            model.getSuggestionIndexFactoryProperty().addListener(obs -> this.invalidateIndex());
+        }
+
+        /**
+         * The shown matches come from the outdated index, they are searched again once on the next render.
+         */
+        private void invalidateIndex()
+        {
+            this.search.invalidateIndex();
+            this.searchOutdated = true;
         }
 
         void setSelected(int index)
         {
+            // Results of a search still running would replace the suggestion being navigated
+            this.search.cancel();
+
             if (selected != null)
                 selected.getActivePseudoClass().remove("select");
             selected = (GuiLabel) this.getChildrensProperty().get(index);
@@ -133,70 +165,52 @@ public class GuiTextfieldCompleteSkin<T extends GuiTextfieldComplete> extends Gu
             selected = null;
         }
 
-        private static int compareLabel(GuiLabel first, GuiLabel second, String search)
-        {
-            String firstText = first.getText().toLowerCase();
-            String secondText = second.getText().toLowerCase();
-
-            if (firstText.equals(secondText))
-                return 0;
-            if (search.equals(firstText))
-                return -1;
-            if (search.equals(secondText))
-                return 1;
-            if (firstText.startsWith(search))
-                return -1;
-            if (secondText.startsWith(search))
-                return 1;
-            return firstText.length() < secondText.length() ? -1 : 1;
-        }
-
-        void mapSuggestions()
-        {
-            if (!this.labelList.isEmpty())
-                return;
-            this.labelList.addAll(model.getSuggestions().stream().map(this::makeLabel)
-                    .collect(Collectors.toList()));
-
-            model.getSuggestionsProperty().addListener((ListValueChangeListener<String>) (obs, oldValue, newValue) ->
-            {
-                if (oldValue != null)
-                    this.labelList.removeIf(label -> label.getText().equals(oldValue));
-                if (newValue != null)
-                    this.labelList.add(makeLabel(newValue));
-            });
-            this.refreshSuggestions(model.getText());
-        }
-
-        private GuiLabel makeLabel(String text)
+        private GuiLabel makeLabel()
         {
-            GuiLabel label = new GuiLabel(text);
+            GuiLabel label = new GuiLabel("");
             label.getWidthProperty().bind(this.getWidthProperty());
             label.getHeightProperty().bind(this.model.getCellHeightProperty());
             label.setTextPadding(LABEL_PADDING);
             label.setTextAlignment(RectAlignment.LEFT_CENTER);
-            label.setOnClickEvent(e -> marked = text);
+            label.setOnClickEvent(e -> marked = label.getText());
             return label;
         }
 
-        private void refreshSuggestions(String text)
+        void refreshSuggestions(String text)
         {
             if (StringUtils.isEmpty(text) && model.getCharBeforeCompletion() != 0)
                 return;
 
-            this.clearChilds();
+            this.search.search(text == null ? "" : text.toLowerCase().trim(), model.getMaxSuggestion(),
+                    model.getSuggestionExecutor());
+        }
 
-            if (StringUtils.isEmpty(text))
+        /**
+         * Show the matches of the newest search if it finished, labels are reused between searches.
+         */
+        void applySuggestions()
+        {
+            if (this.searchOutdated && selected == null)
             {
-                labelList.forEach(label ->
-                        this.addChild(label, 0, model.getCellHeight() * getChildrensProperty().size()));
-                return;
+                this.searchOutdated = false;
+                if (skin.isCompletePopupShown())
+                    this.refreshSuggestions(model.getText());
             }
 
-            String toSearch = text.toLowerCase().trim();
-            labelList.stream().filter(label -> label.getText().toLowerCase().contains(toSearch))
-                    .sorted((first, second) -> compareLabel(first, second, toSearch)).forEach(label ->
-                    this.addChild(label, 0, model.getCellHeight() * getChildrensProperty().size()));
+            List<String> matches = this.search.pollResult();
+            if (matches == null || selected != null)
+                return;
+
+            this.clearChilds();
+            for (int index = 0; index < matches.size(); index++)
+            {
+                if (index == this.labelPool.size())
+                    this.labelPool.add(this.makeLabel());
+
+                GuiLabel label = this.labelPool.get(index);
+                label.setText(matches.get(index));
+                this.addChild(label, 0, model.getCellHeight() * index);
+            }
         }
 
         @Override
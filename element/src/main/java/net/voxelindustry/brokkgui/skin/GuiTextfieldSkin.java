@@ -1,7 +1,5 @@
 package net.voxelindustry.brokkgui.skin;
 
-import fr.ourten.teabeans.binding.BaseBinding;
-import fr.ourten.teabeans.binding.BaseExpression;
 import fr.ourten.teabeans.value.BaseProperty;
 import net.voxelindustry.brokkgui.BrokkGuiPlatform;
 import net.voxelindustry.brokkgui.behavior.GuiTextfieldBehavior;
@@ -11,6 +9,9 @@ import net.voxelindustry.brokkgui.internal.IGuiRenderer;
 import net.voxelindustry.brokkgui.paint.Color;
 import net.voxelindustry.brokkgui.paint.RenderPass;
 import net.voxelindustry.brokkgui.shape.Text;
+import net.voxelindustry.brokkgui.text.TextEdit;
+import net.voxelindustry.brokkgui.util.GlyphAdvanceBuffer;
+import net.voxelindustry.brokkgui.util.GlyphAdvances;
 import net.voxelindustry.brokkgui.validation.BaseTextValidator;
 import org.apache.commons.lang3.StringUtils;
 
@@ -25,6 +26,8 @@ public class GuiTextfieldSkin<T extends GuiTextfield> extends GuiBehaviorSkinBas
     private       int                   displayOffset = 0;
     private final BaseProperty<String>  displayedTextProperty;
 
+    private GlyphAdvanceBuffer textAdvances;
+
     private Text text, promptText;
 
     public GuiTextfieldSkin(T model, GuiTextfieldBehavior<T> behaviour)
@@ -35,8 +38,6 @@ public class GuiTextfieldSkin<T extends GuiTextfield> extends GuiBehaviorSkinBas
         this.displayOffsetProperty = new BaseProperty<>(0, "displayOffsetProperty");
         this.displayedTextProperty = new BaseProperty<>("", "displayedTextProperty");
 
-        this.bindDisplayText();
-
         this.text = new Text(model.getText());
         this.promptText = new Text(model.getPromptText());
 
@@ -46,89 +47,53 @@ public class GuiTextfieldSkin<T extends GuiTextfield> extends GuiBehaviorSkinBas
 
         text.getTextProperty().bind(this.displayedTextProperty);
         text.getzLevelProperty().bind(model.getzLevelProperty());
-
-        text.getxPosProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(getModel().getxPosProperty(), getModel().getxTranslateProperty(),
-                        getModel().getTextPaddingProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                return getModel().getLeftPos() + getModel().getTextPadding().getLeft();
-            }
-        });
-        text.getyPosProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(getModel().getyPosProperty(), getModel().getyTranslateProperty(),
-                        getModel().getTextPaddingProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                return getModel().getTopPos() + getModel().getTextPadding().getTop();
-            }
-        });
-        text.getWidthProperty().bind(BaseExpression.transform(this.displayedTextProperty,
-                BrokkGuiPlatform.getInstance().getGuiHelper()::getStringWidth));
         text.setHeight(BrokkGuiPlatform.getInstance().getGuiHelper().getStringHeight());
 
         getModel().addChild(text);
 
         promptText.getTextProperty().bind(this.ellipsedPromptProperty);
         promptText.getzLevelProperty().bind(model.getzLevelProperty());
-
-        promptText.getxPosProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(getModel().getxPosProperty(), getModel().getxTranslateProperty(),
-                        getModel().getTextPaddingProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                return getModel().getLeftPos() + getModel().getTextPadding().getLeft();
-            }
-        });
-        promptText.getyPosProperty().bind(new BaseBinding<Float>()
-        {
-            {
-                super.bind(getModel().getyPosProperty(), getModel().getyTranslateProperty(),
-                        getModel().getTextPaddingProperty());
-            }
-
-            @Override
-            public Float computeValue()
-            {
-                return getModel().getTopPos() + getModel().getTextPadding().getTop();
-            }
-        });
-        promptText.getWidthProperty().bind(BaseExpression.transform(this.ellipsedPromptProperty,
-                BrokkGuiPlatform.getInstance().getGuiHelper()::getStringWidth));
         promptText.setHeight(BrokkGuiPlatform.getInstance().getGuiHelper().getStringHeight());
 
-        promptText.getVisibleProperty().bind(new BaseBinding<Boolean>()
-        {
-            {
-                super.bind(getModel().getPrompTextProperty(), getModel().getPromptTextAlwaysDisplayedProperty(),
-                        getModel().getTextProperty());
-            }
+        getModel().addChild(promptText);
 
-            @Override
-            public Boolean computeValue()
-            {
-                return !StringUtils.isEmpty(getModel().getPromptText())
-                        && (getModel().isPromptTextAlwaysDisplayed()
-                        || StringUtils.isEmpty(getModel().getText()));
-            }
-        });
+        // Layout invalidation
+        getModel().getPrompTextProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getPromptEllipsisProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getPromptTextAlwaysDisplayedProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getCursorPosProperty().addListener(obs -> getModel().requestLayout());
+        getModel().addTextEditListener(this::onTextEdit);
+        getModel().getTextPaddingProperty().addListener(obs -> getModel().requestLayout());
+        getModel().getExpandToTextProperty().addListener(obs -> getModel().requestLayout());
+    }
 
-        getModel().addChild(promptText);
+    @Override
+    public void arrange()
+    {
+        IGuiHelper helper = BrokkGuiPlatform.getInstance().getGuiHelper();
+        float availableWidth = getModel().getWidth()
+                - getModel().getTextPadding().getLeft() - getModel().getTextPadding().getRight();
+
+        this.ellipsedPromptProperty.setValue(trimTextToWidth(getModel().getPromptText(),
+                getModel().getPromptEllipsis(), (int) availableWidth, helper));
+        GlyphAdvanceBuffer advances = this.getTextAdvances(helper);
+        this.displayOffsetProperty.setValue(this.computeDisplayOffset(availableWidth, advances));
+        this.displayedTextProperty.setValue(this.computeDisplayedText(availableWidth, advances));
+
+        float textX = getModel().getLeftPos() + getModel().getTextPadding().getLeft();
+        float textY = getModel().getTopPos() + getModel().getTextPadding().getTop();
+
+        text.getxPosProperty().setValue(textX);
+        text.getyPosProperty().setValue(textY);
+        text.setWidth(advances.getWidth(this.displayOffsetProperty.getValue(),
+                this.displayOffsetProperty.getValue() + this.displayedTextProperty.getValue().length()));
+
+        promptText.getxPosProperty().setValue(textX);
+        promptText.getyPosProperty().setValue(textY);
+        promptText.setWidth(helper.getStringWidth(this.ellipsedPromptProperty.getValue()));
+        promptText.setVisible(!StringUtils.isEmpty(getModel().getPromptText())
+                && (getModel().isPromptTextAlwaysDisplayed()
+                || StringUtils.isEmpty(getModel().getText())));
     }
 
     @Override
@@ -147,9 +112,8 @@ public class GuiTextfieldSkin<T extends GuiTextfield> extends GuiBehaviorSkinBas
             if (getModel().getFocusedProperty().getValue())
             {
                 renderer.getHelper().drawColoredRect(renderer,
-                        x + xPadding - 1 + renderer.getHelper().getStringWidth(
-                                getModel().getText().substring(this.displayOffsetProperty.getValue(),
-                                        getModel().getCursorPos())), y + yPadding - 1, 1,
+                        x + xPadding - 1 + this.getTextAdvances(renderer.getHelper()).getWidth(
+                                this.displayOffsetProperty.getValue(), getModel().getCursorPos()), y + yPadding - 1, 1,
                         renderer.getHelper().getStringHeight() + 1, getModel().getzLevel() + 1, getCursorColor());
             }
         }
@@ -171,81 +135,29 @@ public class GuiTextfieldSkin<T extends GuiTextfield> extends GuiBehaviorSkinBas
             }
     }
 
-    private void bindDisplayText()
+    private int computeDisplayOffset(float availableWidth, GlyphAdvanceBuffer advances)
     {
-        this.ellipsedPromptProperty.bind(new BaseBinding<String>()
-        {
-            {
-                super.bind(getModel().getPrompTextProperty(), getModel().getPromptEllipsisProperty(),
-                        getModel().getTextPaddingProperty(), getModel().getWidthProperty());
-            }
-
-            @Override
-            public String computeValue()
-            {
-                return trimTextToWidth(getModel().getPromptText(), getModel().getPromptEllipsis(),
-                        (int) (getModel().getWidth() - getModel().getTextPadding().getLeft() - getModel().getTextPadding().getRight()),
-                        BrokkGuiPlatform.getInstance().getGuiHelper());
-            }
-
-        });
-
-        displayOffsetProperty.bind(new BaseBinding<Integer>()
-        {
-            {
-                super.bind(getModel().getCursorPosProperty(), getModel().getTextPaddingProperty(),
-                        getModel().getWidthProperty(), getModel().getExpandToTextProperty());
-            }
-
-            @Override
-            public Integer computeValue()
-            {
-                if (getModel().expandToText())
-                    return 0;
-
-                if (getModel().getCursorPos() <= displayOffset)
-                {
-                    displayOffset = getModel().getCursorPos();
-                    return displayOffset;
-                }
-                IGuiHelper helper = BrokkGuiPlatform.getInstance().getGuiHelper();
-                while (helper.getStringWidth(getModel().getText().substring(displayOffset, getModel().getCursorPos()))
-                        > getModel().getWidth() - getModel().getTextPadding().getLeft() - getModel().getTextPadding().getRight())
-                {
-                    displayOffset++;
-                }
-                displayOffset = Math.max(0, displayOffset);
-                return displayOffset;
-            }
-
-        });
+        if (getModel().expandToText())
+            return 0;
 
-        displayedTextProperty.bind(new BaseBinding<String>()
+        int cursorPos = Math.min(getModel().getCursorPos(), advances.length());
+        if (cursorPos <= displayOffset)
         {
-            {
-                super.bind(displayOffsetProperty, getModel().getTextProperty(), getModel().getWidthProperty(),
-                        getModel().getTextPaddingProperty(), getModel().getExpandToTextProperty());
-            }
-
-            @Override
-            public String computeValue()
-            {
-                String rightPart = getModel().getText().substring(displayOffsetProperty.getValue());
+            displayOffset = cursorPos;
+            return displayOffset;
+        }
+        displayOffset = Math.max(displayOffset, advances.fitBackward(cursorPos, availableWidth));
+        displayOffset = Math.max(0, displayOffset);
+        return displayOffset;
+    }
 
-                if (getModel().expandToText())
-                    return getModel().getText();
-                if (StringUtils.isEmpty(rightPart))
-                    return rightPart;
+    private String computeDisplayedText(float availableWidth, GlyphAdvanceBuffer advances)
+    {
+        if (getModel().expandToText())
+            return getModel().getText();
 
-                IGuiHelper helper = BrokkGuiPlatform.getInstance().getGuiHelper();
-                while (helper.getStringWidth(rightPart) > getModel().getWidth()
-                        - getModel().getTextPadding().getLeft() - getModel().getTextPadding().getRight())
-                {
-                    rightPart = rightPart.substring(0, rightPart.length() - 1);
-                }
-                return rightPart;
-            }
-        });
+        int offset = Math.min(displayOffsetProperty.getValue(), advances.length());
+        return getModel().getTextBuffer().subSequence(offset, advances.fitForward(offset, availableWidth)).toString();
     }
 
     public Color getCursorColor()
@@ -255,14 +167,31 @@ public class GuiTextfieldSkin<T extends GuiTextfield> extends GuiBehaviorSkinBas
 
     public String trimTextToWidth(String textToTrim, String ellipsis, int width, IGuiHelper helper)
     {
-        String trimmed = helper.trimStringToPixelWidth(textToTrim, width);
-        if (!trimmed.equals(textToTrim))
-        {
-            if (trimmed.length() >= ellipsis.length())
-                trimmed = trimmed.substring(0, trimmed.length() - ellipsis.length()) + ellipsis;
-            else
-                trimmed = "";
-        }
-        return trimmed;
+        return GlyphAdvances.of(textToTrim, helper).ellipsize(width, ellipsis, helper);
+    }
+
+    /**
+     * Edit the glyph advances in place and shift the display offset by the edit, only the inserted chars are
+     * measured.
+     */
+    private void onTextEdit(TextEdit edit)
+    {
+        this.displayOffset = edit.shiftPosition(this.displayOffset);
+
+        CharSequence editedText = getModel().getTextBuffer();
+        if (this.textAdvances != null && this.textAdvances.length() - edit.getRemovedLength()
+                + edit.getInsertedLength() == editedText.length())
+            this.textAdvances.edit(edit, editedText, BrokkGuiPlatform.getInstance().getGuiHelper());
+        else
+            this.textAdvances = null;
+
+        getModel().requestLayout();
+    }
+
+    private GlyphAdvanceBuffer getTextAdvances(IGuiHelper helper)
+    {
+        if (this.textAdvances == null)
+            this.textAdvances = new GlyphAdvanceBuffer(getModel().getTextBuffer(), helper);
+        return this.textAdvances;
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package net.voxelindustry.brokkgui.skin;
+
+import net.voxelindustry.brokkgui.behavior.GuiBehaviorBase;
+import net.voxelindustry.brokkgui.element.GuiTreeCell;
+import net.voxelindustry.brokkgui.element.GuiTreeItem;
+import net.voxelindustry.brokkgui.internal.IGuiRenderer;
+import net.voxelindustry.brokkgui.paint.Color;
+import net.voxelindustry.brokkgui.paint.RenderPass;
+
+public class GuiTreeCellSkin<T> extends GuiBehaviorSkinBase<GuiTreeCell<T>, GuiBehaviorBase<GuiTreeCell<T>>>
+{
+    public GuiTreeCellSkin(GuiTreeCell<T> model)
+    {
+        super(model, new GuiBehaviorBase<>(model));
+
+        getModel().getStyle().registerProperty("expander-color", Color.BLACK, Color.class);
+    }
+
+    @Override
+    public void render(RenderPass pass, IGuiRenderer renderer, int mouseX, int mouseY)
+    {
+        super.render(pass, renderer, mouseX, mouseY);
+
+        GuiTreeItem<T> item = this.getModel().getItem();
+        if (pass == RenderPass.MAIN && item != null && !item.isLeaf())
+        {
+            String expander = item.isExpanded() ? "-" : "+";
+            float size = this.getModel().getHeight();
+
+            renderer.getHelper().drawString(expander,
+                    this.getModel().getLeftPos() + this.getModel().getContentOffset() - size
+                            + (size - renderer.getHelper().getStringWidth(expander)) / 2,
+                    this.getModel().getTopPos() + (size - renderer.getHelper().getStringHeight()) / 2,
+                    this.getModel().getzLevel(), this.getExpanderColor());
+        }
+
+        if (this.getModel().getGraphicProperty().isPresent())
+            this.getModel().getGraphic().renderNode(renderer, pass, mouseX, mouseY);
+    }
+
+    public Color getExpanderColor()
+    {
+        return getModel().getStyle().getStyleValue("expander-color", Color.class, Color.BLACK);
+    }
+}
@@ -0,0 +1,30 @@
+package net.voxelindustry.brokkgui.skin;
+
+import net.voxelindustry.brokkgui.behavior.GuiTreeViewBehavior;
+import net.voxelindustry.brokkgui.element.GuiTreeView;
+
+public class GuiTreeViewSkin<T> extends GuiScrollableSkin<GuiTreeView<T>, GuiTreeViewBehavior<T>>
+{
+    public GuiTreeViewSkin(final GuiTreeView<T> model, final GuiTreeViewBehavior<T> behaviour)
+    {
+        super(model, behaviour);
+    }
+
+    @Override
+    public void arrange()
+    {
+        GuiTreeView<T> model = this.getModel();
+
+        model.getTrueHeightProperty().setValue(model.getRowCount() * model.getCellHeight());
+        model.getTrueWidthProperty().setValue(model.getWidth());
+
+        // Collapsing rows can leave the viewport past the last row
+        float maxOffset = Math.max(0, model.getTrueHeight() - model.getHeight());
+        if (-model.getScrollY() > maxOffset)
+            model.setScrollY(-maxOffset);
+
+        super.arrange();
+
+        this.getBehavior().layoutVirtualCells();
+    }
+}
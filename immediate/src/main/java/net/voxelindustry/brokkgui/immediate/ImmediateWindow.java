@@ -11,12 +11,15 @@ import net.voxelindustry.brokkgui.immediate.element.TextBoxElement;
 import net.voxelindustry.brokkgui.immediate.element.TextElement;
 import net.voxelindustry.brokkgui.immediate.style.ReducedStyleList;
 import net.voxelindustry.brokkgui.immediate.style.StyleType;
+import net.voxelindustry.brokkgui.internal.IGuiHelper;
 import net.voxelindustry.brokkgui.paint.Color;
 import net.voxelindustry.brokkgui.style.IStyleRoot;
 import net.voxelindustry.brokkgui.style.StylesheetManager;
 import net.voxelindustry.brokkgui.style.adapter.IStyleDecoder;
 import net.voxelindustry.brokkgui.style.adapter.StyleTranslator;
 import net.voxelindustry.brokkgui.style.tree.StyleList;
+import net.voxelindustry.brokkgui.util.GlyphAdvances;
+import net.voxelindustry.brokkgui.util.LRUCache;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -36,6 +39,9 @@ public abstract class ImmediateWindow extends BaseImmediateWindow implements Imm
 
     private Table<Class<?>, StyleType, Object> styleObjectByTypeAndClass = HashBasedTable.create();
 
+    private LRUCache<String, GlyphAdvances> glyphAdvancesByText = new LRUCache<>(256);
+    private IGuiHelper                      glyphAdvancesHelper;
+
     public void registerStyleRule(String rule, Class<?> ruleClass)
     {
         registerStyleRule(rule, StyleTranslator.getInstance().getDecoder(ruleClass));
@@ -68,6 +74,9 @@ public abstract class ImmediateWindow extends BaseImmediateWindow implements Imm
         registerStyleRule("text-alignment", RectAlignment.class);
 
         StylesheetManager.getInstance().refreshStylesheets(this, false);
+
+        // Called again when the screen is resized, the font scale may have changed
+        glyphAdvancesByText.clear();
     }
 
     @Override
@@ -129,6 +138,18 @@ public abstract class ImmediateWindow extends BaseImmediateWindow implements Imm
         styleObjectByTypeAndClass.clear();
     }
 
+    @Override
+    public GlyphAdvances getGlyphAdvances(String text)
+    {
+        IGuiHelper helper = getRenderer().getHelper();
+        if (helper != glyphAdvancesHelper)
+        {
+            glyphAdvancesByText.clear();
+            glyphAdvancesHelper = helper;
+        }
+        return glyphAdvancesByText.get(text, key -> GlyphAdvances.of(key, helper));
+    }
+
     @Override
     public boolean isAreaHovered(float startX, float startY, float endX, float endY)
     {
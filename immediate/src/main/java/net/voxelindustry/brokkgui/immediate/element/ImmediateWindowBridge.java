@@ -2,6 +2,7 @@ package net.voxelindustry.brokkgui.immediate.element;
 
 import net.voxelindustry.brokkgui.immediate.style.StyleType;
 import net.voxelindustry.brokkgui.internal.IGuiRenderer;
+import net.voxelindustry.brokkgui.util.GlyphAdvances;
 
 import java.util.function.Function;
 
@@ -20,6 +21,15 @@ public interface ImmediateWindowBridge
 
     IGuiRenderer getRenderer();
 
+    /**
+     * @return the glyph advances of the given text measured by the current renderer, windows can keep them across
+     * frames
+     */
+    default GlyphAdvances getGlyphAdvances(String text)
+    {
+        return GlyphAdvances.of(text, getRenderer().getHelper());
+    }
+
     int getMouseX();
 
     int getMouseY();
@@ -10,6 +10,8 @@ public interface TextBoxElement extends ImmediateElement, TextElement, BoxElemen
 {
     String TEXT_BOX_TYPE = "text-box";
 
+    String ELLIPSIS = "...";
+
     default void setTextBoxStyle(TextBoxStyle style, StyleType type)
     {
         this.setStyleObject(style, type);
@@ -87,10 +89,16 @@ public interface TextBoxElement extends ImmediateElement, TextElement, BoxElemen
                             Color hoverBoxColor,
                             Color hoverBorderColor)
     {
+        // The border is drawn inside the box on both sides
+        float horizontalInsets = textPadding.getHorizontal() + borderThin * 2;
+        float verticalInsets = textPadding.getVertical() + borderThin * 2;
+
         if (width == 0)
-            width = getRenderer().getHelper().getStringWidthMultiLine(text) + textPadding.getHorizontal() + borderThin;
+            width = getRenderer().getHelper().getStringWidthMultiLine(text) + horizontalInsets;
+        else if (text.indexOf('\n') == -1)
+            text = getGlyphAdvances(text).ellipsize(width - horizontalInsets, ELLIPSIS, getRenderer().getHelper());
         if (height == 0)
-            height = getRenderer().getHelper().getStringHeightMultiLine(text) + textPadding.getVertical() + borderThin;
+            height = getRenderer().getHelper().getStringHeightMultiLine(text) + verticalInsets;
 
         boolean isHovered = box(x, y, width, height, boxColor, borderColor, borderThin, hoverBoxColor, hoverBorderColor);
         text(text, x + textPadding.getLeft() + borderThin, y + textPadding.getTop() + borderThin, textColor, shadowColor, hoverTextColor, hoverShadowColor);